@@ -0,0 +1,75 @@
+package com.retail.offersviewer.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit adjusted by additive-increase/multiplicative-decrease
+ * on observed latency. Each request completing within the target latency
+ * raises the limit by {@code 1/limit} (about one per round of requests);
+ * a slow request cuts it by {@value #BACKOFF_RATIO}, at most once per target
+ * latency interval so a burst of slow completions counts as one signal.
+ */
+final class AdaptiveConcurrencyLimit {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private long lastDecrease;
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long targetLatencyNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+        this.lastDecrease = System.nanoTime() - targetLatencyNanos;
+    }
+
+    /**
+     * Admit a request if in-flight requests are below the given share of the limit
+     * @param share Fraction of the limit available to this request's class
+     * @return true if admitted; the caller must then call {@link #release}
+     */
+    boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Complete an admitted request and adapt the limit to its latency
+     * @param latencyNanos How long the request took
+     * @param now Current {@link System#nanoTime()}
+     */
+    void release(long latencyNanos, long now) {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            if (latencyNanos > targetLatencyNanos) {
+                if (now - lastDecrease >= targetLatencyNanos) {
+                    limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                    lastDecrease = now;
+                }
+            } else {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        }
+    }
+
+    int limit() {
+        return (int) limit;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+}
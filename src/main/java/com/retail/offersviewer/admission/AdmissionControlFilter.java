@@ -0,0 +1,176 @@
+package com.retail.offersviewer.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.retail.offersviewer.exception.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control in front of the API. A request is admitted only if
+ * <ol>
+ *   <li>its client's token bucket has a token (else 429),</li>
+ *   <li>its endpoint class's token bucket has a token (else 503), and</li>
+ *   <li>fewer requests are in flight than its class's share of the adaptive
+ *       concurrency limit (else 503).</li>
+ * </ol>
+ * Offline snapshot downloads take a slot of a fixed download limit instead
+ * of the adaptive one, and their latency is not sampled: a slow client would
+ * otherwise hold a slot for the whole transfer and shrink the limit for
+ * everyone.
+ * Rejections are immediate and carry {@code Retry-After}, so excess load
+ * never queues on Tomcat threads or database connections. The concurrency
+ * limit follows observed latency, and search requests are shed before list
+ * and detail requests.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "offers.admission.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(AdmissionControlProperties.class)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionControlFilter.class);
+    private static final long OVERLOAD_RETRY_AFTER_SECONDS = 1;
+    /** Shared bucket for clients beyond {@code maxTrackedClients} */
+    private static final String UNTRACKED_CLIENTS = "*";
+
+    private final AdmissionControlProperties properties;
+    private final ObjectMapper objectMapper;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final Semaphore downloads;
+    private final Map<EndpointClass, TokenBucket> endpointBuckets = new EnumMap<>(EndpointClass.class);
+    private final ConcurrentMap<String, TokenBucket> clientBuckets = new ConcurrentHashMap<>();
+
+    public AdmissionControlFilter(AdmissionControlProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.concurrencyLimit = new AdaptiveConcurrencyLimit(properties.initialConcurrency(),
+                properties.minConcurrency(), properties.maxConcurrency(), properties.targetLatency().toNanos());
+        this.downloads = new Semaphore(properties.maxConcurrentDownloads());
+        long now = System.nanoTime();
+        endpointBuckets.put(EndpointClass.SEARCH, new TokenBucket(properties.searchRate(), properties.searchRate(), now));
+        endpointBuckets.put(EndpointClass.LIST, new TokenBucket(properties.listRate(), properties.listRate(), now));
+        endpointBuckets.put(EndpointClass.DETAIL, new TokenBucket(properties.detailRate(), properties.detailRate(), now));
+        endpointBuckets.put(EndpointClass.DOWNLOAD, new TokenBucket(properties.downloadRate(), properties.downloadRate(), now));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/") || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = System.nanoTime();
+        EndpointClass endpointClass = EndpointClass.of(request);
+
+        long clientWait = clientBucket(request.getRemoteAddr(), now).tryAcquire(now);
+        if (clientWait > 0) {
+            reject(request, response, HttpStatus.TOO_MANY_REQUESTS, "Too many requests from this client",
+                    retryAfterSeconds(clientWait));
+            return;
+        }
+        long endpointWait = endpointBuckets.get(endpointClass).tryAcquire(now);
+        if (endpointWait > 0) {
+            reject(request, response, HttpStatus.SERVICE_UNAVAILABLE, "Request rate limit reached, please retry",
+                    retryAfterSeconds(endpointWait));
+            return;
+        }
+        if (endpointClass == EndpointClass.DOWNLOAD) {
+            download(request, response, filterChain);
+            return;
+        }
+        if (!concurrencyLimit.tryAcquire(endpointClass.concurrencyShare())) {
+            reject(request, response, HttpStatus.SERVICE_UNAVAILABLE, "Server is busy, please retry",
+                    OVERLOAD_RETRY_AFTER_SECONDS);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long end = System.nanoTime();
+            concurrencyLimit.release(end - start, end);
+        }
+    }
+
+    private void download(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!downloads.tryAcquire()) {
+            reject(request, response, HttpStatus.SERVICE_UNAVAILABLE, "Server is busy, please retry",
+                    OVERLOAD_RETRY_AFTER_SECONDS);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            downloads.release();
+        }
+    }
+
+    /**
+     * Current adaptive concurrency limit
+     */
+    public int concurrencyLimit() {
+        return concurrencyLimit.limit();
+    }
+
+    private TokenBucket clientBucket(String client, long now) {
+        TokenBucket bucket = clientBuckets.get(client);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (clientBuckets.size() >= properties.maxTrackedClients()) {
+            // Full buckets carry no state worth keeping
+            clientBuckets.values().removeIf(candidate -> candidate.isFull(now));
+            if (clientBuckets.size() >= properties.maxTrackedClients()) {
+                client = UNTRACKED_CLIENTS;
+            }
+        }
+        return clientBuckets.computeIfAbsent(client,
+                key -> new TokenBucket(properties.clientRate(), properties.clientBurst(), now));
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                        String message, long retryAfterSeconds) throws IOException {
+        log.debug("Rejected {} {} from {}: {}", request.getMethod(), request.getRequestURI(),
+                request.getRemoteAddr(), message);
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                status.value(),
+                status.getReasonPhrase(),
+                message,
+                request.getRequestURI()
+        );
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+}
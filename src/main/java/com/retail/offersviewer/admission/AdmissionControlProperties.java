@@ -0,0 +1,40 @@
+package com.retail.offersviewer.admission;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for API admission control ({@code offers.admission.*})
+ *
+ * @param enabled Whether requests are subject to admission control
+ * @param clientRate Sustained requests per second allowed per client address, as forwarded by trusted proxies
+ * @param clientBurst Requests a client may send at once before its rate applies
+ * @param searchRate Requests per second for search and suggestion endpoints, across all clients
+ * @param listRate Requests per second for list endpoints, across all clients
+ * @param detailRate Requests per second for single-resource endpoints, across all clients
+ * @param downloadRate Requests per second for offline snapshot downloads, across all clients
+ * @param initialConcurrency Concurrent requests admitted before any latency has been observed
+ * @param minConcurrency Lower bound of the adaptive concurrency limit
+ * @param maxConcurrency Upper bound of the adaptive concurrency limit
+ * @param maxConcurrentDownloads Offline snapshot downloads in flight at once, outside the adaptive limit
+ * @param targetLatency Latency above which the concurrency limit is reduced
+ * @param maxTrackedClients Client buckets kept before idle ones are evicted
+ */
+@ConfigurationProperties(prefix = "offers.admission")
+public record AdmissionControlProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("50") double clientRate,
+        @DefaultValue("100") int clientBurst,
+        @DefaultValue("500") double searchRate,
+        @DefaultValue("2000") double listRate,
+        @DefaultValue("2000") double detailRate,
+        @DefaultValue("200") double downloadRate,
+        @DefaultValue("64") int initialConcurrency,
+        @DefaultValue("8") int minConcurrency,
+        @DefaultValue("400") int maxConcurrency,
+        @DefaultValue("32") int maxConcurrentDownloads,
+        @DefaultValue("250ms") Duration targetLatency,
+        @DefaultValue("10000") int maxTrackedClients) {
+}
@@ -0,0 +1,54 @@
+package com.retail.offersviewer.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.regex.Pattern;
+
+/**
+ * Groups API endpoints by cost and importance. Under load each class may
+ * only use its share of the adaptive concurrency limit, so search requests
+ * are shed first, then lists, and single-resource lookups last. Offline
+ * snapshot downloads stay outside the adaptive limit: their duration follows
+ * the client's bandwidth, not the server's load.
+ */
+enum EndpointClass {
+
+    /** Free-text search and type-ahead suggestions */
+    SEARCH(0.5),
+    /** Store offer lists and home screens, the store directory, category lists, product and basket lookups */
+    LIST(0.8),
+    /** Single store or offer lookups */
+    DETAIL(1.0),
+    /** Offline snapshot file downloads, limited by a fixed number of concurrent transfers */
+    DOWNLOAD(0.0);
+
+    private static final Pattern STORE_DETAIL = Pattern.compile("/api/stores/[^/]+/?");
+    private static final Pattern SNAPSHOT_DOWNLOAD = Pattern.compile("/api/stores/[^/]+/offers/snapshot/?");
+
+    private final double concurrencyShare;
+
+    EndpointClass(double concurrencyShare) {
+        this.concurrencyShare = concurrencyShare;
+    }
+
+    double concurrencyShare() {
+        return concurrencyShare;
+    }
+
+    static EndpointClass of(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (SNAPSHOT_DOWNLOAD.matcher(path).matches()) {
+            return DOWNLOAD;
+        }
+        if (path.endsWith("/suggest") || request.getParameter("search") != null) {
+            return SEARCH;
+        }
+        if (path.startsWith("/api/stores/directory")) {
+            return LIST;
+        }
+        if (path.startsWith("/api/offers/") || STORE_DETAIL.matcher(path).matches()) {
+            return DETAIL;
+        }
+        return LIST;
+    }
+}
@@ -0,0 +1,67 @@
+package com.retail.offersviewer.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.retail.offersviewer.exception.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Rejects API requests with 503 and {@code Retry-After} until the
+ * application's readiness state is {@code ACCEPTING_TRAFFIC}. The web server
+ * listens before startup finishes, so without this requests arriving during
+ * startup data loading and warm-up would be served cold or from half-built
+ * indexes; probes polling any API endpoint see the same readiness.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReadinessFilter extends OncePerRequestFilter {
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final ApplicationAvailability availability;
+    private final ObjectMapper objectMapper;
+
+    public ReadinessFilter(ApplicationAvailability availability, ObjectMapper objectMapper) {
+        this.availability = availability;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (availability.getReadinessState() == ReadinessState.ACCEPTING_TRAFFIC) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        ErrorResponse errorResponse = new ErrorResponse(
+                status.value(),
+                status.getReasonPhrase(),
+                "Server is starting, please retry",
+                request.getRequestURI()
+        );
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER_SECONDS));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
@@ -0,0 +1,51 @@
+package com.retail.offersviewer.changelog;
+
+import com.retail.offersviewer.entity.ChangeLogEntry;
+import com.retail.offersviewer.entity.UuidV7;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes change log entries. Entries are inserted through the connection
+ * of the surrounding transaction, so they commit or roll back with the
+ * change they describe, and land on the same shard as it.
+ */
+@Component
+@EnableConfigurationProperties(ChangeLogProperties.class)
+public class ChangeLog {
+
+    private static final String INSERT_ENTRY =
+            "INSERT INTO change_log (entity_type, operation, entity_id, store_id, origin, changed_at) "
+            + "VALUES (?, ?, ?, ?, ?, LOCALTIMESTAMP)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final String origin = UuidV7.next().toString();
+
+    public ChangeLog(JdbcTemplate jdbcTemplate, ChangeLogProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = properties.enabled();
+    }
+
+    /**
+     * ID of this instance, recorded as the origin of its changes
+     */
+    public String origin() {
+        return origin;
+    }
+
+    /**
+     * Record a change in the current transaction
+     * @param entityType Kind of the changed entity
+     * @param operation What happened to it
+     * @param entityId The entity ID, or null for bulk changes
+     * @param storeId The affected store, or null if not specific to one
+     */
+    public void record(ChangeLogEntry.EntityType entityType, ChangeLogEntry.Operation operation,
+                       String entityId, String storeId) {
+        if (enabled) {
+            jdbcTemplate.update(INSERT_ENTRY, entityType.name(), operation.name(), entityId, storeId, origin);
+        }
+    }
+}
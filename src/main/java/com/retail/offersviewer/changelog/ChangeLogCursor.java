@@ -0,0 +1,77 @@
+package com.retail.offersviewer.changelog;
+
+import com.retail.offersviewer.entity.ChangeLogEntry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Position of one instance in one database's change log. Sequence numbers
+ * are assigned on insert but become visible on commit, so a lower number
+ * can appear after a higher one was read. Skipped numbers are remembered
+ * as gaps and read again until they show up or the gap timeout passes.
+ * Not thread-safe; owned by the poller thread.
+ */
+final class ChangeLogCursor {
+
+    /**
+     * Most skipped sequence numbers awaited at once; beyond this, gaps are
+     * assumed to be rolled back transactions
+     */
+    static final int MAX_GAPS = 1_000;
+
+    private final long gapTimeoutNanos;
+    private final Map<Long, Long> gaps = new HashMap<>();
+    private long highest;
+
+    ChangeLogCursor(long highest, Duration gapTimeout) {
+        this.highest = highest;
+        this.gapTimeoutNanos = gapTimeout.toNanos();
+    }
+
+    /**
+     * Highest sequence number read so far
+     */
+    long highest() {
+        return highest;
+    }
+
+    /**
+     * Skipped sequence numbers still awaited
+     */
+    Set<Long> gaps() {
+        return gaps.keySet();
+    }
+
+    /**
+     * Advance over entries read after {@link #highest} or from {@link #gaps}
+     * @param entries Entries read, in any order
+     * @param nowNanos Current {@link System#nanoTime}
+     * @return The entries not seen before, in sequence order
+     */
+    List<ChangeLogEntry> advance(List<ChangeLogEntry> entries, long nowNanos) {
+        List<ChangeLogEntry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparing(ChangeLogEntry::getSequence));
+
+        List<ChangeLogEntry> fresh = new ArrayList<>(sorted.size());
+        for (ChangeLogEntry entry : sorted) {
+            long sequence = entry.getSequence();
+            if (sequence > highest) {
+                for (long skipped = highest + 1; skipped < sequence && gaps.size() < MAX_GAPS; skipped++) {
+                    gaps.put(skipped, nowNanos);
+                }
+                highest = sequence;
+                fresh.add(entry);
+            } else if (gaps.remove(sequence) != null) {
+                fresh.add(entry);
+            }
+        }
+        gaps.values().removeIf(skippedAt -> nowNanos - skippedAt > gapTimeoutNanos);
+        return fresh;
+    }
+}
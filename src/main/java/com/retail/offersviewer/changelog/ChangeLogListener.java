@@ -0,0 +1,55 @@
+package com.retail.offersviewer.changelog;
+
+import com.retail.offersviewer.entity.Category;
+import com.retail.offersviewer.entity.ChangeLogEntry.EntityType;
+import com.retail.offersviewer.entity.ChangeLogEntry.Operation;
+import com.retail.offersviewer.entity.Offer;
+import com.retail.offersviewer.entity.OfferAssignment;
+import com.retail.offersviewer.entity.OfferDefinition;
+import com.retail.offersviewer.entity.Store;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener that records every write to cached entities in the
+ * {@link ChangeLog}, as part of the flush that performs it.
+ * Instantiated by Hibernate through Spring's bean container.
+ */
+public class ChangeLogListener {
+
+    private final ChangeLog changeLog;
+
+    public ChangeLogListener(ChangeLog changeLog) {
+        this.changeLog = changeLog;
+    }
+
+    @PostPersist
+    public void onInsert(Object entity) {
+        record(entity, Operation.INSERT);
+    }
+
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        record(entity, Operation.UPDATE);
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        record(entity, Operation.DELETE);
+    }
+
+    private void record(Object entity, Operation operation) {
+        switch (entity) {
+            case Store store -> changeLog.record(EntityType.STORE, operation, store.getId(), store.getId());
+            case Offer offer -> changeLog.record(EntityType.OFFER, operation, offer.getId(), offer.getStoreId());
+            case OfferAssignment assignment -> changeLog.record(EntityType.OFFER_ASSIGNMENT, operation,
+                    assignment.getId(), assignment.getStoreId());
+            case OfferDefinition definition ->
+                    changeLog.record(EntityType.OFFER_DEFINITION, operation, definition.getId(), null);
+            case Category category -> changeLog.record(EntityType.CATEGORY, operation, category.getId(), null);
+            default -> {
+            }
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.retail.offersviewer.changelog;
+
+import com.retail.offersviewer.entity.ChangeLogEntry;
+import com.retail.offersviewer.entity.ChangeLogEntry.EntityType;
+import com.retail.offersviewer.entity.ChangeLogEntry.Operation;
+import com.retail.offersviewer.event.OfferChangedEvent;
+import com.retail.offersviewer.event.OfferDefinitionChangedEvent;
+import com.retail.offersviewer.event.StoreChangedEvent;
+import com.retail.offersviewer.service.CategoryDictionary;
+import com.retail.offersviewer.service.KnownIdIndex;
+import com.retail.offersviewer.sharding.OfferShards;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tails the change log of every database holding one, and applies changes
+ * made by other instances to this instance's read models: in-memory caches
+ * are invalidated through the same application events local writes raise,
+ * and inserted IDs are added to the {@link KnownIdIndex}. Changes made by
+ * this instance were applied when they were made and are skipped.
+ *
+ * Polling starts at the end of the log once the application is ready; read
+ * models built at startup already reflect everything before it.
+ */
+@Component
+public class ChangeLogPoller {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeLogPoller.class);
+
+    private static final String SELECT_ENTRIES =
+            "SELECT seq, entity_type, operation, entity_id, store_id, origin, changed_at FROM change_log ";
+
+    private static final RowMapper<ChangeLogEntry> ENTRY_MAPPER = (rs, rowNum) -> new ChangeLogEntry(
+            rs.getLong("seq"),
+            EntityType.valueOf(rs.getString("entity_type")),
+            Operation.valueOf(rs.getString("operation")),
+            rs.getString("entity_id"),
+            rs.getString("store_id"),
+            rs.getString("origin"),
+            rs.getTimestamp("changed_at").toLocalDateTime());
+
+    /**
+     * Time between deletions of entries older than the retention period
+     */
+    private static final Duration PRUNE_INTERVAL = Duration.ofMinutes(10);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OfferShards offerShards;
+    private final ChangeLog changeLog;
+    private final KnownIdIndex knownIds;
+    private final CategoryDictionary categoryDictionary;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangeLogProperties properties;
+    private final Clock clock;
+    private final Tail[] tails;
+    private ScheduledExecutorService scheduler;
+    private long nextPruneNanos;
+
+    public ChangeLogPoller(JdbcTemplate jdbcTemplate, OfferShards offerShards, ChangeLog changeLog,
+                           KnownIdIndex knownIds, CategoryDictionary categoryDictionary,
+                           ApplicationEventPublisher eventPublisher, ChangeLogProperties properties, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.offerShards = offerShards;
+        this.changeLog = changeLog;
+        this.knownIds = knownIds;
+        this.categoryDictionary = categoryDictionary;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.clock = clock;
+        this.tails = new Tail[offerShards.shardCount()];
+    }
+
+    /**
+     * Start tailing from the current end of every log
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!properties.enabled() || scheduler != null) {
+            return;
+        }
+        for (int shard = 0; shard < tails.length; shard++) {
+            Long head = offerShards.readFromShard(shard,
+                    () -> jdbcTemplate.queryForObject("SELECT MAX(seq) FROM change_log", Long.class));
+            tails[shard] = new Tail(new ChangeLogCursor(head != null ? head : 0, properties.gapTimeout()));
+        }
+        nextPruneNanos = System.nanoTime() + PRUNE_INTERVAL.toNanos();
+
+        long interval = properties.pollInterval().toMillis();
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("change-log-poller").factory());
+        scheduler.scheduleWithFixedDelay(this::pollQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("Tailing the change log of {} database(s) as instance {}", tails.length, changeLog.origin());
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Progress through every log tailed
+     */
+    public ChangeLogStatus status() {
+        List<ChangeLogStatus.Database> databases = new ArrayList<>(tails.length);
+        for (int shard = 0; shard < tails.length; shard++) {
+            Tail tail = tails[shard];
+            if (tail != null) {
+                databases.add(tail.status(shard));
+            }
+        }
+        return new ChangeLogStatus(changeLog.origin(), databases);
+    }
+
+    /**
+     * Read and apply new entries from every log, then prune old entries when due
+     */
+    void poll() {
+        for (int shard = 0; shard < tails.length; shard++) {
+            pollShard(shard, tails[shard]);
+        }
+        if (System.nanoTime() - nextPruneNanos >= 0) {
+            prune();
+            nextPruneNanos = System.nanoTime() + PRUNE_INTERVAL.toNanos();
+        }
+    }
+
+    private void pollQuietly() {
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            // Thrown from a scheduled task, it would cancel all later polls
+            log.warn("Polling the change log failed; retrying in {}", properties.pollInterval(), e);
+        }
+    }
+
+    private void pollShard(int shard, Tail tail) {
+        List<ChangeLogEntry> read;
+        do {
+            ChangeLogCursor cursor = tail.cursor;
+            read = offerShards.readFromShard(shard, () -> read(cursor));
+            List<ChangeLogEntry> fresh = cursor.advance(read, System.nanoTime());
+
+            LocalDateTime now = LocalDateTime.now(clock);
+            long lagMillis = 0;
+            for (ChangeLogEntry entry : fresh) {
+                if (!changeLog.origin().equals(entry.getOrigin())) {
+                    apply(entry);
+                }
+                lagMillis = Math.max(lagMillis, Duration.between(entry.getChangedAt(), now).toMillis());
+            }
+            tail.polled(shard, fresh.size(), lagMillis, now);
+        } while (read.size() >= properties.batchSize());
+    }
+
+    private List<ChangeLogEntry> read(ChangeLogCursor cursor) {
+        List<ChangeLogEntry> entries = new ArrayList<>(jdbcTemplate.query(
+                SELECT_ENTRIES + "WHERE seq > ? ORDER BY seq FETCH FIRST ? ROWS ONLY",
+                ENTRY_MAPPER, cursor.highest(), properties.batchSize()));
+        if (!cursor.gaps().isEmpty()) {
+            String placeholders = String.join(", ", Collections.nCopies(cursor.gaps().size(), "?"));
+            entries.addAll(jdbcTemplate.query(SELECT_ENTRIES + "WHERE seq IN (" + placeholders + ")",
+                    ENTRY_MAPPER, cursor.gaps().toArray()));
+        }
+        return entries;
+    }
+
+    /**
+     * Apply another instance's change to the local read models
+     */
+    void apply(ChangeLogEntry entry) {
+        log.debug("Applying change from instance {}: {}", entry.getOrigin(), entry);
+        String id = entry.getEntityId();
+        switch (entry.getEntityType()) {
+            case STORE -> {
+                if (entry.getOperation() == Operation.INSERT) {
+                    knownIds.addStore(id);
+                } else if (entry.getOperation() == Operation.DELETE) {
+                    knownIds.removeStore();
+                }
+                eventPublisher.publishEvent(new StoreChangedEvent(id));
+            }
+            case OFFER, OFFER_ASSIGNMENT -> {
+                if (entry.getOperation() == Operation.INSERT) {
+                    knownIds.addOffer(id);
+                } else if (entry.getOperation() == Operation.DELETE) {
+                    knownIds.removeOffer();
+                }
+                eventPublisher.publishEvent(new OfferChangedEvent(entry.getStoreId(), id));
+            }
+            case OFFER_DEFINITION -> {
+                eventPublisher.publishEvent(new OfferDefinitionChangedEvent(id));
+                eventPublisher.publishEvent(OfferChangedEvent.allStores());
+            }
+            case CATEGORY -> categoryDictionary.reload();
+            case ALL -> {
+                categoryDictionary.reload();
+                knownIds.rebuild();
+                eventPublisher.publishEvent(OfferChangedEvent.allStores());
+                eventPublisher.publishEvent(new StoreChangedEvent(null));
+            }
+        }
+    }
+
+    private void prune() {
+        LocalDateTime cutoff = LocalDateTime.now(clock).minus(properties.retention());
+        for (int shard = 0; shard < tails.length; shard++) {
+            int deleted = offerShards.writeToShard(shard,
+                    () -> jdbcTemplate.update("DELETE FROM change_log WHERE changed_at < ?", cutoff));
+            if (deleted > 0) {
+                log.debug("Pruned {} change log entries from shard {}", deleted, shard);
+            }
+        }
+    }
+
+    /**
+     * Cursor and lag figures for one database's log. The cursor is only used
+     * by the poller thread; the figures are published for {@link #status()}.
+     */
+    private static final class Tail {
+        private final ChangeLogCursor cursor;
+        private volatile ChangeLogStatus.Database figures;
+
+        private Tail(ChangeLogCursor cursor) {
+            this.cursor = cursor;
+        }
+
+        private void polled(int shard, int entries, long lagMillis, LocalDateTime polledAt) {
+            long applied = figures != null ? figures.applied() : 0;
+            figures = new ChangeLogStatus.Database(shard, cursor.highest(), cursor.gaps().size(),
+                    applied + entries, lagMillis, polledAt);
+        }
+
+        private ChangeLogStatus.Database status(int shard) {
+            ChangeLogStatus.Database current = figures;
+            return current != null ? current : new ChangeLogStatus.Database(shard, 0, 0, 0, 0, null);
+        }
+    }
+}
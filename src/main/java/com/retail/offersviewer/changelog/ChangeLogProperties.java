@@ -0,0 +1,25 @@
+package com.retail.offersviewer.changelog;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the change log that keeps instances' caches coherent ({@code offers.change-log.*})
+ *
+ * @param enabled Whether changes are logged and the log is tailed
+ * @param pollInterval Delay between polls of the log
+ * @param batchSize Most entries read per poll and shard
+ * @param gapTimeout How long a skipped sequence number is awaited; transactions
+ * commit out of sequence order, and rolled back ones leave permanent gaps
+ * @param retention Age after which entries are deleted
+ */
+@ConfigurationProperties(prefix = "offers.change-log")
+public record ChangeLogProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1s") Duration pollInterval,
+        @DefaultValue("1000") int batchSize,
+        @DefaultValue("30s") Duration gapTimeout,
+        @DefaultValue("1d") Duration retention) {
+}
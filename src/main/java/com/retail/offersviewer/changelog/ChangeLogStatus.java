@@ -0,0 +1,25 @@
+package com.retail.offersviewer.changelog;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * How far this instance has applied the change log
+ *
+ * @param origin ID of this instance
+ * @param databases One entry per database tailed, in shard order
+ */
+public record ChangeLogStatus(String origin, List<Database> databases) {
+
+    /**
+     * @param shard The shard the log is kept on; 0 is the primary database
+     * @param lastSequence Highest sequence number read
+     * @param pendingGaps Skipped sequence numbers still awaited
+     * @param applied Entries read since startup, including this instance's own
+     * @param lagMillis Longest time between a change and its application in the last poll
+     * @param lastPolledAt When the log was last read, or null before the first poll
+     */
+    public record Database(int shard, long lastSequence, int pendingGaps, long applied, long lagMillis,
+                           LocalDateTime lastPolledAt) {
+    }
+}
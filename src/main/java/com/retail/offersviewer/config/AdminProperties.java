@@ -0,0 +1,16 @@
+package com.retail.offersviewer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the operational endpoints under {@code /api/admin} ({@code offers.admin.*})
+ *
+ * @param enabled Whether the endpoints that change offers or expose captured
+ * query parameters are served; when off they answer 404. Checked on every
+ * request, so it also applies to ahead-of-time processed builds
+ */
+@ConfigurationProperties(prefix = "offers.admin")
+public record AdminProperties(
+        @DefaultValue("false") boolean enabled) {
+}
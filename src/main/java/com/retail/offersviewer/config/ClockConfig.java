@@ -0,0 +1,21 @@
+package com.retail.offersviewer.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * Provides the clock every time-dependent evaluation reads, so tests can
+ * replace it with a fixed or manually advanced one.
+ */
+@Configuration
+@EnableConfigurationProperties(EvaluationProperties.class)
+public class ClockConfig {
+
+    @Bean
+    Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
@@ -6,6 +6,8 @@ import com.retail.offersviewer.entity.Store;
 import com.retail.offersviewer.repository.CategoryRepository;
 import com.retail.offersviewer.repository.OfferRepository;
 import com.retail.offersviewer.repository.StoreRepository;
+import com.retail.offersviewer.sharding.OfferShards;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,14 +16,26 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
+/**
+ * Loads a few sample stores, categories and offers into an empty database
+ * unless {@code offers.sample-data.enabled=false}. The flag is read when the
+ * application starts rather than through a bean condition, which Spring AOT
+ * would evaluate once at build time.
+ */
 @Configuration
 public class DataInitializer {
 
     @Bean
     CommandLineRunner initDatabase(StoreRepository storeRepository, 
                                    CategoryRepository categoryRepository,
-                                   OfferRepository offerRepository) {
+                                   OfferRepository offerRepository,
+                                   OfferShards offerShards,
+                                   @Value("${offers.sample-data.enabled:true}") boolean sampleDataEnabled) {
         return args -> {
+            if (!sampleDataEnabled) {
+                return;
+            }
+
             // Only initialize if database is empty
             if (storeRepository.count() > 0) {
                 return;
@@ -75,7 +89,7 @@ public class DataInitializer {
             }
 
             // Create Offers for Store 1 (King Soopers - Downtown)
-            createOffer(offerRepository, store1.getId(), "Fresh Organic Bananas", 
+            createOffer(offerRepository, offerShards, store1.getId(), "Fresh Organic Bananas", 
                 "Sweet and ripe organic bananas", "Produce", 
                 Offer.DiscountType.PERCENTAGE, 25.0, 2.99, 2.24,
                 LocalDateTime.now(), LocalDateTime.now().plusDays(7),
@@ -84,7 +98,7 @@ public class DataInitializer {
                 Arrays.asList("Organic Bananas"),
                 Arrays.asList());
 
-            createOffer(offerRepository, store1.getId(), "Whole Milk Gallon", 
+            createOffer(offerRepository, offerShards, store1.getId(), "Whole Milk Gallon", 
                 "Fresh whole milk from local farms", "Dairy", 
                 Offer.DiscountType.FIXED, 1.00, 4.99, 3.99,
                 LocalDateTime.now(), LocalDateTime.now().plusDays(5),
@@ -93,7 +107,7 @@ public class DataInitializer {
                 Arrays.asList("Whole Milk 1 Gallon"),
                 Arrays.asList());
 
-            createOffer(offerRepository, store1.getId(), "Buy One Get One Free - Ground Beef", 
+            createOffer(offerRepository, offerShards, store1.getId(), "Buy One Get One Free - Ground Beef", 
                 "Premium ground beef 80/20", "Meat", 
                 Offer.DiscountType.BOGO, 100.0, 6.99, 3.50,
                 LocalDateTime.now(), LocalDateTime.now().plusDays(3),
@@ -102,7 +116,7 @@ public class DataInitializer {
                 Arrays.asList("Ground Beef 1lb"),
                 Arrays.asList());
 
-            createOffer(offerRepository, store1.getId(), "Artisan Bread Loaf", 
+            createOffer(offerRepository, offerShards, store1.getId(), "Artisan Bread Loaf", 
                 "Freshly baked sourdough bread", "Bakery", 
                 Offer.DiscountType.PERCENTAGE, 30.0, 5.99, 4.19,
                 LocalDateTime.now(), LocalDateTime.now().plusDays(2),
@@ -111,7 +125,7 @@ public class DataInitializer {
                 Arrays.asList("Sourdough Bread", "French Bread"),
                 Arrays.asList());
 
-            createOffer(offerRepository, store1.getId(), "Laundry Detergent Bundle", 
+            createOffer(offerRepository, offerShards, store1.getId(), "Laundry Detergent Bundle", 
                 "Save on large size detergent", "Household", 
                 Offer.DiscountType.BUNDLE, 5.00, 19.99, 14.99,
                 LocalDateTime.now(), LocalDateTime.now().plusDays(14),
@@ -121,7 +135,7 @@ public class DataInitializer {
                 Arrays.asList("Travel sizes"));
 
             // Create Offers for Store 2 (King Soopers - Highlands)
-            createOffer(offerRepository, store2.getId(), "Fresh Strawberries", 
+            createOffer(offerRepository, offerShards, store2.getId(), "Fresh Strawberries", 
                 "Sweet California strawberries", "Produce", 
                 Offer.DiscountType.PERCENTAGE, 40.0, 4.99, 2.99,
                 LocalDateTime.now(), LocalDateTime.now().plusDays(4),
@@ -130,7 +144,7 @@ public class DataInitializer {
                 Arrays.asList("Strawberries 1lb"),
                 Arrays.asList());
 
-            createOffer(offerRepository, store2.getId(), "Greek Yogurt 4-Pack", 
+            createOffer(offerRepository, offerShards, store2.getId(), "Greek Yogurt 4-Pack", 
                 "Creamy Greek yogurt variety pack", "Dairy", 
                 Offer.DiscountType.FIXED, 2.00, 5.99, 3.99,
                 LocalDateTime.now(), LocalDateTime.now().plusDays(10),
@@ -139,7 +153,7 @@ public class DataInitializer {
                 Arrays.asList("Chobani 4-pack", "Fage 4-pack"),
                 Arrays.asList());
 
-            createOffer(offerRepository, store2.getId(), "Chicken Breast Family Pack", 
+            createOffer(offerRepository, offerShards, store2.getId(), "Chicken Breast Family Pack", 
                 "Boneless skinless chicken breast", "Meat", 
                 Offer.DiscountType.PERCENTAGE, 35.0, 12.99, 8.44,
                 LocalDateTime.now(), LocalDateTime.now().plusDays(6),
@@ -148,7 +162,7 @@ public class DataInitializer {
                 Arrays.asList("Chicken Breast Family Pack"),
                 Arrays.asList());
 
-            createOffer(offerRepository, store2.getId(), "Soft Drinks 12-Pack", 
+            createOffer(offerRepository, offerShards, store2.getId(), "Soft Drinks 12-Pack", 
                 "Popular soda brands on sale", "Beverages", 
                 Offer.DiscountType.BUNDLE, 3.00, 6.99, 3.99,
                 LocalDateTime.now(), LocalDateTime.now().plusDays(7),
@@ -157,7 +171,7 @@ public class DataInitializer {
                 Arrays.asList("Coca-Cola 12pk", "Pepsi 12pk", "Sprite 12pk", "Dr Pepper 12pk"),
                 Arrays.asList());
 
-            createOffer(offerRepository, store2.getId(), "Ice Cream Pints", 
+            createOffer(offerRepository, offerShards, store2.getId(), "Ice Cream Pints", 
                 "Premium ice cream varieties", "Frozen", 
                 Offer.DiscountType.BOGO, 100.0, 5.99, 3.00,
                 LocalDateTime.now(), LocalDateTime.now().plusDays(12),
@@ -167,7 +181,7 @@ public class DataInitializer {
                 Arrays.asList());
 
             // Create Offers for Store 3 (Walmart)
-            createOffer(offerRepository, store3.getId(), "Mixed Salad Greens", 
+            createOffer(offerRepository, offerShards, store3.getId(), "Mixed Salad Greens", 
                 "Fresh spring mix salad", "Produce", 
                 Offer.DiscountType.PERCENTAGE, 20.0, 3.99, 3.19,
                 LocalDateTime.now(), LocalDateTime.now().plusDays(5),
@@ -176,7 +190,7 @@ public class DataInitializer {
                 Arrays.asList("Spring Mix 5oz", "Baby Spinach 5oz"),
                 Arrays.asList());
 
-            createOffer(offerRepository, store3.getId(), "Cheese Variety Pack", 
+            createOffer(offerRepository, offerShards, store3.getId(), "Cheese Variety Pack", 
                 "Assorted cheese slices", "Dairy", 
                 Offer.DiscountType.FIXED, 1.50, 4.99, 3.49,
                 LocalDateTime.now(), LocalDateTime.now().plusDays(8),
@@ -185,7 +199,7 @@ public class DataInitializer {
                 Arrays.asList("Kraft Cheese Variety"),
                 Arrays.asList());
 
-            createOffer(offerRepository, store3.getId(), "Pork Chops Value Pack", 
+            createOffer(offerRepository, offerShards, store3.getId(), "Pork Chops Value Pack", 
                 "Bone-in pork chops", "Meat", 
                 Offer.DiscountType.PERCENTAGE, 30.0, 9.99, 6.99,
                 LocalDateTime.now(), LocalDateTime.now().plusDays(4),
@@ -194,7 +208,7 @@ public class DataInitializer {
                 Arrays.asList("Pork Chops Bone-in"),
                 Arrays.asList());
 
-            createOffer(offerRepository, store3.getId(), "Potato Chips Family Size", 
+            createOffer(offerRepository, offerShards, store3.getId(), "Potato Chips Family Size", 
                 "Crispy potato chips", "Snacks", 
                 Offer.DiscountType.BUNDLE, 2.00, 4.99, 2.99,
                 LocalDateTime.now(), LocalDateTime.now().plusDays(15),
@@ -203,7 +217,7 @@ public class DataInitializer {
                 Arrays.asList("Lay's Family Size", "Ruffles Family Size", "Doritos Family Size"),
                 Arrays.asList());
 
-            createOffer(offerRepository, store3.getId(), "Shampoo & Conditioner Set", 
+            createOffer(offerRepository, offerShards, store3.getId(), "Shampoo & Conditioner Set", 
                 "Hair care bundle deal", "Personal Care", 
                 Offer.DiscountType.PERCENTAGE, 25.0, 15.99, 11.99,
                 LocalDateTime.now(), LocalDateTime.now().plusDays(20),
@@ -212,7 +226,7 @@ public class DataInitializer {
                 Arrays.asList("Pantene Set", "Herbal Essences Set"),
                 Arrays.asList("Travel sizes"));
 
-            createOffer(offerRepository, store3.getId(), "Frozen Pizza", 
+            createOffer(offerRepository, offerShards, store3.getId(), "Frozen Pizza", 
                 "Deluxe frozen pizza varieties", "Frozen", 
                 Offer.DiscountType.FIXED, 3.00, 8.99, 5.99,
                 LocalDateTime.now(), LocalDateTime.now().plusDays(10),
@@ -224,11 +238,11 @@ public class DataInitializer {
             System.out.println("Database initialized with sample data:");
             System.out.println("- 3 stores created");
             System.out.println("- 9 categories created");
-            System.out.println("- " + offerRepository.count() + " offers created");
+            System.out.println("- " + offerShards.countInEveryShard(offerRepository::count) + " offers created");
         };
     }
 
-    private void createOffer(OfferRepository repository, String storeId, String title, 
+    private void createOffer(OfferRepository repository, OfferShards offerShards, String storeId, String title, 
                            String description, String category, Offer.DiscountType discountType,
                            Double discountValue, Double originalPrice, Double finalPrice,
                            LocalDateTime validFrom, LocalDateTime validUntil,
@@ -253,6 +267,6 @@ public class DataInitializer {
         offer.setEligibleProducts(eligibleProducts);
         offer.setExclusions(exclusions);
         offer.setCreatedAt(LocalDateTime.now());
-        repository.save(offer);
+        offerShards.writeToStore(storeId, () -> repository.save(offer));
     }
 }
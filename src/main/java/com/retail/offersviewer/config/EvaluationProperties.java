@@ -0,0 +1,17 @@
+package com.retail.offersviewer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for active offer evaluation ({@code offers.evaluation.*})
+ *
+ * @param tick Length of an evaluation quantum; offer list results computed
+ * within one quantum are shared by every request in it
+ */
+@ConfigurationProperties(prefix = "offers.evaluation")
+public record EvaluationProperties(
+        @DefaultValue("1s") Duration tick) {
+}
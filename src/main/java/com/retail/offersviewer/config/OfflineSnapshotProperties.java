@@ -0,0 +1,20 @@
+package com.retail.offersviewer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings for the per-store offline offer snapshots ({@code offers.offline-snapshot.*})
+ *
+ * @param directory Directory the snapshot files are written to; files left from an earlier run are deleted
+ * @param rebuildDelay Delay between an offer change and rebuilding the store's snapshot, so a
+ * burst of changes to one store costs one rebuild
+ */
+@ConfigurationProperties(prefix = "offers.offline-snapshot")
+public record OfflineSnapshotProperties(
+        @DefaultValue("data/snapshots") Path directory,
+        @DefaultValue("2s") Duration rebuildDelay) {
+}
@@ -0,0 +1,18 @@
+package com.retail.offersviewer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the store home bootstrap response ({@code offers.store-home.*})
+ *
+ * @param timeout Deadline shared by every part of the response; parts still running then are cancelled
+ * @param topOffers Number of offers on the first page, best discount first
+ */
+@ConfigurationProperties(prefix = "offers.store-home")
+public record StoreHomeProperties(
+        @DefaultValue("2s") Duration timeout,
+        @DefaultValue("20") int topOffers) {
+}
@@ -0,0 +1,472 @@
+package com.retail.offersviewer.config;
+
+import com.retail.offersviewer.changelog.ChangeLog;
+import com.retail.offersviewer.entity.ChangeLogEntry;
+import com.retail.offersviewer.entity.Offer;
+import com.retail.offersviewer.entity.UuidV7;
+import com.retail.offersviewer.event.OfferChangedEvent;
+import com.retail.offersviewer.service.CategoryDictionary;
+import com.retail.offersviewer.service.TermDictionary;
+import com.retail.offersviewer.sharding.OfferShards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates a large, deterministic synthetic dataset for dev and perf
+ * environments. Stores are spread around real metro areas, and offers follow
+ * realistic distributions of discount types, prices, validity windows and
+ * term counts. Rows are bulk-loaded with batched JDBC, one store per task,
+ * several stores in parallel.
+ *
+ * Optionally a number of chain-wide offer definitions are generated once and
+ * assigned to most stores, with occasional per-store price overrides.
+ *
+ * Each store draws from its own random stream derived from the seed, so the
+ * data is identical regardless of thread count. IDs are time-ordered
+ * (UUIDv7) with deterministic timestamps, increasing within each store.
+ *
+ * {@code offers.seed.enabled} is checked when the runner starts rather than
+ * through a bean condition, so it can still be switched on at launch of a
+ * Spring AOT-processed jar.
+ */
+@Component
+@EnableConfigurationProperties(SyntheticDataProperties.class)
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String INSERT_STORE =
+            "INSERT INTO stores (id, name, street, city, state, zip_code, latitude, longitude) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_CATEGORY =
+            "INSERT INTO categories (id, name, icon, code) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_OFFER =
+            "INSERT INTO offers (id, store_id, title, description, category_id, discount_type, discount_value, "
+            + "original_price, final_price, image_url, valid_from, valid_until, requires_loyalty_card, "
+            + "coupon_code, minimum_purchase, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_TERM = "INSERT INTO offer_terms (offer_id, term_id) VALUES (?, ?)";
+    private static final String INSERT_PRODUCT = "INSERT INTO offer_eligible_products (offer_id, product) VALUES (?, ?)";
+    private static final String INSERT_EXCLUSION = "INSERT INTO offer_exclusions (offer_id, exclusion_id) VALUES (?, ?)";
+    private static final String INSERT_DEFINITION =
+            "INSERT INTO offer_definitions (id, title, description, category_id, discount_type, discount_value, "
+            + "original_price, final_price, image_url, valid_from, valid_until, requires_loyalty_card, "
+            + "coupon_code, minimum_purchase, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_DEFINITION_TERM =
+            "INSERT INTO offer_definition_terms (definition_id, term_id) VALUES (?, ?)";
+    private static final String INSERT_DEFINITION_PRODUCT =
+            "INSERT INTO offer_definition_eligible_products (definition_id, product) VALUES (?, ?)";
+    private static final String INSERT_DEFINITION_EXCLUSION =
+            "INSERT INTO offer_definition_exclusions (definition_id, exclusion_id) VALUES (?, ?)";
+    private static final String INSERT_ASSIGNMENT =
+            "INSERT INTO offer_assignments (id, store_id, definition_id, original_price, final_price, "
+            + "valid_from, valid_until, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /** Timestamp of the first generated ID, 2024-01-01T00:00Z */
+    private static final long ID_EPOCH_MILLIS = 1_704_067_200_000L;
+    /** Timestamp range reserved for the IDs of each store */
+    private static final long ID_STREAM_MILLIS = 3_600_000L;
+
+    /** Share of stores each chain-wide definition is assigned to */
+    private static final double SHARED_OFFER_COVERAGE = 0.8;
+
+    private static final String[] DEPARTMENTS = {
+        "Produce", "Dairy", "Meat", "Bakery", "Household", "Beverages", "Frozen", "Snacks", "Personal Care"
+    };
+    private static final String[] BRANDS = {
+        "Kroger", "Great Value", "Simple Truth", "Private Selection", "Organic Valley", "Kirkland", "Market Pantry"
+    };
+    private static final String[] ITEMS = {
+        "Bananas", "Strawberries", "Whole Milk", "Greek Yogurt", "Cheddar Cheese", "Ground Beef", "Chicken Breast",
+        "Pork Chops", "Sourdough Bread", "Bagels", "Laundry Detergent", "Paper Towels", "Cola 12-Pack",
+        "Orange Juice", "Frozen Pizza", "Ice Cream", "Potato Chips", "Granola Bars", "Shampoo", "Toothpaste"
+    };
+    private static final String[] SIZES = {"8oz", "16oz", "32oz", "1lb", "2lb", "Family Size", "Value Pack", "4-Pack"};
+    private static final String[] TERMS = {
+        "Limit 2 per customer", "Limit 4 per customer", "While supplies last", "Equal or lesser value",
+        "Mix and match", "Must purchase 2 or more", "Excludes alcohol", "Valid in store only",
+        "Digital coupon required", "No rain checks"
+    };
+    private static final String[] EXCLUSIONS = {"Travel sizes", "Single serve", "Clearance items", "Gift sets"};
+    private static final String[] STREETS = {"Main St", "Oak Ave", "Colfax Ave", "Broadway", "Federal Blvd", "Market St"};
+    private static final Metro[] METROS = {
+        new Metro("Denver", "CO", "802", 39.7392, -104.9903),
+        new Metro("Phoenix", "AZ", "850", 33.4484, -112.0740),
+        new Metro("Dallas", "TX", "752", 32.7767, -96.7970),
+        new Metro("Atlanta", "GA", "303", 33.7490, -84.3880),
+        new Metro("Seattle", "WA", "981", 47.6062, -122.3321),
+        new Metro("Chicago", "IL", "606", 41.8781, -87.6298),
+        new Metro("Columbus", "OH", "432", 39.9612, -82.9988),
+        new Metro("Los Angeles", "CA", "900", 34.0522, -118.2437)
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SyntheticDataProperties properties;
+    private final CategoryDictionary categoryDictionary;
+    private final TermDictionary termDictionary;
+    private final OfferShards offerShards;
+    private final ChangeLog changeLog;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  ApplicationEventPublisher eventPublisher,
+                                  SyntheticDataProperties properties,
+                                  CategoryDictionary categoryDictionary,
+                                  TermDictionary termDictionary,
+                                  OfferShards offerShards,
+                                  ChangeLog changeLog) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.categoryDictionary = categoryDictionary;
+        this.termDictionary = termDictionary;
+        this.offerShards = offerShards;
+        this.changeLog = changeLog;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (!properties.enabled()) {
+            return;
+        }
+        Integer existingStores = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM stores", Integer.class);
+        if (existingStores != null && existingStores > 0) {
+            log.info("Skipping synthetic data generation, database already has {} stores", existingStores);
+            return;
+        }
+        generate();
+    }
+
+    /**
+     * Generate and load the configured number of categories, stores and offers
+     */
+    public void generate() throws Exception {
+        long start = System.nanoTime();
+        Dictionary dictionary = new Dictionary(insertCategories(), termIds(TERMS), termIds(EXCLUSIONS));
+        List<Object[]> definitions = insertSharedDefinitions(dictionary);
+        AtomicLong offerCount = new AtomicLong();
+
+        log.info("Generating {} stores with ~{} offers each using {} threads",
+                properties.stores(), properties.offersPerStore(), properties.threads());
+
+        ExecutorService executor = Executors.newFixedThreadPool(properties.threads());
+        try {
+            List<Future<?>> tasks = new ArrayList<>(properties.stores());
+            for (int storeIndex = 0; storeIndex < properties.stores(); storeIndex++) {
+                int index = storeIndex;
+                tasks.add(executor.submit(() -> offerCount.addAndGet(loadStore(index, dictionary, definitions))));
+            }
+            for (Future<?> task : tasks) {
+                // Propagates the first failure
+                task.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Rows were written with JDBC, bypassing the entity listeners
+        changeLog.record(ChangeLogEntry.EntityType.ALL, ChangeLogEntry.Operation.UPDATE, null, null);
+        eventPublisher.publishEvent(OfferChangedEvent.allStores());
+        log.info("Synthetic data loaded: {} stores, {} categories, {} shared definitions, {} offers in {} s",
+                properties.stores(), dictionary.categories().size(), definitions.size(), offerCount.get(),
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+    }
+
+    /**
+     * Insert the categories
+     * @return Category codes
+     */
+    private List<Short> insertCategories() {
+        Random random = new Random(properties.seed());
+        IdSequence ids = new IdSequence(-2, random);
+        List<Short> codes = new ArrayList<>(properties.categories());
+        List<Object[]> rows = new ArrayList<>(properties.categories());
+        for (int i = 0; i < properties.categories(); i++) {
+            String name = i < DEPARTMENTS.length ? DEPARTMENTS[i] : "Department " + (i + 1);
+            short code = (short) (i + 1);
+            codes.add(code);
+            rows.add(new Object[] {ids.next(), name, "🏷️", code});
+        }
+        jdbcTemplate.batchUpdate(INSERT_CATEGORY, rows);
+        categoryDictionary.reload();
+        return codes;
+    }
+
+    private int[] termIds(String[] terms) {
+        int[] ids = new int[terms.length];
+        for (int i = 0; i < terms.length; i++) {
+            ids[i] = termDictionary.idOf(terms[i]);
+        }
+        return ids;
+    }
+
+    /**
+     * Insert the chain-wide offer definitions, drawn from their own random stream
+     * @return Definition rows in {@code INSERT_DEFINITION} column order
+     */
+    private List<Object[]> insertSharedDefinitions(Dictionary dictionary) {
+        if (properties.sharedOffers() <= 0) {
+            return List.of();
+        }
+        Random random = new Random(properties.seed() * 31L + 7);
+        IdSequence ids = new IdSequence(-1, random);
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> offers = new ArrayList<>(properties.sharedOffers());
+        List<Object[]> terms = new ArrayList<>();
+        List<Object[]> products = new ArrayList<>();
+        List<Object[]> exclusions = new ArrayList<>();
+        for (int i = 0; i < properties.sharedOffers(); i++) {
+            addOffer(random, ids, null, dictionary, now, offers, terms, products, exclusions);
+        }
+
+        // Same columns as an offer row, minus the store ID
+        List<Object[]> definitions = new ArrayList<>(offers.size());
+        for (Object[] offer : offers) {
+            Object[] definition = new Object[offer.length - 1];
+            definition[0] = offer[0];
+            System.arraycopy(offer, 2, definition, 1, offer.length - 2);
+            definitions.add(definition);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_DEFINITION, definitions);
+            batch(INSERT_DEFINITION_TERM, terms);
+            batch(INSERT_DEFINITION_PRODUCT, products);
+            batch(INSERT_DEFINITION_EXCLUSION, exclusions);
+        });
+        return definitions;
+    }
+
+    /**
+     * Insert one store, then all of its offers in a single transaction on its shard
+     * @return Number of offers inserted, including shared offer assignments
+     */
+    private int loadStore(int storeIndex, Dictionary dictionary, List<Object[]> definitions) {
+        Random random = new Random(properties.seed() * 1_000_003L + storeIndex);
+        IdSequence ids = new IdSequence(storeIndex, random);
+        LocalDateTime now = LocalDateTime.now();
+
+        Metro metro = METROS[random.nextInt(METROS.length)];
+        UUID storeId = ids.next();
+        Object[] store = {
+            storeId,
+            BRANDS[random.nextInt(BRANDS.length)] + " - " + metro.city() + " #" + (storeIndex + 1),
+            (100 + random.nextInt(9900)) + " " + STREETS[random.nextInt(STREETS.length)],
+            metro.city(),
+            metro.state(),
+            metro.zipPrefix() + String.format("%02d", random.nextInt(100)),
+            // Stores cluster around the metro center, roughly within 30 km
+            metro.latitude() + random.nextGaussian() * 0.15,
+            metro.longitude() + random.nextGaussian() * 0.15
+        };
+
+        // Offer counts vary by store size, +/- 50% around the mean
+        int offerCount = (int) Math.max(1, Math.round(properties.offersPerStore() * (0.5 + random.nextDouble())));
+        List<Object[]> offers = new ArrayList<>(properties.batchSize());
+        List<Object[]> terms = new ArrayList<>();
+        List<Object[]> products = new ArrayList<>();
+        List<Object[]> exclusions = new ArrayList<>();
+
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(INSERT_STORE, store));
+        offerShards.writeToStore(storeId.toString(), () -> transactionTemplate.execute(status -> {
+            for (int i = 0; i < offerCount; i++) {
+                addOffer(random, ids, storeId, dictionary, now, offers, terms, products, exclusions);
+                if (offers.size() >= properties.batchSize()) {
+                    flush(offers, terms, products, exclusions);
+                }
+            }
+            flush(offers, terms, products, exclusions);
+            return null;
+        }));
+
+        List<Object[]> assignments = assignSharedOffers(random, ids, storeId, definitions);
+        transactionTemplate.executeWithoutResult(status -> batch(INSERT_ASSIGNMENT, assignments));
+        return offerCount + assignments.size();
+    }
+
+    /**
+     * Assign most shared definitions to a store, occasionally overriding the price
+     * @return Assignment rows in {@code INSERT_ASSIGNMENT} column order
+     */
+    private static List<Object[]> assignSharedOffers(Random random, IdSequence ids, UUID storeId,
+                                                     List<Object[]> definitions) {
+        List<Object[]> assignments = new ArrayList<>();
+        for (Object[] definition : definitions) {
+            if (random.nextDouble() >= SHARED_OFFER_COVERAGE) {
+                continue;
+            }
+            // Definition columns: 6 original price, 7 final price, 9 valid from, 10 valid until, 14 created at
+            Double finalPrice = null;
+            if (random.nextInt(10) == 0) {
+                finalPrice = round((Double) definition[7] * (0.9 + random.nextDouble() * 0.1));
+            }
+            assignments.add(new Object[] {
+                ids.next(), storeId, definition[0], null, finalPrice, definition[9], definition[10], definition[14]
+            });
+        }
+        return assignments;
+    }
+
+    private void addOffer(Random random, IdSequence ids, UUID storeId, Dictionary dictionary, LocalDateTime now,
+                          List<Object[]> offers, List<Object[]> terms, List<Object[]> products,
+                          List<Object[]> exclusions) {
+        UUID offerId = ids.next();
+        String item = ITEMS[random.nextInt(ITEMS.length)];
+        String brand = BRANDS[random.nextInt(BRANDS.length)];
+        Offer.DiscountType type = discountType(random);
+
+        // Shelf prices are roughly log-normal, median around $5
+        double originalPrice = round(Math.exp(1.6 + random.nextGaussian() * 0.6));
+        double discountValue;
+        double finalPrice;
+        switch (type) {
+            case PERCENTAGE -> {
+                discountValue = 10 + 5 * Math.min(8, Math.abs((int) Math.round(random.nextGaussian() * 2.5)));
+                finalPrice = round(originalPrice * (1 - discountValue / 100));
+            }
+            case FIXED -> {
+                discountValue = round(Math.min(originalPrice * 0.5, 0.5 + random.nextInt(10) * 0.5));
+                finalPrice = round(originalPrice - discountValue);
+            }
+            case BOGO -> {
+                discountValue = random.nextInt(4) == 0 ? 50.0 : 100.0;
+                finalPrice = round(originalPrice * (1 - discountValue / 200));
+            }
+            default -> {
+                discountValue = 1 + random.nextInt(3);
+                finalPrice = round(Math.max(0.5, originalPrice - discountValue));
+            }
+        }
+
+        // Mostly weekly circulars, some short flash deals and monthly promotions;
+        // a few already expired or not yet started
+        int[] durations = {7, 7, 7, 7, 3, 14, 14, 30};
+        int durationDays = durations[random.nextInt(durations.length)];
+        double phase = random.nextDouble();
+        LocalDateTime validFrom;
+        if (phase < 0.05) {
+            validFrom = now.plusHours(1 + random.nextInt(24 * 7));
+        } else if (phase < 0.10) {
+            validFrom = now.minusDays(durationDays + 1 + random.nextInt(14));
+        } else {
+            validFrom = now.minusMinutes(random.nextInt(durationDays * 24 * 60));
+        }
+        LocalDateTime validUntil = validFrom.plusDays(durationDays);
+
+        String title = brand + " " + item;
+        offers.add(new Object[] {
+            offerId,
+            storeId,
+            title,
+            "Save on " + brand + " " + item.toLowerCase(),
+            dictionary.categories().get(random.nextInt(dictionary.categories().size())),
+            type.name(),
+            discountValue,
+            originalPrice,
+            finalPrice,
+            null,
+            validFrom,
+            validUntil,
+            random.nextInt(5) == 0,
+            random.nextInt(20) == 0 ? "SAVE" + (1000 + random.nextInt(9000)) : null,
+            random.nextInt(10) == 0 ? (double) (10 + 5 * random.nextInt(5)) : null,
+            validFrom.minusDays(random.nextInt(3))
+        });
+
+        // Zero to four terms, most offers have one or two
+        int termCount = Math.min(4, (int) Math.round(Math.abs(random.nextGaussian()) * 1.5));
+        for (int t = 0; t < termCount; t++) {
+            terms.add(new Object[] {offerId, dictionary.terms()[random.nextInt(TERMS.length)]});
+        }
+
+        int productCount = 1 + (random.nextInt(4) == 0 ? random.nextInt(4) : 0);
+        for (int p = 0; p < productCount; p++) {
+            String brandName = p == 0 ? brand : BRANDS[random.nextInt(BRANDS.length)];
+            products.add(new Object[] {offerId, brandName + " " + item + " " + SIZES[random.nextInt(SIZES.length)]});
+        }
+
+        if (random.nextInt(10) == 0) {
+            exclusions.add(new Object[] {offerId, dictionary.exclusions()[random.nextInt(EXCLUSIONS.length)]});
+        }
+    }
+
+    private void flush(List<Object[]> offers, List<Object[]> terms, List<Object[]> products,
+                       List<Object[]> exclusions) {
+        batch(INSERT_OFFER, offers);
+        batch(INSERT_TERM, terms);
+        batch(INSERT_PRODUCT, products);
+        batch(INSERT_EXCLUSION, exclusions);
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+
+    private static Offer.DiscountType discountType(Random random) {
+        int roll = random.nextInt(100);
+        if (roll < 50) {
+            return Offer.DiscountType.PERCENTAGE;
+        } else if (roll < 75) {
+            return Offer.DiscountType.FIXED;
+        } else if (roll < 90) {
+            return Offer.DiscountType.BOGO;
+        }
+        return Offer.DiscountType.BUNDLE;
+    }
+
+
+    private static double round(double amount) {
+        return Math.round(amount * 100.0) / 100.0;
+    }
+
+    /**
+     * Dictionary IDs the generated rows reference
+     * @param categories Category codes
+     * @param terms Term IDs, parallel to {@code TERMS}
+     * @param exclusions Term IDs, parallel to {@code EXCLUSIONS}
+     */
+    private record Dictionary(List<Short> categories, int[] terms, int[] exclusions) {
+    }
+
+    /**
+     * Deterministic time-ordered IDs for one stream of rows: one millisecond
+     * per ID, starting at the stream's own slot after {@code ID_EPOCH_MILLIS}
+     */
+    private static final class IdSequence {
+        private final Random random;
+        private long millis;
+
+        private IdSequence(int stream, Random random) {
+            this.random = random;
+            this.millis = ID_EPOCH_MILLIS + (stream + 2L) * ID_STREAM_MILLIS;
+        }
+
+        private UUID next() {
+            return UuidV7.of(millis++, 0, random);
+        }
+    }
+
+    private record Metro(String city, String state, String zipPrefix, double latitude, double longitude) {
+    }
+}
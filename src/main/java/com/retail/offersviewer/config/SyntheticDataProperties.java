@@ -0,0 +1,28 @@
+package com.retail.offersviewer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the synthetic data generator ({@code offers.seed.*})
+ *
+ * @param enabled Whether to generate data on startup
+ * @param stores Number of stores to generate
+ * @param categories Number of categories; the first nine are the standard grocery departments
+ * @param offersPerStore Mean number of offers per store
+ * @param sharedOffers Number of chain-wide offer definitions, each assigned to most stores
+ * @param seed Random seed; the same seed and sizes always produce the same data
+ * @param threads Stores loaded concurrently
+ * @param batchSize Rows per JDBC batch
+ */
+@ConfigurationProperties(prefix = "offers.seed")
+public record SyntheticDataProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("100") int stores,
+        @DefaultValue("9") int categories,
+        @DefaultValue("500") int offersPerStore,
+        @DefaultValue("0") int sharedOffers,
+        @DefaultValue("42") long seed,
+        @DefaultValue("4") int threads,
+        @DefaultValue("1000") int batchSize) {
+}
@@ -0,0 +1,104 @@
+package com.retail.offersviewer.controller;
+
+import com.retail.offersviewer.changelog.ChangeLogPoller;
+import com.retail.offersviewer.changelog.ChangeLogStatus;
+import com.retail.offersviewer.config.AdminProperties;
+import com.retail.offersviewer.dto.BulkOfferUpdateRequest;
+import com.retail.offersviewer.dto.BulkOfferUpdateResult;
+import com.retail.offersviewer.querystats.QueryStats;
+import com.retail.offersviewer.querystats.SlowStatement;
+import com.retail.offersviewer.service.OfferBulkUpdateService;
+import com.retail.offersviewer.warmup.WarmupReport;
+import com.retail.offersviewer.warmup.WarmupRunner;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for operational endpoints
+ * Reports the state of this instance's internal machinery and applies
+ * bulk changes to offers. Endpoints that change offers or expose captured
+ * query parameters answer 404 unless {@code offers.admin.enabled} is set.
+ */
+@RestController
+@EnableConfigurationProperties(AdminProperties.class)
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminController.class);
+    private static final long MAX_SLOW_QUERIES = 100;
+    private final ChangeLogPoller changeLogPoller;
+    private final WarmupRunner warmupRunner;
+    private final QueryStats queryStats;
+    private final OfferBulkUpdateService offerBulkUpdateService;
+    private final AdminProperties properties;
+
+    public AdminController(ChangeLogPoller changeLogPoller, WarmupRunner warmupRunner, QueryStats queryStats,
+                           OfferBulkUpdateService offerBulkUpdateService, AdminProperties properties) {
+        this.changeLogPoller = changeLogPoller;
+        this.warmupRunner = warmupRunner;
+        this.queryStats = queryStats;
+        this.offerBulkUpdateService = offerBulkUpdateService;
+        this.properties = properties;
+    }
+
+    /**
+     * Get how far this instance has applied the change log
+     * @return Position and lag per database
+     */
+    @GetMapping("/change-log")
+    public ResponseEntity<ChangeLogStatus> getChangeLogStatus() {
+        log.info("GET /api/admin/change-log - Retrieving change log lag");
+        return ResponseEntity.ok(changeLogPoller.status());
+    }
+
+    /**
+     * Get the outcome of this instance's startup warm-up
+     * @return Warm-up state, requests made and duration
+     */
+    @GetMapping("/warmup")
+    public ResponseEntity<WarmupReport> getWarmupReport() {
+        log.info("GET /api/admin/warmup - Retrieving warm-up report");
+        return ResponseEntity.ok(warmupRunner.report());
+    }
+
+    /**
+     * Get the statements that ran slow, with their timings, parameters and plans
+     * @param limit Most statements to return
+     * @return Slow statements by time spent executing them, or 404 unless admin endpoints are enabled
+     */
+    @GetMapping("/slow-queries")
+    public ResponseEntity<List<SlowStatement>> getSlowQueries(
+            @RequestParam(defaultValue = "20") @Min(1) @Max(MAX_SLOW_QUERIES) int limit) {
+        if (!properties.enabled()) {
+            log.warn("GET /api/admin/slow-queries - Rejected, admin endpoints are disabled");
+            return ResponseEntity.notFound().build();
+        }
+        log.info("GET /api/admin/slow-queries - Retrieving top {} slow statements", limit);
+        return ResponseEntity.ok(queryStats.slowStatements(limit));
+    }
+
+    /**
+     * Reprice or extend every unexpired offer in the given stores and categories
+     * @param request The change and its scope
+     * @return Number of offers and stores changed, or 404 unless admin endpoints are enabled
+     */
+    @PostMapping("/offers/bulk-update")
+    public ResponseEntity<BulkOfferUpdateResult> bulkUpdateOffers(@Valid @RequestBody BulkOfferUpdateRequest request) {
+        if (!properties.enabled()) {
+            log.warn("POST /api/admin/offers/bulk-update - Rejected, admin endpoints are disabled");
+            return ResponseEntity.notFound().build();
+        }
+        log.info("POST /api/admin/offers/bulk-update - stores: {}, categories: {}",
+                request.storeIds().isEmpty() ? "all" : request.storeIds().size(),
+                request.categories().isEmpty() ? "all" : request.categories());
+        return ResponseEntity.ok(offerBulkUpdateService.update(request));
+    }
+}
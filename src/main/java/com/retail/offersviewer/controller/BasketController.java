@@ -0,0 +1,61 @@
+package com.retail.offersviewer.controller;
+
+import com.retail.offersviewer.dto.BasketEvaluation;
+import com.retail.offersviewer.dto.BasketRequest;
+import com.retail.offersviewer.service.BasketEvaluationService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for basket evaluation
+ * Provides endpoints for POS lanes to price baskets against active offers
+ */
+@RestController
+@RequestMapping("/api/stores/{storeId}/baskets")
+public class BasketController {
+    
+    private static final Logger log = LoggerFactory.getLogger(BasketController.class);
+    private final BasketEvaluationService basketEvaluationService;
+    
+    public BasketController(BasketEvaluationService basketEvaluationService) {
+        this.basketEvaluationService = basketEvaluationService;
+    }
+    
+    /**
+     * Evaluate which offers apply to a basket
+     * @param storeId The store ID
+     * @param basket The basket line items, loyalty card and coupon codes
+     * @return Applied offers, savings and totals
+     */
+    @PostMapping("/evaluate")
+    public ResponseEntity<BasketEvaluation> evaluateBasket(
+            @PathVariable String storeId,
+            @Valid @RequestBody BasketRequest basket) {
+        
+        log.debug("POST /api/stores/{}/baskets/evaluate - {} lines", storeId, basket.lines().size());
+        return ResponseEntity.ok(basketEvaluationService.evaluate(storeId, basket));
+    }
+    
+    /**
+     * Evaluate a batch of baskets, e.g. for end-of-day re-rating
+     * @param storeId The store ID
+     * @param baskets The baskets to evaluate, at most 1000
+     * @return One evaluation per basket, in request order
+     */
+    @PostMapping("/evaluate/batch")
+    public ResponseEntity<List<BasketEvaluation>> evaluateBaskets(
+            @PathVariable String storeId,
+            @RequestBody @Size(max = 1000) List<@Valid BasketRequest> baskets) {
+        
+        log.info("POST /api/stores/{}/baskets/evaluate/batch - {} baskets", storeId, baskets.size());
+        List<BasketEvaluation> evaluations = basketEvaluationService.evaluateBatch(storeId, baskets);
+        log.info("Evaluated {} baskets", evaluations.size());
+        return ResponseEntity.ok(evaluations);
+    }
+}
@@ -1,8 +1,12 @@
 package com.retail.offersviewer.controller;
 
+import com.retail.offersviewer.dto.FacetedOffers;
+import com.retail.offersviewer.dto.OfferFilter;
+import com.retail.offersviewer.dto.OfferSuggestion;
 import com.retail.offersviewer.entity.Offer;
 import com.retail.offersviewer.exception.ResourceNotFoundException;
 import com.retail.offersviewer.service.OfferService;
+import com.retail.offersviewer.service.OfferSuggestService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
@@ -20,16 +24,25 @@ public class OfferController {
     
     private static final Logger log = LoggerFactory.getLogger(OfferController.class);
     private final OfferService offerService;
+    private final OfferSuggestService offerSuggestService;
     
-    public OfferController(OfferService offerService) {
+    public OfferController(OfferService offerService, OfferSuggestService offerSuggestService) {
         this.offerService = offerService;
+        this.offerSuggestService = offerSuggestService;
     }
     
     /**
      * Get all active offers for a specific store with optional filtering and sorting
+     * All filters combine; each one left out is not applied
      * @param storeId The store ID
      * @param category Optional category filter
      * @param search Optional search term for title/description
+     * @param minPrice Optional lowest final price, inclusive
+     * @param maxPrice Optional highest final price, inclusive
+     * @param discountType Optional discount type (PERCENTAGE, FIXED, BOGO, BUNDLE)
+     * @param loyaltyCard Optional filter on whether a loyalty card is required
+     * @param hasCoupon Optional filter on whether a coupon code is required
+     * @param minDiscount Optional lowest discount value, inclusive
      * @param sortBy Optional sort criteria (discount, expiration, category, newest)
      * @return List of filtered and sorted offers
      */
@@ -38,17 +51,71 @@ public class OfferController {
             @PathVariable String storeId,
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String search,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Offer.DiscountType discountType,
+            @RequestParam(required = false) Boolean loyaltyCard,
+            @RequestParam(required = false) Boolean hasCoupon,
+            @RequestParam(required = false) Double minDiscount,
             @RequestParam(required = false) String sortBy) {
         
-        log.info("GET /api/stores/{}/offers - category: {}, search: {}, sortBy: {}", 
-                 storeId, category, search, sortBy);
+        OfferFilter filter = new OfferFilter(category, search, minPrice, maxPrice, discountType,
+                loyaltyCard, hasCoupon, minDiscount);
+        log.info("GET /api/stores/{}/offers - filter: {}, sortBy: {}", storeId, filter, sortBy);
         
-        List<Offer> offers = offerService.getActiveOffers(storeId, category, search, sortBy);
+        List<Offer> offers = offerService.getActiveOffers(storeId, filter, sortBy);
         log.info("Returning {} offers", offers.size());
         
         return ResponseEntity.ok(offers);
     }
     
+    /**
+     * Faceted variant of {@link #getStoreOffers}, selected with {@code facets=true}
+     * Returns the same offers plus counts by category, discount type, loyalty
+     * card requirement and price range, without a second query
+     * @return Filtered and sorted offers with facet counts
+     */
+    @GetMapping(value = "/stores/{storeId}/offers", params = "facets=true")
+    public ResponseEntity<FacetedOffers> getStoreOffersWithFacets(
+            @PathVariable String storeId,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Offer.DiscountType discountType,
+            @RequestParam(required = false) Boolean loyaltyCard,
+            @RequestParam(required = false) Boolean hasCoupon,
+            @RequestParam(required = false) Double minDiscount,
+            @RequestParam(required = false) String sortBy) {
+        
+        OfferFilter filter = new OfferFilter(category, search, minPrice, maxPrice, discountType,
+                loyaltyCard, hasCoupon, minDiscount);
+        log.info("GET /api/stores/{}/offers?facets=true - filter: {}, sortBy: {}", storeId, filter, sortBy);
+        
+        FacetedOffers result = offerService.getFacetedOffers(storeId, filter, sortBy);
+        log.info("Returning {} offers with facets", result.offers().size());
+        
+        return ResponseEntity.ok(result);
+    }
+    
+    /**
+     * Get type-ahead suggestions for the offer search box
+     * Served entirely from memory; intended to be called on every keystroke
+     * @param storeId The store ID
+     * @param q The text typed so far
+     * @param limit Maximum number of suggestions (default 10)
+     * @return Offer titles, product names and categories completing the input
+     */
+    @GetMapping("/stores/{storeId}/offers/suggest")
+    public ResponseEntity<List<OfferSuggestion>> suggestOffers(
+            @PathVariable String storeId,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        
+        log.debug("GET /api/stores/{}/offers/suggest - q: {}, limit: {}", storeId, q, limit);
+        return ResponseEntity.ok(offerSuggestService.suggest(storeId, q, limit));
+    }
+    
     /**
      * Get specific offer details by ID
      * @param offerId The offer ID
@@ -0,0 +1,167 @@
+package com.retail.offersviewer.controller;
+
+import com.retail.offersviewer.dto.OfflineSnapshot;
+import com.retail.offersviewer.service.OfflineSnapshotService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * REST Controller for offline offer snapshots
+ * Serves each store's prebuilt offer catalog file to kiosks and handhelds.
+ *
+ * Devices revalidate with {@code If-None-Match} and resume interrupted
+ * downloads with {@code Range} and {@code If-Range}. File contents are sent
+ * by the servlet container with sendfile where it supports it, so they go
+ * from the page cache to the socket without being copied through the JVM;
+ * otherwise they are transferred from a file channel.
+ */
+@RestController
+@RequestMapping("/api")
+public class OfflineSnapshotController {
+
+    private static final Logger log = LoggerFactory.getLogger(OfflineSnapshotController.class);
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String CONTENT_TYPE = "application/gzip";
+    private static final Pattern SINGLE_RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
+    private final OfflineSnapshotService offlineSnapshotService;
+
+    public OfflineSnapshotController(OfflineSnapshotService offlineSnapshotService) {
+        this.offlineSnapshotService = offlineSnapshotService;
+    }
+
+    /**
+     * Download a store's offer catalog for offline use
+     * A gzip-compressed JSON document with the store ID and every offer not
+     * expired by the start of the day, own and shared. The ETag names the
+     * catalog version; a single byte range may be requested.
+     * @param storeId The store ID
+     * @param request The request, for its conditional and range headers
+     * @param response The response the file is sent on
+     */
+    @GetMapping("/stores/{storeId}/offers/snapshot")
+    public void getOfflineSnapshot(@PathVariable String storeId, HttpServletRequest request,
+                                   HttpServletResponse response) throws IOException {
+        log.debug("GET /api/stores/{}/offers/snapshot - range: {}", storeId, request.getHeader(HttpHeaders.RANGE));
+
+        OfflineSnapshot snapshot = offlineSnapshotService.getSnapshot(storeId);
+        String etag = "\"" + snapshot.version() + "\"";
+        long length = snapshot.length();
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            log.debug("Snapshot {} of store {} not modified", snapshot.version(), storeId);
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = length;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE,
+                        "bytes " + start + "-" + (end - 1) + "/" + length);
+            }
+        }
+
+        response.setContentType(CONTENT_TYPE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + snapshot.fileName() + "\"");
+        response.setContentLengthLong(end - start);
+        log.debug("Sending bytes {}-{} of snapshot {} of store {}", start, end, snapshot.version(), storeId);
+        if (HttpMethod.HEAD.matches(request.getMethod())) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // The container sends the file once this method returns
+            request.setAttribute(SENDFILE_FILENAME, snapshot.file().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+        try (FileChannel file = FileChannel.open(snapshot.file(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            for (long position = start; position < end; ) {
+                position += file.transferTo(position, end - position, out);
+            }
+        }
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header lists the entity tag
+     */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Bounds of a single byte range, end exclusive
+     * @return The bounds, an empty array if the header is to be ignored and
+     * the whole file sent, or null if the range cannot be satisfied
+     */
+    private static long[] parseRange(String header, long length) {
+        Matcher matcher = SINGLE_RANGE.matcher(header.trim());
+        if (!matcher.matches() || (matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+            // Several ranges or an unknown unit; answering with the whole file is allowed
+            return new long[0];
+        }
+        try {
+            if (matcher.group(1).isEmpty()) {
+                long suffix = Long.parseLong(matcher.group(2));
+                return suffix == 0 || length == 0 ? null : new long[] {Math.max(0, length - suffix), length};
+            }
+            long start = Long.parseLong(matcher.group(1));
+            if (start >= length) {
+                return null;
+            }
+            long end = matcher.group(2).isEmpty() ? length : Long.parseLong(matcher.group(2)) + 1;
+            if (end <= start) {
+                return new long[0];
+            }
+            return new long[] {start, Math.min(end, length)};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.retail.offersviewer.controller;
+
+import com.retail.offersviewer.dto.NearbyPrice;
+import com.retail.offersviewer.service.ProductPriceService;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for cross-store price comparison
+ * Provides endpoints answering where a product is cheapest near the shopper
+ */
+@RestController
+@RequestMapping("/api/products")
+public class PriceComparisonController {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceComparisonController.class);
+    private static final long MAX_STORES = 50;
+    private final ProductPriceService productPriceService;
+
+    public PriceComparisonController(ProductPriceService productPriceService) {
+        this.productPriceService = productPriceService;
+    }
+
+    /**
+     * Get the stores near a location with an active offer on a product
+     * @param product The product name or identifier
+     * @param latitude Latitude of the shopper
+     * @param longitude Longitude of the shopper
+     * @param radiusKm Maximum distance of a store in kilometres, at most 100 (default 10)
+     * @param limit Maximum number of stores, at most 50 (default 10)
+     * @return Each store's cheapest offer on the product, by final price then distance
+     */
+    @GetMapping("/{product}/nearby-prices")
+    public ResponseEntity<List<NearbyPrice>> getNearbyPrices(
+            @PathVariable String product,
+            @RequestParam @DecimalMin("-90") @DecimalMax("90") double latitude,
+            @RequestParam @DecimalMin("-180") @DecimalMax("180") double longitude,
+            @RequestParam(defaultValue = "10") @DecimalMin(value = "0", inclusive = false) @DecimalMax("100")
+            double radiusKm,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(MAX_STORES) int limit) {
+
+        log.info("GET /api/products/{}/nearby-prices - at: {}, {}, radius: {} km", product, latitude, longitude,
+                radiusKm);
+        List<NearbyPrice> prices = productPriceService.getCheapestNearby(product, latitude, longitude, radiusKm,
+                limit);
+        log.info("Returning {} stores", prices.size());
+        return ResponseEntity.ok(prices);
+    }
+}
@@ -0,0 +1,58 @@
+package com.retail.offersviewer.controller;
+
+import com.retail.offersviewer.entity.Offer;
+import com.retail.offersviewer.service.ProductOfferService;
+import jakarta.validation.constraints.Size;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for product-level offer lookups
+ * Provides scan-time endpoints answering which offers apply to a product
+ */
+@RestController
+@RequestMapping("/api/stores/{storeId}/products")
+public class ProductController {
+    
+    private static final Logger log = LoggerFactory.getLogger(ProductController.class);
+    private final ProductOfferService productOfferService;
+    
+    public ProductController(ProductOfferService productOfferService) {
+        this.productOfferService = productOfferService;
+    }
+    
+    /**
+     * Get active offers that apply to a single product
+     * @param storeId The store ID
+     * @param product The product name or identifier
+     * @return List of applicable offers
+     */
+    @GetMapping("/{product}/offers")
+    public ResponseEntity<List<Offer>> getProductOffers(
+            @PathVariable String storeId,
+            @PathVariable String product) {
+        
+        log.debug("GET /api/stores/{}/products/{}/offers", storeId, product);
+        return ResponseEntity.ok(productOfferService.getOffersForProduct(storeId, product));
+    }
+    
+    /**
+     * Get active offers for a batch of products
+     * @param storeId The store ID
+     * @param products The product names or identifiers, at most 1000
+     * @return Map of each product to its applicable offers
+     */
+    @PostMapping("/offers")
+    public ResponseEntity<Map<String, List<Offer>>> getProductsOffers(
+            @PathVariable String storeId,
+            @RequestBody @Size(max = 1000) List<String> products) {
+        
+        log.debug("POST /api/stores/{}/products/offers - {} products", storeId, products.size());
+        return ResponseEntity.ok(productOfferService.getOffersForProducts(storeId, products));
+    }
+}
@@ -1,8 +1,15 @@
 package com.retail.offersviewer.controller;
 
+import com.retail.offersviewer.dto.StoreDirectoryFilter;
+import com.retail.offersviewer.dto.StoreDirectoryPage;
+import com.retail.offersviewer.dto.StoreHome;
+import com.retail.offersviewer.dto.StoreSuggestion;
 import com.retail.offersviewer.entity.Store;
 import com.retail.offersviewer.exception.ResourceNotFoundException;
+import com.retail.offersviewer.service.StoreHomeService;
 import com.retail.offersviewer.service.StoreService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
@@ -19,10 +26,13 @@ import java.util.List;
 public class StoreController {
     
     private static final Logger log = LoggerFactory.getLogger(StoreController.class);
+    private static final long MAX_DIRECTORY_PAGE_SIZE = 100;
     private final StoreService storeService;
+    private final StoreHomeService storeHomeService;
     
-    public StoreController(StoreService storeService) {
+    public StoreController(StoreService storeService, StoreHomeService storeHomeService) {
         this.storeService = storeService;
+        this.storeHomeService = storeHomeService;
     }
     
     /**
@@ -37,6 +47,54 @@ public class StoreController {
         return ResponseEntity.ok(stores);
     }
     
+    /**
+     * Get one page of the store directory for the store picker
+     * City and name filters ignore case; prefix filters match the start of the value
+     * @param name Optional start of the store name
+     * @param city Optional exact city
+     * @param cityPrefix Optional start of the city
+     * @param state Optional state code
+     * @param zipCode Optional exact ZIP code
+     * @param zipPrefix Optional start of the ZIP code
+     * @param page Zero-based page number (default 0)
+     * @param size Page size, at most 100 (default 20)
+     * @return Matching stores ordered by name, with totals
+     */
+    @GetMapping("/directory")
+    public ResponseEntity<StoreDirectoryPage> getStoreDirectory(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String cityPrefix,
+            @RequestParam(required = false) String state,
+            @RequestParam(required = false) String zipCode,
+            @RequestParam(required = false) String zipPrefix,
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(MAX_DIRECTORY_PAGE_SIZE) int size) {
+        
+        StoreDirectoryFilter filter = new StoreDirectoryFilter(name, city, cityPrefix, state, zipCode, zipPrefix);
+        log.info("GET /api/stores/directory - filter: {}, page: {}, size: {}", filter, page, size);
+        
+        StoreDirectoryPage directory = storeService.getDirectory(filter, page, size);
+        log.info("Returning {} of {} stores", directory.stores().size(), directory.totalStores());
+        return ResponseEntity.ok(directory);
+    }
+    
+    /**
+     * Get type-ahead suggestions for the store picker
+     * Served entirely from memory; intended to be called on every keystroke
+     * @param q The text typed so far
+     * @param limit Maximum number of suggestions (default 10)
+     * @return Stores whose name or city has a word starting with the input
+     */
+    @GetMapping("/directory/suggest")
+    public ResponseEntity<List<StoreSuggestion>> suggestStores(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        
+        log.debug("GET /api/stores/directory/suggest - q: {}, limit: {}", q, limit);
+        return ResponseEntity.ok(storeService.suggestStores(q, limit));
+    }
+    
     /**
      * Get specific store by ID
      * @param storeId The store ID
@@ -52,4 +110,20 @@ public class StoreController {
         log.info("Store found: {}", store.getName());
         return ResponseEntity.ok(store);
     }
+    
+    /**
+     * Get everything needed to render a store's home screen in one round trip
+     * @param storeId The store ID
+     * @return The store, every category with its offer count and the top offers, or 404 if not found
+     */
+    @GetMapping("/{storeId}/home")
+    public ResponseEntity<StoreHome> getStoreHome(@PathVariable String storeId) {
+        log.info("GET /api/stores/{}/home - Assembling store home", storeId);
+        
+        StoreHome home = storeHomeService.getStoreHome(storeId);
+        
+        log.info("Returning store {} with {} categories and {} offers", home.store().getName(),
+                home.categories().size(), home.topOffers().size());
+        return ResponseEntity.ok(home);
+    }
 }
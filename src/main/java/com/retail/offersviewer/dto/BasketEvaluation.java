@@ -0,0 +1,39 @@
+package com.retail.offersviewer.dto;
+
+import com.retail.offersviewer.entity.Offer;
+
+import java.util.List;
+
+/**
+ * Result of applying a store's active offers to a basket
+ *
+ * @param basketId The identifier supplied with the basket
+ * @param subtotal Basket total before savings
+ * @param totalSavings Sum of all applied offer savings
+ * @param total Basket total after savings
+ * @param appliedOffers Offers that produced savings
+ */
+public record BasketEvaluation(
+        String basketId,
+        double subtotal,
+        double totalSavings,
+        double total,
+        List<AppliedOffer> appliedOffers) {
+
+    /**
+     * An offer applied to one or more basket lines
+     *
+     * @param offerId The offer ID
+     * @param title The offer title
+     * @param discountType How the saving was computed
+     * @param products Basket products the offer was applied to
+     * @param savings Amount saved through this offer
+     */
+    public record AppliedOffer(
+            String offerId,
+            String title,
+            Offer.DiscountType discountType,
+            List<String> products,
+            double savings) {
+    }
+}
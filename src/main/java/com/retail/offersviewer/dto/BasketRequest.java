@@ -0,0 +1,41 @@
+package com.retail.offersviewer.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.util.List;
+
+/**
+ * Basket submitted by a POS lane for offer evaluation
+ *
+ * @param basketId Caller-supplied identifier echoed back in the result
+ * @param lines The basket line items
+ * @param loyaltyCard Whether the shopper presented a loyalty card
+ * @param couponCodes Coupon codes presented at checkout
+ */
+public record BasketRequest(
+        String basketId,
+        @NotEmpty List<@Valid Line> lines,
+        boolean loyaltyCard,
+        List<String> couponCodes) {
+
+    public BasketRequest {
+        couponCodes = couponCodes != null ? couponCodes : List.of();
+    }
+
+    /**
+     * Basket line item
+     *
+     * @param product Product name or identifier as scanned
+     * @param quantity Number of units
+     * @param unitPrice Shelf price per unit
+     */
+    public record Line(
+            @NotBlank String product,
+            @Positive int quantity,
+            @PositiveOrZero double unitPrice) {
+    }
+}
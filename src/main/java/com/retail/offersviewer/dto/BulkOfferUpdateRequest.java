@@ -0,0 +1,62 @@
+package com.retail.offersviewer.dto;
+
+import com.retail.offersviewer.entity.Offer;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Change applied to every unexpired offer in scope. Scope is narrowed by
+ * stores and categories; with neither, every store's offers are changed.
+ * Final prices are recomputed from the resulting discount and original price.
+ *
+ * @param storeIds Stores whose offers change; empty for every store
+ * @param categories Category names whose offers change, with their subcategories; empty for every category
+ * @param discountType New discount type, given together with its value
+ * @param discountValue New discount value, as stored for the discount type; a percentage of at most 100
+ * for PERCENTAGE and BOGO
+ * @param priceChangePercent Change to the original price, e.g. -10 for 10% cheaper
+ * @param extendValidityBy Time added to the end of each offer's validity, e.g. {@code P2D}
+ */
+public record BulkOfferUpdateRequest(
+        @Size(max = 1000) List<String> storeIds,
+        @Size(max = 100) List<String> categories,
+        Offer.DiscountType discountType,
+        @PositiveOrZero Double discountValue,
+        @DecimalMin("-90") @DecimalMax("1000") Double priceChangePercent,
+        Duration extendValidityBy) {
+
+    public BulkOfferUpdateRequest {
+        storeIds = storeIds != null ? storeIds : List.of();
+        categories = categories != null ? categories : List.of();
+    }
+
+    public boolean changesDiscount() {
+        return discountType != null;
+    }
+
+    public boolean changesPrice() {
+        return changesDiscount() || priceChangePercent != null;
+    }
+
+    @AssertTrue(message = "Request must change the discount, the price or the validity")
+    public boolean isChangeRequested() {
+        return changesPrice() || extendValidityBy != null;
+    }
+
+    @AssertTrue(message = "discountType and discountValue must be given together")
+    public boolean isDiscountComplete() {
+        return (discountType == null) == (discountValue == null);
+    }
+
+    @AssertTrue(message = "discountValue must be at most 100 for PERCENTAGE and BOGO discounts")
+    public boolean isDiscountValueInRange() {
+        return discountValue == null || discountValue <= 100
+                || (discountType != Offer.DiscountType.PERCENTAGE && discountType != Offer.DiscountType.BOGO);
+    }
+}
@@ -0,0 +1,14 @@
+package com.retail.offersviewer.dto;
+
+/**
+ * Outcome of a bulk offer update
+ *
+ * @param offersUpdated Offers changed, own and shared offers assigned to a store
+ * @param storesAffected Distinct stores whose offers changed
+ * @param definitionsUpdated Chain-wide shared offer definitions changed
+ * @param batches Transactions the change was applied in
+ * @param durationMillis Time taken
+ */
+public record BulkOfferUpdateResult(long offersUpdated, int storesAffected, long definitionsUpdated, int batches,
+                                    long durationMillis) {
+}
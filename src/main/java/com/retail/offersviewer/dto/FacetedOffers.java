@@ -0,0 +1,42 @@
+package com.retail.offersviewer.dto;
+
+import com.retail.offersviewer.entity.Offer;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Offer list together with facet counts for the same request
+ *
+ * @param offers Offers matching every filter, sorted as requested
+ * @param facets Counts of those offers by facet
+ */
+public record FacetedOffers(List<Offer> offers, Facets facets) {
+
+    /**
+     * Offer counts by facet value. Category counts ignore the request's own
+     * category filter, so they show how many offers each category would
+     * return; every other facet counts the returned offers.
+     *
+     * @param categories Offers per category name
+     * @param discountTypes Offers per discount type, including types with none
+     * @param loyaltyCard Offers that do ({@code true}) and do not ({@code false}) require a loyalty card
+     * @param priceRanges Offers per final price range, in ascending order
+     */
+    public record Facets(
+            Map<String, Long> categories,
+            Map<Offer.DiscountType, Long> discountTypes,
+            Map<Boolean, Long> loyaltyCard,
+            List<PriceRange> priceRanges) {
+    }
+
+    /**
+     * Number of offers whose final price falls in a range
+     *
+     * @param min Lowest price in the range, inclusive
+     * @param max Upper bound, exclusive, or null for the open-ended top range
+     * @param count Offers in the range
+     */
+    public record PriceRange(double min, Double max, long count) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.retail.offersviewer.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cheapest active offer on a product in one store near the shopper
+ *
+ * @param storeId The store ID
+ * @param storeName The store name
+ * @param distanceKm Distance from the requested location, in kilometres
+ * @param offerId The offer ID
+ * @param finalPrice Price after the offer's discount
+ * @param validUntil When the offer ends
+ */
+public record NearbyPrice(String storeId, String storeName, double distanceKm, String offerId,
+                          double finalPrice, LocalDateTime validUntil) {
+}
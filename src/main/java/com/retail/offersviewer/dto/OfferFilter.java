@@ -0,0 +1,113 @@
+package com.retail.offersviewer.dto;
+
+import com.retail.offersviewer.entity.Offer;
+
+import java.util.Locale;
+import java.util.function.BiPredicate;
+
+/**
+ * Composable offer list filters; every non-null field must match.
+ * The same filter is applied in SQL by {@code OfferSpecifications} and in
+ * memory by {@link #matches(Offer)}, with identical semantics.
+ *
+ * @param category Category name; offers in its subcategories match too
+ * @param searchTerm Case-insensitive substring of the title or description
+ * @param minPrice Lowest final price, inclusive
+ * @param maxPrice Highest final price, inclusive
+ * @param discountType Discount type
+ * @param requiresLoyaltyCard Whether the offer requires a loyalty card
+ * @param hasCoupon Whether the offer requires a coupon code
+ * @param minDiscount Lowest discount value, inclusive, as stored for the offer's discount type
+ */
+public record OfferFilter(
+        String category,
+        String searchTerm,
+        Double minPrice,
+        Double maxPrice,
+        Offer.DiscountType discountType,
+        Boolean requiresLoyaltyCard,
+        Boolean hasCoupon,
+        Double minDiscount) {
+
+    public static final OfferFilter NONE = new OfferFilter(null, null, null, null, null, null, null, null);
+
+    /**
+     * Filter on category and search term only
+     */
+    public static OfferFilter of(String category, String searchTerm) {
+        return new OfferFilter(category, searchTerm, null, null, null, null, null, null);
+    }
+
+    /**
+     * Copy with text fields trimmed, and blank text treated as absent
+     */
+    public OfferFilter normalized() {
+        return new OfferFilter(trimToNull(category), trimToNull(searchTerm), minPrice, maxPrice,
+                discountType, requiresLoyaltyCard, hasCoupon, minDiscount);
+    }
+
+    /**
+     * Copy without the category filter, e.g. to count offers across categories
+     */
+    public OfferFilter withoutCategory() {
+        return new OfferFilter(null, searchTerm, minPrice, maxPrice, discountType, requiresLoyaltyCard,
+                hasCoupon, minDiscount);
+    }
+
+    /**
+     * Whether an offer passes every filter, treating categories as flat
+     */
+    public boolean matches(Offer offer) {
+        return matches(offer, (name, ancestor) -> false);
+    }
+
+    /**
+     * Whether an offer passes every filter
+     * @param isDescendant Whether a category (first argument) lies below another (second argument)
+     */
+    public boolean matches(Offer offer, BiPredicate<String, String> isDescendant) {
+        if (category != null && !category.equals(offer.getCategory())
+                && (offer.getCategory() == null || !isDescendant.test(offer.getCategory(), category))) {
+            return false;
+        }
+        if (searchTerm != null) {
+            String term = searchTerm.toLowerCase(Locale.ROOT);
+            if (!containsLowerCase(offer.getTitle(), term) && !containsLowerCase(offer.getDescription(), term)) {
+                return false;
+            }
+        }
+        if (minPrice != null && (offer.getFinalPrice() == null || offer.getFinalPrice() < minPrice)) {
+            return false;
+        }
+        if (maxPrice != null && (offer.getFinalPrice() == null || offer.getFinalPrice() > maxPrice)) {
+            return false;
+        }
+        if (discountType != null && discountType != offer.getDiscountType()) {
+            return false;
+        }
+        if (requiresLoyaltyCard != null
+                && requiresLoyaltyCard != Boolean.TRUE.equals(offer.getRequiresLoyaltyCard())) {
+            return false;
+        }
+        if (hasCoupon != null && hasCoupon != hasText(offer.getCouponCode())) {
+            return false;
+        }
+        return minDiscount == null || (offer.getDiscountValue() != null && offer.getDiscountValue() >= minDiscount);
+    }
+
+    private static boolean containsLowerCase(String text, String lowerCaseTerm) {
+        return text != null && text.toLowerCase(Locale.ROOT).contains(lowerCaseTerm);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+}
@@ -0,0 +1,14 @@
+package com.retail.offersviewer.dto;
+
+/**
+ * Type-ahead completion for the offer search box
+ *
+ * @param text The completion text to display and search for
+ * @param type What the completion refers to
+ */
+public record OfferSuggestion(String text, Type type) {
+
+    public enum Type {
+        TITLE, PRODUCT, CATEGORY
+    }
+}
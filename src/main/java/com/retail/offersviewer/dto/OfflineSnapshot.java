@@ -0,0 +1,23 @@
+package com.retail.offersviewer.dto;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * A store's offer catalog for offline use, written to a gzip-compressed JSON file
+ *
+ * @param storeId The store ID
+ * @param version Digest of the uncompressed catalog; equal catalogs have equal versions on every instance
+ * @param file The compressed catalog
+ * @param length Size of the file in bytes
+ * @param staleAfter Instant the catalog must be rebuilt after, even if no offer changed
+ */
+public record OfflineSnapshot(String storeId, String version, Path file, long length, LocalDateTime staleAfter) {
+
+    /**
+     * Name under which devices should save the file
+     */
+    public String fileName() {
+        return storeId + "-" + version + ".json.gz";
+    }
+}
@@ -0,0 +1,42 @@
+package com.retail.offersviewer.dto;
+
+import java.util.Locale;
+
+/**
+ * Store directory filters; every non-null field must match.
+ * City and name comparisons ignore case.
+ *
+ * @param namePrefix Start of the store name
+ * @param city Exact city
+ * @param cityPrefix Start of the city
+ * @param state Exact state code
+ * @param zipCode Exact ZIP code
+ * @param zipPrefix Start of the ZIP code
+ */
+public record StoreDirectoryFilter(
+        String namePrefix,
+        String city,
+        String cityPrefix,
+        String state,
+        String zipCode,
+        String zipPrefix) {
+
+    /**
+     * Copy with text trimmed, blank text treated as absent, and the state
+     * code upper-cased as stored
+     */
+    public StoreDirectoryFilter normalized() {
+        String normalizedState = trimToNull(state);
+        return new StoreDirectoryFilter(trimToNull(namePrefix), trimToNull(city), trimToNull(cityPrefix),
+                normalizedState != null ? normalizedState.toUpperCase(Locale.ROOT) : null,
+                trimToNull(zipCode), trimToNull(zipPrefix));
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+}
@@ -0,0 +1,22 @@
+package com.retail.offersviewer.dto;
+
+import com.retail.offersviewer.entity.Store;
+
+import java.util.List;
+
+/**
+ * One page of the store directory
+ *
+ * @param stores Stores on this page, ordered by name
+ * @param page Zero-based page number
+ * @param size Requested page size
+ * @param totalStores Stores matching the filters across all pages
+ * @param totalPages Number of pages
+ */
+public record StoreDirectoryPage(
+        List<Store> stores,
+        int page,
+        int size,
+        long totalStores,
+        int totalPages) {
+}
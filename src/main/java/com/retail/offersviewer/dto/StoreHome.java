@@ -0,0 +1,26 @@
+package com.retail.offersviewer.dto;
+
+import com.retail.offersviewer.entity.Category;
+import com.retail.offersviewer.entity.Offer;
+import com.retail.offersviewer.entity.Store;
+
+import java.util.List;
+
+/**
+ * Everything the app needs to render a store's home screen, in one response
+ *
+ * @param store The store
+ * @param categories Every category with its active offer count at the store
+ * @param topOffers First page of the store's active offers, best discount first
+ */
+public record StoreHome(Store store, List<CategoryCount> categories, List<Offer> topOffers) {
+
+    /**
+     * Active offers of a store in a category, including its subcategories
+     *
+     * @param category The category
+     * @param offerCount Active offers in it, 0 if none
+     */
+    public record CategoryCount(Category category, long offerCount) {
+    }
+}
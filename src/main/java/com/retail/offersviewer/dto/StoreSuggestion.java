@@ -0,0 +1,12 @@
+package com.retail.offersviewer.dto;
+
+/**
+ * Type-ahead completion for the store picker
+ *
+ * @param id The store ID
+ * @param name The store name
+ * @param city The store's city
+ * @param state The store's state code
+ */
+public record StoreSuggestion(String id, String name, String city, String state) {
+}
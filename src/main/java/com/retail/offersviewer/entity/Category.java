@@ -1,19 +1,24 @@
 package com.retail.offersviewer.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.retail.offersviewer.changelog.ChangeLogListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.JavaType;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "categories")
+@EntityListeners({CategoryCodeListener.class, CategoryClosureListener.class, ChangeLogListener.class})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Category {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
+    @JavaType(UuidStringJavaType.class)
     private String id;
 
     @Column(nullable = false, unique = true)
@@ -21,4 +26,24 @@ public class Category {
 
     @Column
     private String icon;
+
+    /**
+     * Parent category, or null for a top-level category
+     */
+    @JavaType(UuidStringJavaType.class)
+    @Column(name = "parent_id")
+    private String parentId;
+
+    /**
+     * Small integer key that offers reference instead of repeating the name
+     */
+    @JsonIgnore
+    @Column(nullable = false, unique = true)
+    private Short code;
+
+    public Category(String id, String name, String icon) {
+        this.id = id;
+        this.name = name;
+        this.icon = icon;
+    }
 }
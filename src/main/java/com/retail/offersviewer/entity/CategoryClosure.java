@@ -0,0 +1,48 @@
+package com.retail.offersviewer.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * One ancestor/descendant pair of the category hierarchy, for every depth,
+ * so all descendants of a category are a single indexed lookup. Holds only
+ * proper ancestors; a category is implicitly its own ancestor, so top-level
+ * categories without children have no rows. Maintained by
+ * {@link CategoryClosureListener} from {@link Category#getParentId()}.
+ */
+@Entity
+@Table(name = "category_closure", indexes = {
+    @Index(name = "idx_category_closure_descendant", columnList = "descendant_code")
+})
+@IdClass(CategoryClosure.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryClosure {
+
+    @Id
+    @Column(name = "ancestor_code")
+    private Short ancestorCode;
+
+    @Id
+    @Column(name = "descendant_code")
+    private Short descendantCode;
+
+    /**
+     * Number of parent links between the two, 1 for a direct child
+     */
+    @Column(nullable = false)
+    private Short depth;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Short ancestorCode;
+        private Short descendantCode;
+    }
+}
@@ -0,0 +1,125 @@
+package com.retail.offersviewer.entity;
+
+import com.retail.offersviewer.service.CategoryDictionary;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keeps {@link CategoryClosure} in step with category parent links, as part
+ * of the flush that writes the category, and reloads the in-memory hierarchy
+ * of {@link CategoryDictionary} when it changed. Moving a category moves its
+ * whole subtree. Instantiated by Hibernate through Spring's bean container.
+ */
+public class CategoryClosureListener {
+
+    private static final String INSERT_LINK =
+            "INSERT INTO category_closure (ancestor_code, descendant_code, depth) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CategoryDictionary dictionary;
+
+    public CategoryClosureListener(JdbcTemplate jdbcTemplate, CategoryDictionary dictionary) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dictionary = dictionary;
+    }
+
+    @PostPersist
+    public void onInsert(Category category) {
+        if (category.getParentId() != null) {
+            attach(category.getCode(), parentCodeOf(category));
+            dictionary.reload();
+        }
+    }
+
+    @PostUpdate
+    public void onUpdate(Category category) {
+        Short parent = category.getParentId() != null ? parentCodeOf(category) : null;
+        List<Short> current = jdbcTemplate.queryForList(
+                "SELECT ancestor_code FROM category_closure WHERE descendant_code = ? AND depth = 1",
+                Short.class, category.getCode());
+        if (current.isEmpty() ? parent == null : current.getFirst().equals(parent)) {
+            return;
+        }
+        detach(category.getCode());
+        if (parent != null) {
+            attach(category.getCode(), parent);
+        }
+        dictionary.reload();
+    }
+
+    @PostRemove
+    public void onRemove(Category category) {
+        int removed = jdbcTemplate.update(
+                "DELETE FROM category_closure WHERE ancestor_code = ? OR descendant_code = ?",
+                category.getCode(), category.getCode());
+        if (removed > 0) {
+            dictionary.reload();
+        }
+    }
+
+    /**
+     * Link a category's subtree below every ancestor of its new parent and the parent itself
+     */
+    private void attach(short code, short parent) {
+        List<short[]> above = links("SELECT ancestor_code, depth FROM category_closure WHERE descendant_code = ?",
+                parent);
+        List<short[]> below = links("SELECT descendant_code, depth FROM category_closure WHERE ancestor_code = ?",
+                code);
+        for (short[] descendant : below) {
+            if (descendant[0] == parent) {
+                throw new IllegalArgumentException("Category cannot be moved below its own descendant");
+            }
+        }
+
+        List<Object[]> rows = new ArrayList<>(above.size() * below.size());
+        for (short[] ancestor : above) {
+            for (short[] descendant : below) {
+                rows.add(new Object[] {ancestor[0], descendant[0], (short) (ancestor[1] + descendant[1] + 1)});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_LINK, rows);
+    }
+
+    /**
+     * Unlink a category's subtree from every ancestor outside it, keeping the links within it
+     */
+    private void detach(short code) {
+        List<Object> subtree = new ArrayList<>();
+        for (short[] descendant : links(
+                "SELECT descendant_code, depth FROM category_closure WHERE ancestor_code = ?", code)) {
+            subtree.add(descendant[0]);
+        }
+        String placeholders = String.join(", ", Collections.nCopies(subtree.size(), "?"));
+        List<Object> arguments = new ArrayList<>(subtree);
+        arguments.addAll(subtree);
+        jdbcTemplate.update("DELETE FROM category_closure WHERE descendant_code IN (" + placeholders
+                + ") AND ancestor_code NOT IN (" + placeholders + ")", arguments.toArray());
+    }
+
+    /**
+     * Codes and depths returned by a closure query, with the queried category itself at depth 0
+     */
+    private List<short[]> links(String sql, short code) {
+        List<short[]> links = new ArrayList<>();
+        links.add(new short[] {code, 0});
+        jdbcTemplate.query(sql, rs -> {
+            links.add(new short[] {rs.getShort(1), rs.getShort(2)});
+        }, code);
+        return links;
+    }
+
+    private short parentCodeOf(Category category) {
+        List<Short> codes = jdbcTemplate.queryForList("SELECT code FROM categories WHERE id = ?", Short.class,
+                UuidStringJavaType.parse(category.getParentId()));
+        if (codes.isEmpty()) {
+            throw new IllegalArgumentException("Parent category not found: " + category.getParentId());
+        }
+        return codes.getFirst();
+    }
+}
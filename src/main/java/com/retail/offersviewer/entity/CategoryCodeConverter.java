@@ -0,0 +1,31 @@
+package com.retail.offersviewer.entity;
+
+import com.retail.offersviewer.service.CategoryDictionary;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores an offer's category name as the category's small integer code.
+ * Query parameters compared with the attribute are converted too, so
+ * category filters become integer comparisons. Unknown names convert to
+ * null, which matches no rows and is rejected on insert.
+ */
+@Converter
+public class CategoryCodeConverter implements AttributeConverter<String, Short> {
+
+    private final CategoryDictionary dictionary;
+
+    public CategoryCodeConverter(CategoryDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public Short convertToDatabaseColumn(String name) {
+        return name != null ? dictionary.codeOf(name) : null;
+    }
+
+    @Override
+    public String convertToEntityAttribute(Short code) {
+        return code != null ? dictionary.nameOf(code) : null;
+    }
+}
@@ -0,0 +1,33 @@
+package com.retail.offersviewer.entity;
+
+import com.retail.offersviewer.service.CategoryDictionary;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PrePersist;
+
+/**
+ * Assigns new categories their dictionary code and keeps the in-memory
+ * {@link CategoryDictionary} in step with category writes.
+ * Instantiated by Hibernate through Spring's bean container.
+ */
+public class CategoryCodeListener {
+
+    private final CategoryDictionary dictionary;
+
+    public CategoryCodeListener(CategoryDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    @PrePersist
+    public void assignCode(Category category) {
+        if (category.getCode() == null) {
+            category.setCode(dictionary.nextCode());
+        }
+        // Registered before commit so offers saved in the same transaction can reference it
+        dictionary.register(category.getCode(), category.getName());
+    }
+
+    @PostUpdate
+    public void onUpdate(Category category) {
+        dictionary.register(category.getCode(), category.getName());
+    }
+}
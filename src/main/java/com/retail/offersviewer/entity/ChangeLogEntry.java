@@ -0,0 +1,67 @@
+package com.retail.offersviewer.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One committed change to a store, offer, shared offer or category, written
+ * in the same transaction as the change itself. Instances tail the log by
+ * sequence number to keep their in-memory read models coherent.
+ */
+@Entity
+@Table(name = "change_log", indexes = {
+    @Index(name = "idx_change_log_changed_at", columnList = "changed_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeLogEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "seq")
+    private Long sequence;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 32)
+    private EntityType entityType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Operation operation;
+
+    /**
+     * Changed entity ID, or null for {@link EntityType#ALL}
+     */
+    @Column(name = "entity_id", length = 36)
+    private String entityId;
+
+    /**
+     * Store the change affects, or null if not specific to one store
+     */
+    @Column(name = "store_id", length = 36)
+    private String storeId;
+
+    /**
+     * Instance that made the change
+     */
+    @Column(nullable = false, length = 36)
+    private String origin;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    public enum EntityType {
+        STORE, OFFER, OFFER_ASSIGNMENT, OFFER_DEFINITION, CATEGORY,
+        /** Bulk change to any data, e.g. a batch load */
+        ALL
+    }
+
+    public enum Operation {
+        INSERT, UPDATE, DELETE
+    }
+}
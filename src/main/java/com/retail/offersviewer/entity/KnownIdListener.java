@@ -0,0 +1,41 @@
+package com.retail.offersviewer.entity;
+
+import com.retail.offersviewer.service.KnownIdIndex;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+
+/**
+ * Keeps the {@link KnownIdIndex} in step with inserted and removed stores,
+ * offers and shared offer assignments.
+ * Instantiated by Hibernate through Spring's bean container.
+ */
+public class KnownIdListener {
+
+    private final KnownIdIndex knownIds;
+
+    public KnownIdListener(KnownIdIndex knownIds) {
+        this.knownIds = knownIds;
+    }
+
+    @PostPersist
+    public void onInsert(Object entity) {
+        switch (entity) {
+            case Store store -> knownIds.addStore(store.getId());
+            case Offer offer -> knownIds.addOffer(offer.getId());
+            case OfferAssignment assignment -> knownIds.addOffer(assignment.getId());
+            default -> {
+            }
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        switch (entity) {
+            case Store _ -> knownIds.removeStore();
+            case Offer _ -> knownIds.removeOffer();
+            case OfferAssignment _ -> knownIds.removeOffer();
+            default -> {
+            }
+        }
+    }
+}
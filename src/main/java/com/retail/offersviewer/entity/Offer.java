@@ -1,6 +1,11 @@
 package com.retail.offersviewer.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.retail.offersviewer.changelog.ChangeLogListener;
+import com.retail.offersviewer.event.OfferEntityListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.JavaType;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,18 +17,26 @@ import java.util.List;
 @Entity
 @Table(name = "offers", indexes = {
     @Index(name = "idx_store_id", columnList = "store_id"),
-    @Index(name = "idx_category", columnList = "category"),
-    @Index(name = "idx_valid_until", columnList = "valid_until")
+    @Index(name = "idx_category", columnList = "category_id"),
+    @Index(name = "idx_valid_until", columnList = "valid_until"),
+    // Composite indexes for the common offer list filters, all scoped to one store
+    @Index(name = "idx_offer_store_valid_until", columnList = "store_id, valid_until"),
+    @Index(name = "idx_offer_store_category_valid_until", columnList = "store_id, category_id, valid_until"),
+    @Index(name = "idx_offer_store_type_valid_until", columnList = "store_id, discount_type, valid_until"),
+    @Index(name = "idx_offer_store_final_price", columnList = "store_id, final_price")
 })
+@EntityListeners({OfferEntityListener.class, KnownIdListener.class, ChangeLogListener.class})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Offer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
+    @JavaType(UuidStringJavaType.class)
     private String id;
 
+    @JavaType(UuidStringJavaType.class)
     @Column(name = "store_id", nullable = false)
     private String storeId;
 
@@ -33,7 +46,8 @@ public class Offer {
     @Column(length = 1000)
     private String description;
 
-    @Column(nullable = false)
+    @Convert(converter = CategoryCodeConverter.class)
+    @Column(name = "category_id", nullable = false)
     private String category;
 
     @Enumerated(EnumType.STRING)
@@ -60,7 +74,8 @@ public class Offer {
 
     @ElementCollection
     @CollectionTable(name = "offer_terms", joinColumns = @JoinColumn(name = "offer_id"))
-    @Column(name = "term")
+    @Convert(converter = TermIdConverter.class)
+    @Column(name = "term_id")
     private List<String> terms = new ArrayList<>();
 
     @Column(name = "requires_loyalty_card")
@@ -79,12 +94,23 @@ public class Offer {
 
     @ElementCollection
     @CollectionTable(name = "offer_exclusions", joinColumns = @JoinColumn(name = "offer_id"))
-    @Column(name = "exclusion")
+    @Convert(converter = TermIdConverter.class)
+    @Column(name = "exclusion_id")
     private List<String> exclusions = new ArrayList<>();
 
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
+    /**
+     * Optimistic lock version; bulk updates increment it too, so an entity
+     * loaded before one cannot overwrite its changes
+     */
+    @JsonIgnore
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     public enum DiscountType {
         PERCENTAGE, FIXED, BOGO, BUNDLE
     }
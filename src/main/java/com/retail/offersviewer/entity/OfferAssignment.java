@@ -0,0 +1,57 @@
+package com.retail.offersviewer.entity;
+
+import com.retail.offersviewer.changelog.ChangeLogListener;
+import com.retail.offersviewer.event.OfferEntityListener;
+import jakarta.persistence.*;
+import org.hibernate.annotations.JavaType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight row placing a shared {@link OfferDefinition} in one store.
+ * Validity is always stored per store; prices fall back to the definition
+ * when not overridden. An overridden original price without a final price
+ * gets the definition's discount applied. The assignment ID is exposed as the offer ID.
+ */
+@Entity
+@Table(name = "offer_assignments", indexes = {
+    @Index(name = "idx_assignment_store_valid_until", columnList = "store_id, valid_until"),
+    @Index(name = "idx_assignment_definition", columnList = "definition_id")
+})
+@EntityListeners({OfferEntityListener.class, KnownIdListener.class, ChangeLogListener.class})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OfferAssignment {
+
+    @Id
+    @TimeOrderedUuid
+    @JavaType(UuidStringJavaType.class)
+    private String id;
+
+    @JavaType(UuidStringJavaType.class)
+    @Column(name = "store_id", nullable = false)
+    private String storeId;
+
+    @JavaType(UuidStringJavaType.class)
+    @Column(name = "definition_id", nullable = false)
+    private String definitionId;
+
+    @Column(name = "original_price")
+    private Double originalPrice;
+
+    @Column(name = "final_price")
+    private Double finalPrice;
+
+    @Column(name = "valid_from", nullable = false)
+    private LocalDateTime validFrom;
+
+    @Column(name = "valid_until", nullable = false)
+    private LocalDateTime validUntil;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,96 @@
+package com.retail.offersviewer.entity;
+
+import com.retail.offersviewer.changelog.ChangeLogListener;
+import com.retail.offersviewer.event.OfferEntityListener;
+import jakarta.persistence.*;
+import org.hibernate.annotations.JavaType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Chain-wide offer content shared by every store it is assigned to.
+ * Stores reference a definition through {@link OfferAssignment} rows instead
+ * of carrying their own copy of the title, terms, products and exclusions.
+ * The definition's prices and validity are the defaults for new assignments.
+ */
+@Entity
+@Table(name = "offer_definitions", indexes = {
+    @Index(name = "idx_offer_definition_category", columnList = "category_id")
+})
+@EntityListeners({OfferEntityListener.class, ChangeLogListener.class})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OfferDefinition {
+
+    @Id
+    @TimeOrderedUuid
+    @JavaType(UuidStringJavaType.class)
+    private String id;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(length = 1000)
+    private String description;
+
+    @Convert(converter = CategoryCodeConverter.class)
+    @Column(name = "category_id", nullable = false)
+    private String category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "discount_type", nullable = false)
+    private Offer.DiscountType discountType;
+
+    @Column(name = "discount_value", nullable = false)
+    private Double discountValue;
+
+    @Column(name = "original_price")
+    private Double originalPrice;
+
+    @Column(name = "final_price")
+    private Double finalPrice;
+
+    @Column(name = "image_url")
+    private String imageUrl;
+
+    @Column(name = "valid_from", nullable = false)
+    private LocalDateTime validFrom;
+
+    @Column(name = "valid_until", nullable = false)
+    private LocalDateTime validUntil;
+
+    @ElementCollection
+    @CollectionTable(name = "offer_definition_terms", joinColumns = @JoinColumn(name = "definition_id"))
+    @Convert(converter = TermIdConverter.class)
+    @Column(name = "term_id")
+    private List<String> terms = new ArrayList<>();
+
+    @Column(name = "requires_loyalty_card")
+    private Boolean requiresLoyaltyCard;
+
+    @Column(name = "coupon_code")
+    private String couponCode;
+
+    @Column(name = "minimum_purchase")
+    private Double minimumPurchase;
+
+    @ElementCollection
+    @CollectionTable(name = "offer_definition_eligible_products", joinColumns = @JoinColumn(name = "definition_id"))
+    @Column(name = "product")
+    private List<String> eligibleProducts = new ArrayList<>();
+
+    @ElementCollection
+    @CollectionTable(name = "offer_definition_exclusions", joinColumns = @JoinColumn(name = "definition_id"))
+    @Convert(converter = TermIdConverter.class)
+    @Column(name = "exclusion_id")
+    private List<String> exclusions = new ArrayList<>();
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
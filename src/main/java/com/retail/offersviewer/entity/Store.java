@@ -1,19 +1,30 @@
 package com.retail.offersviewer.entity;
 
+import com.retail.offersviewer.changelog.ChangeLogListener;
+import com.retail.offersviewer.event.StoreEntityListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.JavaType;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "stores")
+@Table(name = "stores", indexes = {
+    // Store directory filters: state then city, ZIP code, and name prefix
+    @Index(name = "idx_store_state_city", columnList = "state, city"),
+    @Index(name = "idx_store_city", columnList = "city"),
+    @Index(name = "idx_store_zip_code", columnList = "zip_code"),
+    @Index(name = "idx_store_name", columnList = "name")
+})
+@EntityListeners({KnownIdListener.class, StoreEntityListener.class, ChangeLogListener.class})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Store {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
+    @JavaType(UuidStringJavaType.class)
     private String id;
 
     @Column(nullable = false)
@@ -0,0 +1,25 @@
+package com.retail.offersviewer.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entry of the shared dictionary of offer terms and exclusions.
+ * Rows are append-only; offers reference them by ID.
+ */
+@Entity
+@Table(name = "term_dictionary")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Term {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(nullable = false, unique = true, length = 500)
+    private String term;
+}
@@ -0,0 +1,29 @@
+package com.retail.offersviewer.entity;
+
+import com.retail.offersviewer.service.TermDictionary;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores offer terms and exclusions as IDs into the shared term dictionary.
+ * Reads return the dictionary's single instance of each distinct string.
+ */
+@Converter
+public class TermIdConverter implements AttributeConverter<String, Integer> {
+
+    private final TermDictionary dictionary;
+
+    public TermIdConverter(TermDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public Integer convertToDatabaseColumn(String term) {
+        return term != null ? dictionary.idOf(term) : null;
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer id) {
+        return id != null ? dictionary.termOf(id) : null;
+    }
+}
@@ -0,0 +1,19 @@
+package com.retail.offersviewer.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates {@link UuidV7} identifiers for a {@code String} ID attribute.
+ * Combine with {@code @JavaType(UuidStringJavaType.class)} to store them in
+ * a native UUID column.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface TimeOrderedUuid {
+}
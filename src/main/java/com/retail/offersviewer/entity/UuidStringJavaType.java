@@ -0,0 +1,111 @@
+package com.retail.offersviewer.entity;
+
+import org.hibernate.type.SqlTypes;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.AbstractClassJavaType;
+import org.hibernate.type.descriptor.java.ImmutableMutabilityPlan;
+import org.hibernate.type.descriptor.jdbc.JdbcType;
+import org.hibernate.type.descriptor.jdbc.JdbcTypeIndicators;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Maps a {@code String} ID attribute to a native UUID column (16 bytes
+ * instead of a 36-character string), keeping the canonical text form in the
+ * entities and the API.
+ *
+ * A value that is not a well-formed UUID is bound as SQL NULL, so looking up
+ * a malformed ID simply finds nothing instead of failing.
+ */
+public class UuidStringJavaType extends AbstractClassJavaType<String> {
+
+    public static final UuidStringJavaType INSTANCE = new UuidStringJavaType();
+
+    public UuidStringJavaType() {
+        super(String.class, ImmutableMutabilityPlan.instance());
+    }
+
+    @Override
+    public JdbcType getRecommendedJdbcType(JdbcTypeIndicators indicators) {
+        return indicators.getTypeConfiguration().getJdbcTypeRegistry().getDescriptor(SqlTypes.UUID);
+    }
+
+    @Override
+    public String toString(String value) {
+        return value;
+    }
+
+    @Override
+    public String fromString(CharSequence string) {
+        return string != null ? string.toString() : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <X> X unwrap(String value, Class<X> type, WrapperOptions options) {
+        if (value == null) {
+            return null;
+        }
+        if (String.class.isAssignableFrom(type)) {
+            return (X) value;
+        }
+        UUID uuid = parse(value);
+        if (uuid == null) {
+            return null;
+        }
+        if (UUID.class.isAssignableFrom(type)) {
+            return (X) uuid;
+        }
+        if (byte[].class.isAssignableFrom(type)) {
+            return (X) ByteBuffer.allocate(16)
+                    .putLong(uuid.getMostSignificantBits())
+                    .putLong(uuid.getLeastSignificantBits())
+                    .array();
+        }
+        throw unknownUnwrap(type);
+    }
+
+    @Override
+    public <X> String wrap(X value, WrapperOptions options) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof String string) {
+            return string;
+        }
+        if (value instanceof UUID uuid) {
+            return uuid.toString();
+        }
+        if (value instanceof byte[] bytes) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            return new UUID(buffer.getLong(), buffer.getLong()).toString();
+        }
+        throw unknownWrap(value.getClass());
+    }
+
+    /**
+     * Parse a UUID in canonical text form
+     * @return The UUID, or null if the text is not a well-formed UUID
+     */
+    public static UUID parse(String value) {
+        if (value.length() != 36) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The canonical, lower-case text of a UUID in any letter case, as read
+     * back from the database, e.g. to key caches by an ID from a request
+     * @return The canonical text, or the value itself if it is not a well-formed UUID
+     */
+    public static String canonical(String value) {
+        UUID uuid = value != null ? parse(value) : null;
+        return uuid != null ? uuid.toString() : value;
+    }
+}
@@ -0,0 +1,58 @@
+package com.retail.offersviewer.entity;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Time-ordered UUIDs (RFC 9562 version 7): a 48-bit Unix millisecond
+ * timestamp, a 12-bit counter that keeps IDs generated within the same
+ * millisecond in order, and 62 random bits. New rows therefore land at the
+ * right-hand edge of primary key and foreign key indexes instead of at
+ * random positions.
+ */
+public final class UuidV7 {
+
+    private static final long COUNTER_MASK = 0xFFFL;
+
+    private static long lastMillis;
+    private static long counter;
+
+    private UuidV7() {
+    }
+
+    /**
+     * Next ID, strictly increasing within this JVM
+     */
+    public static UUID next() {
+        long millis;
+        long sequence;
+        synchronized (UuidV7.class) {
+            millis = Math.max(System.currentTimeMillis(), lastMillis);
+            if (millis == lastMillis) {
+                counter = (counter + 1) & COUNTER_MASK;
+                if (counter == 0) {
+                    // Counter exhausted, borrow the next millisecond
+                    millis++;
+                }
+            } else {
+                counter = 0;
+            }
+            lastMillis = millis;
+            sequence = counter;
+        }
+        return of(millis, sequence, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Build an ID from explicit parts, e.g. for deterministic bulk loads
+     * @param unixMillis Timestamp in milliseconds since the epoch
+     * @param sequence Counter within the millisecond, lower 12 bits used
+     * @param random Source of the random bits
+     */
+    public static UUID of(long unixMillis, long sequence, Random random) {
+        long most = (unixMillis << 16) | 0x7000L | (sequence & COUNTER_MASK);
+        long least = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(most, least);
+    }
+}
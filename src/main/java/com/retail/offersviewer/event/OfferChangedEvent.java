@@ -0,0 +1,22 @@
+package com.retail.offersviewer.event;
+
+/**
+ * Application event raised whenever an offer is created, updated or removed.
+ * In-memory read models listen for it to drop the affected store's data.
+ *
+ * @param storeId The store the offer belongs to, or null when every store is affected
+ * @param offerId The changed offer ID, or null for bulk changes
+ */
+public record OfferChangedEvent(String storeId, String offerId) {
+
+    /**
+     * Event signalling that every store's offers may have changed
+     */
+    public static OfferChangedEvent allStores() {
+        return new OfferChangedEvent(null, null);
+    }
+
+    public boolean affectsAllStores() {
+        return storeId == null;
+    }
+}
@@ -0,0 +1,10 @@
+package com.retail.offersviewer.event;
+
+/**
+ * Application event raised whenever a shared offer definition is created,
+ * updated or removed. Every store assigned the definition is affected.
+ *
+ * @param definitionId The changed definition ID
+ */
+public record OfferDefinitionChangedEvent(String definitionId) {
+}
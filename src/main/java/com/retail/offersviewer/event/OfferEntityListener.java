@@ -0,0 +1,41 @@
+package com.retail.offersviewer.event;
+
+import com.retail.offersviewer.entity.Offer;
+import com.retail.offersviewer.entity.OfferAssignment;
+import com.retail.offersviewer.entity.OfferDefinition;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA entity listener that turns writes to offers, shared offer definitions
+ * and store assignments into {@link OfferChangedEvent}s.
+ * Instantiated by Hibernate through Spring's bean container, so dependencies
+ * are injected through the constructor.
+ */
+public class OfferEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public OfferEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onOfferChanged(Object entity) {
+        switch (entity) {
+            case Offer offer -> eventPublisher.publishEvent(new OfferChangedEvent(offer.getStoreId(), offer.getId()));
+            case OfferAssignment assignment ->
+                    eventPublisher.publishEvent(new OfferChangedEvent(assignment.getStoreId(), assignment.getId()));
+            case OfferDefinition definition -> {
+                eventPublisher.publishEvent(new OfferDefinitionChangedEvent(definition.getId()));
+                eventPublisher.publishEvent(OfferChangedEvent.allStores());
+            }
+            default -> {
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.retail.offersviewer.event;
+
+/**
+ * Application event raised whenever a store is created, updated or removed.
+ * In-memory store indexes listen for it to rebuild.
+ *
+ * @param storeId The changed store ID, or null when any store may have changed
+ */
+public record StoreChangedEvent(String storeId) {
+}
@@ -0,0 +1,27 @@
+package com.retail.offersviewer.event;
+
+import com.retail.offersviewer.entity.Store;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA entity listener that turns store writes into {@link StoreChangedEvent}s.
+ * Instantiated by Hibernate through Spring's bean container.
+ */
+public class StoreEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public StoreEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onStoreChanged(Store store) {
+        eventPublisher.publishEvent(new StoreChangedEvent(store.getId()));
+    }
+}
@@ -0,0 +1,41 @@
+package com.retail.offersviewer.exception;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits how often a noisy log statement is written. Permits a fixed number
+ * of messages per second and counts the ones suppressed in between, so the
+ * next permitted message can report them.
+ */
+final class LogThrottle {
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int permitsPerSecond;
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicLong permitted = new AtomicLong();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    LogThrottle(int permitsPerSecond) {
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    /**
+     * Ask to write one message
+     * @return Messages suppressed since the last permitted one, or -1 if this
+     * message should be suppressed too
+     */
+    long tryAcquire() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+            permitted.set(0);
+        }
+        if (permitted.incrementAndGet() > permitsPerSecond) {
+            suppressed.incrementAndGet();
+            return -1;
+        }
+        return suppressed.getAndSet(0);
+    }
+}
@@ -1,12 +1,35 @@
 package com.retail.offersviewer.exception;
 
+/**
+ * Thrown when a requested resource does not exist. Handled as an ordinary
+ * 404 response, so no stack trace is captured and the message is only
+ * formatted when read.
+ */
 public class ResourceNotFoundException extends RuntimeException {
     
+    private final String resourceName;
+    private final String fieldName;
+    private final Object fieldValue;
+    
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
+        this.resourceName = null;
+        this.fieldName = null;
+        this.fieldValue = null;
     }
     
     public ResourceNotFoundException(String resourceName, String fieldName, Object fieldValue) {
-        super(String.format("%s not found with %s: '%s'", resourceName, fieldName, fieldValue));
+        super(null, null, false, false);
+        this.resourceName = resourceName;
+        this.fieldName = fieldName;
+        this.fieldValue = fieldValue;
+    }
+    
+    @Override
+    public String getMessage() {
+        if (resourceName == null) {
+            return super.getMessage();
+        }
+        return resourceName + " not found with " + fieldName + ": '" + fieldValue + "'";
     }
 }
@@ -0,0 +1,213 @@
+package com.retail.offersviewer.index;
+
+import com.retail.offersviewer.dto.BasketEvaluation;
+import com.retail.offersviewer.dto.BasketRequest;
+import com.retail.offersviewer.entity.Offer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Precompiled offer rules for one store, evaluated against baskets entirely
+ * in memory. Each basket line receives at most one offer, the one saving the
+ * most on that line; offers do not stack.
+ *
+ * <ul>
+ *   <li>PERCENTAGE: discount value percent off every unit</li>
+ *   <li>FIXED: discount value off every unit, never below zero</li>
+ *   <li>BOGO: every second unit is discounted by the discount value percent</li>
+ *   <li>BUNDLE: discount value off every unit once the basket holds at least
+ *       {@value #BUNDLE_MINIMUM_QUANTITY} units across the offer's eligible products</li>
+ * </ul>
+ */
+public final class BasketRuleSet {
+
+    public static final int BUNDLE_MINIMUM_QUANTITY = 2;
+
+    private final ProductOfferIndex productIndex;
+    private final Rule[] rules;
+
+    private BasketRuleSet(ProductOfferIndex productIndex, Rule[] rules) {
+        this.productIndex = productIndex;
+        this.rules = rules;
+    }
+
+    /**
+     * Compile the rules for a fixed list of offers
+     * @param offers The store's active offers
+     * @return Rule set ready for evaluation
+     */
+    public static BasketRuleSet compile(List<Offer> offers) {
+        ProductOfferIndex productIndex = ProductOfferIndex.build(offers);
+        List<Offer> indexed = productIndex.offers();
+        Rule[] rules = new Rule[indexed.size()];
+        for (int i = 0; i < rules.length; i++) {
+            rules[i] = Rule.of(indexed.get(i));
+        }
+        return new BasketRuleSet(productIndex, rules);
+    }
+
+    /**
+     * Apply the rules to a basket
+     * @param basket The basket to evaluate
+     * @return Savings per applied offer and basket totals
+     */
+    public BasketEvaluation evaluate(BasketRequest basket) {
+        List<BasketRequest.Line> lines = basket.lines();
+        double subtotal = 0;
+        for (BasketRequest.Line line : lines) {
+            subtotal += line.quantity() * line.unitPrice();
+        }
+        Set<String> coupons = normalizeCoupons(basket.couponCodes());
+
+        // Pass 1: qualifying offers per line, and unit counts for bundle thresholds
+        int[][] candidates = new int[lines.size()][];
+        Map<Integer, Integer> bundleQuantities = null;
+        for (int i = 0; i < lines.size(); i++) {
+            BasketRequest.Line line = lines.get(i);
+            // match() returns a fresh array, so it is compacted in place
+            int[] matches = productIndex.match(line.product());
+            int count = 0;
+            for (int position : matches) {
+                Rule rule = rules[position];
+                if (rule.qualifies(basket.loyaltyCard(), coupons, subtotal)) {
+                    matches[count++] = position;
+                    if (rule.type == Offer.DiscountType.BUNDLE) {
+                        if (bundleQuantities == null) {
+                            bundleQuantities = new HashMap<>();
+                        }
+                        bundleQuantities.merge(position, line.quantity(), Integer::sum);
+                    }
+                }
+            }
+            candidates[i] = count == matches.length ? matches : Arrays.copyOf(matches, count);
+        }
+
+        // Pass 2: best offer per line
+        Map<Integer, Applied> applied = new LinkedHashMap<>();
+        for (int i = 0; i < lines.size(); i++) {
+            BasketRequest.Line line = lines.get(i);
+            int best = -1;
+            double bestSaving = 0;
+            for (int position : candidates[i]) {
+                int bundleQuantity = bundleQuantities != null ? bundleQuantities.getOrDefault(position, 0) : 0;
+                double saving = rules[position].saving(line, bundleQuantity);
+                if (saving > bestSaving) {
+                    best = position;
+                    bestSaving = saving;
+                }
+            }
+            if (best >= 0) {
+                applied.computeIfAbsent(best, position -> new Applied()).add(line.product(), bestSaving);
+            }
+        }
+
+        List<BasketEvaluation.AppliedOffer> appliedOffers = new ArrayList<>(applied.size());
+        double totalSavings = 0;
+        for (Map.Entry<Integer, Applied> entry : applied.entrySet()) {
+            Offer offer = rules[entry.getKey()].offer;
+            double savings = roundToCents(entry.getValue().savings);
+            totalSavings += savings;
+            appliedOffers.add(new BasketEvaluation.AppliedOffer(offer.getId(), offer.getTitle(),
+                    offer.getDiscountType(), entry.getValue().products, savings));
+        }
+
+        subtotal = roundToCents(subtotal);
+        totalSavings = roundToCents(totalSavings);
+        return new BasketEvaluation(basket.basketId(), subtotal, totalSavings,
+                roundToCents(subtotal - totalSavings), appliedOffers);
+    }
+
+    /**
+     * Number of compiled offer rules
+     */
+    public int size() {
+        return rules.length;
+    }
+
+    private static Set<String> normalizeCoupons(List<String> couponCodes) {
+        if (couponCodes.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> coupons = new HashSet<>();
+        for (String code : couponCodes) {
+            if (code != null && !code.isBlank()) {
+                coupons.add(code.trim().toUpperCase(Locale.ROOT));
+            }
+        }
+        return coupons;
+    }
+
+    private static double roundToCents(double amount) {
+        return Math.round(amount * 100.0) / 100.0;
+    }
+
+    private static final class Applied {
+        private final List<String> products = new ArrayList<>(2);
+        private double savings;
+
+        private void add(String product, double saving) {
+            products.add(product);
+            savings += saving;
+        }
+    }
+
+    private static final class Rule {
+        private final Offer offer;
+        private final Offer.DiscountType type;
+        private final double value;
+        private final double minimumPurchase;
+        private final boolean requiresLoyaltyCard;
+        private final String couponCode;
+
+        private Rule(Offer offer, Offer.DiscountType type, double value, double minimumPurchase,
+                     boolean requiresLoyaltyCard, String couponCode) {
+            this.offer = offer;
+            this.type = type;
+            this.value = value;
+            this.minimumPurchase = minimumPurchase;
+            this.requiresLoyaltyCard = requiresLoyaltyCard;
+            this.couponCode = couponCode;
+        }
+
+        private static Rule of(Offer offer) {
+            String coupon = offer.getCouponCode();
+            return new Rule(offer,
+                    offer.getDiscountType(),
+                    offer.getDiscountValue() != null ? offer.getDiscountValue() : 0,
+                    offer.getMinimumPurchase() != null ? offer.getMinimumPurchase() : 0,
+                    Boolean.TRUE.equals(offer.getRequiresLoyaltyCard()),
+                    coupon != null && !coupon.isBlank() ? coupon.trim().toUpperCase(Locale.ROOT) : null);
+        }
+
+        private boolean qualifies(boolean loyaltyCard, Set<String> coupons, double subtotal) {
+            if (requiresLoyaltyCard && !loyaltyCard) {
+                return false;
+            }
+            if (couponCode != null && !coupons.contains(couponCode)) {
+                return false;
+            }
+            return subtotal >= minimumPurchase;
+        }
+
+        private double saving(BasketRequest.Line line, int bundleQuantity) {
+            double unitPrice = line.unitPrice();
+            int quantity = line.quantity();
+            return switch (type) {
+                case PERCENTAGE -> quantity * unitPrice * Math.min(value, 100.0) / 100.0;
+                case FIXED -> quantity * Math.min(value, unitPrice);
+                case BOGO -> (quantity / 2) * unitPrice * Math.min(value, 100.0) / 100.0;
+                case BUNDLE -> bundleQuantity >= BUNDLE_MINIMUM_QUANTITY
+                        ? quantity * Math.min(value, unitPrice)
+                        : 0;
+            };
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.retail.offersviewer.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Immutable prefix trie answering weighted top-N completion queries.
+ * Every word of an inserted phrase is indexed, so "milk" completes
+ * "Whole Milk Gallon". Each node stores its best completions precomputed,
+ * making a lookup a walk down the prefix followed by a sublist.
+ *
+ * @param <T> Completion value type; equal values are merged and their weights summed
+ */
+public final class PrefixTrie<T> {
+
+    private final Node<T> root;
+    private final int size;
+
+    private PrefixTrie(Node<T> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    public static <T> Builder<T> builder(int maxCompletionsPerPrefix) {
+        return new Builder<>(maxCompletionsPerPrefix);
+    }
+
+    /**
+     * Get the highest weighted completions for a prefix
+     * @param prefix Raw user input; normalized before lookup
+     * @param limit Maximum number of completions to return
+     * @return Completions ordered by descending weight, empty if none match
+     */
+    public List<T> complete(String prefix, int limit) {
+        String key = TextNormalizer.normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Node<T> node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        if (limit >= node.completions.size()) {
+            return node.completions;
+        }
+        return node.completions.subList(0, limit);
+    }
+
+    /**
+     * Number of distinct completion values in the trie
+     */
+    public int size() {
+        return size;
+    }
+
+    private static final class Node<T> {
+        private final char[] keys;
+        private final Node<T>[] children;
+        private final List<T> completions;
+
+        private Node(char[] keys, Node<T>[] children, List<T> completions) {
+            this.keys = keys;
+            this.children = children;
+            this.completions = completions;
+        }
+
+        private Node<T> child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+    }
+
+    /**
+     * Collects phrases and their weights, then freezes them into a trie
+     */
+    public static final class Builder<T> {
+
+        private final int maxCompletionsPerPrefix;
+        private final MutableNode<T> root = new MutableNode<>();
+        private final Map<T, Long> weights = new HashMap<>();
+
+        private Builder(int maxCompletionsPerPrefix) {
+            this.maxCompletionsPerPrefix = maxCompletionsPerPrefix;
+        }
+
+        /**
+         * Index a phrase under every word it contains
+         * @param phrase The text users type against
+         * @param value The completion returned for matching prefixes
+         * @param weight Popularity weight added to the value's total
+         */
+        public Builder<T> add(String phrase, T value, long weight) {
+            String key = TextNormalizer.normalize(phrase);
+            if (key.isEmpty()) {
+                return this;
+            }
+            weights.merge(value, weight, Long::sum);
+            for (int start : TextNormalizer.wordStarts(key)) {
+                MutableNode<T> node = root;
+                for (int i = start; i < key.length(); i++) {
+                    node = node.children.computeIfAbsent(key.charAt(i), c -> new MutableNode<>());
+                    node.values.add(value);
+                }
+            }
+            return this;
+        }
+
+        public PrefixTrie<T> build() {
+            Comparator<T> byWeight = Comparator.comparing((T value) -> weights.get(value)).reversed();
+            return new PrefixTrie<>(freeze(root, byWeight), weights.size());
+        }
+
+        @SuppressWarnings("unchecked")
+        private Node<T> freeze(MutableNode<T> node, Comparator<T> byWeight) {
+            char[] keys = new char[node.children.size()];
+            Node<T>[] children = new Node[node.children.size()];
+            int i = 0;
+            for (Map.Entry<Character, MutableNode<T>> entry : node.children.entrySet()) {
+                keys[i] = entry.getKey();
+                children[i] = freeze(entry.getValue(), byWeight);
+                i++;
+            }
+            List<T> ranked = new ArrayList<>(node.values);
+            ranked.sort(byWeight);
+            List<T> completions = List.copyOf(ranked.subList(0, Math.min(maxCompletionsPerPrefix, ranked.size())));
+            return new Node<>(keys, children, completions);
+        }
+    }
+
+    private static final class MutableNode<T> {
+        // TreeMap keeps keys sorted for the binary search in the frozen node
+        private final Map<Character, MutableNode<T>> children = new TreeMap<>();
+        private final Set<T> values = new LinkedHashSet<>();
+    }
+}
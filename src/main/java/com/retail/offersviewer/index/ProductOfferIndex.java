@@ -0,0 +1,191 @@
+package com.retail.offersviewer.index;
+
+import com.retail.offersviewer.entity.Offer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable reverse index from normalized product names to the offers they
+ * are eligible for. A scanned product matches an offer when the product name
+ * equals, or contains as whole words, one of the offer's eligible products,
+ * and contains none of the offer's exclusions.
+ */
+public final class ProductOfferIndex {
+
+    /**
+     * Longest eligible product name, in words, considered when matching
+     * products that contain an eligible name (e.g. "Tide 100oz Travel Size")
+     */
+    private static final int MAX_PHRASE_WORDS = 8;
+
+    private static final int[] NO_MATCH = new int[0];
+
+    private final List<Offer> offers;
+    private final Map<String, int[]> offersByProduct;
+    private final String[][] exclusions;
+
+    private ProductOfferIndex(List<Offer> offers, Map<String, int[]> offersByProduct, String[][] exclusions) {
+        this.offers = offers;
+        this.offersByProduct = offersByProduct;
+        this.exclusions = exclusions;
+    }
+
+    /**
+     * Build an index over a fixed list of offers
+     * @param offers The offers to index
+     * @return Index answering product lookups for those offers
+     */
+    public static ProductOfferIndex build(List<Offer> offers) {
+        Map<String, List<Integer>> positions = new HashMap<>();
+        String[][] exclusions = new String[offers.size()][];
+
+        for (int i = 0; i < offers.size(); i++) {
+            Offer offer = offers.get(i);
+            exclusions[i] = offer.getExclusions().stream()
+                    .map(TextNormalizer::normalize)
+                    .filter(exclusion -> !exclusion.isEmpty())
+                    .distinct()
+                    .toArray(String[]::new);
+
+            for (String product : offer.getEligibleProducts()) {
+                String key = TextNormalizer.normalize(product);
+                if (key.isEmpty() || isExcluded(key, exclusions[i])) {
+                    continue;
+                }
+                List<Integer> offerPositions = positions.computeIfAbsent(key, k -> new ArrayList<>());
+                if (offerPositions.isEmpty() || offerPositions.get(offerPositions.size() - 1) != i) {
+                    offerPositions.add(i);
+                }
+            }
+        }
+
+        Map<String, int[]> offersByProduct = new HashMap<>(positions.size() * 2);
+        positions.forEach((key, list) -> offersByProduct.put(key, list.stream().mapToInt(Integer::intValue).toArray()));
+        return new ProductOfferIndex(List.copyOf(offers), offersByProduct, exclusions);
+    }
+
+    /**
+     * Find the offers that apply to a product
+     * @param product Product name as scanned or typed
+     * @return Matching offers in index order, empty if none apply
+     */
+    public List<Offer> lookup(String product) {
+        int[] positions = match(product);
+        List<Offer> result = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            result.add(offers.get(position));
+        }
+        return result;
+    }
+
+    /**
+     * Find the positions of the offers that apply to a product
+     * @param product Product name as scanned or typed
+     * @return Ascending positions into {@link #offers()}, empty if none apply
+     */
+    public int[] match(String product) {
+        String key = TextNormalizer.normalize(product);
+        if (key.isEmpty()) {
+            return NO_MATCH;
+        }
+
+        int[] exact = offersByProduct.get(key);
+        if (exact != null) {
+            return withoutExcluded(exact, key);
+        }
+
+        // No exact match; try every run of whole words in the product name
+        List<Integer> starts = TextNormalizer.wordStarts(key);
+        List<Integer> ends = wordEnds(key, starts);
+        Set<Integer> matched = new LinkedHashSet<>();
+        for (int first = 0; first < starts.size(); first++) {
+            int last = Math.min(starts.size(), first + MAX_PHRASE_WORDS);
+            for (int end = first; end < last; end++) {
+                int[] positions = offersByProduct.get(key.substring(starts.get(first), ends.get(end)));
+                if (positions != null) {
+                    for (int position : positions) {
+                        matched.add(position);
+                    }
+                }
+            }
+        }
+        if (matched.isEmpty()) {
+            return NO_MATCH;
+        }
+        return withoutExcluded(matched.stream().mapToInt(Integer::intValue).sorted().toArray(), key);
+    }
+
+    /**
+     * The indexed offers, addressed by the positions returned from {@link #match(String)}
+     */
+    public List<Offer> offers() {
+        return offers;
+    }
+
+    /**
+     * Number of distinct product names in the index
+     */
+    public int size() {
+        return offersByProduct.size();
+    }
+
+    private int[] withoutExcluded(int[] positions, String key) {
+        int count = 0;
+        int[] result = new int[positions.length];
+        for (int position : positions) {
+            if (!isExcluded(key, exclusions[position])) {
+                result[count++] = position;
+            }
+        }
+        return count == positions.length ? result : Arrays.copyOf(result, count);
+    }
+
+    private static boolean isExcluded(String key, String[] exclusions) {
+        for (String exclusion : exclusions) {
+            if (containsPhrase(key, exclusion)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whole-word containment, treating a trailing plural "s" as optional so
+     * "Travel sizes" excludes "Tide Travel Size"
+     */
+    private static boolean containsPhrase(String text, String phrase) {
+        String singular = phrase.length() > 1 && phrase.endsWith("s") ? phrase.substring(0, phrase.length() - 1) : phrase;
+        int from = 0;
+        while (true) {
+            int index = text.indexOf(singular, from);
+            if (index < 0) {
+                return false;
+            }
+            int end = index + singular.length();
+            if (end < text.length() && text.charAt(end) == 's' && !singular.equals(phrase)) {
+                end++;
+            }
+            boolean startsAtWord = index == 0 || text.charAt(index - 1) == ' ';
+            boolean endsAtWord = end == text.length() || text.charAt(end) == ' ';
+            if (startsAtWord && endsAtWord) {
+                return true;
+            }
+            from = index + 1;
+        }
+    }
+
+    private static List<Integer> wordEnds(String key, List<Integer> starts) {
+        List<Integer> ends = new ArrayList<>(starts.size());
+        for (int start : starts) {
+            int end = key.indexOf(' ', start);
+            ends.add(end < 0 ? key.length() : end);
+        }
+        return ends;
+    }
+}
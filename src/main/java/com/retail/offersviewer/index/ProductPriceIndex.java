@@ -0,0 +1,203 @@
+package com.retail.offersviewer.index;
+
+import com.retail.offersviewer.dto.NearbyPrice;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable chain-wide index of offer prices by product, for finding where
+ * a product is cheapest nearby. Each normalized eligible product name maps
+ * to its offers in every store, as parallel arrays ordered by final price;
+ * a {@link StoreGrid} finds the stores near the shopper. A lookup marks the
+ * nearby stores, then walks the product's offers from the cheapest until it
+ * has one per store for enough stores, so its cost depends on the stores
+ * and offers involved, not on the size of the chain.
+ *
+ * Offers carry their validity, so offers that start or end after the index
+ * was built are filtered at lookup time without a rebuild.
+ */
+public final class ProductPriceIndex {
+
+    private final String[] storeIds;
+    private final String[] storeNames;
+    private final StoreGrid grid;
+    private final Map<String, Prices> pricesByProduct;
+
+    private ProductPriceIndex(String[] storeIds, String[] storeNames, StoreGrid grid,
+                              Map<String, Prices> pricesByProduct) {
+        this.storeIds = storeIds;
+        this.storeNames = storeNames;
+        this.grid = grid;
+        this.pricesByProduct = pricesByProduct;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Find the stores near a location with an active offer on a product,
+     * cheapest first
+     * @param product Product name as scanned or typed; matched exactly after normalization
+     * @param latitude Latitude of the shopper
+     * @param longitude Longitude of the shopper
+     * @param radiusKm Maximum distance of a store, in kilometres
+     * @param now Evaluation instant
+     * @param limit Maximum number of stores
+     * @return The cheapest offer of each store, by final price then distance
+     */
+    public List<NearbyPrice> cheapestNearby(String product, double latitude, double longitude, double radiusKm,
+                                            LocalDateTime now, int limit) {
+        Prices prices = pricesByProduct.get(TextNormalizer.normalize(product));
+        if (prices == null || limit <= 0) {
+            return List.of();
+        }
+
+        double[] distances = new double[storeIds.length];
+        Arrays.fill(distances, Double.NaN);
+        int[] nearby = new int[1];
+        grid.forEachWithin(latitude, longitude, radiusKm, (store, distanceKm) -> {
+            distances[store] = distanceKm;
+            nearby[0]++;
+        });
+        if (nearby[0] == 0) {
+            return List.of();
+        }
+
+        List<NearbyPrice> result = new ArrayList<>(Math.min(limit, nearby[0]));
+        boolean[] seen = new boolean[storeIds.length];
+        double cutoff = Double.NaN;
+        for (int i = 0; i < prices.stores.length; i++) {
+            // Keep collecting offers tied with the last price taken, so ties are broken by distance
+            if (result.size() >= limit && prices.finalPrices[i] > cutoff) {
+                break;
+            }
+            int store = prices.stores[i];
+            if (seen[store] || Double.isNaN(distances[store])
+                    || prices.validFrom[i].isAfter(now) || prices.validUntil[i].isBefore(now)) {
+                continue;
+            }
+            // Offers are in price order, so a store's first offer is its cheapest
+            seen[store] = true;
+            cutoff = prices.finalPrices[i];
+            result.add(new NearbyPrice(storeIds[store], storeNames[store], distances[store], prices.offerIds[i],
+                    prices.finalPrices[i], prices.validUntil[i]));
+        }
+
+        result.sort(Comparator.comparingDouble(NearbyPrice::finalPrice)
+                .thenComparingDouble(NearbyPrice::distanceKm));
+        return result.size() > limit ? List.copyOf(result.subList(0, limit)) : result;
+    }
+
+    /**
+     * Number of distinct product names in the index
+     */
+    public int size() {
+        return pricesByProduct.size();
+    }
+
+    /**
+     * Number of stores in the index
+     */
+    public int stores() {
+        return storeIds.length;
+    }
+
+    /**
+     * Offers on one product across every store, as parallel arrays ordered by final price
+     */
+    private record Prices(int[] stores, double[] finalPrices, String[] offerIds,
+                          LocalDateTime[] validFrom, LocalDateTime[] validUntil) {
+    }
+
+    /**
+     * Collects stores and offer rows; offers of stores never added are dropped
+     */
+    public static final class Builder {
+
+        private final Map<String, Integer> storePositions = new HashMap<>();
+        private final List<String> storeIds = new ArrayList<>();
+        private final List<String> storeNames = new ArrayList<>();
+        private final List<double[]> coordinates = new ArrayList<>();
+        private final Map<String, List<Row>> rowsByProduct = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Add a store; stores without coordinates are never found nearby
+         */
+        public Builder addStore(String storeId, String name, Double latitude, Double longitude) {
+            if (storePositions.putIfAbsent(storeId, storeIds.size()) == null) {
+                storeIds.add(storeId);
+                storeNames.add(name);
+                coordinates.add(new double[] {
+                        latitude != null ? latitude : Double.NaN,
+                        longitude != null ? longitude : Double.NaN});
+            }
+            return this;
+        }
+
+        /**
+         * Add an offer on one of its eligible products
+         */
+        public Builder addOffer(String storeId, String offerId, String product, double finalPrice,
+                                LocalDateTime validFrom, LocalDateTime validUntil) {
+            String key = TextNormalizer.normalize(product);
+            if (!key.isEmpty()) {
+                rowsByProduct.computeIfAbsent(key, k -> new ArrayList<>())
+                        .add(new Row(storeId, offerId, finalPrice, validFrom, validUntil));
+            }
+            return this;
+        }
+
+        public ProductPriceIndex build() {
+            double[] latitudes = new double[coordinates.size()];
+            double[] longitudes = new double[coordinates.size()];
+            for (int i = 0; i < coordinates.size(); i++) {
+                latitudes[i] = coordinates.get(i)[0];
+                longitudes[i] = coordinates.get(i)[1];
+            }
+
+            Map<String, Prices> pricesByProduct = new HashMap<>(rowsByProduct.size() * 2);
+            rowsByProduct.forEach((product, rows) -> {
+                List<Row> known = new ArrayList<>(rows.size());
+                for (Row row : rows) {
+                    if (storePositions.containsKey(row.storeId())) {
+                        known.add(row);
+                    }
+                }
+                if (known.isEmpty()) {
+                    return;
+                }
+                known.sort(Comparator.comparingDouble(Row::finalPrice));
+
+                int size = known.size();
+                Prices prices = new Prices(new int[size], new double[size], new String[size],
+                        new LocalDateTime[size], new LocalDateTime[size]);
+                for (int i = 0; i < size; i++) {
+                    Row row = known.get(i);
+                    prices.stores()[i] = storePositions.get(row.storeId());
+                    prices.finalPrices()[i] = row.finalPrice();
+                    prices.offerIds()[i] = row.offerId();
+                    prices.validFrom()[i] = row.validFrom();
+                    prices.validUntil()[i] = row.validUntil();
+                }
+                pricesByProduct.put(product, prices);
+            });
+
+            return new ProductPriceIndex(storeIds.toArray(String[]::new), storeNames.toArray(String[]::new),
+                    StoreGrid.build(latitudes, longitudes), pricesByProduct);
+        }
+
+        private record Row(String storeId, String offerId, double finalPrice,
+                           LocalDateTime validFrom, LocalDateTime validUntil) {
+        }
+    }
+}
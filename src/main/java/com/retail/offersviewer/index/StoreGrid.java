@@ -0,0 +1,140 @@
+package com.retail.offersviewer.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable uniform grid over store coordinates answering "which stores are
+ * within this distance of a point". Stores are bucketed into cells of
+ * {@link #CELL_DEGREES} latitude by longitude, so a lookup only measures the
+ * stores in the cells overlapping the search circle's bounding box. Stores
+ * without coordinates are never found.
+ */
+public final class StoreGrid {
+
+    /**
+     * Cell size in degrees, about 11 km north to south
+     */
+    static final double CELL_DEGREES = 0.1;
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE_LATITUDE = Math.PI * EARTH_RADIUS_KM / 180;
+    private static final int LONGITUDE_CELLS = (int) Math.round(360 / CELL_DEGREES);
+    private static final int MAX_LATITUDE_CELL = (int) Math.floor(90 / CELL_DEGREES);
+
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final Map<Long, int[]> cells;
+
+    private StoreGrid(double[] latitudes, double[] longitudes, Map<Long, int[]> cells) {
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.cells = cells;
+    }
+
+    /**
+     * Build a grid over store positions
+     * @param latitudes Latitude of each store, NaN if unknown
+     * @param longitudes Longitude of each store, NaN if unknown
+     * @return Grid reporting stores by their position in the arrays
+     */
+    public static StoreGrid build(double[] latitudes, double[] longitudes) {
+        Map<Long, List<Integer>> positions = new HashMap<>();
+        for (int i = 0; i < latitudes.length; i++) {
+            if (Double.isNaN(latitudes[i]) || Double.isNaN(longitudes[i])) {
+                continue;
+            }
+            positions.computeIfAbsent(cellOf(latitudeCell(latitudes[i]), longitudeCell(longitudes[i])),
+                    cell -> new ArrayList<>()).add(i);
+        }
+
+        Map<Long, int[]> cells = new HashMap<>(positions.size() * 2);
+        positions.forEach((cell, list) -> cells.put(cell, list.stream().mapToInt(Integer::intValue).toArray()));
+        return new StoreGrid(latitudes.clone(), longitudes.clone(), cells);
+    }
+
+    /**
+     * Visit every store within a distance of a point, in no particular order
+     * @param latitude Latitude of the point
+     * @param longitude Longitude of the point
+     * @param radiusKm Maximum distance, in kilometres
+     * @param visitor Called with each store's position and distance
+     */
+    public void forEachWithin(double latitude, double longitude, double radiusKm, StoreVisitor visitor) {
+        double latitudeSpan = radiusKm / KM_PER_DEGREE_LATITUDE;
+        int firstLatitudeCell = Math.max(-MAX_LATITUDE_CELL, latitudeCell(latitude - latitudeSpan));
+        int lastLatitudeCell = Math.min(MAX_LATITUDE_CELL, latitudeCell(latitude + latitudeSpan));
+
+        // Degrees of longitude shrink towards the poles; widest at the edge of the box nearest one
+        double widestLatitude = Math.min(90, Math.abs(latitude) + latitudeSpan);
+        double cosine = Math.cos(Math.toRadians(widestLatitude));
+        double longitudeSpan = cosine > 1e-9 ? latitudeSpan / cosine : 360;
+        int longitudeCells = longitudeSpan >= 180
+                ? LONGITUDE_CELLS
+                : Math.min(LONGITUDE_CELLS, (int) Math.floor((longitude + longitudeSpan) / CELL_DEGREES)
+                        - (int) Math.floor((longitude - longitudeSpan) / CELL_DEGREES) + 1);
+        int firstLongitudeCell = longitudeSpan >= 180 ? 0 : longitudeCell(longitude - longitudeSpan);
+
+        for (int latitudeCell = firstLatitudeCell; latitudeCell <= lastLatitudeCell; latitudeCell++) {
+            for (int step = 0; step < longitudeCells; step++) {
+                // Wraps around the antimeridian
+                int[] stores = cells.get(cellOf(latitudeCell, (firstLongitudeCell + step) % LONGITUDE_CELLS));
+                if (stores == null) {
+                    continue;
+                }
+                for (int store : stores) {
+                    double distance = distanceKm(latitude, longitude, latitudes[store], longitudes[store]);
+                    if (distance <= radiusKm) {
+                        visitor.visit(store, distance);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Number of stores with coordinates
+     */
+    public int size() {
+        int size = 0;
+        for (int[] stores : cells.values()) {
+            size += stores.length;
+        }
+        return size;
+    }
+
+    /**
+     * Great-circle distance between two points, in kilometres
+     */
+    public static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double latitudeDelta = Math.toRadians(latitude2 - latitude1);
+        double longitudeDelta = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(latitudeDelta / 2) * Math.sin(latitudeDelta / 2)
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+                * Math.sin(longitudeDelta / 2) * Math.sin(longitudeDelta / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static int latitudeCell(double latitude) {
+        return (int) Math.floor(latitude / CELL_DEGREES);
+    }
+
+    private static int longitudeCell(double longitude) {
+        return Math.floorMod((int) Math.floor(longitude / CELL_DEGREES), LONGITUDE_CELLS);
+    }
+
+    private static long cellOf(int latitudeCell, int longitudeCell) {
+        return (long) latitudeCell * LONGITUDE_CELLS + longitudeCell;
+    }
+
+    /**
+     * Receives the stores found by {@link #forEachWithin}
+     */
+    @FunctionalInterface
+    public interface StoreVisitor {
+
+        void visit(int store, double distanceKm);
+    }
+}
@@ -0,0 +1,62 @@
+package com.retail.offersviewer.index;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Normalizes free text (titles, product names, search input) into the
+ * canonical form used as keys by the in-memory indexes.
+ */
+public final class TextNormalizer {
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Lower-case the text, replace punctuation with spaces and collapse whitespace
+     * @param text The text to normalize (may be null)
+     * @return Normalized text, empty if the input is null or blank
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && !normalized.isEmpty()) {
+                    normalized.append(' ');
+                }
+                pendingSpace = false;
+                normalized.append(Character.toLowerCase(c));
+            } else if (c == '&' || c == '%') {
+                // Keep symbols that carry meaning in product names ("Ben & Jerry's", "2%")
+                if (!normalized.isEmpty()) {
+                    normalized.append(' ');
+                }
+                normalized.append(c);
+                pendingSpace = true;
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Start offsets of every word in already normalized text
+     * @param normalized Text produced by {@link #normalize(String)}
+     * @return Offsets of each word, starting with 0 for non-empty text
+     */
+    public static List<Integer> wordStarts(String normalized) {
+        List<Integer> starts = new ArrayList<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            if (normalized.charAt(i) != ' ' && (i == 0 || normalized.charAt(i - 1) == ' ')) {
+                starts.add(i);
+            }
+        }
+        return starts;
+    }
+}
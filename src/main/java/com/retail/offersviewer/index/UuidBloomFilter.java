@@ -0,0 +1,106 @@
+package com.retail.offersviewer.index;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Bloom filter over UUIDs. {@link #mightContain} never returns false for an
+ * added UUID, and returns true for an absent one with roughly the false
+ * positive rate the filter was sized for. Elements cannot be removed.
+ *
+ * Safe for concurrent use: additions set bits atomically and lookups read
+ * without locking.
+ */
+public final class UuidBloomFilter {
+
+    private static final LongBinaryOperator OR = (bits, mask) -> bits | mask;
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final long capacity;
+
+    private UuidBloomFilter(long bitCount, int hashCount, long capacity) {
+        this.words = new AtomicLongArray((int) ((bitCount + 63) >>> 6));
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Create a filter sized for an expected number of elements
+     * @param expectedElements Elements the filter should hold at the given false positive rate
+     * @param falsePositiveRate Target false positive rate, between 0 and 1
+     * @return Empty filter
+     */
+    public static UuidBloomFilter withCapacity(long expectedElements, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        long capacity = Math.max(expectedElements, 1);
+        double ln2 = Math.log(2);
+        long bitCount = Math.max(64, (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2)));
+        if (bitCount > (long) Integer.MAX_VALUE * 64) {
+            throw new IllegalArgumentException("Bloom filter too large for " + expectedElements + " elements");
+        }
+        int hashCount = (int) Math.max(1, Math.round((double) bitCount / capacity * ln2));
+        return new UuidBloomFilter(bitCount, hashCount, capacity);
+    }
+
+    public void add(UUID id) {
+        long h1 = h1(id);
+        long h2 = h2(id);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if ((words.get(word) & mask) == 0) {
+                words.accumulateAndGet(word, mask, OR);
+            }
+        }
+    }
+
+    public boolean mightContain(UUID id) {
+        long h1 = h1(id);
+        long h2 = h2(id);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Number of elements the filter was sized for
+     */
+    public long capacity() {
+        return capacity;
+    }
+
+    // UUIDv7 bits are largely timestamp and counter, so both halves are mixed
+    // before use; the two hashes drive double hashing (Kirsch-Mitzenmacher)
+
+    private static long h1(UUID id) {
+        return mix(id.getMostSignificantBits() ^ Long.rotateLeft(id.getLeastSignificantBits(), 32));
+    }
+
+    private static long h2(UUID id) {
+        // Never zero, so the probes do not all land on the same bit
+        return mix(id.getLeastSignificantBits() + 0x9E3779B97F4A7C15L * id.getMostSignificantBits()) | 1;
+    }
+
+    /**
+     * MurmurHash3 64-bit finalizer
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,131 @@
+package com.retail.offersviewer.querystats;
+
+import com.retail.offersviewer.sharding.OfferShards;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects plans of slow statements with the database's own EXPLAIN
+ * ({@code EXPLAIN PLAN FOR} on HSQLDB, {@code EXPLAIN} on PostgreSQL),
+ * bound to the parameters of the slow execution. Plans are collected one at
+ * a time on a background thread, on the shard the statement ran on; when
+ * too many are waiting, new requests are dropped. EXPLAIN without ANALYZE
+ * does not execute the statement, so writes are explained safely too.
+ */
+@Component
+public class QueryPlanCollector {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryPlanCollector.class);
+
+    private static final int MAX_PENDING = 64;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OfferShards offerShards;
+    private final Clock clock;
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(MAX_PENDING), Thread.ofVirtual().name("query-plan").factory(),
+            new ThreadPoolExecutor.DiscardPolicy());
+
+    public QueryPlanCollector(JdbcTemplate jdbcTemplate, OfferShards offerShards, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.offerShards = offerShards;
+        this.clock = clock;
+    }
+
+    /**
+     * Queue collection of a statement's plan; called on the thread that ran it
+     * @param stats Where the plan is stored
+     * @param sql The SQL as executed
+     * @param parameters Its bound parameters by position
+     */
+    void collect(StatementStats stats, String sql, List<Object> parameters) {
+        int shard = offerShards.currentShard();
+        executor.execute(() -> {
+            try {
+                String plan = offerShards.readFromShard(shard, () -> explain(sql, parameters));
+                if (plan != null) {
+                    stats.plan(plan, LocalDateTime.now(clock));
+                }
+            } catch (RuntimeException e) {
+                log.debug("Could not explain statement: {}", stats.statement(), e);
+                stats.plan("EXPLAIN failed: " + e.getMessage(), LocalDateTime.now(clock));
+            }
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    private String explain(String sql, List<Object> parameters) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            String prefix = explainPrefix(connection.getMetaData().getDatabaseProductName());
+            if (prefix == null || !isExplainable(sql)) {
+                return null;
+            }
+            try (PreparedStatement statement = connection.prepareStatement(prefix + sql)) {
+                for (int i = 0; i < parameters.size(); i++) {
+                    statement.setObject(i + 1, parameters.get(i));
+                }
+                return readPlan(statement);
+            }
+        });
+    }
+
+    private static String readPlan(PreparedStatement statement) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (ResultSet rows = statement.executeQuery()) {
+            while (rows.next()) {
+                if (!plan.isEmpty()) {
+                    plan.append('\n');
+                }
+                plan.append(rows.getString(1));
+            }
+        }
+        return plan.toString();
+    }
+
+    /**
+     * @return The EXPLAIN syntax of a database, or null if plans are not collected on it
+     */
+    static String explainPrefix(String databaseProductName) {
+        if (databaseProductName == null) {
+            return null;
+        }
+        if (databaseProductName.startsWith("HSQL")) {
+            return "EXPLAIN PLAN FOR ";
+        }
+        if (databaseProductName.equals("PostgreSQL")) {
+            return "EXPLAIN ";
+        }
+        return null;
+    }
+
+    private static boolean isExplainable(String sql) {
+        String verb = sql.stripLeading();
+        int end = 0;
+        while (end < verb.length() && Character.isLetter(verb.charAt(end))) {
+            end++;
+        }
+        return switch (verb.substring(0, end).toUpperCase(Locale.ROOT)) {
+            case "SELECT", "WITH", "INSERT", "UPDATE", "DELETE" -> true;
+            default -> false;
+        };
+    }
+}
@@ -0,0 +1,144 @@
+package com.retail.offersviewer.querystats;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Execution times of every statement run through the application
+ * datasource, per normalized statement. A statement executing for at least
+ * the slow threshold has its parameters captured, and its plan collected
+ * in the background on the database it ran on, at most once per explain
+ * interval. Memory is bounded by {@code maxStatements}.
+ */
+@Component
+@EnableConfigurationProperties(QueryStatsProperties.class)
+public class QueryStats {
+
+    /**
+     * Statements seen once {@code maxStatements} are tracked
+     */
+    static final String OTHER_STATEMENTS = "(other statements)";
+
+    /**
+     * Raw SQL strings remembered per tracked statement, so repeated SQL is
+     * not normalized again
+     */
+    private static final int RAW_SQL_PER_STATEMENT = 4;
+
+    private final QueryStatsProperties properties;
+    private final ObjectProvider<QueryPlanCollector> planCollector;
+    private final Clock clock;
+    private final long slowThresholdNanos;
+    private final long explainIntervalNanos;
+    private final ConcurrentMap<String, StatementStats> byStatement = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, StatementStats> bySql = new ConcurrentHashMap<>();
+
+    public QueryStats(QueryStatsProperties properties, ObjectProvider<QueryPlanCollector> planCollector, Clock clock) {
+        this.properties = properties;
+        this.planCollector = planCollector;
+        this.clock = clock;
+        this.slowThresholdNanos = properties.slowThreshold().toNanos();
+        this.explainIntervalNanos = properties.explainInterval().toNanos();
+    }
+
+    /**
+     * Record one execution
+     * @param sql The SQL as executed
+     * @param elapsedNanos Execution time
+     * @param parameters Bound parameters by position, only read if the execution was slow
+     */
+    public void record(String sql, long elapsedNanos, Supplier<List<Object>> parameters) {
+        if (sql == null || isExplain(sql)) {
+            // Plans collected by this class are not application statements
+            return;
+        }
+        StatementStats stats = statsFor(sql);
+        stats.record(elapsedNanos);
+        if (elapsedNanos < slowThresholdNanos) {
+            return;
+        }
+
+        List<Object> bound = parameters.get();
+        stats.recordSlow(elapsedNanos, describe(bound), LocalDateTime.now(clock));
+        if (properties.explain() && !OTHER_STATEMENTS.equals(stats.statement())
+                && stats.claimExplain(System.nanoTime(), explainIntervalNanos)) {
+            QueryPlanCollector collector = planCollector.getIfAvailable();
+            if (collector != null) {
+                collector.collect(stats, sql, bound);
+            }
+        }
+    }
+
+    /**
+     * Statements that ran slow at least once, by time spent executing them
+     * @param limit Most statements to return
+     */
+    public List<SlowStatement> slowStatements(int limit) {
+        return byStatement.values().stream()
+                .filter(stats -> stats.slowExecutions() > 0)
+                .sorted(Comparator.comparingLong(StatementStats::totalNanos).reversed())
+                .limit(Math.max(0, limit))
+                .map(StatementStats::report)
+                .toList();
+    }
+
+    private StatementStats statsFor(String sql) {
+        StatementStats stats = bySql.get(sql);
+        if (stats != null) {
+            return stats;
+        }
+        String statement = SqlNormalizer.normalize(sql);
+        stats = byStatement.get(statement);
+        if (stats == null) {
+            if (byStatement.size() >= properties.maxStatements()) {
+                statement = OTHER_STATEMENTS;
+            }
+            stats = byStatement.computeIfAbsent(statement, StatementStats::new);
+        }
+        if (bySql.size() < properties.maxStatements() * RAW_SQL_PER_STATEMENT) {
+            bySql.putIfAbsent(sql, stats);
+        }
+        return stats;
+    }
+
+    private List<String> describe(List<Object> parameters) {
+        List<String> described = new ArrayList<>(parameters.size());
+        for (Object parameter : parameters) {
+            described.add(describe(parameter));
+        }
+        return described;
+    }
+
+    private String describe(Object parameter) {
+        if (parameter == null) {
+            return null;
+        }
+        if (parameter instanceof byte[] bytes) {
+            return "<" + bytes.length + " bytes>";
+        }
+        if (parameter instanceof InputStream || parameter instanceof Reader) {
+            return "<stream>";
+        }
+        String text = String.valueOf(parameter);
+        return text.length() > properties.maxParameterLength()
+                ? text.substring(0, properties.maxParameterLength()) + "..."
+                : text;
+    }
+
+    private static boolean isExplain(String sql) {
+        String statement = sql.stripLeading();
+        return statement.regionMatches(true, 0, "EXPLAIN", 0, "EXPLAIN".length());
+    }
+}
@@ -0,0 +1,26 @@
+package com.retail.offersviewer.querystats;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for JDBC statement timing ({@code offers.query-stats.*})
+ *
+ * @param enabled Whether statements executed through the application datasource are timed
+ * @param slowThreshold Execution time from which a statement's parameters are captured and its plan collected
+ * @param maxStatements Distinct normalized statements tracked; later ones are counted together
+ * @param explain Whether slow statements are explained on the database they ran on
+ * @param explainInterval Least time between two plans collected for the same statement
+ * @param maxParameterLength Characters kept of each captured parameter
+ */
+@ConfigurationProperties(prefix = "offers.query-stats")
+public record QueryStatsProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100ms") Duration slowThreshold,
+        @DefaultValue("1000") int maxStatements,
+        @DefaultValue("true") boolean explain,
+        @DefaultValue("10m") Duration explainInterval,
+        @DefaultValue("200") int maxParameterLength) {
+}
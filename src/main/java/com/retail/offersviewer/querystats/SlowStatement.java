@@ -0,0 +1,38 @@
+package com.retail.offersviewer.querystats;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Execution times of one normalized statement, with the parameters of its
+ * slowest execution and its latest plan
+ *
+ * @param statement Normalized SQL
+ * @param executions Executions since startup
+ * @param slowExecutions Executions at or above the slow threshold
+ * @param totalMillis Time spent executing it
+ * @param meanMillis Mean execution time
+ * @param p50Millis Median execution time
+ * @param p95Millis 95th percentile execution time
+ * @param p99Millis 99th percentile execution time
+ * @param maxMillis Longest execution time
+ * @param slowestParameters Parameters of the slowest execution, as text
+ * @param slowestAt When the slowest execution ran
+ * @param plan Plan reported by the database's EXPLAIN, or null until collected
+ * @param planCapturedAt When the plan was collected
+ */
+public record SlowStatement(
+        String statement,
+        long executions,
+        long slowExecutions,
+        double totalMillis,
+        double meanMillis,
+        double p50Millis,
+        double p95Millis,
+        double p99Millis,
+        double maxMillis,
+        List<String> slowestParameters,
+        LocalDateTime slowestAt,
+        String plan,
+        LocalDateTime planCapturedAt) {
+}
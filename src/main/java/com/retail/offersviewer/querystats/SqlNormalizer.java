@@ -0,0 +1,27 @@
+package com.retail.offersviewer.querystats;
+
+import java.util.regex.Pattern;
+
+/**
+ * Reduces SQL to its shape, so executions differing only in literal values
+ * are counted as one statement: string and numeric literals become
+ * {@code ?}, lists of placeholders collapse to one, and whitespace runs
+ * become single spaces. Identifiers such as {@code o1_0} are kept.
+ */
+final class SqlNormalizer {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\?(?:\\s*,\\s*\\?)+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlNormalizer() {
+    }
+
+    static String normalize(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMERIC_LITERAL.matcher(shape).replaceAll("?");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ").trim();
+        return PLACEHOLDER_LIST.matcher(shape).replaceAll("?, ...");
+    }
+}
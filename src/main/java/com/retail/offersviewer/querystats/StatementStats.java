@@ -0,0 +1,97 @@
+package com.retail.offersviewer.querystats;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timings of one normalized statement. Updated without locks from every
+ * thread executing it.
+ */
+final class StatementStats {
+
+    private final String statement;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final LongAdder slowExecutions = new LongAdder();
+    private final AtomicReference<Sample> slowest = new AtomicReference<>();
+    private final AtomicLong nextExplainNanos = new AtomicLong(Long.MIN_VALUE);
+    private volatile Plan plan;
+
+    StatementStats(String statement) {
+        this.statement = statement;
+    }
+
+    String statement() {
+        return statement;
+    }
+
+    void record(long elapsedNanos) {
+        histogram.record(elapsedNanos);
+    }
+
+    /**
+     * Count a slow execution, keeping its parameters if it is the slowest yet
+     */
+    void recordSlow(long elapsedNanos, List<String> parameters, LocalDateTime at) {
+        slowExecutions.increment();
+        Sample sample = new Sample(elapsedNanos, parameters, at);
+        slowest.accumulateAndGet(sample, (current, candidate) ->
+                current == null || candidate.elapsedNanos() > current.elapsedNanos() ? candidate : current);
+    }
+
+    long slowExecutions() {
+        return slowExecutions.sum();
+    }
+
+    long totalNanos() {
+        return histogram.total();
+    }
+
+    /**
+     * Claim the right to collect a plan now; granted at most once per interval
+     */
+    boolean claimExplain(long nowNanos, long intervalNanos) {
+        long next = nextExplainNanos.get();
+        if (next != Long.MIN_VALUE && nowNanos - next < 0) {
+            return false;
+        }
+        return nextExplainNanos.compareAndSet(next, nowNanos + intervalNanos);
+    }
+
+    void plan(String text, LocalDateTime capturedAt) {
+        plan = new Plan(text, capturedAt);
+    }
+
+    SlowStatement report() {
+        long executions = histogram.count();
+        Sample sample = slowest.get();
+        Plan current = plan;
+        return new SlowStatement(
+                statement,
+                executions,
+                slowExecutions(),
+                millis(histogram.total()),
+                executions > 0 ? millis(histogram.total()) / executions : 0,
+                millis(histogram.percentile(50)),
+                millis(histogram.percentile(95)),
+                millis(histogram.percentile(99)),
+                millis(histogram.max()),
+                sample != null ? sample.parameters() : List.of(),
+                sample != null ? sample.at() : null,
+                current != null ? current.text() : null,
+                current != null ? current.capturedAt() : null);
+    }
+
+    private static double millis(long nanos) {
+        return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private record Sample(long elapsedNanos, List<String> parameters, LocalDateTime at) {
+    }
+
+    private record Plan(String text, LocalDateTime capturedAt) {
+    }
+}
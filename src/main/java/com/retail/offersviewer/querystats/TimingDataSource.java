@@ -0,0 +1,166 @@
+package com.retail.offersviewer.querystats;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Datasource whose statements report their execution time to
+ * {@link QueryStats}. Connections and statements are JDK proxies over the
+ * pool's own; only {@code execute*} calls are timed, so the time excludes
+ * fetching rows from the result set. Parameters bound to prepared
+ * statements are tracked so slow executions can be reported with them.
+ */
+class TimingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final Supplier<QueryStats> queryStats;
+
+    TimingDataSource(DataSource target, Supplier<QueryStats> queryStats) {
+        super(target);
+        this.queryStats = queryStats;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return timed(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return timed(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    /**
+     * Close the wrapped pool, which Spring would otherwise only find on the unwrapped bean
+     */
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable pool) {
+            pool.close();
+        }
+    }
+
+    private Connection timed(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(TimingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "createStatement":
+                    return statement(Statement.class, TimingDataSource.invoke(target, method, args), null);
+                case "prepareStatement":
+                    return statement(PreparedStatement.class, TimingDataSource.invoke(target, method, args),
+                            (String) args[0]);
+                case "prepareCall":
+                    return statement(CallableStatement.class, TimingDataSource.invoke(target, method, args),
+                            (String) args[0]);
+                default:
+                    return TimingDataSource.invoke(target, method, args);
+            }
+        }
+
+        private Object statement(Class<? extends Statement> type, Object statement, String sql) {
+            return Proxy.newProxyInstance(TimingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                    new StatementHandler((Statement) statement, sql));
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        /** SQL of a prepared statement, or null for a plain statement */
+        private final String preparedSql;
+        private String batchSql;
+        private Object[] parameters;
+        private int parameterCount;
+
+        private StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                String sql = preparedSql != null ? preparedSql
+                        : args != null && args.length > 0 && args[0] instanceof String text ? text : batchSql;
+                long start = System.nanoTime();
+                try {
+                    return TimingDataSource.invoke(target, method, args);
+                } finally {
+                    queryStats.get().record(sql, System.nanoTime() - start, this::parameters);
+                }
+            }
+            if (preparedSql != null && name.startsWith("set") && args != null && args.length >= 2
+                    && args[0] instanceof Integer index) {
+                bind(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters = null;
+                parameterCount = 0;
+            } else if (name.equals("addBatch") && args != null && args.length == 1) {
+                batchSql = (String) args[0];
+            } else if (name.equals("equals")) {
+                return proxy == args[0];
+            } else if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            return TimingDataSource.invoke(target, method, args);
+        }
+
+        private void bind(int index, Object value) {
+            if (index < 1) {
+                return;
+            }
+            if (parameters == null) {
+                parameters = new Object[Math.max(index, 8)];
+            } else if (index > parameters.length) {
+                parameters = Arrays.copyOf(parameters, Math.max(index, parameters.length * 2));
+            }
+            parameters[index - 1] = value;
+            parameterCount = Math.max(parameterCount, index);
+        }
+
+        private List<Object> parameters() {
+            if (parameters == null) {
+                return List.of();
+            }
+            return new ArrayList<>(Arrays.asList(parameters).subList(0, parameterCount));
+        }
+    }
+}
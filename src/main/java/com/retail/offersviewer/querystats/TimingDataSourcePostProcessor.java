@@ -0,0 +1,34 @@
+package com.retail.offersviewer.querystats;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application datasource, whichever configuration created it, in
+ * a {@link TimingDataSource}. With sharding this is the routing
+ * datasource, so statements on every shard are timed. {@link QueryStats}
+ * is looked up on first use, as it is created after the datasource.
+ */
+@Component
+@ConditionalOnProperty(name = "offers.query-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class TimingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<QueryStats> queryStats;
+
+    public TimingDataSourcePostProcessor(ObjectProvider<QueryStats> queryStats) {
+        this.queryStats = queryStats;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof TimingDataSource)) {
+            return new TimingDataSource(dataSource, SingletonSupplier.of(queryStats::getObject));
+        }
+        return bean;
+    }
+}
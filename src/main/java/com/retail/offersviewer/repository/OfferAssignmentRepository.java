@@ -0,0 +1,29 @@
+package com.retail.offersviewer.repository;
+
+import com.retail.offersviewer.entity.OfferAssignment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OfferAssignmentRepository extends JpaRepository<OfferAssignment, String> {
+    
+    /**
+     * Find all active shared offer assignments for a specific store
+     * Uses the same validity rule as the store's own offers
+     */
+    @Query("SELECT a FROM OfferAssignment a WHERE a.storeId = :storeId AND a.validUntil >= :currentTime")
+    List<OfferAssignment> findActiveByStoreId(@Param("storeId") String storeId, @Param("currentTime") LocalDateTime currentTime);
+    
+    /**
+     * Count active shared offer assignments for a specific store per category of their definition
+     * @return Rows of category name and assignment count
+     */
+    @Query("SELECT d.category, COUNT(a) FROM OfferAssignment a, OfferDefinition d "
+            + "WHERE d.id = a.definitionId AND a.storeId = :storeId AND a.validUntil >= :currentTime GROUP BY d.category")
+    List<Object[]> countActiveByCategory(@Param("storeId") String storeId, @Param("currentTime") LocalDateTime currentTime);
+}
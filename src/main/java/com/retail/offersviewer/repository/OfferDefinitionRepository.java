@@ -0,0 +1,9 @@
+package com.retail.offersviewer.repository;
+
+import com.retail.offersviewer.entity.OfferDefinition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OfferDefinitionRepository extends JpaRepository<OfferDefinition, String> {
+}
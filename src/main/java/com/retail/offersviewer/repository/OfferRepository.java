@@ -2,6 +2,7 @@ package com.retail.offersviewer.repository;
 
 import com.retail.offersviewer.entity.Offer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -10,7 +11,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface OfferRepository extends JpaRepository<Offer, String> {
+public interface OfferRepository extends JpaRepository<Offer, String>, JpaSpecificationExecutor<Offer> {
     
     /**
      * Find all active offers for a specific store
@@ -20,50 +21,21 @@ public interface OfferRepository extends JpaRepository<Offer, String> {
     List<Offer> findActiveOffersByStoreId(@Param("storeId") String storeId, @Param("currentTime") LocalDateTime currentTime);
     
     /**
-     * Find active offers by store and category
+     * Count active offers for a specific store per category, grouped in the database
+     * @return Rows of category name and offer count
      */
-    @Query("SELECT o FROM Offer o WHERE o.storeId = :storeId AND o.category = :category AND o.validUntil >= :currentTime")
-    List<Offer> findActiveOffersByStoreIdAndCategory(
-        @Param("storeId") String storeId, 
-        @Param("category") String category, 
-        @Param("currentTime") LocalDateTime currentTime
-    );
-    
-    /**
-     * Search active offers by title or description
-     */
-    @Query("SELECT o FROM Offer o WHERE o.storeId = :storeId " +
-           "AND (LOWER(o.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-           "OR LOWER(o.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) " +
-           "AND o.validUntil >= :currentTime")
-    List<Offer> searchActiveOffers(
-        @Param("storeId") String storeId, 
-        @Param("searchTerm") String searchTerm, 
-        @Param("currentTime") LocalDateTime currentTime
-    );
-    
-    /**
-     * Search active offers by title or description with category filter
-     */
-    @Query("SELECT o FROM Offer o WHERE o.storeId = :storeId " +
-           "AND o.category = :category " +
-           "AND (LOWER(o.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-           "OR LOWER(o.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) " +
-           "AND o.validUntil >= :currentTime")
-    List<Offer> searchActiveOffersByCategory(
-        @Param("storeId") String storeId, 
-        @Param("category") String category,
-        @Param("searchTerm") String searchTerm, 
-        @Param("currentTime") LocalDateTime currentTime
-    );
+    @Query("SELECT o.category, COUNT(o) FROM Offer o WHERE o.storeId = :storeId AND o.validUntil >= :currentTime GROUP BY o.category")
+    List<Object[]> countActiveOffersByCategory(@Param("storeId") String storeId, @Param("currentTime") LocalDateTime currentTime);
     
     /**
      * Find all offers by store (including expired ones, for admin purposes)
+     * Reads the database the connection is routed to; call through {@code OfferShards.readFromStore}
      */
     List<Offer> findByStoreId(String storeId);
     
     /**
      * Find offers by category
+     * Reads one shard only; call through {@code OfferShards.findInEveryShard} to cover every store
      */
     List<Offer> findByCategory(String category);
 }
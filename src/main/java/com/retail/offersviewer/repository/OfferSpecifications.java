@@ -0,0 +1,96 @@
+package com.retail.offersviewer.repository;
+
+import com.retail.offersviewer.dto.OfferFilter;
+import com.retail.offersviewer.entity.Offer;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * JPA specifications for offer queries. Filters compose into a single
+ * WHERE clause, so any combination runs as one query that returns only
+ * matching rows.
+ */
+public final class OfferSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private OfferSpecifications() {
+    }
+
+    /**
+     * Offers of a store that have not expired and pass every filter.
+     * Matches {@link OfferFilter#matches(Offer, java.util.function.BiPredicate)} row for row.
+     * @param storeId The store ID
+     * @param filter Normalized filters
+     * @param categories The filter's category and every category below it, or null without a category filter
+     * @param currentTime Evaluation instant
+     */
+    public static Specification<Offer> activeInStore(String storeId, OfferFilter filter,
+                                                     Collection<String> categories, LocalDateTime currentTime) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("storeId"), storeId));
+            predicates.add(cb.greaterThanOrEqualTo(root.get("validUntil"), currentTime));
+
+            if (categories != null) {
+                // Converted to category codes, so the whole subtree is one IN list on the category index
+                predicates.add(categories.size() == 1
+                        ? cb.equal(root.get("category"), categories.iterator().next())
+                        : root.get("category").in(categories));
+            }
+            if (filter.discountType() != null) {
+                predicates.add(cb.equal(root.get("discountType"), filter.discountType()));
+            }
+            if (filter.minPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("finalPrice"), filter.minPrice()));
+            }
+            if (filter.maxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("finalPrice"), filter.maxPrice()));
+            }
+            if (filter.minDiscount() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("discountValue"), filter.minDiscount()));
+            }
+            if (filter.requiresLoyaltyCard() != null) {
+                Expression<Boolean> loyalty = root.get("requiresLoyaltyCard");
+                predicates.add(filter.requiresLoyaltyCard()
+                        ? cb.isTrue(loyalty)
+                        : cb.or(cb.isNull(loyalty), cb.isFalse(loyalty)));
+            }
+            if (filter.hasCoupon() != null) {
+                Expression<String> coupon = root.get("couponCode");
+                Predicate present = cb.and(cb.isNotNull(coupon), cb.notEqual(cb.trim(coupon), ""));
+                predicates.add(filter.hasCoupon() ? present : cb.not(present));
+            }
+            if (filter.searchTerm() != null) {
+                // Literal substring, like OfferFilter.matches, so '%' and '_' in the term are not wildcards
+                String pattern = containsPattern(filter.searchTerm().toLowerCase(Locale.ROOT));
+                predicates.add(cb.or(
+                        cb.like(cb.lower(root.get("title")), pattern, LIKE_ESCAPE),
+                        cb.like(cb.lower(root.get("description")), pattern, LIKE_ESCAPE)));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * LIKE pattern matching values that contain the given text literally
+     */
+    private static String containsPattern(String text) {
+        StringBuilder pattern = new StringBuilder(text.length() + 2).append('%');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                pattern.append(LIKE_ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
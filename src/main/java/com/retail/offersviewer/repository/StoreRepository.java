@@ -2,8 +2,9 @@ package com.retail.offersviewer.repository;
 
 import com.retail.offersviewer.entity.Store;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface StoreRepository extends JpaRepository<Store, String> {
+public interface StoreRepository extends JpaRepository<Store, String>, JpaSpecificationExecutor<Store> {
 }
@@ -0,0 +1,73 @@
+package com.retail.offersviewer.repository;
+
+import com.retail.offersviewer.dto.StoreDirectoryFilter;
+import com.retail.offersviewer.entity.Store;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * JPA specifications for store directory queries. Prefix filters are
+ * anchored LIKE patterns, so they can use the address and name indexes.
+ */
+public final class StoreSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private StoreSpecifications() {
+    }
+
+    /**
+     * Stores passing every directory filter
+     * @param filter Normalized filters
+     */
+    public static Specification<Store> inDirectory(StoreDirectoryFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            Path<Store.Address> address = root.get("address");
+            Expression<String> name = cb.lower(root.get("name"));
+            Expression<String> city = cb.lower(address.get("city"));
+            Expression<String> zipCode = address.get("zipCode");
+
+            if (filter.namePrefix() != null) {
+                predicates.add(cb.like(name, prefixPattern(filter.namePrefix().toLowerCase(Locale.ROOT)), LIKE_ESCAPE));
+            }
+            if (filter.state() != null) {
+                predicates.add(cb.equal(address.get("state"), filter.state()));
+            }
+            if (filter.city() != null) {
+                predicates.add(cb.equal(city, filter.city().toLowerCase(Locale.ROOT)));
+            }
+            if (filter.cityPrefix() != null) {
+                predicates.add(cb.like(city, prefixPattern(filter.cityPrefix().toLowerCase(Locale.ROOT)), LIKE_ESCAPE));
+            }
+            if (filter.zipCode() != null) {
+                predicates.add(cb.equal(zipCode, filter.zipCode()));
+            }
+            if (filter.zipPrefix() != null) {
+                predicates.add(cb.like(zipCode, prefixPattern(filter.zipPrefix()), LIKE_ESCAPE));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * LIKE pattern matching values that start with the given text literally
+     */
+    private static String prefixPattern(String prefix) {
+        StringBuilder pattern = new StringBuilder(prefix.length() + 1);
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = prefix.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                pattern.append(LIKE_ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
@@ -0,0 +1,157 @@
+package com.retail.offersviewer.service;
+
+import com.retail.offersviewer.entity.Offer;
+import com.retail.offersviewer.entity.UuidStringJavaType;
+import com.retail.offersviewer.event.OfferChangedEvent;
+import com.retail.offersviewer.repository.OfferRepository;
+import com.retail.offersviewer.sharding.OfferShards;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory catalog of the offers that are currently active in each store.
+ * Snapshots are loaded once per store and reused until either an offer of that
+ * store changes or the next activation/expiry boundary is reached. In-memory
+ * indexes derive their structures from these snapshots and rebuild whenever
+ * the snapshot instance they were built from is replaced.
+ */
+@Component
+public class ActiveOfferCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(ActiveOfferCatalog.class);
+
+    private final OfferRepository offerRepository;
+    private final OfferShards offerShards;
+    private final SharedOfferResolver sharedOfferResolver;
+    private final KnownIdIndex knownIds;
+    private final EvaluationClock evaluationClock;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ConcurrentMap<String, StoreOffers> snapshots = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final AtomicLong globalGeneration = new AtomicLong();
+
+    public ActiveOfferCatalog(OfferRepository offerRepository, OfferShards offerShards,
+                              SharedOfferResolver sharedOfferResolver, KnownIdIndex knownIds,
+                              EvaluationClock evaluationClock, PlatformTransactionManager transactionManager) {
+        this.offerRepository = offerRepository;
+        this.offerShards = offerShards;
+        this.sharedOfferResolver = sharedOfferResolver;
+        this.knownIds = knownIds;
+        this.evaluationClock = evaluationClock;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Get the active offers snapshot for a store, loading it if needed
+     * @param storeId The store ID
+     * @return Snapshot of the store's currently active offers
+     */
+    public StoreOffers getStoreOffers(String storeId) {
+        // Keyed like invalidations, which carry the ID as read back from the database
+        storeId = UuidStringJavaType.canonical(storeId);
+        LocalDateTime now = evaluationClock.now();
+        StoreOffers current = snapshots.get(storeId);
+        if (current != null && current.isValidAt(now)) {
+            return current;
+        }
+        if (knownIds.isUnknownStore(storeId)) {
+            // Not cached, so made-up store IDs cannot fill the catalog
+            return new StoreOffers(storeId, List.of(), now);
+        }
+
+        long generation = generationOf(storeId);
+        long global = globalGeneration.get();
+        StoreOffers loaded = load(storeId, now);
+
+        // Only publish the snapshot if no invalidation raced with the load. The check runs under the
+        // entry's lock, so an invalidation either fails it or removes the entry after it is published
+        snapshots.compute(storeId, (id, existing) ->
+                generation == generationOf(id) && global == globalGeneration.get() ? loaded : existing);
+        return loaded;
+    }
+
+    /**
+     * Drop cached snapshots affected by an offer change once the change is committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOfferChanged(OfferChangedEvent event) {
+        if (event.affectsAllStores()) {
+            log.debug("Invalidating active offer snapshots for all stores");
+            globalGeneration.incrementAndGet();
+            snapshots.clear();
+            return;
+        }
+        log.debug("Invalidating active offer snapshot for store: {}", event.storeId());
+        generations.computeIfAbsent(event.storeId(), id -> new AtomicLong()).incrementAndGet();
+        snapshots.remove(event.storeId());
+    }
+
+    private long generationOf(String storeId) {
+        AtomicLong generation = generations.get(storeId);
+        return generation != null ? generation.get() : 0L;
+    }
+
+    private StoreOffers load(String storeId, LocalDateTime now) {
+        log.debug("Loading active offer snapshot for store: {}", storeId);
+
+        List<Offer> candidates = readOnlyTransaction.execute(status -> {
+            List<Offer> offers = new ArrayList<>(offerShards.readFromStore(storeId, () -> {
+                List<Offer> stored = offerRepository.findActiveOffersByStoreId(storeId, now);
+                // Initialize collections while the session is open; the snapshot outlives it
+                for (Offer offer : stored) {
+                    Hibernate.initialize(offer.getTerms());
+                    Hibernate.initialize(offer.getEligibleProducts());
+                    Hibernate.initialize(offer.getExclusions());
+                }
+                return stored;
+            }));
+            offers.addAll(sharedOfferResolver.findActiveOffers(storeId, now));
+            return offers;
+        });
+
+        List<Offer> active = new ArrayList<>();
+        LocalDateTime validBefore = LocalDateTime.MAX;
+        for (Offer offer : candidates) {
+            if (offer.getValidFrom().isAfter(now)) {
+                // Not yet started; the snapshot goes stale when it activates
+                validBefore = min(validBefore, offer.getValidFrom());
+            } else {
+                active.add(offer);
+                validBefore = min(validBefore, offer.getValidUntil().plusNanos(1));
+            }
+        }
+
+        log.debug("Loaded {} active offers for store: {}, valid before: {}", active.size(), storeId, validBefore);
+        return new StoreOffers(storeId, List.copyOf(active), validBefore);
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    /**
+     * Immutable snapshot of a store's active offers
+     * @param storeId The store ID
+     * @param offers Offers active when the snapshot was taken
+     * @param validBefore First instant at which the snapshot may no longer be accurate
+     */
+    public record StoreOffers(String storeId, List<Offer> offers, LocalDateTime validBefore) {
+
+        public boolean isValidAt(LocalDateTime instant) {
+            return instant.isBefore(validBefore);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.retail.offersviewer.service;
+
+import com.retail.offersviewer.dto.BasketEvaluation;
+import com.retail.offersviewer.dto.BasketRequest;
+import com.retail.offersviewer.index.BasketRuleSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Service layer for basket evaluation
+ * Applies a store's active offers to POS baskets using a precompiled,
+ * in-memory rule set; no database access happens per basket
+ */
+@Service
+public class BasketEvaluationService {
+
+    private static final Logger log = LoggerFactory.getLogger(BasketEvaluationService.class);
+
+    /**
+     * Batches at least this large are evaluated in parallel
+     */
+    static final int PARALLEL_BATCH_THRESHOLD = 256;
+
+    private final SnapshotIndexCache<BasketRuleSet> ruleSets;
+
+    public BasketEvaluationService(ActiveOfferCatalog catalog) {
+        this.ruleSets = new SnapshotIndexCache<>(catalog, this::compile);
+    }
+
+    /**
+     * Evaluate a single basket
+     * @param storeId The store ID
+     * @param basket The basket to evaluate
+     * @return Applicable offers, savings and totals
+     */
+    public BasketEvaluation evaluate(String storeId, BasketRequest basket) {
+        return ruleSets.get(storeId).evaluate(basket);
+    }
+
+    /**
+     * Evaluate many baskets against the same rule set, e.g. for end-of-day re-rating
+     * @param storeId The store ID
+     * @param baskets The baskets to evaluate
+     * @return One evaluation per basket, in request order
+     */
+    public List<BasketEvaluation> evaluateBatch(String storeId, List<BasketRequest> baskets) {
+        BasketRuleSet ruleSet = ruleSets.get(storeId);
+        if (baskets.size() < PARALLEL_BATCH_THRESHOLD) {
+            return baskets.stream().map(ruleSet::evaluate).toList();
+        }
+        return baskets.parallelStream().map(ruleSet::evaluate).toList();
+    }
+
+    private BasketRuleSet compile(ActiveOfferCatalog.StoreOffers snapshot) {
+        BasketRuleSet ruleSet = BasketRuleSet.compile(snapshot.offers());
+        log.debug("Compiled {} basket rules for store: {}", ruleSet.size(), snapshot.storeId());
+        return ruleSet;
+    }
+}
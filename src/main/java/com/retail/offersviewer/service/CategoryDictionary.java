@@ -0,0 +1,250 @@
+package com.retail.offersviewer.service;
+
+import com.retail.offersviewer.sharding.OfferShards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory dictionary between category names and their small integer codes.
+ * Offers store the code; every offer read back references the single name
+ * instance held here. The dictionary is loaded on first use and reloaded
+ * when an unknown name or code is seen, at most once per
+ * {@link #RELOAD_INTERVAL_MILLIS} ms so unknown filter values cannot turn
+ * into a query per request.
+ *
+ * It also holds the category hierarchy as an ancestor and a descendant
+ * bitmap per code, loaded from the category closure table, so filtering by
+ * a category and rolling counts up to its ancestors take no queries.
+ *
+ * Categories live in the primary database; the dictionary is often loaded
+ * while decoding offers read from a shard, so its queries are pinned to
+ * shard 0.
+ */
+@Component
+public class CategoryDictionary {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryDictionary.class);
+    private static final long RELOAD_INTERVAL_MILLIS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OfferShards offerShards;
+    private volatile Entries entries;
+    private long lastReload;
+
+    public CategoryDictionary(JdbcTemplate jdbcTemplate, OfferShards offerShards) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.offerShards = offerShards;
+    }
+
+    /**
+     * Look up the code of a category
+     * @param name The category name
+     * @return The code, or null if no such category exists
+     */
+    public Short codeOf(String name) {
+        Short code = entries().codes().get(name);
+        if (code == null && reloadIfStale()) {
+            code = entries.codes().get(name);
+        }
+        return code;
+    }
+
+    /**
+     * Look up the name of a category code
+     * @param code The category code
+     * @return The shared name instance
+     * @throws IllegalStateException if no category has this code
+     */
+    public String nameOf(short code) {
+        String name = entries().nameOf(code);
+        if (name == null && reloadIfStale()) {
+            name = entries.nameOf(code);
+        }
+        if (name == null) {
+            throw new IllegalStateException("Unknown category code: " + code);
+        }
+        return name;
+    }
+
+    /**
+     * Get the categories below a category, at any depth
+     * @param name The category name
+     * @return Descendant names, excluding the category itself; empty for a leaf or unknown name
+     */
+    public List<String> descendantsOf(String name) {
+        Entries current = entries();
+        Short code = current.codes().get(name);
+        return code != null ? current.namesOf(current.descendants()[code]) : List.of();
+    }
+
+    /**
+     * Get the categories above a category, up to the top level
+     * @param name The category name
+     * @return Ancestor names, excluding the category itself; empty for a top-level or unknown name
+     */
+    public List<String> ancestorsOf(String name) {
+        Entries current = entries();
+        Short code = current.codes().get(name);
+        return code != null ? current.namesOf(current.ancestors()[code]) : List.of();
+    }
+
+    /**
+     * Whether a category lies below another, at any depth
+     * @param name The category name
+     * @param ancestor The possible ancestor's name
+     * @return True if the ancestor is a proper ancestor of the category
+     */
+    public boolean isDescendant(String name, String ancestor) {
+        Entries current = entries();
+        Short code = current.codes().get(name);
+        Short ancestorCode = current.codes().get(ancestor);
+        return code != null && ancestorCode != null && current.ancestors()[code].get(ancestorCode);
+    }
+
+    /**
+     * Allocate the code for a new category
+     */
+    public synchronized short nextCode() {
+        Short stored = offerShards.readFromShard(0,
+                () -> jdbcTemplate.queryForObject("SELECT MAX(code) FROM categories", Short.class));
+        int next = Math.max(stored != null ? stored : 0, entries().names().length - 1) + 1;
+        if (next > Short.MAX_VALUE) {
+            throw new IllegalStateException("Category codes exhausted");
+        }
+        return (short) next;
+    }
+
+    /**
+     * Record a category written by this application
+     */
+    public synchronized void register(short code, String name) {
+        entries = entries().with(code, name);
+    }
+
+    /**
+     * Reload the dictionary from the database, e.g. after a bulk load
+     */
+    public synchronized void reload() {
+        entries = offerShards.readFromShard(0, this::load);
+        lastReload = System.nanoTime();
+        log.debug("Loaded {} category codes", entries.codes().size());
+    }
+
+    private Entries load() {
+        Map<String, Short> codes = new HashMap<>();
+        String[] names = new String[1];
+        for (Map<String, Object> row : jdbcTemplate.queryForList("SELECT code, name FROM categories")) {
+            short code = ((Number) row.get("code")).shortValue();
+            String name = (String) row.get("name");
+            if (code >= names.length) {
+                names = Arrays.copyOf(names, Math.max(code + 1, names.length * 2));
+            }
+            names[code] = name;
+            codes.put(name, code);
+        }
+
+        String[] loadedNames = names;
+        BitSet[] ancestors = emptyBitmaps(names.length);
+        BitSet[] descendants = emptyBitmaps(names.length);
+        jdbcTemplate.query("SELECT ancestor_code, descendant_code FROM category_closure", rs -> {
+            short ancestor = rs.getShort(1);
+            short descendant = rs.getShort(2);
+            // Links to removed categories are left out
+            if (ancestor < loadedNames.length && descendant < loadedNames.length) {
+                ancestors[descendant].set(ancestor);
+                descendants[ancestor].set(descendant);
+            }
+        });
+        return new Entries(codes, names, ancestors, descendants);
+    }
+
+    private Entries entries() {
+        Entries current = entries;
+        if (current == null) {
+            synchronized (this) {
+                if (entries == null) {
+                    reload();
+                }
+                current = entries;
+            }
+        }
+        return current;
+    }
+
+    private synchronized boolean reloadIfStale() {
+        if (System.nanoTime() - lastReload < TimeUnit.MILLISECONDS.toNanos(RELOAD_INTERVAL_MILLIS)) {
+            return false;
+        }
+        reload();
+        return true;
+    }
+
+    private static BitSet[] emptyBitmaps(int length) {
+        BitSet[] bitmaps = new BitSet[length];
+        for (int i = 0; i < length; i++) {
+            bitmaps[i] = new BitSet();
+        }
+        return bitmaps;
+    }
+
+    /**
+     * Immutable dictionary contents, replaced as a whole on every change
+     * @param codes Code by name
+     * @param names Name by code
+     * @param ancestors Codes of the proper ancestors, by code
+     * @param descendants Codes of the proper descendants, by code
+     */
+    private record Entries(Map<String, Short> codes, String[] names, BitSet[] ancestors, BitSet[] descendants) {
+
+        String nameOf(short code) {
+            return code >= 0 && code < names.length ? names[code] : null;
+        }
+
+        List<String> namesOf(BitSet bitmap) {
+            List<String> result = new ArrayList<>(bitmap.cardinality());
+            for (int code = bitmap.nextSetBit(0); code >= 0; code = bitmap.nextSetBit(code + 1)) {
+                if (names[code] != null) {
+                    result.add(names[code]);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Copy with a category added or renamed; its place in the hierarchy is
+         * picked up by the next reload
+         */
+        Entries with(short code, String name) {
+            int length = Math.max(names.length, code + 1);
+            String[] copy = Arrays.copyOf(names, length);
+            Map<String, Short> codesCopy = new HashMap<>(codes);
+            if (copy[code] != null) {
+                codesCopy.remove(copy[code]);
+            }
+            copy[code] = name;
+            codesCopy.put(name, code);
+            return new Entries(Map.copyOf(codesCopy), copy, extend(ancestors, length), extend(descendants, length));
+        }
+
+        private static BitSet[] extend(BitSet[] bitmaps, int length) {
+            if (bitmaps.length == length) {
+                return bitmaps;
+            }
+            BitSet[] extended = Arrays.copyOf(bitmaps, length);
+            for (int i = bitmaps.length; i < length; i++) {
+                extended[i] = new BitSet();
+            }
+            return extended;
+        }
+    }
+}
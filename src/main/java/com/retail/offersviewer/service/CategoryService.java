@@ -1,9 +1,9 @@
 package com.retail.offersviewer.service;
 
 import com.retail.offersviewer.entity.Category;
-import com.retail.offersviewer.entity.Offer;
 import com.retail.offersviewer.repository.CategoryRepository;
 import com.retail.offersviewer.repository.OfferRepository;
+import com.retail.offersviewer.sharding.OfferShards;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -25,10 +25,20 @@ public class CategoryService {
     private static final Logger log = LoggerFactory.getLogger(CategoryService.class);
     private final CategoryRepository categoryRepository;
     private final OfferRepository offerRepository;
+    private final OfferShards offerShards;
+    private final SharedOfferResolver sharedOfferResolver;
+    private final CategoryDictionary categoryDictionary;
+    private final EvaluationClock evaluationClock;
     
-    public CategoryService(CategoryRepository categoryRepository, OfferRepository offerRepository) {
+    public CategoryService(CategoryRepository categoryRepository, OfferRepository offerRepository,
+                           OfferShards offerShards, SharedOfferResolver sharedOfferResolver,
+                           CategoryDictionary categoryDictionary, EvaluationClock evaluationClock) {
         this.categoryRepository = categoryRepository;
         this.offerRepository = offerRepository;
+        this.offerShards = offerShards;
+        this.sharedOfferResolver = sharedOfferResolver;
+        this.categoryDictionary = categoryDictionary;
+        this.evaluationClock = evaluationClock;
     }
     
     /**
@@ -43,22 +53,38 @@ public class CategoryService {
     }
     
     /**
-     * Count active offers per category for a specific store
+     * Count active offers per category for a specific store. A category's
+     * count includes the offers of every category below it.
      * @param storeId The store ID to count offers for
      * @return Map of category name to offer count
      */
     public Map<String, Long> countOffersByCategory(String storeId) {
         log.debug("Counting offers by category for store: {}", storeId);
         
-        LocalDateTime now = LocalDateTime.now();
-        List<Offer> activeOffers = offerRepository.findActiveOffersByStoreId(storeId, now);
+        LocalDateTime now = evaluationClock.now();
+        List<Object[]> ownCounts = offerShards.readFromStore(storeId,
+                () -> offerRepository.countActiveOffersByCategory(storeId, now));
+        List<Object[]> sharedCounts = sharedOfferResolver.countActiveOffersByCategory(storeId, now);
         
         Map<String, Long> categoryCount = new HashMap<>();
         
-        for (Offer offer : activeOffers) {
-            String category = offer.getCategory();
-            categoryCount.put(category, categoryCount.getOrDefault(category, 0L) + 1);
+        for (Object[] row : ownCounts) {
+            categoryCount.merge((String) row[0], ((Number) row[1]).longValue(), Long::sum);
         }
+        for (Object[] row : sharedCounts) {
+            categoryCount.merge((String) row[0], ((Number) row[1]).longValue(), Long::sum);
+        }
+        
+        // Roll each category's own count up to its ancestors, once per category rather than per offer
+        Map<String, Long> rolledUp = new HashMap<>(categoryCount);
+        categoryCount.forEach((category, count) -> {
+            if (category != null) {
+                for (String ancestor : categoryDictionary.ancestorsOf(category)) {
+                    rolledUp.merge(ancestor, count, Long::sum);
+                }
+            }
+        });
+        categoryCount = rolledUp;
         
         log.debug("Category counts: {}", categoryCount);
         return categoryCount;
@@ -0,0 +1,46 @@
+package com.retail.offersviewer.service;
+
+import com.retail.offersviewer.config.EvaluationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Source of the instants at which offers are evaluated. Time is divided
+ * into quanta of a configurable tick; work keyed by a quantum's start can
+ * be shared by every request that falls within it.
+ */
+@Component
+public class EvaluationClock {
+
+    private final Clock clock;
+    private final long tickMillis;
+
+    public EvaluationClock(Clock clock, EvaluationProperties properties) {
+        if (properties.tick().toMillis() <= 0) {
+            throw new IllegalArgumentException("offers.evaluation.tick must be at least 1ms");
+        }
+        this.clock = clock;
+        this.tickMillis = properties.tick().toMillis();
+    }
+
+    /**
+     * The current instant, exactly
+     */
+    public LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    /**
+     * Start of the quantum containing an instant
+     * @param instant An instant in the clock's zone
+     * @return The latest quantum boundary at or before the instant
+     */
+    public LocalDateTime quantumOf(LocalDateTime instant) {
+        long millis = instant.atZone(clock.getZone()).toInstant().toEpochMilli();
+        long start = Math.floorDiv(millis, tickMillis) * tickMillis;
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(start), clock.getZone());
+    }
+}
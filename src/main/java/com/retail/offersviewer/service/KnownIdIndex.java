@@ -0,0 +1,256 @@
+package com.retail.offersviewer.service;
+
+import com.retail.offersviewer.entity.UuidStringJavaType;
+import com.retail.offersviewer.index.UuidBloomFilter;
+import com.retail.offersviewer.sharding.OfferShards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory membership filter over every store and offer ID, used to answer
+ * lookups of IDs that do not exist without a database query. Offer IDs
+ * include shared offer assignment IDs, which are served as offers.
+ *
+ * Backed by Bloom filters, so an ID reported unknown certainly does not
+ * exist, while an existing-looking ID still goes to the database. Inserts are
+ * added as they are flushed, before they commit, and carried over into the
+ * next generation when the filters are rebuilt. Deleted IDs stay in the
+ * filter until it is rebuilt, which happens once enough rows were removed or
+ * added since the last build. Until the first build after startup completes,
+ * every well-formed ID is treated as possibly existing. Offer IDs are
+ * loaded from every offer shard.
+ */
+@Component
+public class KnownIdIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(KnownIdIndex.class);
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    /**
+     * Filters are sized for this many times the IDs present when built
+     */
+    private static final int GROWTH_HEADROOM = 2;
+
+    private static final long MIN_CAPACITY = 10_000;
+
+    /**
+     * Removed rows, as a fraction of capacity, that trigger a rebuild
+     */
+    private static final double REBUILD_REMOVED_FRACTION = 0.1;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OfferShards offerShards;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile Filters filters;
+
+    public KnownIdIndex(JdbcTemplate jdbcTemplate, OfferShards offerShards) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.offerShards = offerShards;
+    }
+
+    /**
+     * Build the filters once startup data loading has finished
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Whether a store ID certainly does not exist
+     */
+    public boolean isUnknownStore(String storeId) {
+        return isUnknown(storeId, Kind.STORE);
+    }
+
+    /**
+     * Whether an offer or shared offer assignment ID certainly does not exist
+     */
+    public boolean isUnknownOffer(String offerId) {
+        return isUnknown(offerId, Kind.OFFER);
+    }
+
+    /**
+     * Record a store written by this application
+     */
+    public void addStore(String storeId) {
+        add(storeId, Kind.STORE);
+    }
+
+    /**
+     * Record an offer or shared offer assignment written by this application
+     */
+    public void addOffer(String offerId) {
+        add(offerId, Kind.OFFER);
+    }
+
+    /**
+     * Record a removed store, rebuilding the filters once enough stale IDs
+     * have accumulated
+     */
+    public void removeStore() {
+        recordRemoval(Kind.STORE);
+    }
+
+    /**
+     * Record a removed offer or shared offer assignment, rebuilding the
+     * filters once enough stale IDs have accumulated
+     */
+    public void removeOffer() {
+        recordRemoval(Kind.OFFER);
+    }
+
+    private boolean isUnknown(String id, Kind kind) {
+        if (id == null) {
+            return true;
+        }
+        UUID uuid = UuidStringJavaType.parse(id);
+        if (uuid == null) {
+            // Not a well-formed ID; no row can have it
+            return true;
+        }
+        Filters current = filters;
+        return current != null && !current.of(kind).filter.mightContain(uuid);
+    }
+
+    private void add(String id, Kind kind) {
+        UUID uuid = id != null ? UuidStringJavaType.parse(id) : null;
+        if (uuid == null) {
+            return;
+        }
+        boolean full = false;
+        synchronized (this) {
+            Filters current = filters;
+            if (current != null) {
+                full = current.of(kind).add(uuid) > current.of(kind).filter.capacity() / GROWTH_HEADROOM;
+            }
+        }
+        if (full) {
+            rebuildInBackground();
+        }
+    }
+
+    private void recordRemoval(Kind kind) {
+        Filters current = filters;
+        if (current != null) {
+            Slot slot = current.of(kind);
+            if (slot.removed.incrementAndGet() > slot.filter.capacity() * REBUILD_REMOVED_FRACTION) {
+                rebuildInBackground();
+            }
+        }
+    }
+
+    private void rebuildInBackground() {
+        if (rebuilding.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("known-id-rebuild").start(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.warn("Rebuilding known ID filters failed; keeping the current filters", e);
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Reload every ID now, e.g. after a bulk load made by another instance
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        Long storeCount = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM stores", Long.class);
+        Long assignmentCount = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM offer_assignments", Long.class);
+        long offerCount = offerShards.countInEveryShard(
+                () -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM offers", Long.class))
+                + (assignmentCount != null ? assignmentCount : 0);
+        Filters next = new Filters(new Slot(capacityFor(storeCount)), new Slot(capacityFor(offerCount)));
+
+        load("SELECT id FROM stores", next.stores().filter);
+        offerShards.readFromEveryShard(() -> {
+            load("SELECT id FROM offers", next.offers().filter);
+            return null;
+        });
+        load("SELECT id FROM offer_assignments", next.offers().filter);
+
+        synchronized (this) {
+            // Rows flushed before the load but committed after it were only
+            // recorded in the previous generation
+            Filters previous = filters;
+            if (previous != null) {
+                previous.stores().replayInto(next.stores());
+                previous.offers().replayInto(next.offers());
+            }
+            filters = next;
+        }
+        log.info("Built known ID filters for {} stores and {} offers in {} ms", storeCount, offerCount,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void load(String sql, UuidBloomFilter filter) {
+        jdbcTemplate.query(sql, rs -> {
+            UUID id = UuidStringJavaType.parse(rs.getString(1));
+            if (id != null) {
+                filter.add(id);
+            }
+        });
+    }
+
+    private static long capacityFor(Long count) {
+        return Math.max(MIN_CAPACITY, (count != null ? count : 0) * GROWTH_HEADROOM);
+    }
+
+    private enum Kind {
+        STORE, OFFER
+    }
+
+    /**
+     * One generation of filters
+     */
+    private record Filters(Slot stores, Slot offers) {
+
+        Slot of(Kind kind) {
+            return kind == Kind.STORE ? stores : offers;
+        }
+    }
+
+    /**
+     * Filter for one kind of ID, with the writes seen since it was built.
+     * Guarded by the owning index.
+     */
+    private static final class Slot {
+        private final UuidBloomFilter filter;
+        private final List<UUID> added = new ArrayList<>();
+        private final AtomicLong removed = new AtomicLong();
+
+        private Slot(long capacity) {
+            this.filter = UuidBloomFilter.withCapacity(capacity, FALSE_POSITIVE_RATE);
+        }
+
+        /**
+         * @return IDs added since the filter was built
+         */
+        private int add(UUID id) {
+            filter.add(id);
+            added.add(id);
+            return added.size();
+        }
+
+        private void replayInto(Slot next) {
+            for (UUID id : added) {
+                next.filter.add(id);
+            }
+        }
+    }
+}
@@ -0,0 +1,434 @@
+package com.retail.offersviewer.service;
+
+import com.retail.offersviewer.changelog.ChangeLog;
+import com.retail.offersviewer.dto.BulkOfferUpdateRequest;
+import com.retail.offersviewer.dto.BulkOfferUpdateResult;
+import com.retail.offersviewer.entity.ChangeLogEntry;
+import com.retail.offersviewer.entity.UuidStringJavaType;
+import com.retail.offersviewer.event.OfferChangedEvent;
+import com.retail.offersviewer.event.OfferDefinitionChangedEvent;
+import com.retail.offersviewer.exception.ResourceNotFoundException;
+import com.retail.offersviewer.sharding.OfferShards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies price and validity changes to many offers with set-based SQL,
+ * instead of loading and saving each offer. Offers in scope are visited in
+ * ID order in batches, each updated by one statement in its own transaction
+ * on the offer's shard, so locks are held briefly and a failure leaves
+ * earlier batches applied. Final prices are recomputed in the same
+ * statement, versions are incremented so entities loaded earlier fail to
+ * save over the change, and every affected store's caches are invalidated
+ * once its batch commits, on this and, through the change log, every other
+ * instance.
+ *
+ * Shared offers in scope are changed the same way, in the primary database.
+ * A request for every store changes the chain-wide definitions themselves
+ * and the stores' overrides follow them. A request for some stores changes
+ * only those stores' assignments: a new price or discount is stored as the
+ * assignment's price override, so the offer keeps the discount type and
+ * value shown by its definition.
+ */
+@Service
+@Transactional(readOnly = true)
+public class OfferBulkUpdateService {
+
+    private static final Logger log = LoggerFactory.getLogger(OfferBulkUpdateService.class);
+
+    /**
+     * Offers updated per statement and transaction
+     */
+    static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OfferShards offerShards;
+    private final CategoryDictionary categoryDictionary;
+    private final ChangeLog changeLog;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EvaluationClock evaluationClock;
+    private final TransactionTemplate batchTransaction;
+
+    public OfferBulkUpdateService(JdbcTemplate jdbcTemplate, OfferShards offerShards,
+                                  CategoryDictionary categoryDictionary, ChangeLog changeLog,
+                                  ApplicationEventPublisher eventPublisher, EvaluationClock evaluationClock,
+                                  PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.offerShards = offerShards;
+        this.categoryDictionary = categoryDictionary;
+        this.changeLog = changeLog;
+        this.eventPublisher = eventPublisher;
+        this.evaluationClock = evaluationClock;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Apply a change to every unexpired offer in scope
+     * @param request The change and its scope
+     * @return Offers and stores changed
+     * @throws ResourceNotFoundException if a category does not exist
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkOfferUpdateResult update(BulkOfferUpdateRequest request) {
+        long start = System.nanoTime();
+        Timestamp now = Timestamp.valueOf(evaluationClock.now());
+        List<Short> categoryCodes = categoryCodes(request.categories());
+        boolean chainWide = request.storeIds().isEmpty();
+
+        List<Applied> applied = new ArrayList<>();
+        for (int shard = 0; shard < offerShards.shardCount(); shard++) {
+            List<UUID> shardStores = storesOn(shard, request.storeIds());
+            if (!chainWide && shardStores.isEmpty()) {
+                continue;
+            }
+            applied.add(apply(shard, Target.offers(now, shardStores, categoryCodes, Update.of(request))));
+        }
+
+        // Shared offers live in the primary database
+        Applied definitions = Applied.NONE;
+        if (chainWide && request.changesPrice()) {
+            definitions = apply(0, Target.definitions(now, categoryCodes, Update.ofDefinitions(request)));
+        }
+        List<UUID> stores = storesOn(-1, request.storeIds());
+        if (chainWide || !stores.isEmpty()) {
+            applied.add(apply(0, Target.assignments(now, stores, categoryCodes,
+                    Update.ofAssignments(request, chainWide))));
+        }
+
+        long offersUpdated = 0;
+        int batches = definitions.batches();
+        Set<String> affectedStores = new HashSet<>();
+        for (Applied part : applied) {
+            offersUpdated += part.updated();
+            batches += part.batches();
+            affectedStores.addAll(part.keys());
+        }
+
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("Bulk update changed {} offers in {} stores and {} shared offer definitions with {} batches in {} ms",
+                offersUpdated, affectedStores.size(), definitions.updated(), batches, durationMillis);
+        return new BulkOfferUpdateResult(offersUpdated, affectedStores.size(), definitions.updated(), batches,
+                durationMillis);
+    }
+
+    /**
+     * Update every row of a target on a shard, batch after batch
+     */
+    private Applied apply(int shard, Target target) {
+        long updated = 0;
+        int batches = 0;
+        Set<String> keys = new HashSet<>();
+        UUID after = null;
+        while (true) {
+            UUID from = after;
+            Batch batch = offerShards.writeToShard(shard,
+                    () -> batchTransaction.execute(status -> updateBatch(target, from)));
+            if (batch.selected() == 0) {
+                break;
+            }
+            updated += batch.updated();
+            batches++;
+            keys.addAll(batch.keys());
+            after = batch.lastId();
+            if (batch.selected() < BATCH_SIZE) {
+                break;
+            }
+        }
+        return new Applied(updated, batches, keys);
+    }
+
+    /**
+     * Update the next batch of a target's rows after an ID, recording the
+     * change for each store or definition in it
+     */
+    private Batch updateBatch(Target target, UUID after) {
+        List<Object> selectArgs = new ArrayList<>(target.arguments());
+        StringBuilder select = new StringBuilder("SELECT id, ").append(target.keyColumn())
+                .append(" FROM ").append(target.table()).append(" WHERE ").append(target.condition());
+        if (after != null) {
+            select.append(" AND id > ?");
+            selectArgs.add(after);
+        }
+        select.append(" ORDER BY id LIMIT ?");
+        selectArgs.add(BATCH_SIZE);
+
+        List<UUID> ids = new ArrayList<>(BATCH_SIZE);
+        Set<String> keys = new LinkedHashSet<>();
+        jdbcTemplate.query(select.toString(), rs -> {
+            ids.add(UuidStringJavaType.parse(rs.getString(1)));
+            keys.add(rs.getString(2));
+        }, selectArgs.toArray());
+        if (ids.isEmpty()) {
+            return new Batch(0, 0, null, Set.of());
+        }
+
+        List<Object> updateArgs = new ArrayList<>(target.update().arguments());
+        updateArgs.addAll(ids);
+        int updated = jdbcTemplate.update("UPDATE " + target.table() + " SET " + target.update().assignments()
+                + " WHERE id IN (" + placeholders(ids.size()) + ")", updateArgs.toArray());
+
+        // Events are delivered once the batch commits
+        if (target.entityType() == ChangeLogEntry.EntityType.OFFER_DEFINITION) {
+            for (String definitionId : keys) {
+                changeLog.record(ChangeLogEntry.EntityType.OFFER_DEFINITION, ChangeLogEntry.Operation.UPDATE,
+                        definitionId, null);
+                eventPublisher.publishEvent(new OfferDefinitionChangedEvent(definitionId));
+            }
+            eventPublisher.publishEvent(OfferChangedEvent.allStores());
+        } else {
+            for (String storeId : keys) {
+                changeLog.record(target.entityType(), ChangeLogEntry.Operation.UPDATE, null, storeId);
+                eventPublisher.publishEvent(new OfferChangedEvent(storeId, null));
+            }
+        }
+        log.debug("Bulk update batch changed {} rows of {} for {} keys", updated, target.table(), keys.size());
+        return new Batch(ids.size(), updated, ids.getLast(), keys);
+    }
+
+    /**
+     * Codes of the requested categories and every category below them
+     */
+    private List<Short> categoryCodes(List<String> categories) {
+        Set<Short> codes = new LinkedHashSet<>();
+        for (String category : categories) {
+            Short code = categoryDictionary.codeOf(category);
+            if (code == null) {
+                throw new ResourceNotFoundException("Category not found: " + category);
+            }
+            codes.add(code);
+            for (String descendant : categoryDictionary.descendantsOf(category)) {
+                Short descendantCode = categoryDictionary.codeOf(descendant);
+                if (descendantCode != null) {
+                    codes.add(descendantCode);
+                }
+            }
+        }
+        return new ArrayList<>(codes);
+    }
+
+    /**
+     * The requested stores whose offers live on a shard, or on any shard for
+     * -1; stores with malformed IDs have no offers and are dropped
+     */
+    private List<UUID> storesOn(int shard, List<String> storeIds) {
+        List<UUID> stores = new ArrayList<>();
+        for (String storeId : storeIds) {
+            UUID id = UuidStringJavaType.parse(storeId);
+            if (id != null && (shard < 0 || offerShards.shardOf(storeId) == shard)) {
+                stores.add(id);
+            }
+        }
+        return stores;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * Rows a bulk update applies to and the change made to them
+     * @param table Table updated
+     * @param keyColumn Column identifying what each row's change is recorded for
+     * @param condition Rows in scope
+     * @param arguments Arguments of the condition
+     * @param update Change made to each row
+     * @param entityType Entity type the change is recorded as
+     */
+    private record Target(String table, String keyColumn, String condition, List<Object> arguments,
+                          Update update, ChangeLogEntry.EntityType entityType) {
+
+        /**
+         * Unexpired offers, in the given stores and categories if any
+         */
+        static Target offers(Timestamp now, List<UUID> stores, List<Short> categoryCodes, Update update) {
+            List<Object> arguments = new ArrayList<>();
+            StringBuilder condition = new StringBuilder("valid_until >= ?");
+            arguments.add(now);
+            appendIn(condition, arguments, "store_id", stores);
+            appendIn(condition, arguments, "category_id", categoryCodes);
+            return new Target("offers", "store_id", condition.toString(), arguments, update,
+                    ChangeLogEntry.EntityType.OFFER);
+        }
+
+        /**
+         * Unexpired shared offer assignments, in the given stores and
+         * definition categories if any
+         */
+        static Target assignments(Timestamp now, List<UUID> stores, List<Short> categoryCodes, Update update) {
+            List<Object> arguments = new ArrayList<>();
+            StringBuilder condition = new StringBuilder("valid_until >= ?");
+            arguments.add(now);
+            appendIn(condition, arguments, "store_id", stores);
+            if (!categoryCodes.isEmpty()) {
+                condition.append(" AND definition_id IN (SELECT id FROM offer_definitions WHERE category_id IN (")
+                        .append(placeholders(categoryCodes.size())).append("))");
+                arguments.addAll(categoryCodes);
+            }
+            return new Target("offer_assignments", "store_id", condition.toString(), arguments, update,
+                    ChangeLogEntry.EntityType.OFFER_ASSIGNMENT);
+        }
+
+        /**
+         * Shared offer definitions assigned to a store until now or later, in
+         * the given categories if any
+         */
+        static Target definitions(Timestamp now, List<Short> categoryCodes, Update update) {
+            List<Object> arguments = new ArrayList<>();
+            StringBuilder condition = new StringBuilder(
+                    "id IN (SELECT definition_id FROM offer_assignments WHERE valid_until >= ?)");
+            arguments.add(now);
+            appendIn(condition, arguments, "category_id", categoryCodes);
+            return new Target("offer_definitions", "id", condition.toString(), arguments, update,
+                    ChangeLogEntry.EntityType.OFFER_DEFINITION);
+        }
+
+        private static void appendIn(StringBuilder condition, List<Object> arguments, String column,
+                                     List<?> values) {
+            if (!values.isEmpty()) {
+                condition.append(" AND ").append(column).append(" IN (")
+                        .append(placeholders(values.size())).append(')');
+                arguments.addAll(values);
+            }
+        }
+    }
+
+    /**
+     * SET clause of a bulk update with its arguments. The final price is
+     * computed from the new discount and original price with
+     * {@link OfferPricing}, rounded to cents and never below zero. Numbers are
+     * inlined as literals, which keeps the expressions typed on every
+     * database; only the discount type is bound.
+     */
+    record Update(String assignments, List<Object> arguments) {
+
+        static Update of(BulkOfferUpdateRequest request) {
+            List<String> assignments = new ArrayList<>();
+            List<Object> arguments = new ArrayList<>();
+            setPrices(request, assignments, arguments);
+            if (request.extendValidityBy() != null) {
+                assignments.add(extendValidity(request));
+            }
+            assignments.add("version = version + 1");
+            return new Update(String.join(", ", assignments), arguments);
+        }
+
+        /**
+         * Change to chain-wide definitions: their prices and discount, as for
+         * offers. Validity is held by each assignment.
+         */
+        static Update ofDefinitions(BulkOfferUpdateRequest request) {
+            List<String> assignments = new ArrayList<>();
+            List<Object> arguments = new ArrayList<>();
+            setPrices(request, assignments, arguments);
+            return new Update(String.join(", ", assignments), arguments);
+        }
+
+        /**
+         * Change to store assignments of shared offers. For every store the
+         * definitions change too, so the stores' price overrides are scaled
+         * and their final prices derived again. For some stores, the price
+         * overrides are set from the definition's prices: the new original
+         * price, and the final price under the new discount.
+         */
+        static Update ofAssignments(BulkOfferUpdateRequest request, boolean chainWide) {
+            List<String> assignments = new ArrayList<>();
+            String originalPrice = chainWide ? "original_price"
+                    : "COALESCE(original_price, " + definitionColumn("original_price") + ")";
+            if (request.priceChangePercent() != null) {
+                originalPrice = scaled(request, originalPrice);
+                assignments.add("original_price = " + originalPrice);
+            }
+            if (request.changesDiscount() && !chainWide) {
+                assignments.add("final_price = " + OfferPricing.finalPriceSql(request.discountType(),
+                        originalPrice, literal(request.discountValue())));
+            } else if (request.changesPrice()) {
+                // Derived again from the (new) original price and the definition's discount
+                assignments.add("final_price = NULL");
+            }
+            if (request.extendValidityBy() != null) {
+                assignments.add(extendValidity(request));
+            }
+            return new Update(String.join(", ", assignments), List.of());
+        }
+
+        private static void setPrices(BulkOfferUpdateRequest request, List<String> assignments,
+                                      List<Object> arguments) {
+            String originalPrice = "original_price";
+            if (request.priceChangePercent() != null) {
+                originalPrice = scaled(request, originalPrice);
+                assignments.add("original_price = " + originalPrice);
+            }
+            if (request.changesDiscount()) {
+                assignments.add("discount_type = ?");
+                arguments.add(request.discountType().name());
+                assignments.add("discount_value = " + literal(request.discountValue()));
+            }
+            if (request.changesPrice()) {
+                assignments.add("final_price = " + finalPrice(request, originalPrice));
+            }
+        }
+
+        private static String scaled(BulkOfferUpdateRequest request, String price) {
+            return OfferPricing.cents(price + " * " + literal(1 + request.priceChangePercent() / 100));
+        }
+
+        private static String extendValidity(BulkOfferUpdateRequest request) {
+            return "valid_until = {fn TIMESTAMPADD(SQL_TSI_SECOND, "
+                    + request.extendValidityBy().toSeconds() + ", valid_until)}";
+        }
+
+        private static String definitionColumn(String column) {
+            return "(SELECT d." + column + " FROM offer_definitions d WHERE d.id = offer_assignments.definition_id)";
+        }
+
+        private static String finalPrice(BulkOfferUpdateRequest request, String originalPrice) {
+            if (request.changesDiscount()) {
+                return OfferPricing.finalPriceSql(request.discountType(), originalPrice,
+                        literal(request.discountValue()));
+            }
+            // Each offer keeps its own discount
+            return OfferPricing.finalPriceSql("discount_type", originalPrice, "discount_value");
+        }
+
+        private static String literal(double value) {
+            return BigDecimal.valueOf(value).toPlainString();
+        }
+    }
+
+    /**
+     * @param selected Rows in scope found after the previous batch
+     * @param updated Rows changed; fewer if some were removed meanwhile
+     * @param lastId Highest ID selected, where the next batch starts
+     * @param keys Stores, or definitions, of the selected rows
+     */
+    private record Batch(int selected, int updated, UUID lastId, Set<String> keys) {
+    }
+
+    /**
+     * @param updated Rows changed in every batch of a target
+     * @param batches Batches applied
+     * @param keys Stores, or definitions, of the changed rows
+     */
+    private record Applied(long updated, int batches, Set<String> keys) {
+
+        static final Applied NONE = new Applied(0, 0, Set.of());
+    }
+}
@@ -0,0 +1,86 @@
+package com.retail.offersviewer.service;
+
+import com.retail.offersviewer.dto.FacetedOffers;
+import com.retail.offersviewer.entity.Offer;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiPredicate;
+
+/**
+ * Splits a candidate offer list into the offers to return and their facet
+ * counts in a single pass. Candidates are the offers matching every filter
+ * except category, so category counts cover all candidates while the
+ * remaining facets count only offers in the requested category.
+ */
+final class OfferFacetCollector {
+
+    /**
+     * Lower bounds of the final price ranges; the last range is open-ended
+     */
+    static final double[] PRICE_RANGE_BOUNDS = {0, 5, 10, 20, 50};
+
+    private OfferFacetCollector() {
+    }
+
+    /**
+     * Collect the offers and facets for a request
+     * @param candidates Offers matching every filter but category, in result order
+     * @param category The requested category, or null for all
+     * @param isDescendant Whether a category (first argument) lies below another (second argument)
+     * @return Offers in the category or below it, in candidate order, with facet counts
+     */
+    static FacetedOffers collect(List<Offer> candidates, String category,
+                                 BiPredicate<String, String> isDescendant) {
+        List<Offer> offers = category == null ? candidates : new ArrayList<>();
+        Map<String, Long> categories = new TreeMap<>();
+        Map<Offer.DiscountType, Long> discountTypes = new EnumMap<>(Offer.DiscountType.class);
+        for (Offer.DiscountType type : Offer.DiscountType.values()) {
+            discountTypes.put(type, 0L);
+        }
+        Map<Boolean, Long> loyaltyCard = new LinkedHashMap<>();
+        loyaltyCard.put(true, 0L);
+        loyaltyCard.put(false, 0L);
+        long[] priceCounts = new long[PRICE_RANGE_BOUNDS.length];
+
+        for (Offer offer : candidates) {
+            if (offer.getCategory() != null) {
+                categories.merge(offer.getCategory(), 1L, Long::sum);
+            }
+            if (category != null) {
+                if (!category.equals(offer.getCategory())
+                        && (offer.getCategory() == null || !isDescendant.test(offer.getCategory(), category))) {
+                    continue;
+                }
+                offers.add(offer);
+            }
+            if (offer.getDiscountType() != null) {
+                discountTypes.merge(offer.getDiscountType(), 1L, Long::sum);
+            }
+            loyaltyCard.merge(Boolean.TRUE.equals(offer.getRequiresLoyaltyCard()), 1L, Long::sum);
+            if (offer.getFinalPrice() != null) {
+                priceCounts[priceRangeOf(offer.getFinalPrice())]++;
+            }
+        }
+
+        List<FacetedOffers.PriceRange> priceRanges = new ArrayList<>(PRICE_RANGE_BOUNDS.length);
+        for (int i = 0; i < PRICE_RANGE_BOUNDS.length; i++) {
+            Double max = i + 1 < PRICE_RANGE_BOUNDS.length ? PRICE_RANGE_BOUNDS[i + 1] : null;
+            priceRanges.add(new FacetedOffers.PriceRange(PRICE_RANGE_BOUNDS[i], max, priceCounts[i]));
+        }
+        return new FacetedOffers(offers,
+                new FacetedOffers.Facets(categories, discountTypes, loyaltyCard, priceRanges));
+    }
+
+    private static int priceRangeOf(double price) {
+        int range = 0;
+        while (range + 1 < PRICE_RANGE_BOUNDS.length && price >= PRICE_RANGE_BOUNDS[range + 1]) {
+            range++;
+        }
+        return range;
+    }
+}
@@ -0,0 +1,66 @@
+package com.retail.offersviewer.service;
+
+import com.retail.offersviewer.entity.Offer;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * The final price of an offer for its discount, both in Java and as SQL, so
+ * prices computed in the application and in the database agree. Prices are
+ * rounded half up to cents.
+ */
+final class OfferPricing {
+
+    private OfferPricing() {
+    }
+
+    /**
+     * Final price of an original price under a discount
+     */
+    static double finalPrice(Offer.DiscountType type, double originalPrice, double discountValue) {
+        double amount = switch (type) {
+            case PERCENTAGE -> originalPrice * (1 - discountValue / 100);
+            case FIXED -> Math.max(0, originalPrice - discountValue);
+            case BOGO -> originalPrice * (1 - discountValue / 200);
+            case BUNDLE -> Math.max(0.5, originalPrice - discountValue);
+        };
+        return BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    /**
+     * SQL expression for the final price under a known discount type
+     * @param originalPrice SQL expression for the original price
+     * @param discountValue SQL expression for the discount value
+     */
+    static String finalPriceSql(Offer.DiscountType type, String originalPrice, String discountValue) {
+        return cents(switch (type) {
+            case PERCENTAGE -> originalPrice + " * (1 - " + discountValue + " / 100)";
+            case FIXED -> "GREATEST(0, " + originalPrice + " - " + discountValue + ")";
+            case BOGO -> originalPrice + " * (1 - " + discountValue + " / 200)";
+            case BUNDLE -> "GREATEST(0.5, " + originalPrice + " - " + discountValue + ")";
+        });
+    }
+
+    /**
+     * SQL expression for the final price under the discount type held in a column
+     * @param discountType SQL expression for the discount type name
+     * @param originalPrice SQL expression for the original price
+     * @param discountValue SQL expression for the discount value
+     */
+    static String finalPriceSql(String discountType, String originalPrice, String discountValue) {
+        StringBuilder expression = new StringBuilder("CASE ").append(discountType);
+        for (Offer.DiscountType type : Offer.DiscountType.values()) {
+            expression.append(" WHEN '").append(type.name()).append("' THEN ")
+                    .append(finalPriceSql(type, originalPrice, discountValue));
+        }
+        return expression.append(" END").toString();
+    }
+
+    /**
+     * SQL expression rounding an amount to cents
+     */
+    static String cents(String amount) {
+        return "ROUND(CAST(" + amount + " AS NUMERIC(16, 6)), 2)";
+    }
+}
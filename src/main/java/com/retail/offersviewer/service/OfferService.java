@@ -1,13 +1,26 @@
 package com.retail.offersviewer.service;
 
+import com.retail.offersviewer.dto.FacetedOffers;
+import com.retail.offersviewer.dto.OfferFilter;
 import com.retail.offersviewer.entity.Offer;
+import com.retail.offersviewer.entity.UuidStringJavaType;
+import com.retail.offersviewer.event.OfferChangedEvent;
 import com.retail.offersviewer.repository.OfferRepository;
+import com.retail.offersviewer.repository.OfferSpecifications;
+import com.retail.offersviewer.sharding.OfferShards;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
@@ -22,56 +35,185 @@ import java.util.stream.Collectors;
 public class OfferService {
 
     private static final Logger log = LoggerFactory.getLogger(OfferService.class);
+
+    /**
+     * Longest a request waits for an identical query already in flight
+     */
+    private static final Duration COALESCED_WAIT_TIMEOUT = Duration.ofSeconds(10);
+
+    /**
+     * Distinct offer list queries whose results are kept for their quantum
+     */
+    private static final int MAX_SHARED_RESULTS = 10_000;
+
     private final OfferRepository offerRepository;
+    private final OfferShards offerShards;
+    private final SharedOfferResolver sharedOfferResolver;
+    private final CategoryDictionary categoryDictionary;
+    private final KnownIdIndex knownIds;
+    private final EvaluationClock evaluationClock;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SingleFlight<QuantumQuery, QuantizedResultCache.ActiveOffers> inFlightQueries =
+            new SingleFlight<>(COALESCED_WAIT_TIMEOUT);
+    private final QuantizedResultCache<OfferQuery> sharedResults = new QuantizedResultCache<>(MAX_SHARED_RESULTS);
 
-    public OfferService(OfferRepository offerRepository) {
+    public OfferService(OfferRepository offerRepository, OfferShards offerShards,
+                        SharedOfferResolver sharedOfferResolver, CategoryDictionary categoryDictionary,
+                        KnownIdIndex knownIds, EvaluationClock evaluationClock,
+                        PlatformTransactionManager transactionManager) {
         this.offerRepository = offerRepository;
+        this.offerShards = offerShards;
+        this.sharedOfferResolver = sharedOfferResolver;
+        this.categoryDictionary = categoryDictionary;
+        this.knownIds = knownIds;
+        this.evaluationClock = evaluationClock;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     /**
      * Get active offers for a store with optional filtering, searching, and
-     * sorting
+     * sorting. Identical calls within one evaluation quantum share one query;
+     * callers waiting on it hold no database connection, so this method runs
+     * outside a transaction and the shared query opens its own.
      *
      * @param storeId The store ID
      * @param category Optional category filter
      * @param searchTerm Optional search term for title/description
      * @param sortBy Optional sort criteria (discount, expiration, category,
      * newest)
-     * @return List of filtered and sorted offers
+     * @return Unmodifiable list of filtered and sorted offers
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<Offer> getActiveOffers(String storeId, String category, String searchTerm, String sortBy) {
-        log.debug("Getting active offers for store: {}, category: {}, search: {}, sortBy: {}",
-                storeId, category, searchTerm, sortBy);
-
-        LocalDateTime now = LocalDateTime.now();
-        List<Offer> offers;
-        
-        // Trim inputs to avoid whitespace issues
-        String trimmedCategory = category != null ? category.trim() : null;
-        String trimmedSearchTerm = searchTerm != null ? searchTerm.trim() : null;
-
-        // Apply filters based on parameters
-        if (trimmedSearchTerm != null && !trimmedSearchTerm.isEmpty() && trimmedCategory != null && !trimmedCategory.isEmpty()) {
-            // Both search and category filter
-            offers = offerRepository.searchActiveOffersByCategory(storeId, trimmedCategory, trimmedSearchTerm, now);
-        } else if (trimmedSearchTerm != null && !trimmedSearchTerm.isEmpty()) {
-            // Only search filter
-            offers = offerRepository.searchActiveOffers(storeId, trimmedSearchTerm, now);
-        } else if (trimmedCategory != null && !trimmedCategory.isEmpty()) {
-            // Only category filter
-            offers = offerRepository.findActiveOffersByStoreIdAndCategory(storeId, trimmedCategory, now);
-        } else {
-            // No filters, get all active offers
-            offers = offerRepository.findActiveOffersByStoreId(storeId, now);
+        return getActiveOffers(storeId, OfferFilter.of(category, searchTerm), sortBy);
+    }
+
+    /**
+     * Get active offers for a store matching every given filter, sorted.
+     * All filters are applied by a single database query.
+     *
+     * @param storeId The store ID
+     * @param filter Filters to apply, see {@link OfferFilter}
+     * @param sortBy Optional sort criteria (discount, expiration, category,
+     * newest)
+     * @return Unmodifiable list of filtered and sorted offers
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<Offer> getActiveOffers(String storeId, OfferFilter filter, String sortBy) {
+        log.debug("Getting active offers for store: {}, filter: {}, sortBy: {}", storeId, filter, sortBy);
+        // Keyed like invalidations, which carry the ID as read back from the database
+        storeId = UuidStringJavaType.canonical(storeId);
+
+        if (knownIds.isUnknownStore(storeId)) {
+            log.debug("Store ID not known, returning no offers: {}", storeId);
+            return List.of();
         }
 
-        // Apply sorting
-        offers = sortOffers(offers, sortBy);
+        LocalDateTime now = evaluationClock.now();
+        LocalDateTime quantum = evaluationClock.quantumOf(now);
+        OfferQuery query = OfferQuery.of(storeId, filter, sortBy);
+        QuantizedResultCache.Generation generation = sharedResults.generationOf(storeId);
+
+        QuantizedResultCache.ActiveOffers result = sharedResults.get(query, quantum, generation);
+        if (result == null) {
+            result = inFlightQueries.execute(new QuantumQuery(query, quantum, generation),
+                    () -> readOnlyTransaction.execute(status -> findActiveOffers(query, quantum)));
+            sharedResults.put(query, storeId, quantum, generation, result);
+        }
+        List<Offer> offers = result.at(now);
 
         log.debug("Found {} active offers", offers.size());
         return offers;
     }
 
+    /**
+     * Get active offers for a store together with facet counts, computed in
+     * one pass over a single fetch. Offers are fetched without the category
+     * filter so that category counts show every category the other filters
+     * leave available; the category is then applied in memory.
+     *
+     * @param storeId The store ID
+     * @param filter Filters to apply, see {@link OfferFilter}
+     * @param sortBy Optional sort criteria (discount, expiration, category,
+     * newest)
+     * @return Filtered and sorted offers with their facet counts
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public FacetedOffers getFacetedOffers(String storeId, OfferFilter filter, String sortBy) {
+        OfferFilter normalized = (filter != null ? filter : OfferFilter.NONE).normalized();
+        List<Offer> candidates = getActiveOffers(storeId, normalized.withoutCategory(), sortBy);
+        return OfferFacetCollector.collect(candidates, normalized.category(), categoryDictionary::isDescendant);
+    }
+
+    /**
+     * Drop shared offer list results once an offer change is committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onOfferChanged(OfferChangedEvent event) {
+        if (event.affectsAllStores()) {
+            sharedResults.invalidateAll();
+        } else {
+            sharedResults.invalidate(event.storeId());
+        }
+    }
+
+    private QuantizedResultCache.ActiveOffers findActiveOffers(OfferQuery query, LocalDateTime quantum) {
+        // Evaluated at the quantum start: a superset of what is active later in the quantum
+        LocalDateTime now = quantum;
+        String storeId = query.storeId();
+
+        // Every filter is pushed down into one query, the category as its whole subtree
+        List<String> categories = categoriesWithin(query.filter().category());
+        List<Offer> offers = offerShards.readFromStore(storeId, () -> offerRepository.findAll(
+                OfferSpecifications.activeInStore(storeId, query.filter(), categories, now)));
+
+        // Chain-wide offers assigned to this store
+        List<Offer> sharedOffers = sharedOfferResolver.findActiveOffers(storeId, query.filter(), now);
+        if (!sharedOffers.isEmpty()) {
+            offers = new ArrayList<>(offers);
+            offers.addAll(sharedOffers);
+        }
+
+        // Apply sorting; the result is shared by every caller in the quantum
+        return QuantizedResultCache.ActiveOffers.of(Collections.unmodifiableList(sortOffers(offers, query.sortBy())));
+    }
+
+    /**
+     * A category and every category below it
+     * @return The names, or null if there is no category filter
+     */
+    private List<String> categoriesWithin(String category) {
+        if (category == null) {
+            return null;
+        }
+        List<String> categories = new ArrayList<>();
+        categories.add(category);
+        categories.addAll(categoryDictionary.descendantsOf(category));
+        return categories;
+    }
+
+    /**
+     * Get every offer of a store, expired ones included, for administration
+     *
+     * @param storeId The store ID
+     * @return The store's own offers, read from its shard
+     */
+    public List<Offer> getAllOffersForStore(String storeId) {
+        return offerShards.readFromStore(storeId, () -> offerRepository.findByStoreId(storeId));
+    }
+
+    /**
+     * Get the stores' own offers in a category across the chain, expired ones included
+     *
+     * @param category The category name
+     * @return Offers gathered from every shard, shard 0 first
+     */
+    public List<Offer> getOffersByCategory(String category) {
+        return offerShards.findInEveryShard(() -> offerRepository.findByCategory(category));
+    }
+
     /**
      * Get offer details by ID
      *
@@ -86,7 +228,16 @@ public class OfferService {
             return Optional.empty();
         }
 
-        Optional<Offer> offer = offerRepository.findById(offerId);
+        if (knownIds.isUnknownOffer(offerId)) {
+            log.debug("Offer ID not known, skipping lookup: {}", offerId);
+            return Optional.empty();
+        }
+
+        // Offer IDs do not name their store, so every shard is asked
+        Optional<Offer> offer = offerShards.readFromEveryShard(() -> offerRepository.findById(offerId)).stream()
+                .flatMap(Optional::stream)
+                .findFirst()
+                .or(() -> sharedOfferResolver.findOffer(offerId));
 
         if (offer.isPresent()) {
             log.debug("Found offer: {}", offer.get().getTitle());
@@ -148,7 +299,31 @@ public class OfferService {
         if (offer == null) {
             return false;
         }
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = evaluationClock.now();
         return !now.isBefore(offer.getValidFrom()) && !now.isAfter(offer.getValidUntil());
     }
+
+    /**
+     * Identifies one computation of a query: callers only join a computation
+     * for the same quantum and offer generation
+     */
+    private record QuantumQuery(OfferQuery query, LocalDateTime quantum, QuantizedResultCache.Generation generation) {
+    }
+
+    /**
+     * Normalized parameters of an active offers query, identifying identical calls
+     *
+     * @param storeId The store ID
+     * @param filter Normalized filters
+     * @param sortBy Trimmed, lower-case sort criteria, or null
+     */
+    private record OfferQuery(String storeId, OfferFilter filter, String sortBy) {
+
+        static OfferQuery of(String storeId, OfferFilter filter, String sortBy) {
+            // Trim inputs to avoid whitespace issues
+            String normalizedSortBy = sortBy != null ? sortBy.trim() : "";
+            return new OfferQuery(storeId, (filter != null ? filter : OfferFilter.NONE).normalized(),
+                    normalizedSortBy.isEmpty() ? null : normalizedSortBy.toLowerCase());
+        }
+    }
 }
@@ -0,0 +1,80 @@
+package com.retail.offersviewer.service;
+
+import com.retail.offersviewer.dto.OfferSuggestion;
+import com.retail.offersviewer.entity.Offer;
+import com.retail.offersviewer.index.PrefixTrie;
+import com.retail.offersviewer.index.TextNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service layer for offer search type-ahead
+ * Answers completions from a per-store prefix trie built from the active offer
+ * catalog, so keystrokes never reach the database
+ */
+@Service
+public class OfferSuggestService {
+
+    private static final Logger log = LoggerFactory.getLogger(OfferSuggestService.class);
+
+    static final int MAX_COMPLETIONS_PER_PREFIX = 25;
+    private static final long TITLE_WEIGHT = 3;
+    private static final long PRODUCT_WEIGHT = 2;
+    private static final long CATEGORY_WEIGHT = 1;
+
+    private final SnapshotIndexCache<PrefixTrie<OfferSuggestion>> indexes;
+
+    public OfferSuggestService(ActiveOfferCatalog catalog) {
+        this.indexes = new SnapshotIndexCache<>(catalog, this::build);
+    }
+
+    /**
+     * Get the top completions for a partially typed query
+     * @param storeId The store ID
+     * @param query The text typed so far
+     * @param limit Maximum number of suggestions
+     * @return Suggestions ordered by popularity
+     */
+    public List<OfferSuggestion> suggest(String storeId, String query, int limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        return indexes.get(storeId).complete(query, Math.min(limit, MAX_COMPLETIONS_PER_PREFIX));
+    }
+
+    private PrefixTrie<OfferSuggestion> build(ActiveOfferCatalog.StoreOffers snapshot) {
+        long start = System.nanoTime();
+        PrefixTrie.Builder<OfferSuggestion> builder = PrefixTrie.builder(MAX_COMPLETIONS_PER_PREFIX);
+        Map<String, OfferSuggestion> canonical = new HashMap<>();
+
+        for (Offer offer : snapshot.offers()) {
+            add(builder, canonical, offer.getTitle(), OfferSuggestion.Type.TITLE, TITLE_WEIGHT);
+            add(builder, canonical, offer.getCategory(), OfferSuggestion.Type.CATEGORY, CATEGORY_WEIGHT);
+            for (String product : offer.getEligibleProducts()) {
+                add(builder, canonical, product, OfferSuggestion.Type.PRODUCT, PRODUCT_WEIGHT);
+            }
+        }
+
+        PrefixTrie<OfferSuggestion> trie = builder.build();
+        log.debug("Built suggestion index for store: {} with {} completions in {} µs",
+                snapshot.storeId(), trie.size(), (System.nanoTime() - start) / 1_000);
+        return trie;
+    }
+
+    private void add(PrefixTrie.Builder<OfferSuggestion> builder, Map<String, OfferSuggestion> canonical,
+                     String text, OfferSuggestion.Type type, long weight) {
+        String normalized = TextNormalizer.normalize(text);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        // Variants differing only in case or punctuation share one suggestion
+        OfferSuggestion suggestion = canonical.computeIfAbsent(type + ":" + normalized,
+                key -> new OfferSuggestion(text.trim(), type));
+        builder.add(text, suggestion, weight);
+    }
+}
@@ -0,0 +1,316 @@
+package com.retail.offersviewer.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.retail.offersviewer.config.OfflineSnapshotProperties;
+import com.retail.offersviewer.dto.OfflineSnapshot;
+import com.retail.offersviewer.entity.Offer;
+import com.retail.offersviewer.entity.UuidStringJavaType;
+import com.retail.offersviewer.event.OfferChangedEvent;
+import com.retail.offersviewer.exception.ResourceNotFoundException;
+import com.retail.offersviewer.repository.OfferRepository;
+import com.retail.offersviewer.sharding.OfferShards;
+import jakarta.annotation.PreDestroy;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Service layer for offline offer snapshots
+ * Writes each store's full offer catalog to a gzip-compressed JSON file, so
+ * kiosks and handhelds download a prebuilt file instead of having the
+ * catalog assembled for every device.
+ *
+ * A snapshot holds every offer of the store, own and shared, that has not
+ * expired by the start of the current day; devices check validity
+ * themselves. It is built on first request and rebuilt shortly after any
+ * of the store's offers change, and on the first request of a new day.
+ * Snapshots are versioned by a digest of their content, so every instance
+ * builds the same file name and version for the same catalog, and a
+ * rebuild that changes nothing keeps the version devices already have.
+ * The previous file of each store is kept until the next rebuild, so
+ * downloads that started before a rebuild can still finish.
+ */
+@Service
+@EnableConfigurationProperties(OfflineSnapshotProperties.class)
+public class OfflineSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(OfflineSnapshotService.class);
+
+    private static final Duration BUILD_WAIT_TIMEOUT = Duration.ofSeconds(30);
+    private static final String SNAPSHOT_SUFFIX = ".json.gz";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final OfferRepository offerRepository;
+    private final OfferShards offerShards;
+    private final SharedOfferResolver sharedOfferResolver;
+    private final StoreService storeService;
+    private final EvaluationClock evaluationClock;
+    private final ObjectMapper objectMapper;
+    private final OfflineSnapshotProperties properties;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ConcurrentMap<String, Built> snapshots = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Path> previousFiles = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Long> lastChanges = new ConcurrentHashMap<>();
+    private final Set<String> pendingRebuilds = ConcurrentHashMap.newKeySet();
+    private final AtomicLong changes = new AtomicLong();
+    private final SingleFlight<String, OfflineSnapshot> inFlightBuilds = new SingleFlight<>(BUILD_WAIT_TIMEOUT);
+    private volatile long lastChangeToAllStores;
+    private ScheduledExecutorService scheduler;
+
+    public OfflineSnapshotService(OfferRepository offerRepository, OfferShards offerShards,
+                                  SharedOfferResolver sharedOfferResolver, StoreService storeService,
+                                  EvaluationClock evaluationClock, ObjectMapper objectMapper,
+                                  OfflineSnapshotProperties properties, PlatformTransactionManager transactionManager) {
+        this.offerRepository = offerRepository;
+        this.offerShards = offerShards;
+        this.sharedOfferResolver = sharedOfferResolver;
+        this.storeService = storeService;
+        this.evaluationClock = evaluationClock;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Delete snapshot files left from an earlier run and start rebuilding snapshots after changes
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() throws IOException {
+        if (scheduler != null) {
+            return;
+        }
+        Path directory = properties.directory();
+        Files.createDirectories(directory);
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                "*{" + SNAPSHOT_SUFFIX + "," + TEMPORARY_SUFFIX + "}")) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+                deleted++;
+            }
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofVirtual().name("offline-snapshot-builder").factory());
+        log.info("Writing offline snapshots to {}, deleted {} left from an earlier run",
+                directory.toAbsolutePath(), deleted);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Get a store's offline snapshot, building it if it is missing or out of date
+     * @param storeId The store ID
+     * @return The snapshot, whose file exists until the store's next rebuild
+     * @throws ResourceNotFoundException if the store does not exist
+     */
+    public OfflineSnapshot getSnapshot(String storeId) {
+        // One snapshot and file per store, however the ID is spelled
+        String canonicalId = UuidStringJavaType.canonical(storeId);
+        Built current = snapshots.get(canonicalId);
+        if (current != null && isCurrent(canonicalId, current, evaluationClock.now())) {
+            return current.snapshot();
+        }
+        if (current == null && !storeService.storeExists(canonicalId)) {
+            throw new ResourceNotFoundException("Store", "id", storeId);
+        }
+        return inFlightBuilds.execute(canonicalId, () -> build(canonicalId));
+    }
+
+    /**
+     * Schedule a rebuild of the affected snapshots once an offer change is committed.
+     * Only stores whose snapshot was requested before are rebuilt; others are built on first request.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOfferChanged(OfferChangedEvent event) {
+        long change = changes.incrementAndGet();
+        if (event.affectsAllStores()) {
+            lastChangeToAllStores = change;
+            snapshots.keySet().forEach(this::scheduleRebuild);
+        } else {
+            lastChanges.put(event.storeId(), change);
+            if (snapshots.containsKey(event.storeId())) {
+                scheduleRebuild(event.storeId());
+            }
+        }
+    }
+
+    /**
+     * Number of stores with a snapshot
+     */
+    public int snapshotCount() {
+        return snapshots.size();
+    }
+
+    private void scheduleRebuild(String storeId) {
+        ScheduledExecutorService current = scheduler;
+        if (current == null || !pendingRebuilds.add(storeId)) {
+            return;
+        }
+        current.schedule(() -> {
+            pendingRebuilds.remove(storeId);
+            try {
+                getSnapshot(storeId);
+            } catch (RuntimeException e) {
+                // Retried by the next request for the snapshot
+                log.warn("Failed to rebuild offline snapshot for store {}: {}", storeId, e.getMessage());
+            }
+        }, properties.rebuildDelay().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private boolean isCurrent(String storeId, Built built, LocalDateTime now) {
+        return !now.isAfter(built.snapshot().staleAfter())
+                && built.change() >= lastChangeToAllStores
+                && built.change() >= lastChanges.getOrDefault(storeId, 0L);
+    }
+
+    private OfflineSnapshot build(String storeId) {
+        long start = System.nanoTime();
+        long change = changes.get();
+        // Cut off at the start of the day, so every instance builds the same catalog all day
+        LocalDateTime today = evaluationClock.now().toLocalDate().atStartOfDay();
+        List<Offer> offers = load(storeId, today);
+
+        OfflineSnapshot snapshot;
+        try {
+            snapshot = write(storeId, offers, today.plusDays(1).minusNanos(1));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write offline snapshot for store " + storeId, e);
+        }
+        publish(storeId, new Built(snapshot, change));
+
+        log.debug("Built offline snapshot {} of store {} with {} offers, {} bytes, in {} ms", snapshot.version(),
+                storeId, offers.size(), snapshot.length(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return snapshot;
+    }
+
+    private List<Offer> load(String storeId, LocalDateTime cutoff) {
+        List<Offer> offers = readOnlyTransaction.execute(status -> {
+            List<Offer> loaded = new ArrayList<>(offerShards.readFromStore(storeId, () -> {
+                List<Offer> stored = offerRepository.findActiveOffersByStoreId(storeId, cutoff);
+                // Initialize collections while the session is open; they are serialized after it closes
+                for (Offer offer : stored) {
+                    Hibernate.initialize(offer.getTerms());
+                    Hibernate.initialize(offer.getEligibleProducts());
+                    Hibernate.initialize(offer.getExclusions());
+                }
+                return stored;
+            }));
+            loaded.addAll(sharedOfferResolver.findActiveOffers(storeId, cutoff));
+            return loaded;
+        });
+        // A stable order, so equal catalogs serialize to equal bytes
+        offers.sort(Comparator.comparing(Offer::getId));
+        return offers;
+    }
+
+    /**
+     * Stream the catalog to a temporary file, digesting it on the way, then
+     * move it to the name derived from the digest
+     */
+    private OfflineSnapshot write(String storeId, List<Offer> offers, LocalDateTime staleAfter) throws IOException {
+        Path directory = properties.directory();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, storeId + "-", TEMPORARY_SUFFIX);
+        try {
+            MessageDigest digest = sha256();
+            ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            try (OutputStream out = new DigestOutputStream(new GZIPOutputStream(
+                    Files.newOutputStream(temporary), WRITE_BUFFER_SIZE), digest);
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartObject();
+                generator.writeStringField("storeId", storeId);
+                generator.writeArrayFieldStart("offers");
+                for (Offer offer : offers) {
+                    writer.writeValue(generator, offer);
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+
+            String version = HexFormat.of().formatHex(digest.digest(), 0, 16);
+            Path file = directory.resolve(storeId + "-" + version + SNAPSHOT_SUFFIX);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return new OfflineSnapshot(storeId, version, file, Files.size(file), staleAfter);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Replace a store's snapshot unless a build started later already did,
+     * and delete the file before the replaced one
+     */
+    private void publish(String storeId, Built built) {
+        Built replaced = snapshots.get(storeId);
+        Built published = snapshots.merge(storeId, built,
+                (existing, candidate) -> candidate.change() >= existing.change() ? candidate : existing);
+        if (published != built || replaced == null) {
+            return;
+        }
+        Path previous = replaced.snapshot().file();
+        if (previous.equals(built.snapshot().file())) {
+            return;
+        }
+        Path retired = previousFiles.put(storeId, previous);
+        if (retired != null && !retired.equals(built.snapshot().file())) {
+            try {
+                Files.deleteIfExists(retired);
+            } catch (IOException e) {
+                log.warn("Failed to delete offline snapshot {}: {}", retired, e.getMessage());
+            }
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Built(OfflineSnapshot snapshot, long change) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.retail.offersviewer.service;
+
+import com.retail.offersviewer.entity.Offer;
+import com.retail.offersviewer.index.ProductOfferIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service layer for product-to-offer lookups
+ * Answers "which active offers apply to this product" from a per-store
+ * reverse index, for shelf scanners and POS devices
+ */
+@Service
+public class ProductOfferService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductOfferService.class);
+
+    private final SnapshotIndexCache<ProductOfferIndex> indexes;
+
+    public ProductOfferService(ActiveOfferCatalog catalog) {
+        this.indexes = new SnapshotIndexCache<>(catalog, this::build);
+    }
+
+    /**
+     * Get the active offers that apply to a product in a store
+     * @param storeId The store ID
+     * @param product Product name or identifier
+     * @return Offers whose eligible products match and whose exclusions do not
+     */
+    public List<Offer> getOffersForProduct(String storeId, String product) {
+        return indexes.get(storeId).lookup(product);
+    }
+
+    /**
+     * Get the active offers for several products in one call
+     * @param storeId The store ID
+     * @param products Product names or identifiers
+     * @return Map of each requested product to its applicable offers, in request order
+     */
+    public Map<String, List<Offer>> getOffersForProducts(String storeId, Collection<String> products) {
+        ProductOfferIndex index = indexes.get(storeId);
+        Map<String, List<Offer>> result = new LinkedHashMap<>();
+        for (String product : products) {
+            result.computeIfAbsent(product, index::lookup);
+        }
+        return result;
+    }
+
+    private ProductOfferIndex build(ActiveOfferCatalog.StoreOffers snapshot) {
+        ProductOfferIndex index = ProductOfferIndex.build(snapshot.offers());
+        log.debug("Built product index for store: {} with {} products", snapshot.storeId(), index.size());
+        return index;
+    }
+}
@@ -0,0 +1,179 @@
+package com.retail.offersviewer.service;
+
+import com.retail.offersviewer.dto.NearbyPrice;
+import com.retail.offersviewer.event.OfferChangedEvent;
+import com.retail.offersviewer.event.OfferDefinitionChangedEvent;
+import com.retail.offersviewer.event.StoreChangedEvent;
+import com.retail.offersviewer.index.ProductPriceIndex;
+import com.retail.offersviewer.sharding.OfferShards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Service layer for cross-store price comparison
+ * Answers "where is this product cheapest near me" from a chain-wide
+ * {@link ProductPriceIndex} held in memory, instead of loading the offers
+ * of every nearby store.
+ *
+ * The index is built on first use from every shard's unexpired offers and
+ * the stores' shared offers, and rebuilt on the next lookup after any store
+ * or offer changes. While one request rebuilds it, others keep answering
+ * from the previous index, so a burst of changes costs one rebuild at a
+ * time and never stalls lookups.
+ */
+@Service
+public class ProductPriceService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductPriceService.class);
+
+    private static final String STORES = "SELECT id, name, latitude, longitude FROM stores";
+
+    private static final String OFFER_PRICES = "SELECT o.store_id, o.id, p.product, o.final_price, "
+            + "o.valid_from, o.valid_until FROM offers o "
+            + "JOIN offer_eligible_products p ON p.offer_id = o.id "
+            + "WHERE o.valid_until >= ? AND o.final_price IS NOT NULL";
+
+    /** Assignment's final price, else the definition's discount on the assignment's original price */
+    private static final String SHARED_FINAL_PRICE = "COALESCE(a.final_price, CASE WHEN a.original_price IS NULL "
+            + "THEN d.final_price ELSE " + OfferPricing.finalPriceSql("d.discount_type", "a.original_price",
+                    "d.discount_value") + " END)";
+    private static final String SHARED_OFFER_PRICES = "SELECT a.store_id, a.id, p.product, "
+            + SHARED_FINAL_PRICE + ", a.valid_from, a.valid_until FROM offer_assignments a "
+            + "JOIN offer_definitions d ON d.id = a.definition_id "
+            + "JOIN offer_definition_eligible_products p ON p.definition_id = d.id "
+            + "WHERE a.valid_until >= ? "
+            + "AND (a.final_price IS NOT NULL OR a.original_price IS NOT NULL OR d.final_price IS NOT NULL)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OfferShards offerShards;
+    private final EvaluationClock evaluationClock;
+    private final AtomicLong generation = new AtomicLong();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    public ProductPriceService(JdbcTemplate jdbcTemplate, OfferShards offerShards, EvaluationClock evaluationClock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.offerShards = offerShards;
+        this.evaluationClock = evaluationClock;
+    }
+
+    /**
+     * Get the stores near a location with an active offer on a product
+     * @param product Product name or identifier
+     * @param latitude Latitude of the shopper
+     * @param longitude Longitude of the shopper
+     * @param radiusKm Maximum distance of a store, in kilometres
+     * @param limit Maximum number of stores
+     * @return Each store's cheapest offer on the product, by final price then distance
+     */
+    public List<NearbyPrice> getCheapestNearby(String product, double latitude, double longitude,
+                                               double radiusKm, int limit) {
+        return index().cheapestNearby(product, latitude, longitude, radiusKm, evaluationClock.now(), limit);
+    }
+
+    /**
+     * Mark the index stale once an offer change is committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOfferChanged(OfferChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Mark the index stale once a shared offer definition change is committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDefinitionChanged(OfferDefinitionChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Mark the index stale once a store change is committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStoreChanged(StoreChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    ProductPriceIndex index() {
+        Snapshot current = snapshot;
+        if (current != null && current.generation() == generation.get()) {
+            return current.index();
+        }
+        if (current == null) {
+            rebuildLock.lock();
+        } else if (!rebuildLock.tryLock()) {
+            // Another request is rebuilding; answer from the previous index meanwhile
+            return current.index();
+        }
+        try {
+            current = snapshot;
+            long expected = generation.get();
+            if (current != null && current.generation() == expected) {
+                return current.index();
+            }
+            ProductPriceIndex index = build();
+            // Changes made during the build leave the generation ahead, so the next lookup rebuilds again
+            snapshot = new Snapshot(expected, index);
+            return index;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private ProductPriceIndex build() {
+        long start = System.nanoTime();
+        Timestamp now = Timestamp.valueOf(evaluationClock.now());
+        ProductPriceIndex.Builder builder = ProductPriceIndex.builder();
+
+        jdbcTemplate.query(STORES, rs -> {
+            builder.addStore(rs.getString(1), rs.getString(2),
+                    rs.getObject(3, Double.class), rs.getObject(4, Double.class));
+        });
+        int rows = 0;
+        for (List<PriceRow> shardRows : offerShards.readFromEveryShard(() -> jdbcTemplate.query(OFFER_PRICES,
+                ProductPriceService::priceRow, now))) {
+            rows += add(builder, shardRows);
+        }
+        // Shared offers live in the primary database
+        rows += add(builder, jdbcTemplate.query(SHARED_OFFER_PRICES, ProductPriceService::priceRow, now));
+
+        ProductPriceIndex index = builder.build();
+        log.debug("Built product price index with {} products over {} stores from {} offer rows in {} ms",
+                index.size(), index.stores(), rows, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return index;
+    }
+
+    private static int add(ProductPriceIndex.Builder builder, List<PriceRow> rows) {
+        for (PriceRow row : rows) {
+            builder.addOffer(row.storeId(), row.offerId(), row.product(), row.finalPrice(),
+                    row.validFrom(), row.validUntil());
+        }
+        return rows.size();
+    }
+
+    private static PriceRow priceRow(ResultSet rs, int rowNum) throws SQLException {
+        return new PriceRow(rs.getString(1), rs.getString(2), rs.getString(3), rs.getDouble(4),
+                rs.getTimestamp(5).toLocalDateTime(), rs.getTimestamp(6).toLocalDateTime());
+    }
+
+    private record PriceRow(String storeId, String offerId, String product, double finalPrice,
+                            LocalDateTime validFrom, LocalDateTime validUntil) {
+    }
+
+    private record Snapshot(long generation, ProductPriceIndex index) {
+    }
+}
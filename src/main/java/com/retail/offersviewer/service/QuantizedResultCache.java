@@ -0,0 +1,131 @@
+package com.retail.offersviewer.service;
+
+import com.retail.offersviewer.entity.Offer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Active offer list results shared by every request in one evaluation
+ * quantum. A result is computed as of the quantum's start, which makes it a
+ * superset of the offers active at any later instant in the quantum; the
+ * only offers it can wrongly contain are those expiring within the quantum,
+ * and {@link ActiveOffers#at} removes them. Results are dropped when the
+ * quantum ends or an offer of their store changes.
+ *
+ * @param <K> Query key; equal keys must refer to the same store
+ */
+final class QuantizedResultCache<K> {
+
+    private final int maxEntries;
+    private final ConcurrentMap<K, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> storeGenerations = new ConcurrentHashMap<>();
+    private final AtomicLong globalGeneration = new AtomicLong();
+
+    QuantizedResultCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Current generation of a store's offers, to be captured before computing a result
+     */
+    Generation generationOf(String storeId) {
+        AtomicLong store = storeGenerations.get(storeId);
+        return new Generation(store != null ? store.get() : 0L, globalGeneration.get());
+    }
+
+    /**
+     * Get the result for a query computed in this quantum and generation
+     * @return The shared result, or null if it must be computed
+     */
+    ActiveOffers get(K key, LocalDateTime quantum, Generation generation) {
+        Entry entry = entries.get(key);
+        if (entry == null || !entry.quantum.equals(quantum) || !entry.generation.equals(generation)) {
+            return null;
+        }
+        return entry.result;
+    }
+
+    /**
+     * Share a result for the rest of its quantum, unless its store changed
+     * while it was being computed
+     */
+    void put(K key, String storeId, LocalDateTime quantum, Generation generation, ActiveOffers result) {
+        if (!generation.equals(generationOf(storeId))) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(entry -> entry.quantum.isBefore(quantum));
+            if (entries.size() >= maxEntries) {
+                entries.clear();
+            }
+        }
+        entries.put(key, new Entry(quantum, generation, result));
+    }
+
+    /**
+     * Drop the results of one store
+     */
+    void invalidate(String storeId) {
+        storeGenerations.computeIfAbsent(storeId, id -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * Drop every result
+     */
+    void invalidateAll() {
+        globalGeneration.incrementAndGet();
+        entries.clear();
+    }
+
+    /**
+     * Generations of a store's offers and of all offers when a result was computed
+     */
+    record Generation(long store, long global) {
+    }
+
+    private record Entry(LocalDateTime quantum, Generation generation, ActiveOffers result) {
+    }
+
+    /**
+     * Offer list evaluated at the start of a quantum
+     *
+     * @param offers Unmodifiable offers not expired at the quantum start, in result order
+     * @param earliestExpiry Earliest expiry among them, or null if there are none; the list
+     * is exact for every instant up to and including it
+     */
+    record ActiveOffers(List<Offer> offers, LocalDateTime earliestExpiry) {
+
+        static ActiveOffers of(List<Offer> offers) {
+            LocalDateTime earliest = null;
+            for (Offer offer : offers) {
+                LocalDateTime validUntil = offer.getValidUntil();
+                if (validUntil != null && (earliest == null || validUntil.isBefore(earliest))) {
+                    earliest = validUntil;
+                }
+            }
+            return new ActiveOffers(offers, earliest);
+        }
+
+        /**
+         * The offers not expired at an instant within the quantum
+         */
+        List<Offer> at(LocalDateTime instant) {
+            if (earliestExpiry == null || !earliestExpiry.isBefore(instant)) {
+                return offers;
+            }
+            List<Offer> active = new ArrayList<>(offers.size());
+            for (Offer offer : offers) {
+                if (offer.getValidUntil() == null || !offer.getValidUntil().isBefore(instant)) {
+                    active.add(offer);
+                }
+            }
+            return Collections.unmodifiableList(active);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.retail.offersviewer.service;
+
+import com.retail.offersviewer.dto.OfferFilter;
+import com.retail.offersviewer.entity.Offer;
+import com.retail.offersviewer.entity.OfferAssignment;
+import com.retail.offersviewer.entity.OfferDefinition;
+import com.retail.offersviewer.event.OfferDefinitionChangedEvent;
+import com.retail.offersviewer.repository.OfferAssignmentRepository;
+import com.retail.offersviewer.repository.OfferDefinitionRepository;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resolves chain-wide offer definitions assigned to stores into per-store
+ * {@link Offer} views. Each definition is loaded once and cached as a single
+ * template; every store's view shares the template's strings and term,
+ * product and exclusion lists, so only the assignment's own prices and
+ * validity are held per store. The materialized offers are read-only views
+ * and are never persisted.
+ */
+@Component
+public class SharedOfferResolver {
+
+    private static final Logger log = LoggerFactory.getLogger(SharedOfferResolver.class);
+
+    private final OfferAssignmentRepository assignmentRepository;
+    private final OfferDefinitionRepository definitionRepository;
+    private final CategoryDictionary categoryDictionary;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ConcurrentMap<String, Offer> templates = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public SharedOfferResolver(OfferAssignmentRepository assignmentRepository,
+                               OfferDefinitionRepository definitionRepository,
+                               CategoryDictionary categoryDictionary,
+                               PlatformTransactionManager transactionManager) {
+        this.assignmentRepository = assignmentRepository;
+        this.definitionRepository = definitionRepository;
+        this.categoryDictionary = categoryDictionary;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Get the shared offers assigned to a store that have not yet expired
+     * @param storeId The store ID
+     * @param currentTime Evaluation instant
+     * @return Materialized offers, using the assignment ID as the offer ID
+     */
+    public List<Offer> findActiveOffers(String storeId, LocalDateTime currentTime) {
+        return readOnlyTransaction.execute(status -> {
+            List<OfferAssignment> assignments = assignmentRepository.findActiveByStoreId(storeId, currentTime);
+            if (assignments.isEmpty()) {
+                return List.<Offer>of();
+            }
+            Map<String, Offer> resolved = templatesFor(assignments);
+            List<Offer> offers = new ArrayList<>(assignments.size());
+            for (OfferAssignment assignment : assignments) {
+                Offer template = resolved.get(assignment.getDefinitionId());
+                if (template != null) {
+                    offers.add(materialize(assignment, template));
+                }
+            }
+            return offers;
+        });
+    }
+
+    /**
+     * Count the shared offers assigned to a store that have not yet expired,
+     * per category, without materializing them
+     * @param storeId The store ID
+     * @param currentTime Evaluation instant
+     * @return Rows of category name and offer count
+     */
+    public List<Object[]> countActiveOffersByCategory(String storeId, LocalDateTime currentTime) {
+        return readOnlyTransaction.execute(status -> assignmentRepository.countActiveByCategory(storeId, currentTime));
+    }
+
+    /**
+     * Get the shared offers assigned to a store, filtered with the same
+     * semantics as the store's own offer queries
+     * @param storeId The store ID
+     * @param filter Filters to apply
+     * @param currentTime Evaluation instant
+     * @return Matching materialized offers
+     */
+    public List<Offer> findActiveOffers(String storeId, OfferFilter filter, LocalDateTime currentTime) {
+        List<Offer> offers = findActiveOffers(storeId, currentTime);
+        if (filter == null || OfferFilter.NONE.equals(filter)) {
+            return offers;
+        }
+
+        List<Offer> matching = new ArrayList<>();
+        for (Offer offer : offers) {
+            if (filter.matches(offer, categoryDictionary::isDescendant)) {
+                matching.add(offer);
+            }
+        }
+        return matching;
+    }
+
+    /**
+     * Resolve a single shared offer by its assignment ID
+     * @param assignmentId The assignment ID
+     * @return Optional containing the materialized offer if the assignment exists
+     */
+    public Optional<Offer> findOffer(String assignmentId) {
+        return readOnlyTransaction.execute(status -> assignmentRepository.findById(assignmentId)
+                .flatMap(assignment -> Optional.ofNullable(templatesFor(List.of(assignment))
+                        .get(assignment.getDefinitionId()))
+                        .map(template -> materialize(assignment, template))));
+    }
+
+    /**
+     * Drop a cached definition once a change to it is committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDefinitionChanged(OfferDefinitionChangedEvent event) {
+        log.debug("Evicting shared offer definition: {}", event.definitionId());
+        generation.incrementAndGet();
+        templates.remove(event.definitionId());
+    }
+
+    /**
+     * Number of definitions currently cached
+     */
+    public int cachedDefinitions() {
+        return templates.size();
+    }
+
+    private Map<String, Offer> templatesFor(List<OfferAssignment> assignments) {
+        Map<String, Offer> resolved = new HashMap<>();
+        Set<String> missing = new HashSet<>();
+        for (OfferAssignment assignment : assignments) {
+            String definitionId = assignment.getDefinitionId();
+            Offer template = templates.get(definitionId);
+            if (template != null) {
+                resolved.put(definitionId, template);
+            } else {
+                missing.add(definitionId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return resolved;
+        }
+
+        log.debug("Loading {} shared offer definitions", missing.size());
+        long loadedAt = generation.get();
+        for (OfferDefinition definition : definitionRepository.findAllById(missing)) {
+            Offer template = toTemplate(definition);
+            // Cache only if no definition change raced with the load
+            if (loadedAt == generation.get()) {
+                Offer existing = templates.putIfAbsent(definition.getId(), template);
+                template = existing != null ? existing : template;
+            }
+            resolved.put(definition.getId(), template);
+        }
+        return resolved;
+    }
+
+    private static Offer toTemplate(OfferDefinition definition) {
+        Hibernate.initialize(definition.getTerms());
+        Hibernate.initialize(definition.getEligibleProducts());
+        Hibernate.initialize(definition.getExclusions());
+
+        Offer template = new Offer();
+        template.setTitle(definition.getTitle());
+        template.setDescription(definition.getDescription());
+        template.setCategory(definition.getCategory());
+        template.setDiscountType(definition.getDiscountType());
+        template.setDiscountValue(definition.getDiscountValue());
+        template.setOriginalPrice(definition.getOriginalPrice());
+        template.setFinalPrice(definition.getFinalPrice());
+        template.setImageUrl(definition.getImageUrl());
+        template.setTerms(List.copyOf(definition.getTerms()));
+        template.setRequiresLoyaltyCard(definition.getRequiresLoyaltyCard());
+        template.setCouponCode(definition.getCouponCode());
+        template.setMinimumPurchase(definition.getMinimumPurchase());
+        template.setEligibleProducts(List.copyOf(definition.getEligibleProducts()));
+        template.setExclusions(List.copyOf(definition.getExclusions()));
+        return template;
+    }
+
+    private static Offer materialize(OfferAssignment assignment, Offer template) {
+        Offer offer = new Offer();
+        offer.setId(assignment.getId());
+        offer.setStoreId(assignment.getStoreId());
+        offer.setTitle(template.getTitle());
+        offer.setDescription(template.getDescription());
+        offer.setCategory(template.getCategory());
+        offer.setDiscountType(template.getDiscountType());
+        offer.setDiscountValue(template.getDiscountValue());
+        offer.setOriginalPrice(assignment.getOriginalPrice() != null
+                ? assignment.getOriginalPrice() : template.getOriginalPrice());
+        offer.setFinalPrice(finalPrice(assignment, template));
+        offer.setImageUrl(template.getImageUrl());
+        offer.setValidFrom(assignment.getValidFrom());
+        offer.setValidUntil(assignment.getValidUntil());
+        offer.setTerms(template.getTerms());
+        offer.setRequiresLoyaltyCard(template.getRequiresLoyaltyCard());
+        offer.setCouponCode(template.getCouponCode());
+        offer.setMinimumPurchase(template.getMinimumPurchase());
+        offer.setEligibleProducts(template.getEligibleProducts());
+        offer.setExclusions(template.getExclusions());
+        offer.setCreatedAt(assignment.getCreatedAt());
+        return offer;
+    }
+
+    /**
+     * The assignment's final price, or the definition's discount applied to
+     * the assignment's original price when only that is overridden
+     */
+    private static Double finalPrice(OfferAssignment assignment, Offer template) {
+        if (assignment.getFinalPrice() != null) {
+            return assignment.getFinalPrice();
+        }
+        if (assignment.getOriginalPrice() != null) {
+            return OfferPricing.finalPrice(template.getDiscountType(), assignment.getOriginalPrice(),
+                    template.getDiscountValue());
+        }
+        return template.getFinalPrice();
+    }
+}
@@ -0,0 +1,91 @@
+package com.retail.offersviewer.service;
+
+import com.retail.offersviewer.exception.ServiceUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into one computation.
+ * The first caller for a key runs the computation on its own thread; callers
+ * arriving while it is in flight wait for the same result, or receive the
+ * same exception. The in-flight entry is removed as soon as the computation
+ * completes, so results are never cached beyond it.
+ *
+ * @param <K> Key identifying identical calls
+ * @param <V> Result type, shared between all coalesced callers
+ */
+final class SingleFlight<K, V> {
+
+    private static final Logger log = LoggerFactory.getLogger(SingleFlight.class);
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Duration timeout;
+
+    SingleFlight(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Run the computation for a key, or join the one already in flight
+     * @param key The call key
+     * @param computation Computes the result; only invoked by the first caller
+     * @return The shared result
+     * @throws ServiceUnavailableException if a joining caller waits longer than the timeout
+     */
+    V execute(K key, Supplier<V> computation) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            log.debug("Joining in-flight call for: {}", key);
+            return await(existing);
+        }
+
+        try {
+            V result = computation.get();
+            created.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    /**
+     * Number of computations currently in flight
+     */
+    int inFlight() {
+        return inFlight.size();
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceUnavailableException("Timed out waiting for an identical request in progress",
+                    Math.max(1, timeout.toSeconds()));
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for an identical request in progress", e);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.retail.offersviewer.service;
+
+import com.retail.offersviewer.entity.UuidStringJavaType;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Per-store cache of a structure derived from an {@link ActiveOfferCatalog}
+ * snapshot. The structure is rebuilt for a store whenever the catalog hands
+ * out a different snapshot instance, i.e. after that store's offers changed
+ * or reached an activation/expiry boundary.
+ *
+ * @param <T> The derived structure type
+ */
+class SnapshotIndexCache<T> {
+
+    private final ActiveOfferCatalog catalog;
+    private final Function<ActiveOfferCatalog.StoreOffers, T> builder;
+    private final ConcurrentMap<String, Entry<T>> entries = new ConcurrentHashMap<>();
+
+    SnapshotIndexCache(ActiveOfferCatalog catalog, Function<ActiveOfferCatalog.StoreOffers, T> builder) {
+        this.catalog = catalog;
+        this.builder = builder;
+    }
+
+    T get(String storeId) {
+        storeId = UuidStringJavaType.canonical(storeId);
+        ActiveOfferCatalog.StoreOffers snapshot = catalog.getStoreOffers(storeId);
+        Entry<T> entry = entries.get(storeId);
+        if (entry == null || entry.snapshot() != snapshot) {
+            entry = new Entry<>(snapshot, builder.apply(snapshot));
+            // Empty snapshots are cheap to rebuild and include those of unknown store IDs
+            if (snapshot.offers().isEmpty()) {
+                entries.remove(storeId);
+            } else {
+                entries.put(storeId, entry);
+            }
+        }
+        return entry.value();
+    }
+
+    private record Entry<T>(ActiveOfferCatalog.StoreOffers snapshot, T value) {
+    }
+}
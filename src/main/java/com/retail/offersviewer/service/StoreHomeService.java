@@ -0,0 +1,161 @@
+package com.retail.offersviewer.service;
+
+import com.retail.offersviewer.config.StoreHomeProperties;
+import com.retail.offersviewer.dto.OfferFilter;
+import com.retail.offersviewer.dto.StoreHome;
+import com.retail.offersviewer.entity.Category;
+import com.retail.offersviewer.entity.Offer;
+import com.retail.offersviewer.entity.Store;
+import com.retail.offersviewer.exception.ResourceNotFoundException;
+import com.retail.offersviewer.exception.ServiceUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Service layer for the store home screen
+ * Assembles the store, its category counts and its top offers into one
+ * response, so opening a store costs the app a single round trip.
+ *
+ * The parts are fetched concurrently, each on its own virtual thread and in
+ * its own transaction, under one deadline shared by all of them. The first
+ * part to fail, or the deadline passing, cancels the others, and no part
+ * outlives the request that forked it.
+ */
+@Service
+@EnableConfigurationProperties(StoreHomeProperties.class)
+public class StoreHomeService {
+
+    private static final Logger log = LoggerFactory.getLogger(StoreHomeService.class);
+    private static final String TOP_OFFERS_SORT = "discount";
+
+    private final StoreService storeService;
+    private final CategoryService categoryService;
+    private final OfferService offerService;
+    private final StoreHomeProperties properties;
+
+    public StoreHomeService(StoreService storeService, CategoryService categoryService, OfferService offerService,
+                            StoreHomeProperties properties) {
+        this.storeService = storeService;
+        this.categoryService = categoryService;
+        this.offerService = offerService;
+        this.properties = properties;
+    }
+
+    /**
+     * Get everything needed to render a store's home screen
+     * @param storeId The store ID
+     * @return The store, every category with its offer count, and the first page of offers
+     * @throws ResourceNotFoundException if the store does not exist
+     * @throws ServiceUnavailableException if the parts are not ready within the timeout
+     */
+    public StoreHome getStoreHome(String storeId) {
+        long start = System.nanoTime();
+        try (Scope scope = new Scope(start + properties.timeout().toNanos())) {
+            Supplier<Store> store = scope.fork(() -> storeService.getStoreById(storeId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Store", "id", storeId)));
+            Supplier<List<Category>> categories = scope.fork(categoryService::getAllCategories);
+            Supplier<Map<String, Long>> counts = scope.fork(() -> categoryService.countOffersByCategory(storeId));
+            Supplier<List<Offer>> offers = scope.fork(
+                    () -> offerService.getActiveOffers(storeId, OfferFilter.NONE, TOP_OFFERS_SORT));
+            scope.join();
+
+            Map<String, Long> offerCounts = counts.get();
+            List<StoreHome.CategoryCount> categoryCounts = new ArrayList<>(categories.get().size());
+            for (Category category : categories.get()) {
+                categoryCounts.add(new StoreHome.CategoryCount(category,
+                        offerCounts.getOrDefault(category.getName(), 0L)));
+            }
+            List<Offer> allOffers = offers.get();
+            List<Offer> topOffers = List.copyOf(allOffers.subList(0,
+                    Math.min(Math.max(0, properties.topOffers()), allOffers.size())));
+
+            log.debug("Assembled home of store {} in {} ms", storeId,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return new StoreHome(store.get(), categoryCounts, topOffers);
+        }
+    }
+
+    /**
+     * Subtasks of one request, each on its own virtual thread, joined under a
+     * single deadline. The first failure cancels the rest; closing the scope
+     * waits for every subtask to finish, so none keeps running afterwards.
+     */
+    private final class Scope implements AutoCloseable {
+
+        private final ExecutorService executor =
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("store-home-", 0).factory());
+        private final CompletionService<Object> completion = new ExecutorCompletionService<>(executor);
+        private final List<Future<Object>> forked = new ArrayList<>();
+        private final long deadline;
+
+        Scope(long deadline) {
+            this.deadline = deadline;
+        }
+
+        /**
+         * Start a subtask
+         * @return Its result, available once {@link #join()} has returned
+         */
+        @SuppressWarnings("unchecked")
+        <T> Supplier<T> fork(Callable<T> task) {
+            Future<Object> future = completion.submit(task::call);
+            forked.add(future);
+            return () -> (T) future.resultNow();
+        }
+
+        /**
+         * Wait for every subtask to succeed, failing as soon as one fails or the deadline passes
+         */
+        void join() {
+            try {
+                for (int pending = forked.size(); pending > 0; pending--) {
+                    Future<Object> done = completion.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (done == null) {
+                        cancelAll();
+                        throw new ServiceUnavailableException("Timed out assembling the store home",
+                                Math.max(1, properties.timeout().toSeconds()));
+                    }
+                    if (done.state() == Future.State.FAILED) {
+                        cancelAll();
+                        Throwable cause = done.exceptionNow();
+                        if (cause instanceof RuntimeException runtimeException) {
+                            throw runtimeException;
+                        }
+                        if (cause instanceof Error error) {
+                            throw error;
+                        }
+                        throw new IllegalStateException(cause);
+                    }
+                }
+            } catch (InterruptedException e) {
+                cancelAll();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted assembling the store home", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            cancelAll();
+            executor.close();
+        }
+
+        private void cancelAll() {
+            forked.forEach(future -> future.cancel(true));
+        }
+    }
+}
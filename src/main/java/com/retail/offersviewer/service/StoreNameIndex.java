@@ -0,0 +1,90 @@
+package com.retail.offersviewer.service;
+
+import com.retail.offersviewer.dto.StoreSuggestion;
+import com.retail.offersviewer.entity.Store;
+import com.retail.offersviewer.event.StoreChangedEvent;
+import com.retail.offersviewer.index.PrefixTrie;
+import com.retail.offersviewer.repository.StoreRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory prefix index over store names and cities for the store picker's
+ * type-ahead. Every word is indexed, so "high" completes "King Soopers -
+ * Highlands". Built on first use and rebuilt on the next lookup after any
+ * store changes.
+ */
+@Component
+public class StoreNameIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(StoreNameIndex.class);
+
+    static final int MAX_COMPLETIONS_PER_PREFIX = 25;
+
+    private final StoreRepository storeRepository;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    public StoreNameIndex(StoreRepository storeRepository) {
+        this.storeRepository = storeRepository;
+    }
+
+    /**
+     * Get the stores whose name or city has a word starting with the input
+     * @param prefix The text typed so far
+     * @param limit Maximum number of suggestions
+     * @return Matching stores ordered by name
+     */
+    public List<StoreSuggestion> complete(String prefix, int limit) {
+        return trie().complete(prefix, Math.min(limit, MAX_COMPLETIONS_PER_PREFIX));
+    }
+
+    /**
+     * Drop the index once a store change is committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStoreChanged(StoreChangedEvent event) {
+        log.debug("Invalidating store name index after change to store: {}", event.storeId());
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private PrefixTrie<StoreSuggestion> trie() {
+        Snapshot current = snapshot;
+        long expected = generation.get();
+        if (current != null && current.generation() == expected) {
+            return current.trie();
+        }
+
+        long start = System.nanoTime();
+        // Every store weighs the same, so completions keep this name order
+        List<Store> stores = storeRepository.findAll(Sort.by("name"));
+        PrefixTrie.Builder<StoreSuggestion> builder = PrefixTrie.builder(MAX_COMPLETIONS_PER_PREFIX);
+        for (Store store : stores) {
+            Store.Address address = store.getAddress();
+            StoreSuggestion suggestion = new StoreSuggestion(store.getId(), store.getName(),
+                    address != null ? address.getCity() : null, address != null ? address.getState() : null);
+            builder.add(store.getName(), suggestion, 1);
+            if (suggestion.city() != null) {
+                builder.add(suggestion.city(), suggestion, 0);
+            }
+        }
+        PrefixTrie<StoreSuggestion> trie = builder.build();
+
+        // Only publish the index if no store changed during the load
+        if (generation.get() == expected) {
+            snapshot = new Snapshot(expected, trie);
+        }
+        log.debug("Built store name index with {} stores in {} µs", trie.size(), (System.nanoTime() - start) / 1_000);
+        return trie;
+    }
+
+    private record Snapshot(long generation, PrefixTrie<StoreSuggestion> trie) {
+    }
+}
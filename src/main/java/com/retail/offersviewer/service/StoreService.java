@@ -1,9 +1,16 @@
 package com.retail.offersviewer.service;
 
+import com.retail.offersviewer.dto.StoreDirectoryFilter;
+import com.retail.offersviewer.dto.StoreDirectoryPage;
+import com.retail.offersviewer.dto.StoreSuggestion;
 import com.retail.offersviewer.entity.Store;
 import com.retail.offersviewer.repository.StoreRepository;
+import com.retail.offersviewer.repository.StoreSpecifications;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,9 +27,13 @@ public class StoreService {
     
     private static final Logger log = LoggerFactory.getLogger(StoreService.class);
     private final StoreRepository storeRepository;
+    private final KnownIdIndex knownIds;
+    private final StoreNameIndex storeNameIndex;
     
-    public StoreService(StoreRepository storeRepository) {
+    public StoreService(StoreRepository storeRepository, KnownIdIndex knownIds, StoreNameIndex storeNameIndex) {
         this.storeRepository = storeRepository;
+        this.knownIds = knownIds;
+        this.storeNameIndex = storeNameIndex;
     }
     
     /**
@@ -36,6 +47,37 @@ public class StoreService {
         return stores;
     }
     
+    /**
+     * Get one page of the store directory, ordered by name
+     * @param filter Name, city, state and ZIP code filters
+     * @param page Zero-based page number
+     * @param size Page size
+     * @return The page of matching stores with totals
+     */
+    public StoreDirectoryPage getDirectory(StoreDirectoryFilter filter, int page, int size) {
+        log.debug("Retrieving store directory page {} of size {} for filter: {}", page, size, filter);
+        
+        Page<Store> stores = storeRepository.findAll(StoreSpecifications.inDirectory(filter.normalized()),
+                PageRequest.of(page, size, Sort.by("name", "id")));
+        
+        log.debug("Found {} stores in directory", stores.getTotalElements());
+        return new StoreDirectoryPage(stores.getContent(), page, size, stores.getTotalElements(),
+                stores.getTotalPages());
+    }
+    
+    /**
+     * Get type-ahead suggestions for the store picker, served from memory
+     * @param query The text typed so far, matched against words of store names and cities
+     * @param limit Maximum number of suggestions
+     * @return Matching stores ordered by name
+     */
+    public List<StoreSuggestion> suggestStores(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        return storeNameIndex.complete(query, limit);
+    }
+    
     /**
      * Find store by ID
      * @param storeId The store ID to search for
@@ -49,6 +91,11 @@ public class StoreService {
             return Optional.empty();
         }
         
+        if (knownIds.isUnknownStore(storeId)) {
+            log.debug("Store ID not known, skipping lookup: {}", storeId);
+            return Optional.empty();
+        }
+        
         Optional<Store> store = storeRepository.findById(storeId);
         
         if (store.isPresent()) {
@@ -66,7 +113,7 @@ public class StoreService {
      * @return true if store exists, false otherwise
      */
     public boolean storeExists(String storeId) {
-        if (storeId == null || storeId.trim().isEmpty()) {
+        if (storeId == null || storeId.trim().isEmpty() || knownIds.isUnknownStore(storeId)) {
             return false;
         }
         return storeRepository.existsById(storeId);
@@ -0,0 +1,150 @@
+package com.retail.offersviewer.service;
+
+import com.retail.offersviewer.sharding.OfferShards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Shared dictionary of offer terms and exclusions. Each distinct string is
+ * stored once in {@code term_dictionary} and held once in memory; offers
+ * reference it by ID. New strings are inserted in their own transaction, so
+ * an entry survives a rollback of the offer write that introduced it and
+ * never points at a missing row.
+ *
+ * The dictionary lives in the primary database. Offers are written on their
+ * store's shard, so every query here is pinned to shard 0; each shard's own
+ * copy of the table would number terms independently.
+ */
+@Component
+public class TermDictionary {
+
+    private static final Logger log = LoggerFactory.getLogger(TermDictionary.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OfferShards offerShards;
+    private final TransactionTemplate newTransaction;
+    private final ConcurrentMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, String> terms = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public TermDictionary(JdbcTemplate jdbcTemplate, OfferShards offerShards,
+                          PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.offerShards = offerShards;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Get the ID of a term, adding it to the dictionary if it is new
+     * @param term The term text
+     * @return The term ID
+     */
+    public int idOf(String term) {
+        ensureLoaded();
+        Integer id = ids.get(term);
+        return id != null ? id : insert(term);
+    }
+
+    /**
+     * Get the text of a term ID
+     * @param id The term ID
+     * @return The shared string instance
+     * @throws IllegalStateException if the ID is not in the dictionary
+     */
+    public String termOf(int id) {
+        ensureLoaded();
+        String term = terms.get(id);
+        if (term == null) {
+            // Added by another instance since we loaded
+            List<String> stored = offerShards.readFromShard(0, () -> jdbcTemplate.queryForList(
+                    "SELECT term FROM term_dictionary WHERE id = ?", String.class, id));
+            if (stored.isEmpty()) {
+                throw new IllegalStateException("Unknown term ID: " + id);
+            }
+            term = put(id, stored.get(0));
+        }
+        return term;
+    }
+
+    /**
+     * Number of distinct terms held in memory
+     */
+    public int size() {
+        return terms.size();
+    }
+
+    private synchronized int insert(String term) {
+        Integer existing = ids.get(term);
+        if (existing != null) {
+            return existing;
+        }
+        Integer id;
+        try {
+            id = findOrInsertOnPrimary(term);
+        } catch (DuplicateKeyException e) {
+            // Inserted concurrently by another instance
+            id = findOrInsertOnPrimary(term);
+        }
+        put(id, term);
+        return id;
+    }
+
+    private Integer findOrInsertOnPrimary(String term) {
+        // A transaction of its own, so it reaches shard 0 even while the caller writes to another shard
+        return offerShards.bindToShard(0, () -> newTransaction.execute(status -> findOrInsert(term)));
+    }
+
+    private Integer findOrInsert(String term) {
+        List<Integer> found = jdbcTemplate.queryForList(
+                "SELECT id FROM term_dictionary WHERE term = ?", Integer.class, term);
+        if (!found.isEmpty()) {
+            return found.get(0);
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO term_dictionary (term) VALUES (?)", new String[] {"id"});
+            statement.setString(1, term);
+            return statement;
+        }, keyHolder);
+        return keyHolder.getKeyAs(Number.class).intValue();
+    }
+
+    private String put(int id, String term) {
+        String canonical = terms.computeIfAbsent(id, key -> term);
+        ids.putIfAbsent(canonical, id);
+        return canonical;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                List<Map<String, Object>> rows = offerShards.readFromShard(0,
+                        () -> jdbcTemplate.queryForList("SELECT id, term FROM term_dictionary"));
+                for (Map<String, Object> row : rows) {
+                    put(((Number) row.get("id")).intValue(), (String) row.get("term"));
+                }
+                loaded = true;
+                log.debug("Loaded {} dictionary terms", terms.size());
+            }
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.retail.offersviewer.sharding;
+
+import com.retail.offersviewer.entity.UuidStringJavaType;
+import com.retail.offersviewer.exception.ServiceUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Routes offer storage access to the database holding a store's offers.
+ * Stores are assigned to shards by a hash of their ID; every other table
+ * lives in the primary database, shard 0.
+ *
+ * With a single database, work runs directly in the caller's transaction.
+ * With several, work runs in a new transaction on the target shard, which
+ * commits or rolls back independently of the caller's, and entities it
+ * returns are detached. Changing the number of shards moves stores between
+ * them, so offers must be reloaded.
+ */
+@Component
+@EnableConfigurationProperties(ShardingProperties.class)
+public class OfferShards {
+
+    private static final Logger log = LoggerFactory.getLogger(OfferShards.class);
+
+    private final int shardCount;
+    private final Duration gatherTimeout;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+
+    public OfferShards(ShardingProperties properties, PlatformTransactionManager transactionManager) {
+        this.shardCount = properties.shardCount();
+        this.gatherTimeout = properties.gatherTimeout();
+        if (shardCount > 1) {
+            this.readTransaction = new TransactionTemplate(transactionManager);
+            this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            this.readTransaction.setReadOnly(true);
+            this.writeTransaction = new TransactionTemplate(transactionManager);
+            this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            log.info("Offers are sharded over {} databases", shardCount);
+        } else {
+            this.readTransaction = null;
+            this.writeTransaction = null;
+        }
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Shard holding a store's offers
+     */
+    public int shardOf(String storeId) {
+        if (shardCount == 1) {
+            return 0;
+        }
+        // Hash the UUID rather than its text, so every spelling of an ID routes alike
+        UUID uuid = UuidStringJavaType.parse(storeId);
+        int hash = uuid != null ? uuid.hashCode() : storeId.hashCode();
+        // MurmurHash3 32-bit finalizer, so similar IDs spread evenly
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, shardCount);
+    }
+
+    /**
+     * Shard the calling thread's connections are routed to, e.g. to repeat
+     * a statement on the database it ran on
+     */
+    public int currentShard() {
+        Integer shard = ShardContext.current();
+        return shard != null ? shard : 0;
+    }
+
+    /**
+     * Read a store's offers from its shard
+     * @param storeId The store whose shard is queried
+     * @param query Repository calls for that store only
+     * @return The query result
+     */
+    public <T> T readFromStore(String storeId, Supplier<T> query) {
+        return onShard(shardOf(storeId), readTransaction, query);
+    }
+
+    /**
+     * Write a store's offers to its shard
+     * @param storeId The store whose shard is written
+     * @param update Repository calls for that store only
+     * @return The update result
+     */
+    public <T> T writeToStore(String storeId, Supplier<T> update) {
+        return onShard(shardOf(storeId), writeTransaction, update);
+    }
+
+    /**
+     * Read from one shard, e.g. to tail a table kept on every shard
+     */
+    public <T> T readFromShard(int shard, Supplier<T> query) {
+        return onShard(shard, readTransaction, query);
+    }
+
+    /**
+     * Write to one shard
+     */
+    public <T> T writeToShard(int shard, Supplier<T> update) {
+        return onShard(shard, writeTransaction, update);
+    }
+
+    /**
+     * Route the connections the calling thread opens to one shard while work
+     * runs, without starting a transaction. A transaction the caller already
+     * has keeps its connection, so work that must reach the shard starts its
+     * own, e.g. with REQUIRES_NEW.
+     */
+    public <T> T bindToShard(int shard, Supplier<T> work) {
+        if (shardCount == 1) {
+            return work.get();
+        }
+        return ShardContext.callOn(shard, work);
+    }
+
+    /**
+     * Run a query on every shard in parallel and gather the results
+     * @param query Repository calls, run once per shard
+     * @return One result per shard, in shard order
+     * @throws ServiceUnavailableException if a shard does not answer within the gather timeout
+     */
+    public <T> List<T> readFromEveryShard(Supplier<T> query) {
+        if (shardCount == 1) {
+            return Collections.singletonList(query.get());
+        }
+
+        List<CompletableFuture<T>> scattered = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            scattered.add(CompletableFuture.supplyAsync(() -> onShard(target, readTransaction, query),
+                    task -> Thread.ofVirtual().name("offer-shard-" + target).start(task)));
+        }
+
+        try {
+            CompletableFuture.allOf(scattered.toArray(CompletableFuture[]::new))
+                    .get(gatherTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            scattered.forEach(future -> future.cancel(true));
+            throw new ServiceUnavailableException("Timed out waiting for every offer shard",
+                    Math.max(1, gatherTimeout.toSeconds()));
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for offer shards", e);
+        }
+
+        List<T> results = new ArrayList<>(shardCount);
+        for (CompletableFuture<T> future : scattered) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    /**
+     * Run a list query on every shard in parallel and concatenate the results
+     * @return Results of shard 0 first, then shard 1, and so on
+     */
+    public <T> List<T> findInEveryShard(Supplier<? extends List<T>> query) {
+        List<T> merged = new ArrayList<>();
+        for (List<T> part : readFromEveryShard(query)) {
+            merged.addAll(part);
+        }
+        return merged;
+    }
+
+    /**
+     * Run a count on every shard in parallel and add up the results
+     */
+    public long countInEveryShard(Supplier<Long> query) {
+        long total = 0;
+        for (Long count : readFromEveryShard(query)) {
+            total += count != null ? count : 0;
+        }
+        return total;
+    }
+
+    private <T> T onShard(int shard, TransactionTemplate transaction, Supplier<T> work) {
+        if (shardCount == 1) {
+            return work.get();
+        }
+        return ShardContext.callOn(shard, () -> transaction.execute(status -> work.get()));
+    }
+}
@@ -0,0 +1,39 @@
+package com.retail.offersviewer.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * The shard the current thread's connections are routed to. Unbound
+ * threads use the primary database, shard 0.
+ */
+final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * @return The bound shard, or null if none is
+     */
+    static Integer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Run work with the thread bound to a shard, restoring the previous binding after
+     */
+    static <T> T callOn(int shard, Supplier<T> work) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
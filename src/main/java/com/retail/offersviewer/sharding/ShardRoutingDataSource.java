@@ -0,0 +1,16 @@
+package com.retail.offersviewer.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Hands out connections of the shard bound to the current thread, or of
+ * the primary database when none is. A transaction keeps the connection it
+ * started with, so the shard must be bound before the transaction begins.
+ */
+final class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+}
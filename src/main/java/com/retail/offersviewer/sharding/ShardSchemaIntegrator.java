@@ -0,0 +1,43 @@
+package com.retail.offersviewer.sharding;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+
+/**
+ * Applies the configured schema action ({@code spring.jpa.hibernate.ddl-auto})
+ * to every additional shard as well; Hibernate itself only manages the
+ * database its connections come from by default, the primary one. Every
+ * shard gets the full schema, though only the offer tables are used there.
+ * Drops on shutdown ({@code create-drop}) apply to the primary database only.
+ */
+final class ShardSchemaIntegrator implements Integrator {
+
+    private final int shardCount;
+
+    ShardSchemaIntegrator(int shardCount) {
+        this.shardCount = shardCount;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                          SessionFactoryImplementor sessionFactory) {
+        var serviceRegistry = bootstrapContext.getServiceRegistry();
+        var settings = serviceRegistry.requireService(ConfigurationService.class).getSettings();
+        for (int shard = 1; shard < shardCount; shard++) {
+            ShardContext.callOn(shard, () -> {
+                SchemaManagementToolCoordinator.process(metadata, serviceRegistry, settings, action -> {
+                });
+                return null;
+            });
+        }
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.retail.offersviewer.sharding;
+
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the application datasource with one routing to the primary
+ * database or to an offer shard, when {@code offers.sharding.enabled=true}.
+ * Every shard uses the primary datasource's driver and a default pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "offers.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean
+    @Primary
+    DataSource dataSource(DataSourceProperties primaryProperties, ShardingProperties sharding) {
+        DataSource primary = primaryProperties.initializeDataSourceBuilder().build();
+        Map<Object, Object> shards = new HashMap<>();
+        shards.put(0, primary);
+        for (int i = 0; i < sharding.shards().size(); i++) {
+            ShardingProperties.Shard shard = sharding.shards().get(i);
+            shards.put(i + 1, DataSourceBuilder.create()
+                    .driverClassName(primaryProperties.determineDriverClassName())
+                    .url(shard.url())
+                    .username(shard.username())
+                    .password(shard.password())
+                    .build());
+        }
+
+        ShardRoutingDataSource routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(shards);
+        routing.setDefaultTargetDataSource(primary);
+        return routing;
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer shardSchemaCustomizer(ShardingProperties sharding) {
+        IntegratorProvider integrators = () -> List.of(new ShardSchemaIntegrator(sharding.shardCount()));
+        return properties -> properties.put("hibernate.integrator_provider", integrators);
+    }
+}
@@ -0,0 +1,35 @@
+package com.retail.offersviewer.sharding;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Settings for store-sharded offer storage ({@code offers.sharding.*})
+ *
+ * @param enabled Whether offers are spread over several databases
+ * @param shards Databases added as shards 1 to N; the primary datasource
+ * ({@code spring.datasource.*}) is shard 0 and keeps every other table
+ * @param gatherTimeout Longest a cross-store query waits for all shards
+ */
+@ConfigurationProperties(prefix = "offers.sharding")
+public record ShardingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue List<Shard> shards,
+        @DefaultValue("10s") Duration gatherTimeout) {
+
+    /**
+     * Number of databases holding offers, including the primary one
+     */
+    public int shardCount() {
+        return enabled ? shards.size() + 1 : 1;
+    }
+
+    /**
+     * Connection settings of one additional shard; the driver is the primary datasource's
+     */
+    public record Shard(String url, String username, String password) {
+    }
+}
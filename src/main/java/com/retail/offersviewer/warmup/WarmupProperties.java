@@ -0,0 +1,32 @@
+package com.retail.offersviewer.warmup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Settings for the startup warm-up ({@code offers.warmup.*})
+ *
+ * @param enabled Whether requests are replayed before the instance reports ready
+ * @param stores Stores to replay requests for; if empty, the stores with the most offers are used
+ * @param hotStores Number of stores with the most offers to replay requests for
+ * @param rounds Times the request mix is replayed for every store
+ * @param parallelism Stores warmed up concurrently
+ * @param sortOrders Sort orders requested for each store, besides the unsorted list
+ * @param searchTerms Search terms requested for each store; their first letters are also
+ * requested as suggestion prefixes
+ * @param timeout Longest the warm-up may delay readiness; requests still running then are abandoned
+ */
+@ConfigurationProperties(prefix = "offers.warmup")
+public record WarmupProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue List<String> stores,
+        @DefaultValue("20") int hotStores,
+        @DefaultValue("3") int rounds,
+        @DefaultValue("8") int parallelism,
+        @DefaultValue({"discount", "expiration", "category", "newest"}) List<String> sortOrders,
+        @DefaultValue({"milk", "bread", "fresh"}) List<String> searchTerms,
+        @DefaultValue("60s") Duration timeout) {
+}
@@ -0,0 +1,21 @@
+package com.retail.offersviewer.warmup;
+
+/**
+ * Outcome of the startup warm-up
+ *
+ * @param state Where the warm-up is
+ * @param stores Stores requests were replayed for
+ * @param requests Service calls made
+ * @param failures Service calls that threw
+ * @param durationMillis Time from the start of the warm-up to its end, or 0 until it ends
+ */
+public record WarmupReport(State state, int stores, long requests, long failures, long durationMillis) {
+
+    public enum State {
+        PENDING, DISABLED, RUNNING, COMPLETED, TIMED_OUT
+    }
+
+    static WarmupReport of(State state) {
+        return new WarmupReport(state, 0, 0, 0, 0);
+    }
+}
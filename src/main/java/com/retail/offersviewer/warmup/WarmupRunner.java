@@ -0,0 +1,255 @@
+package com.retail.offersviewer.warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.retail.offersviewer.dto.OfferFilter;
+import com.retail.offersviewer.dto.StoreDirectoryFilter;
+import com.retail.offersviewer.entity.Store;
+import com.retail.offersviewer.service.CategoryService;
+import com.retail.offersviewer.service.EvaluationClock;
+import com.retail.offersviewer.service.OfferService;
+import com.retail.offersviewer.service.OfferSuggestService;
+import com.retail.offersviewer.service.StoreService;
+import com.retail.offersviewer.sharding.OfferShards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Replays a representative request mix against the services before the
+ * instance reports ready, so the first real requests do not pay for Hibernate
+ * query plan compilation, empty caches, Jackson serializer construction and
+ * interpreted bytecode.
+ *
+ * Runs on {@link ApplicationReadyEvent}; Spring Boot only moves the
+ * readiness state to {@code ACCEPTING_TRAFFIC} once every listener of that
+ * event has returned, so readiness waits for the warm-up, bounded by its
+ * timeout. Each round requests offer lists, sorts, searches, facets,
+ * suggestions, category counts and store lookups for every hot store, with
+ * stores warmed up in parallel, and serializes each result as the
+ * controllers would. Failed calls are counted and never fail startup.
+ */
+@Component
+@EnableConfigurationProperties(WarmupProperties.class)
+public class WarmupRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+
+    private static final String OFFER_COUNTS_BY_STORE = "SELECT store_id, COUNT(*) FROM offers "
+            + "WHERE valid_until >= ? GROUP BY store_id ORDER BY COUNT(*) DESC LIMIT ?";
+
+    private static final StoreDirectoryFilter WHOLE_DIRECTORY =
+            new StoreDirectoryFilter(null, null, null, null, null, null);
+
+    private static final int DIRECTORY_PAGE_SIZE = 20;
+    private static final int SUGGESTION_LIMIT = 10;
+    private static final int SUGGESTION_PREFIX_LENGTH = 2;
+
+    private final OfferService offerService;
+    private final StoreService storeService;
+    private final CategoryService categoryService;
+    private final OfferSuggestService offerSuggestService;
+    private final JdbcTemplate jdbcTemplate;
+    private final OfferShards offerShards;
+    private final EvaluationClock evaluationClock;
+    private final ObjectMapper objectMapper;
+    private final WarmupProperties properties;
+    private volatile WarmupReport report = WarmupReport.of(WarmupReport.State.PENDING);
+
+    public WarmupRunner(OfferService offerService, StoreService storeService, CategoryService categoryService,
+                        OfferSuggestService offerSuggestService, JdbcTemplate jdbcTemplate, OfferShards offerShards,
+                        EvaluationClock evaluationClock, ObjectMapper objectMapper, WarmupProperties properties) {
+        this.offerService = offerService;
+        this.storeService = storeService;
+        this.categoryService = categoryService;
+        this.offerSuggestService = offerSuggestService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.offerShards = offerShards;
+        this.evaluationClock = evaluationClock;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    /**
+     * Warm up once startup data loading has finished, before readiness
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!properties.enabled()) {
+            report = WarmupReport.of(WarmupReport.State.DISABLED);
+            log.info("Warm-up disabled");
+            return;
+        }
+        run();
+    }
+
+    /**
+     * Outcome of the warm-up so far
+     */
+    public WarmupReport report() {
+        return report;
+    }
+
+    WarmupReport run() {
+        long start = System.nanoTime();
+        long deadline = start + properties.timeout().toNanos();
+        List<String> stores;
+        try {
+            stores = hotStores();
+        } catch (RuntimeException e) {
+            log.warn("Could not find hot stores; warming up shared endpoints only", e);
+            stores = List.of();
+        }
+        report = new WarmupReport(WarmupReport.State.RUNNING, stores.size(), 0, 0, 0);
+        log.info("Warming up with {} rounds over {} stores", properties.rounds(), stores.size());
+
+        Tally tally = new Tally();
+        boolean completed = true;
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, properties.parallelism()),
+                Thread.ofVirtual().name("warmup-", 0).factory());
+        try {
+            for (int round = 0; round < properties.rounds() && completed; round++) {
+                List<Future<?>> pending = new ArrayList<>(stores.size() + 1);
+                pending.add(executor.submit(() -> replayDirectory(tally)));
+                for (String storeId : stores) {
+                    pending.add(executor.submit(() -> replayStore(storeId, tally)));
+                }
+                completed = awaitAll(pending, deadline);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        WarmupReport finished = new WarmupReport(
+                completed ? WarmupReport.State.COMPLETED : WarmupReport.State.TIMED_OUT,
+                stores.size(), tally.requests.get(), tally.failures.get(), durationMillis);
+        report = finished;
+        if (completed) {
+            log.info("Warm-up completed in {} ms: {} requests over {} stores, {} failed",
+                    durationMillis, finished.requests(), finished.stores(), finished.failures());
+        } else {
+            log.warn("Warm-up abandoned after {} ms: {} requests over {} stores, {} failed",
+                    durationMillis, finished.requests(), finished.stores(), finished.failures());
+        }
+        return finished;
+    }
+
+    /**
+     * The configured stores, or those with the most active offers across every shard
+     */
+    List<String> hotStores() {
+        if (!properties.stores().isEmpty()) {
+            return properties.stores();
+        }
+        if (properties.hotStores() <= 0) {
+            return List.of();
+        }
+        Timestamp now = Timestamp.valueOf(evaluationClock.now());
+        Map<String, Long> offerCounts = new HashMap<>();
+        for (Map<String, Long> shardCounts : offerShards.readFromEveryShard(() -> {
+            Map<String, Long> counts = new HashMap<>();
+            jdbcTemplate.query(OFFER_COUNTS_BY_STORE, rs -> {
+                counts.put(rs.getString(1), rs.getLong(2));
+            }, now, properties.hotStores());
+            return counts;
+        })) {
+            shardCounts.forEach((storeId, count) -> offerCounts.merge(storeId, count, Long::sum));
+        }
+        return offerCounts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(properties.hotStores())
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private void replayDirectory(Tally tally) {
+        call(tally, categoryService::getAllCategories);
+        call(tally, () -> storeService.getDirectory(WHOLE_DIRECTORY, 0, DIRECTORY_PAGE_SIZE));
+    }
+
+    private void replayStore(String storeId, Tally tally) {
+        Store store = call(tally, () -> storeService.getStoreById(storeId).orElse(null));
+        if (store != null && store.getName() != null) {
+            call(tally, () -> storeService.suggestStores(prefixOf(store.getName()), SUGGESTION_LIMIT));
+        }
+
+        call(tally, () -> offerService.getActiveOffers(storeId, OfferFilter.NONE, null));
+        for (String sortBy : properties.sortOrders()) {
+            call(tally, () -> offerService.getActiveOffers(storeId, OfferFilter.NONE, sortBy));
+        }
+        for (String term : properties.searchTerms()) {
+            call(tally, () -> offerService.getActiveOffers(storeId, OfferFilter.of(null, term), null));
+            call(tally, () -> offerSuggestService.suggest(storeId, prefixOf(term), SUGGESTION_LIMIT));
+        }
+        call(tally, () -> offerService.getFacetedOffers(storeId, OfferFilter.NONE, null));
+        call(tally, () -> categoryService.countOffersByCategory(storeId));
+    }
+
+    /**
+     * Make one service call and serialize its result, counting failures
+     * instead of propagating them
+     * @return The result, or null if the call failed
+     */
+    private <T> T call(Tally tally, Supplier<T> request) {
+        tally.requests.incrementAndGet();
+        try {
+            T result = request.get();
+            objectMapper.writeValueAsBytes(result);
+            return result;
+        } catch (RuntimeException | JsonProcessingException e) {
+            tally.failures.incrementAndGet();
+            log.debug("Warm-up request failed", e);
+            return null;
+        }
+    }
+
+    /**
+     * Wait for every task until the deadline
+     * @return Whether every task finished in time
+     */
+    private static boolean awaitAll(List<Future<?>> tasks, long deadline) {
+        for (Future<?> task : tasks) {
+            try {
+                task.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                // Calls catch their own failures; anything else is a bug in the replay itself
+                log.warn("Warm-up task failed", e.getCause());
+            } catch (TimeoutException e) {
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String prefixOf(String text) {
+        String trimmed = text.trim();
+        return trimmed.substring(0, Math.min(SUGGESTION_PREFIX_LENGTH, trimmed.length()));
+    }
+
+    private static final class Tally {
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+    }
+}
@@ -0,0 +1,65 @@
+-- Chain-wide shared offers: one offer_definitions row per national promotion,
+-- with its terms, eligible products and exclusions, and one small
+-- offer_assignments row per store it runs in. Assignment prices override the
+-- definition's when set.
+
+BEGIN;
+
+CREATE TABLE offer_definitions (
+    id VARCHAR(255) PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(1000),
+    category VARCHAR(255) NOT NULL,
+    discount_type VARCHAR(255) NOT NULL,
+    discount_value DOUBLE PRECISION NOT NULL,
+    original_price DOUBLE PRECISION,
+    final_price DOUBLE PRECISION,
+    image_url VARCHAR(255),
+    valid_from TIMESTAMP(6) NOT NULL,
+    valid_until TIMESTAMP(6) NOT NULL,
+    requires_loyalty_card BOOLEAN,
+    coupon_code VARCHAR(255),
+    minimum_purchase DOUBLE PRECISION,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_offer_definition_category ON offer_definitions (category);
+
+CREATE TABLE offer_definition_terms (
+    definition_id VARCHAR(255) NOT NULL,
+    term VARCHAR(255),
+    CONSTRAINT fk_offer_definition_terms_definition
+        FOREIGN KEY (definition_id) REFERENCES offer_definitions (id)
+);
+
+CREATE TABLE offer_definition_eligible_products (
+    definition_id VARCHAR(255) NOT NULL,
+    product VARCHAR(255),
+    CONSTRAINT fk_offer_definition_eligible_products_definition
+        FOREIGN KEY (definition_id) REFERENCES offer_definitions (id)
+);
+
+CREATE TABLE offer_definition_exclusions (
+    definition_id VARCHAR(255) NOT NULL,
+    exclusion VARCHAR(255),
+    CONSTRAINT fk_offer_definition_exclusions_definition
+        FOREIGN KEY (definition_id) REFERENCES offer_definitions (id)
+);
+
+CREATE TABLE offer_assignments (
+    id VARCHAR(255) PRIMARY KEY,
+    store_id VARCHAR(255) NOT NULL,
+    definition_id VARCHAR(255) NOT NULL,
+    original_price DOUBLE PRECISION,
+    final_price DOUBLE PRECISION,
+    valid_from TIMESTAMP(6) NOT NULL,
+    valid_until TIMESTAMP(6) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT fk_offer_assignments_definition
+        FOREIGN KEY (definition_id) REFERENCES offer_definitions (id)
+);
+
+CREATE INDEX idx_assignment_store_valid_until ON offer_assignments (store_id, valid_until);
+CREATE INDEX idx_assignment_definition ON offer_assignments (definition_id);
+
+COMMIT;
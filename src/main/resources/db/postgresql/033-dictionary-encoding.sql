@@ -0,0 +1,72 @@
+-- Dictionary-encode offer categories, terms and exclusions.
+-- Categories get a small integer code referenced by offers; terms and
+-- exclusions move to a shared term_dictionary referenced by ID.
+-- Fails (and rolls back) if an offer names a category that does not exist.
+
+BEGIN;
+
+-- Category codes
+ALTER TABLE categories ADD COLUMN code SMALLINT;
+UPDATE categories c SET code = n.code
+FROM (SELECT id, ROW_NUMBER() OVER (ORDER BY name) AS code FROM categories) n
+WHERE c.id = n.id;
+ALTER TABLE categories ALTER COLUMN code SET NOT NULL;
+ALTER TABLE categories ADD CONSTRAINT uk_categories_code UNIQUE (code);
+
+ALTER TABLE offers ADD COLUMN category_id SMALLINT;
+UPDATE offers o SET category_id = c.code FROM categories c WHERE c.name = o.category;
+ALTER TABLE offers ALTER COLUMN category_id SET NOT NULL;
+DROP INDEX IF EXISTS idx_category;
+ALTER TABLE offers DROP COLUMN category;
+CREATE INDEX idx_category ON offers (category_id);
+ALTER TABLE offers ADD CONSTRAINT fk_offers_category FOREIGN KEY (category_id) REFERENCES categories (code);
+
+ALTER TABLE offer_definitions ADD COLUMN category_id SMALLINT;
+UPDATE offer_definitions d SET category_id = c.code FROM categories c WHERE c.name = d.category;
+ALTER TABLE offer_definitions ALTER COLUMN category_id SET NOT NULL;
+DROP INDEX IF EXISTS idx_offer_definition_category;
+ALTER TABLE offer_definitions DROP COLUMN category;
+CREATE INDEX idx_offer_definition_category ON offer_definitions (category_id);
+ALTER TABLE offer_definitions ADD CONSTRAINT fk_offer_definitions_category
+    FOREIGN KEY (category_id) REFERENCES categories (code);
+
+-- Shared term dictionary
+CREATE TABLE term_dictionary (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    term VARCHAR(500) NOT NULL UNIQUE
+);
+
+INSERT INTO term_dictionary (term)
+SELECT term FROM offer_terms
+UNION SELECT exclusion FROM offer_exclusions
+UNION SELECT term FROM offer_definition_terms
+UNION SELECT exclusion FROM offer_definition_exclusions;
+
+ALTER TABLE offer_terms ADD COLUMN term_id INTEGER;
+UPDATE offer_terms t SET term_id = d.id FROM term_dictionary d WHERE d.term = t.term;
+ALTER TABLE offer_terms ALTER COLUMN term_id SET NOT NULL;
+ALTER TABLE offer_terms DROP COLUMN term;
+ALTER TABLE offer_terms ADD CONSTRAINT fk_offer_terms_term FOREIGN KEY (term_id) REFERENCES term_dictionary (id);
+
+ALTER TABLE offer_exclusions ADD COLUMN exclusion_id INTEGER;
+UPDATE offer_exclusions e SET exclusion_id = d.id FROM term_dictionary d WHERE d.term = e.exclusion;
+ALTER TABLE offer_exclusions ALTER COLUMN exclusion_id SET NOT NULL;
+ALTER TABLE offer_exclusions DROP COLUMN exclusion;
+ALTER TABLE offer_exclusions ADD CONSTRAINT fk_offer_exclusions_term
+    FOREIGN KEY (exclusion_id) REFERENCES term_dictionary (id);
+
+ALTER TABLE offer_definition_terms ADD COLUMN term_id INTEGER;
+UPDATE offer_definition_terms t SET term_id = d.id FROM term_dictionary d WHERE d.term = t.term;
+ALTER TABLE offer_definition_terms ALTER COLUMN term_id SET NOT NULL;
+ALTER TABLE offer_definition_terms DROP COLUMN term;
+ALTER TABLE offer_definition_terms ADD CONSTRAINT fk_offer_definition_terms_term
+    FOREIGN KEY (term_id) REFERENCES term_dictionary (id);
+
+ALTER TABLE offer_definition_exclusions ADD COLUMN exclusion_id INTEGER;
+UPDATE offer_definition_exclusions e SET exclusion_id = d.id FROM term_dictionary d WHERE d.term = e.exclusion;
+ALTER TABLE offer_definition_exclusions ALTER COLUMN exclusion_id SET NOT NULL;
+ALTER TABLE offer_definition_exclusions DROP COLUMN exclusion;
+ALTER TABLE offer_definition_exclusions ADD CONSTRAINT fk_offer_definition_exclusions_term
+    FOREIGN KEY (exclusion_id) REFERENCES term_dictionary (id);
+
+COMMIT;
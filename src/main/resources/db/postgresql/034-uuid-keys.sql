@@ -0,0 +1,53 @@
+-- Store primary and foreign keys as native UUIDs instead of 36-character strings.
+-- Existing IDs are converted in place, so every ID clients already hold stays
+-- valid; rows created afterwards get time-ordered UUIDv7 IDs.
+
+BEGIN;
+
+-- Foreign keys on the converted columns are dropped and recreated around the type change
+DO $$
+DECLARE
+    fk record;
+BEGIN
+    FOR fk IN
+        SELECT conrelid::regclass AS table_name, conname
+        FROM pg_constraint
+        WHERE contype = 'f'
+          AND confrelid IN ('offers'::regclass, 'offer_definitions'::regclass)
+    LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.table_name, fk.conname);
+    END LOOP;
+END $$;
+
+ALTER TABLE stores ALTER COLUMN id TYPE uuid USING id::uuid;
+ALTER TABLE categories ALTER COLUMN id TYPE uuid USING id::uuid;
+
+ALTER TABLE offers ALTER COLUMN id TYPE uuid USING id::uuid;
+ALTER TABLE offers ALTER COLUMN store_id TYPE uuid USING store_id::uuid;
+ALTER TABLE offer_terms ALTER COLUMN offer_id TYPE uuid USING offer_id::uuid;
+ALTER TABLE offer_eligible_products ALTER COLUMN offer_id TYPE uuid USING offer_id::uuid;
+ALTER TABLE offer_exclusions ALTER COLUMN offer_id TYPE uuid USING offer_id::uuid;
+
+ALTER TABLE offer_definitions ALTER COLUMN id TYPE uuid USING id::uuid;
+ALTER TABLE offer_definition_terms ALTER COLUMN definition_id TYPE uuid USING definition_id::uuid;
+ALTER TABLE offer_definition_eligible_products ALTER COLUMN definition_id TYPE uuid USING definition_id::uuid;
+ALTER TABLE offer_definition_exclusions ALTER COLUMN definition_id TYPE uuid USING definition_id::uuid;
+
+ALTER TABLE offer_assignments ALTER COLUMN id TYPE uuid USING id::uuid;
+ALTER TABLE offer_assignments ALTER COLUMN store_id TYPE uuid USING store_id::uuid;
+ALTER TABLE offer_assignments ALTER COLUMN definition_id TYPE uuid USING definition_id::uuid;
+
+ALTER TABLE offer_terms ADD CONSTRAINT fk_offer_terms_offer FOREIGN KEY (offer_id) REFERENCES offers (id);
+ALTER TABLE offer_eligible_products ADD CONSTRAINT fk_offer_eligible_products_offer
+    FOREIGN KEY (offer_id) REFERENCES offers (id);
+ALTER TABLE offer_exclusions ADD CONSTRAINT fk_offer_exclusions_offer FOREIGN KEY (offer_id) REFERENCES offers (id);
+ALTER TABLE offer_definition_terms ADD CONSTRAINT fk_offer_definition_terms_definition
+    FOREIGN KEY (definition_id) REFERENCES offer_definitions (id);
+ALTER TABLE offer_definition_eligible_products ADD CONSTRAINT fk_offer_definition_eligible_products_definition
+    FOREIGN KEY (definition_id) REFERENCES offer_definitions (id);
+ALTER TABLE offer_definition_exclusions ADD CONSTRAINT fk_offer_definition_exclusions_definition
+    FOREIGN KEY (definition_id) REFERENCES offer_definitions (id);
+ALTER TABLE offer_assignments ADD CONSTRAINT fk_offer_assignments_definition
+    FOREIGN KEY (definition_id) REFERENCES offer_definitions (id);
+
+COMMIT;
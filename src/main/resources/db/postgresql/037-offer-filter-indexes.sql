@@ -0,0 +1,12 @@
+-- Composite indexes for the offer list filters. Every offer list query is
+-- scoped to one store and excludes expired offers, so each index leads with
+-- store_id.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_offer_store_valid_until
+    ON offers (store_id, valid_until);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_offer_store_category_valid_until
+    ON offers (store_id, category_id, valid_until);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_offer_store_type_valid_until
+    ON offers (store_id, discount_type, valid_until);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_offer_store_final_price
+    ON offers (store_id, final_price);
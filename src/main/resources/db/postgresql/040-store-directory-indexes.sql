@@ -0,0 +1,12 @@
+-- Indexes for the store directory. City and name filters compare lower-cased
+-- values, and prefix filters are anchored LIKE patterns, so the expression
+-- indexes use text_pattern_ops to serve both regardless of collation.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_store_state_city
+    ON stores (state, lower(city) text_pattern_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_store_city
+    ON stores (lower(city) text_pattern_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_store_zip_code
+    ON stores (zip_code text_pattern_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_store_name
+    ON stores (lower(name) text_pattern_ops);
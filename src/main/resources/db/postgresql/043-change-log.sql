@@ -0,0 +1,15 @@
+-- Change log (transactional outbox) that application instances tail to keep
+-- their in-memory caches coherent. Entries are written in the same
+-- transaction as the change; with sharding, apply to every shard.
+
+CREATE TABLE IF NOT EXISTS change_log (
+    seq BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    entity_type VARCHAR(32) NOT NULL,
+    operation VARCHAR(16) NOT NULL,
+    entity_id VARCHAR(36),
+    store_id VARCHAR(36),
+    origin VARCHAR(36) NOT NULL,
+    changed_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_change_log_changed_at ON change_log (changed_at);
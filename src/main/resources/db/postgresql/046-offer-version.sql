@@ -0,0 +1,4 @@
+-- Optimistic lock version of offers, incremented by entity saves and by
+-- set-based bulk updates alike. With sharding, apply to every shard.
+
+ALTER TABLE offers ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
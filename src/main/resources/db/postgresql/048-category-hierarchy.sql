@@ -0,0 +1,14 @@
+-- Category hierarchy: parent links on categories plus a closure table
+-- holding every proper ancestor/descendant pair by category code. Apply to
+-- the primary database only.
+
+ALTER TABLE categories ADD COLUMN IF NOT EXISTS parent_id UUID;
+
+CREATE TABLE IF NOT EXISTS category_closure (
+    ancestor_code SMALLINT NOT NULL,
+    descendant_code SMALLINT NOT NULL,
+    depth SMALLINT NOT NULL,
+    PRIMARY KEY (ancestor_code, descendant_code)
+);
+
+CREATE INDEX IF NOT EXISTS idx_category_closure_descendant ON category_closure (descendant_code);
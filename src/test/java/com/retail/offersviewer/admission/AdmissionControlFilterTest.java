@@ -0,0 +1,145 @@
+package com.retail.offersviewer.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AdmissionControlFilter Tests")
+class AdmissionControlFilterTest {
+
+    private static final long TARGET_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    @DisplayName("Should reject a client above its burst with 429 and Retry-After")
+    void shouldRateLimitClient() throws Exception {
+        // Given
+        AdmissionControlFilter filter = filter(2, 1000);
+
+        // When
+        MockHttpServletResponse first = send(filter, "/api/stores");
+        MockHttpServletResponse second = send(filter, "/api/stores");
+        MockHttpServletResponse third = send(filter, "/api/stores");
+
+        // Then
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(second.getStatus()).isEqualTo(200);
+        assertThat(third.getStatus()).isEqualTo(429);
+        assertThat(Long.parseLong(third.getHeader("Retry-After"))).isPositive();
+        assertThat(third.getContentAsString()).contains("Too many requests");
+    }
+
+    @Test
+    @DisplayName("Should reject an endpoint class above its rate with 503")
+    void shouldRateLimitEndpointClass() throws Exception {
+        // Given
+        AdmissionControlFilter filter = filter(1000, 1);
+
+        // When
+        MockHttpServletResponse first = send(filter, "/api/stores/s1/offers/suggest");
+        MockHttpServletResponse second = send(filter, "/api/stores/s1/offers/suggest");
+        MockHttpServletResponse list = send(filter, "/api/stores/s1/offers");
+
+        // Then
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(second.getStatus()).isEqualTo(503);
+        assertThat(second.getHeader("Retry-After")).isNotNull();
+        assertThat(list.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should limit slow snapshot downloads outside the adaptive concurrency limit")
+    void shouldLimitDownloadsSeparately() throws Exception {
+        // Given
+        AdmissionControlFilter filter = filter(1000, 1000);
+        int limitBefore = filter.concurrencyLimit();
+        MockHttpServletResponse concurrent = new MockHttpServletResponse();
+        FilterChain slowDownload = (request, response) -> {
+            filter.doFilter(request("/api/stores/s1/offers/snapshot"), concurrent, new MockFilterChain());
+            try {
+                Thread.sleep(TimeUnit.NANOSECONDS.toMillis(TARGET_NANOS * 2));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        // When
+        MockHttpServletResponse download = new MockHttpServletResponse();
+        filter.doFilter(request("/api/stores/s1/offers/snapshot"), download, slowDownload);
+        MockHttpServletResponse next = send(filter, "/api/stores/s1/offers/snapshot");
+
+        // Then
+        assertThat(download.getStatus()).isEqualTo(200);
+        assertThat(concurrent.getStatus()).isEqualTo(503);
+        assertThat(next.getStatus()).isEqualTo(200);
+        assertThat(filter.concurrencyLimit()).isEqualTo(limitBefore);
+    }
+
+    @Test
+    @DisplayName("Should shed search requests before detail requests")
+    void shouldShedSearchFirst() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 1, 100, TARGET_NANOS);
+
+        // When
+        boolean firstSearch = limit.tryAcquire(EndpointClass.SEARCH.concurrencyShare());
+        boolean secondSearch = limit.tryAcquire(EndpointClass.SEARCH.concurrencyShare());
+        boolean thirdSearch = limit.tryAcquire(EndpointClass.SEARCH.concurrencyShare());
+        boolean detail = limit.tryAcquire(EndpointClass.DETAIL.concurrencyShare());
+
+        // Then
+        assertThat(firstSearch).isTrue();
+        assertThat(secondSearch).isTrue();
+        assertThat(thirdSearch).isFalse();
+        assertThat(detail).isTrue();
+        assertThat(limit.inFlight()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should decrease the limit on slow requests and grow it on fast ones")
+    void shouldAdaptLimitToLatency() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 10, 200, TARGET_NANOS);
+        long now = System.nanoTime();
+
+        // When
+        limit.tryAcquire(1.0);
+        limit.release(TARGET_NANOS * 2, now);
+        int afterSlow = limit.limit();
+        for (int i = 0; i < 200; i++) {
+            limit.tryAcquire(1.0);
+            limit.release(TARGET_NANOS / 2, now);
+        }
+
+        // Then
+        assertThat(afterSlow).isEqualTo(90);
+        assertThat(limit.limit()).isGreaterThan(afterSlow);
+        assertThat(limit.inFlight()).isZero();
+    }
+
+    private static AdmissionControlFilter filter(int clientBurst, double endpointRate) {
+        AdmissionControlProperties properties = new AdmissionControlProperties(true, 0.001, clientBurst,
+                endpointRate, endpointRate, endpointRate, endpointRate, 64, 8, 400, 1, Duration.ofMillis(100), 100);
+        return new AdmissionControlFilter(properties, new ObjectMapper().findAndRegisterModules());
+    }
+
+    private static MockHttpServletResponse send(AdmissionControlFilter filter, String path) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(path), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+}
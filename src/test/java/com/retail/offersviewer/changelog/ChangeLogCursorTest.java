@@ -0,0 +1,73 @@
+package com.retail.offersviewer.changelog;
+
+import com.retail.offersviewer.entity.ChangeLogEntry;
+import com.retail.offersviewer.entity.ChangeLogEntry.EntityType;
+import com.retail.offersviewer.entity.ChangeLogEntry.Operation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ChangeLogCursor Tests")
+class ChangeLogCursorTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    @Test
+    @DisplayName("Should return new entries in sequence order and advance past them")
+    void shouldAdvanceOverNewEntries() {
+        // Given
+        ChangeLogCursor cursor = new ChangeLogCursor(10, Duration.ofSeconds(30));
+
+        // When
+        List<ChangeLogEntry> fresh = cursor.advance(List.of(entry(12), entry(11), entry(10)), 0);
+
+        // Then
+        assertThat(fresh).extracting(ChangeLogEntry::getSequence).containsExactly(11L, 12L);
+        assertThat(cursor.highest()).isEqualTo(12);
+        assertThat(cursor.gaps()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should apply an entry committed after a higher sequence number exactly once")
+    void shouldFillGapOnce() {
+        // Given
+        ChangeLogCursor cursor = new ChangeLogCursor(0, Duration.ofSeconds(30));
+        cursor.advance(List.of(entry(1), entry(3)), 0);
+
+        // When
+        List<ChangeLogEntry> late = cursor.advance(List.of(entry(2)), SECOND);
+        List<ChangeLogEntry> again = cursor.advance(List.of(entry(2), entry(3)), 2 * SECOND);
+
+        // Then
+        assertThat(late).extracting(ChangeLogEntry::getSequence).containsExactly(2L);
+        assertThat(again).isEmpty();
+        assertThat(cursor.gaps()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should stop awaiting a skipped sequence number after the gap timeout")
+    void shouldForgetGapAfterTimeout() {
+        // Given
+        ChangeLogCursor cursor = new ChangeLogCursor(0, Duration.ofSeconds(30));
+        cursor.advance(List.of(entry(2)), 0);
+
+        // When
+        cursor.advance(List.of(), 10 * SECOND);
+        boolean awaitedBeforeTimeout = cursor.gaps().contains(1L);
+        cursor.advance(List.of(), 31 * SECOND);
+
+        // Then
+        assertThat(awaitedBeforeTimeout).isTrue();
+        assertThat(cursor.gaps()).isEmpty();
+    }
+
+    private static ChangeLogEntry entry(long sequence) {
+        return new ChangeLogEntry(sequence, EntityType.OFFER, Operation.UPDATE, "offer" + sequence, "store1",
+                "instance", LocalDateTime.now());
+    }
+}
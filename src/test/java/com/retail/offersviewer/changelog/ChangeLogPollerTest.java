@@ -0,0 +1,103 @@
+package com.retail.offersviewer.changelog;
+
+import com.retail.offersviewer.entity.ChangeLogEntry;
+import com.retail.offersviewer.entity.ChangeLogEntry.EntityType;
+import com.retail.offersviewer.entity.ChangeLogEntry.Operation;
+import com.retail.offersviewer.event.OfferChangedEvent;
+import com.retail.offersviewer.event.StoreChangedEvent;
+import com.retail.offersviewer.service.CategoryDictionary;
+import com.retail.offersviewer.service.KnownIdIndex;
+import com.retail.offersviewer.sharding.OfferShards;
+import com.retail.offersviewer.sharding.ShardingProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ChangeLogPoller Tests")
+class ChangeLogPollerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Spy
+    private OfferShards offerShards = new OfferShards(new ShardingProperties(false, List.of(), Duration.ofSeconds(10)), null);
+
+    @Mock
+    private ChangeLog changeLog;
+
+    @Mock
+    private KnownIdIndex knownIds;
+
+    @Mock
+    private CategoryDictionary categoryDictionary;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ChangeLogPoller poller;
+
+    @Test
+    @DisplayName("Should record another instance's offer insert and invalidate the store's caches")
+    void shouldApplyRemoteOfferInsert() {
+        // When
+        poller.apply(entry(EntityType.OFFER, Operation.INSERT, "offer1", "store1"));
+
+        // Then
+        verify(knownIds).addOffer("offer1");
+        verify(eventPublisher).publishEvent(new OfferChangedEvent("store1", "offer1"));
+    }
+
+    @Test
+    @DisplayName("Should invalidate the store name index after another instance removes a store")
+    void shouldApplyRemoteStoreRemoval() {
+        // When
+        poller.apply(entry(EntityType.STORE, Operation.DELETE, "store1", "store1"));
+
+        // Then
+        verify(knownIds).removeStore();
+        verify(eventPublisher).publishEvent(new StoreChangedEvent("store1"));
+    }
+
+    @Test
+    @DisplayName("Should reload categories without touching offer caches")
+    void shouldApplyRemoteCategoryChange() {
+        // When
+        poller.apply(entry(EntityType.CATEGORY, Operation.INSERT, "category1", null));
+
+        // Then
+        verify(categoryDictionary).reload();
+        verifyNoInteractions(knownIds, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should rebuild every read model after a bulk change")
+    void shouldApplyBulkChange() {
+        // When
+        poller.apply(entry(EntityType.ALL, Operation.UPDATE, null, null));
+
+        // Then
+        verify(categoryDictionary).reload();
+        verify(knownIds).rebuild();
+        verify(eventPublisher).publishEvent(OfferChangedEvent.allStores());
+        verify(eventPublisher).publishEvent(new StoreChangedEvent(null));
+    }
+
+    private static ChangeLogEntry entry(EntityType type, Operation operation, String entityId, String storeId) {
+        return new ChangeLogEntry(1L, type, operation, entityId, storeId, "other-instance", LocalDateTime.now());
+    }
+}
@@ -0,0 +1,97 @@
+package com.retail.offersviewer.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms per request type, recorded in microseconds. Only
+ * successful responses are timed; requests shed by admission control (429)
+ * are counted apart from other failures.
+ */
+class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Histogram overall = newHistogram();
+    private final Map<RequestMix.Type, Histogram> byType = new EnumMap<>(RequestMix.Type.class);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    LatencyReport() {
+        for (RequestMix.Type type : RequestMix.Type.values()) {
+            byType.put(type, newHistogram());
+        }
+    }
+
+    void record(RequestMix.Type type, long latencyNanos) {
+        long micros = Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(1, latencyNanos / 1_000));
+        overall.recordValue(micros);
+        byType.get(type).recordValue(micros);
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    void recordRejected() {
+        rejected.increment();
+    }
+
+    /**
+     * Print a summary table of throughput and percentiles
+     */
+    void printSummary(PrintStream out, String label, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        out.printf("%n=== Load test: %s ===%n", label);
+        out.printf("Requests: %d, errors: %d, rejected (429): %d, elapsed: %.1f s, throughput: %.1f req/s%n",
+                overall.getTotalCount(), errors.sum(), rejected.sum(), seconds, overall.getTotalCount() / seconds);
+        out.printf("%-10s %10s %10s %10s %10s %10s %10s%n", "type", "count", "p50 ms", "p95 ms", "p99 ms", "p999 ms", "max ms");
+        printRow(out, "ALL", overall);
+        byType.forEach((type, histogram) -> printRow(out, type.name(), histogram));
+    }
+
+    /**
+     * Write HdrHistogram percentile distributions, one file per request type,
+     * for plotting and comparing builds side by side
+     */
+    void writeDistributions(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        writeDistribution(directory.resolve("all.hgrm"), overall);
+        for (Map.Entry<RequestMix.Type, Histogram> entry : byType.entrySet()) {
+            writeDistribution(directory.resolve(entry.getKey().name().toLowerCase() + ".hgrm"), entry.getValue());
+        }
+    }
+
+    private static void writeDistribution(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            // Values are recorded in µs; scale so the file reads in milliseconds
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static void printRow(PrintStream out, String label, Histogram histogram) {
+        if (histogram.getTotalCount() == 0) {
+            return;
+        }
+        out.printf("%-10s %10d %10.2f %10.2f %10.2f %10.2f %10.2f%n", label, histogram.getTotalCount(),
+                millis(histogram, 50), millis(histogram, 95), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static Histogram newHistogram() {
+        return new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    }
+}
@@ -0,0 +1,185 @@
+package com.retail.offersviewer.loadtest;
+
+import com.retail.offersviewer.OffersViewerApplication;
+import com.retail.offersviewer.entity.Category;
+import com.retail.offersviewer.entity.Offer;
+import com.retail.offersviewer.entity.Store;
+import com.retail.offersviewer.repository.CategoryRepository;
+import com.retail.offersviewer.repository.OfferRepository;
+import com.retail.offersviewer.repository.StoreRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model HTTP load generator for the offers API.
+ *
+ * Starts the application in-process on a random port with an in-memory
+ * database seeded by the synthetic data generator, then issues requests at
+ * a Poisson arrival rate on virtual threads, independent of how fast
+ * responses come back. Latency is measured from each request's scheduled start, so queueing
+ * delay under overload is included (no coordinated omission).
+ *
+ * Configured through system properties, see {@link Options}. Run with:
+ * {@code mvn -Ploadtest verify -DskipTests -Dloadtest.rate=1000}
+ */
+public final class LoadTestHarness {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestHarness.class);
+
+    /**
+     * Requests in flight beyond this are dropped and counted as errors
+     * rather than letting an overloaded server exhaust the generator's memory
+     */
+    private static final int MAX_IN_FLIGHT = 20_000;
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.fromSystemProperties();
+
+        long startupBegin = System.nanoTime();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(OffersViewerApplication.class)
+                .run("--spring.profiles.active=loadtest",
+                        "--offers.seed.stores=" + options.stores(),
+                        "--offers.seed.offers-per-store=" + options.offersPerStore(),
+                        "--offers.seed.seed=" + options.seed())) {
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            log.info("Application started and seeded at {} in {} ms", baseUrl,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startupBegin));
+
+            List<String> storeIds = context.getBean(StoreRepository.class).findAll().stream()
+                    .map(Store::getId)
+                    .toList();
+            List<String> offerIds = context.getBean(OfferRepository.class)
+                    .findAll(PageRequest.of(0, 10_000)).map(Offer::getId).getContent();
+            List<String> categories = context.getBean(CategoryRepository.class).findAll().stream()
+                    .map(Category::getName)
+                    .toList();
+
+            RequestMix mix = new RequestMix(baseUrl, storeIds, offerIds, categories);
+            LatencyReport report = run(mix, options);
+            report.printSummary(System.out, options.label(), options.duration().toNanos());
+            Path output = options.outputDirectory().resolve(options.label());
+            report.writeDistributions(output);
+            log.info("Percentile distributions written to {}", output.toAbsolutePath());
+        }
+    }
+
+    private static LatencyReport run(RequestMix mix, Options options) throws InterruptedException {
+        LatencyReport report = new LatencyReport();
+        AtomicInteger inFlight = new AtomicInteger();
+        Random arrivals = new Random(options.seed());
+        Random requests = new Random(options.seed() + 1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(5))
+                     .executor(executor)
+                     .build()) {
+
+            long start = System.nanoTime();
+            long measureFrom = start + options.warmup().toNanos();
+            long end = measureFrom + options.duration().toNanos();
+            double meanIntervalNanos = 1e9 / options.rate();
+            long intended = start;
+
+            log.info("Driving {} req/s for {} s after {} s warm-up", options.rate(),
+                    options.duration().toSeconds(), options.warmup().toSeconds());
+
+            while (true) {
+                // Exponential inter-arrival times give a Poisson arrival process
+                intended += (long) (-Math.log(1 - arrivals.nextDouble()) * meanIntervalNanos);
+                if (intended >= end) {
+                    break;
+                }
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                RequestMix.Request request = mix.next(requests);
+                boolean measured = intended >= measureFrom;
+                if (inFlight.incrementAndGet() > MAX_IN_FLIGHT) {
+                    inFlight.decrementAndGet();
+                    if (measured) {
+                        report.recordError();
+                    }
+                    continue;
+                }
+
+                long scheduledAt = intended;
+                executor.execute(() -> {
+                    try {
+                        HttpResponse<byte[]> response = client.send(
+                                HttpRequest.newBuilder(request.uri()).timeout(Duration.ofSeconds(30)).GET().build(),
+                                HttpResponse.BodyHandlers.ofByteArray());
+                        if (measured) {
+                            int status = response.statusCode();
+                            if (status == 429) {
+                                report.recordRejected();
+                            } else if ((status < 200 || status >= 300) && status != 304) {
+                                report.recordError();
+                            } else {
+                                report.record(request.type(), System.nanoTime() - scheduledAt);
+                            }
+                        }
+                    } catch (Exception e) {
+                        if (measured) {
+                            report.recordError();
+                        }
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Load test settings
+     *
+     * @param rate Target arrival rate in requests per second ({@code loadtest.rate})
+     * @param warmup Unmeasured ramp before recording ({@code loadtest.warmup}, seconds)
+     * @param duration Measured period ({@code loadtest.duration}, seconds)
+     * @param stores Number of synthetic stores ({@code loadtest.stores})
+     * @param offersPerStore Mean offers generated per store ({@code loadtest.offersPerStore})
+     * @param seed Random seed for data and request selection ({@code loadtest.seed})
+     * @param label Name of this run, e.g. a build or branch ({@code loadtest.label})
+     * @param outputDirectory Where histogram files are written ({@code loadtest.output})
+     */
+    record Options(double rate, Duration warmup, Duration duration, int stores, int offersPerStore,
+                   long seed, String label, Path outputDirectory) {
+
+        static Options fromSystemProperties() {
+            return new Options(
+                    Double.parseDouble(System.getProperty("loadtest.rate", "500")),
+                    Duration.ofSeconds(Long.getLong("loadtest.warmup", 10)),
+                    Duration.ofSeconds(Long.getLong("loadtest.duration", 60)),
+                    Integer.getInteger("loadtest.stores", 50),
+                    Integer.getInteger("loadtest.offersPerStore", 200),
+                    Long.getLong("loadtest.seed", 42),
+                    System.getProperty("loadtest.label", "local"),
+                    Path.of(System.getProperty("loadtest.output", "target/loadtest")));
+        }
+    }
+}
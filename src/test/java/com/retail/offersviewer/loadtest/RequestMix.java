@@ -0,0 +1,78 @@
+package com.retail.offersviewer.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Weighted mix of read requests resembling app traffic: store offer lists,
+ * searches, category filters, sorted lists and offer details
+ */
+class RequestMix {
+
+    enum Type {
+        LIST(40), SEARCH(20), CATEGORY(15), SORT(15), DETAIL(10);
+
+        private final int weight;
+
+        Type(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    record Request(Type type, URI uri) {
+    }
+
+    private static final String[] SEARCH_TERMS = {"milk", "fresh", "organic", "chips", "pizza", "beef", "bread", "cola"};
+    private static final String[] SORTS = {"discount", "expiration", "category", "newest"};
+
+    private final String baseUrl;
+    private final List<String> storeIds;
+    private final List<String> offerIds;
+    private final List<String> categories;
+    private final int totalWeight;
+
+    RequestMix(String baseUrl, List<String> storeIds, List<String> offerIds, List<String> categories) {
+        this.baseUrl = baseUrl;
+        this.storeIds = storeIds;
+        this.offerIds = offerIds;
+        this.categories = categories;
+        int weight = 0;
+        for (Type type : Type.values()) {
+            weight += type.weight;
+        }
+        this.totalWeight = weight;
+    }
+
+    Request next(Random random) {
+        int pick = random.nextInt(totalWeight);
+        Type type = Type.LIST;
+        for (Type candidate : Type.values()) {
+            if (pick < candidate.weight) {
+                type = candidate;
+                break;
+            }
+            pick -= candidate.weight;
+        }
+
+        String offers = baseUrl + "/api/stores/" + pick(storeIds, random) + "/offers";
+        String uri = switch (type) {
+            case LIST -> offers;
+            case SEARCH -> offers + "?search=" + pick(SEARCH_TERMS, random);
+            case CATEGORY -> offers + "?category=" + URLEncoder.encode(pick(categories, random), StandardCharsets.UTF_8);
+            case SORT -> offers + "?sortBy=" + pick(SORTS, random);
+            case DETAIL -> baseUrl + "/api/offers/" + pick(offerIds, random);
+        };
+        return new Request(type, URI.create(uri));
+    }
+
+    private static String pick(List<String> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String pick(String[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+}
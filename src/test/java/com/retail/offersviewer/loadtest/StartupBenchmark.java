@@ -0,0 +1,201 @@
+package com.retail.offersviewer.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Measures time from JVM launch to the first successful
+ * {@code GET /api/stores/{id}/offers} of the packaged application, and
+ * doubles as the training run that records the JDK AOT cache.
+ *
+ * Uses only JDK classes so it can run from {@code target/test-classes}:
+ * {@code java -cp target/test-classes com.retail.offersviewer.loadtest.StartupBenchmark}
+ *
+ * System properties:
+ * <ul>
+ *   <li>{@code startup.jar} - application jar (default {@code target/offers-viewer-1.0.0.jar})</li>
+ *   <li>{@code startup.runs} - number of measured launches (default 5)</li>
+ *   <li>{@code startup.aotCache} - JDK AOT cache file to use, or to record when training</li>
+ *   <li>{@code startup.springAot} - run with Spring AOT-generated initializers (default false)</li>
+ *   <li>{@code startup.jvmArgs} - extra JVM options, space separated</li>
+ *   <li>{@code startup.train} - record the AOT cache instead of measuring (default false)</li>
+ *   <li>{@code startup.trainSeconds} - length of the training workload (default 20)</li>
+ * </ul>
+ */
+public final class StartupBenchmark {
+
+    private static final Pattern FIRST_ID = Pattern.compile("\"id\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final String[] TRAINING_QUERIES = {
+        "", "?sortBy=discount", "?sortBy=expiration", "?sortBy=newest", "?category=Dairy", "?search=milk"
+    };
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        StartupBenchmark benchmark = new StartupBenchmark();
+        if (Boolean.getBoolean("startup.train")) {
+            benchmark.train();
+        } else {
+            benchmark.measure(Integer.getInteger("startup.runs", 5));
+        }
+    }
+
+    private void measure(int runs) throws Exception {
+        List<Long> timings = new ArrayList<>();
+        for (int run = 1; run <= runs; run++) {
+            int port = freePort();
+            long launchedAt = System.nanoTime();
+            Process process = launch(port, false);
+            try {
+                awaitFirstOffers(port, launchedAt);
+                long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - launchedAt);
+                timings.add(millis);
+                System.out.printf("Run %d: first offers response after %d ms%n", run, millis);
+            } finally {
+                stop(process);
+            }
+        }
+
+        long[] sorted = timings.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("%nTime to first /api/stores/{id}/offers over %d runs (%s): min %d ms, median %d ms, max %d ms%n",
+                sorted.length, describeMode(), sorted[0], sorted[sorted.length / 2], sorted[sorted.length - 1]);
+    }
+
+    private void train() throws Exception {
+        String cache = System.getProperty("startup.aotCache");
+        if (cache == null) {
+            throw new IllegalStateException("startup.aotCache must name the AOT cache file to record");
+        }
+        Files.deleteIfExists(Path.of(cache));
+
+        int port = freePort();
+        long launchedAt = System.nanoTime();
+        Process process = launch(port, true);
+        try {
+            String storeId = awaitFirstOffers(port, launchedAt);
+            long trainUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(Long.getLong("startup.trainSeconds", 20));
+            int requests = 0;
+            while (System.nanoTime() < trainUntil) {
+                get(port, "/api/stores");
+                get(port, "/api/categories");
+                for (String query : TRAINING_QUERIES) {
+                    get(port, "/api/stores/" + storeId + "/offers" + query);
+                }
+                get(port, "/api/stores/" + storeId + "/offers/suggest?q=mi");
+                requests += TRAINING_QUERIES.length + 3;
+            }
+            System.out.printf("Training workload issued %d requests%n", requests);
+        } finally {
+            // A graceful exit makes the JVM write the AOT cache
+            stop(process);
+        }
+        System.out.printf("AOT cache written to %s (%d KB)%n", cache, Files.size(Path.of(cache)) / 1024);
+    }
+
+    private Process launch(int port, boolean training) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        String jvmArgs = System.getProperty("startup.jvmArgs", "").trim();
+        if (!jvmArgs.isEmpty()) {
+            command.addAll(Arrays.asList(jvmArgs.split("\\s+")));
+        }
+        String cache = System.getProperty("startup.aotCache");
+        if (cache != null) {
+            command.add((training ? "-XX:AOTCacheOutput=" : "-XX:AOTCache=") + cache);
+        }
+        if (Boolean.getBoolean("startup.springAot")) {
+            command.add("-Dspring.aot.enabled=true");
+        }
+        command.add("-jar");
+        command.add(System.getProperty("startup.jar", "target/offers-viewer-1.0.0.jar"));
+        command.add("--server.port=" + port);
+        command.add("--spring.datasource.url=jdbc:hsqldb:mem:startup");
+        command.add("--spring.jpa.hibernate.ddl-auto=create-drop");
+        command.add("--spring.jpa.show-sql=false");
+        command.add("--logging.level.root=WARN");
+        // The training workload is a single client issuing requests back to back
+        command.add("--offers.admission.client-rate=1000000");
+        command.add("--offers.admission.client-burst=1000000");
+
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+    }
+
+    /**
+     * Poll until the store list and then a store's offers answer successfully
+     * @return The store ID whose offers were fetched
+     */
+    private String awaitFirstOffers(int port, long launchedAt) throws InterruptedException {
+        long deadline = launchedAt + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            HttpResponse<String> stores = get(port, "/api/stores");
+            if (stores != null && stores.statusCode() == 200) {
+                Matcher matcher = FIRST_ID.matcher(stores.body());
+                if (matcher.find()) {
+                    String storeId = matcher.group(1);
+                    HttpResponse<String> offers = get(port, "/api/stores/" + storeId + "/offers");
+                    if (offers != null && offers.statusCode() == 200) {
+                        return storeId;
+                    }
+                }
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("Application did not serve offers within " + STARTUP_TIMEOUT);
+    }
+
+    private HttpResponse<String> get(int port, String path) throws InterruptedException {
+        try {
+            return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .timeout(Duration.ofSeconds(5)).GET().build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            // Not listening yet
+            return null;
+        }
+    }
+
+    private static void stop(Process process) throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(2, TimeUnit.MINUTES)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String describeMode() {
+        List<String> mode = new ArrayList<>();
+        if (System.getProperty("startup.aotCache") != null) {
+            mode.add("JDK AOT cache");
+        }
+        if (Boolean.getBoolean("startup.springAot")) {
+            mode.add("Spring AOT");
+        }
+        return mode.isEmpty() ? "baseline" : String.join(" + ", mode);
+    }
+}
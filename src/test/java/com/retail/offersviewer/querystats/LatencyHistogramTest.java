@@ -0,0 +1,57 @@
+package com.retail.offersviewer.querystats;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("LatencyHistogram Tests")
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Should map every value to a bucket whose range contains it")
+    void shouldBucketValues() {
+        for (long value : new long[]{0, 1, 7, 8, 15, 16, 17, 1_000, 123_456_789, Long.MAX_VALUE}) {
+            int index = LatencyHistogram.indexOf(value);
+            assertThat(LatencyHistogram.highestValueOf(index)).isGreaterThanOrEqualTo(value);
+            if (index > 0) {
+                assertThat(LatencyHistogram.highestValueOf(index - 1)).isLessThan(value);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should report percentiles within 12.5% of the recorded values")
+    void shouldReportPercentiles() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 100; millis++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+
+        // When
+        long p50 = histogram.percentile(50);
+        long p99 = histogram.percentile(99);
+
+        // Then
+        assertThat(histogram.count()).isEqualTo(100);
+        assertThat(histogram.max()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat((double) p50).isCloseTo(TimeUnit.MILLISECONDS.toNanos(50), within(0.125 * TimeUnit.MILLISECONDS.toNanos(50)));
+        assertThat((double) p99).isCloseTo(TimeUnit.MILLISECONDS.toNanos(99), within(0.125 * TimeUnit.MILLISECONDS.toNanos(99)));
+        assertThat(histogram.percentile(100)).isEqualTo(histogram.max());
+    }
+
+    @Test
+    @DisplayName("Should report zero for an empty histogram")
+    void shouldHandleEmptyHistogram() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // Then
+        assertThat(histogram.percentile(99)).isZero();
+        assertThat(histogram.count()).isZero();
+    }
+}
@@ -0,0 +1,126 @@
+package com.retail.offersviewer.querystats;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("QueryStats Tests")
+class QueryStatsTest {
+
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(150);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(2);
+
+    @Mock
+    private ObjectProvider<QueryPlanCollector> planCollectorProvider;
+
+    @Mock
+    private QueryPlanCollector planCollector;
+
+    private final Clock clock = Clock.fixed(Instant.parse("2026-01-15T12:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    @DisplayName("Should count statements differing only in literals as one")
+    void shouldNormalizeStatements() {
+        // Given
+        QueryStats stats = queryStats(10);
+
+        // When
+        stats.record("select * from offers where store_id = 'a'  and discount_value > 10", SLOW, List::of);
+        stats.record("select * from offers\nwhere store_id = 'b' and discount_value > 25.5", FAST, List::of);
+
+        // Then
+        List<SlowStatement> slow = stats.slowStatements(10);
+        assertThat(slow).hasSize(1);
+        assertThat(slow.getFirst().statement())
+                .isEqualTo("select * from offers where store_id = ? and discount_value > ?");
+        assertThat(slow.getFirst().executions()).isEqualTo(2);
+        assertThat(slow.getFirst().slowExecutions()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep Hibernate aliases and collapse placeholder lists")
+    void shouldKeepAliases() {
+        assertThat(SqlNormalizer.normalize("select o1_0.id from offers o1_0 where o1_0.id in (?, ?,?)"))
+                .isEqualTo("select o1_0.id from offers o1_0 where o1_0.id in (?, ...)");
+    }
+
+    @Test
+    @DisplayName("Should capture parameters of slow executions only and explain once per interval")
+    void shouldCaptureSlowExecutions() {
+        // Given
+        when(planCollectorProvider.getIfAvailable()).thenReturn(planCollector);
+        QueryStats stats = queryStats(10);
+        String sql = "select o1_0.id from offers o1_0 where o1_0.title like ?";
+
+        // When
+        stats.record(sql, FAST, () -> {
+            throw new AssertionError("Parameters of fast executions must not be read");
+        });
+        stats.record(sql, SLOW, () -> List.of("%milk%"));
+        stats.record(sql, SLOW * 2, () -> List.of("%bread%"));
+
+        // Then
+        SlowStatement slow = stats.slowStatements(10).getFirst();
+        assertThat(slow.slowExecutions()).isEqualTo(2);
+        assertThat(slow.slowestParameters()).containsExactly("%bread%");
+        assertThat(slow.maxMillis()).isCloseTo(300, within(300 * 0.125));
+        verify(planCollector, times(1)).collect(any(), eq(sql), eq(List.of("%milk%")));
+    }
+
+    @Test
+    @DisplayName("Should not track the plans it collects")
+    void shouldIgnoreExplain() {
+        // Given
+        QueryStats stats = queryStats(10);
+
+        // When
+        stats.record("EXPLAIN PLAN FOR select * from offers", SLOW, List::of);
+
+        // Then
+        assertThat(stats.slowStatements(10)).isEmpty();
+        verifyNoInteractions(planCollectorProvider);
+    }
+
+    @Test
+    @DisplayName("Should count statements beyond the limit together without explaining them")
+    void shouldBoundTrackedStatements() {
+        // Given
+        QueryStats stats = queryStats(1);
+
+        // When
+        stats.record("select * from stores", SLOW, List::of);
+        stats.record("select * from categories", SLOW, List::of);
+        stats.record("select * from offers", SLOW, List::of);
+
+        // Then
+        assertThat(stats.slowStatements(10)).extracting(SlowStatement::statement)
+                .containsExactlyInAnyOrder("select * from stores", QueryStats.OTHER_STATEMENTS);
+        verify(planCollectorProvider, times(1)).getIfAvailable();
+    }
+
+    private QueryStats queryStats(int maxStatements) {
+        QueryStatsProperties properties = new QueryStatsProperties(true, Duration.ofMillis(100), maxStatements,
+                true, Duration.ofMinutes(10), 200);
+        return new QueryStats(properties, planCollectorProvider, clock);
+    }
+}
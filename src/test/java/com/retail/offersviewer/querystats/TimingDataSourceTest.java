@@ -0,0 +1,94 @@
+package com.retail.offersviewer.querystats;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TimingDataSource Tests")
+class TimingDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Mock
+    private QueryStats queryStats;
+
+    @Test
+    @DisplayName("Should time prepared statements and report their bound parameters")
+    @SuppressWarnings("unchecked")
+    void shouldTimePreparedStatement() throws Exception {
+        // Given
+        String sql = "select * from offers where store_id = ? and coupon_code = ?";
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(sql)).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        TimingDataSource dataSource = new TimingDataSource(target, () -> queryStats);
+
+        // When
+        try (Connection timed = dataSource.getConnection();
+             PreparedStatement prepared = timed.prepareStatement(sql)) {
+            prepared.setString(1, "store1");
+            prepared.setNull(2, Types.VARCHAR);
+            assertThat(prepared.executeQuery()).isSameAs(resultSet);
+        }
+
+        // Then
+        ArgumentCaptor<Supplier<List<Object>>> parameters = ArgumentCaptor.forClass(Supplier.class);
+        verify(queryStats).record(eq(sql), anyLong(), parameters.capture());
+        assertThat(parameters.getValue().get()).containsExactly("store1", null);
+        verify(preparedStatement).setString(1, "store1");
+        verify(connection).close();
+    }
+
+    @Test
+    @DisplayName("Should time plain statements by the SQL they execute")
+    void shouldTimePlainStatement() throws Exception {
+        // Given
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeUpdate("delete from change_log")).thenReturn(3);
+        TimingDataSource dataSource = new TimingDataSource(target, () -> queryStats);
+
+        // When
+        int deleted;
+        try (Connection timed = dataSource.getConnection(); Statement plain = timed.createStatement()) {
+            deleted = plain.executeUpdate("delete from change_log");
+        }
+
+        // Then
+        assertThat(deleted).isEqualTo(3);
+        verify(queryStats).record(eq("delete from change_log"), anyLong(), any());
+    }
+}
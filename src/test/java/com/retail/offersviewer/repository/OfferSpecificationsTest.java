@@ -0,0 +1,64 @@
+package com.retail.offersviewer.repository;
+
+import com.retail.offersviewer.dto.OfferFilter;
+import com.retail.offersviewer.entity.Offer;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OfferSpecifications Tests")
+class OfferSpecificationsTest {
+
+    @Mock
+    private Root<Offer> root;
+
+    @Mock
+    private CriteriaQuery<?> query;
+
+    @Mock
+    private CriteriaBuilder cb;
+
+    @Mock
+    private Path<String> title;
+
+    @Mock
+    private Path<String> description;
+
+    @Mock
+    private Expression<String> lowerTitle;
+
+    @Mock
+    private Expression<String> lowerDescription;
+
+    @Test
+    @DisplayName("Should match wildcard characters in the search term literally")
+    void shouldEscapeWildcardsInSearchTerm() {
+        // Given
+        doReturn(title).when(root).get("title");
+        doReturn(description).when(root).get("description");
+        doReturn(lowerTitle).when(cb).lower(title);
+        doReturn(lowerDescription).when(cb).lower(description);
+        OfferFilter filter = OfferFilter.of(null, "50%_Off\\");
+
+        // When
+        OfferSpecifications.activeInStore("store1", filter, null, LocalDateTime.now())
+                .toPredicate(root, query, cb);
+
+        // Then
+        verify(cb).like(lowerTitle, "%50\\%\\_off\\\\%", '\\');
+        verify(cb).like(lowerDescription, "%50\\%\\_off\\\\%", '\\');
+    }
+}
@@ -0,0 +1,76 @@
+package com.retail.offersviewer.service;
+
+import com.retail.offersviewer.config.EvaluationProperties;
+import com.retail.offersviewer.entity.UuidV7;
+import com.retail.offersviewer.event.OfferChangedEvent;
+import com.retail.offersviewer.repository.OfferRepository;
+import com.retail.offersviewer.sharding.OfferShards;
+import com.retail.offersviewer.sharding.ShardingProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ActiveOfferCatalog Tests")
+class ActiveOfferCatalogTest {
+
+    @Mock
+    private OfferRepository offerRepository;
+
+    @Spy
+    private OfferShards offerShards = new OfferShards(new ShardingProperties(false, List.of(), Duration.ofSeconds(10)), null);
+
+    @Mock
+    private SharedOfferResolver sharedOfferResolver;
+
+    @Mock
+    private KnownIdIndex knownIds;
+
+    @Spy
+    private EvaluationClock evaluationClock = new EvaluationClock(Clock.systemDefaultZone(),
+            new EvaluationProperties(Duration.ofSeconds(1)));
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ActiveOfferCatalog activeOfferCatalog;
+
+    @Test
+    @DisplayName("Should invalidate a snapshot requested with an upper-case store ID")
+    void shouldInvalidateSnapshotRequestedInUpperCase() {
+        // Given
+        String storeId = UuidV7.next().toString();
+        when(offerRepository.findActiveOffersByStoreId(eq(storeId), any(LocalDateTime.class)))
+                .thenReturn(List.of());
+
+        // When
+        ActiveOfferCatalog.StoreOffers first = activeOfferCatalog.getStoreOffers(storeId.toUpperCase());
+        ActiveOfferCatalog.StoreOffers cached = activeOfferCatalog.getStoreOffers(storeId);
+        activeOfferCatalog.onOfferChanged(new OfferChangedEvent(storeId, null));
+        ActiveOfferCatalog.StoreOffers reloaded = activeOfferCatalog.getStoreOffers(storeId.toUpperCase());
+
+        // Then
+        assertThat(first.storeId()).isEqualTo(storeId);
+        assertThat(cached).isSameAs(first);
+        assertThat(reloaded).isNotSameAs(first);
+        verify(offerRepository, times(2)).findActiveOffersByStoreId(eq(storeId), any(LocalDateTime.class));
+    }
+}
@@ -0,0 +1,170 @@
+package com.retail.offersviewer.service;
+
+import com.retail.offersviewer.dto.BasketEvaluation;
+import com.retail.offersviewer.dto.BasketRequest;
+import com.retail.offersviewer.entity.Offer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BasketEvaluationService Tests")
+class BasketEvaluationServiceTest {
+
+    @Mock
+    private ActiveOfferCatalog catalog;
+
+    @InjectMocks
+    private BasketEvaluationService basketEvaluationService;
+
+    @BeforeEach
+    void setUp() {
+        Offer bananas = offer("offer1", "Bananas 25% Off", Offer.DiscountType.PERCENTAGE, 25.0, "Bananas");
+
+        Offer milk = offer("offer2", "Milk $1 Off", Offer.DiscountType.FIXED, 1.0, "Whole Milk");
+        milk.setRequiresLoyaltyCard(true);
+
+        Offer beef = offer("offer3", "BOGO Ground Beef", Offer.DiscountType.BOGO, 100.0, "Ground Beef");
+
+        Offer chips = offer("offer4", "Chips Bundle", Offer.DiscountType.BUNDLE, 2.0, "Lays Family Size", "Ruffles Family Size");
+
+        Offer shampoo = offer("offer5", "Shampoo 20% Off", Offer.DiscountType.PERCENTAGE, 20.0, "Pantene Shampoo");
+        shampoo.setCouponCode("HAIR20");
+        shampoo.setMinimumPurchase(20.0);
+
+        Offer yogurt = offer("offer6", "Yogurt 150% Off", Offer.DiscountType.PERCENTAGE, 150.0, "Greek Yogurt");
+
+        when(catalog.getStoreOffers("store1")).thenReturn(new ActiveOfferCatalog.StoreOffers(
+                "store1", List.of(bananas, milk, beef, chips, shampoo, yogurt), LocalDateTime.now().plusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Should apply percentage discount to every unit")
+    void shouldApplyPercentageDiscount() {
+        // When
+        BasketEvaluation result = basketEvaluationService.evaluate("store1",
+                basket(false, List.of(), new BasketRequest.Line("Bananas", 2, 1.00)));
+
+        // Then
+        assertThat(result.subtotal()).isEqualTo(2.00);
+        assertThat(result.totalSavings()).isEqualTo(0.50);
+        assertThat(result.total()).isEqualTo(1.50);
+        assertThat(result.appliedOffers()).extracting(BasketEvaluation.AppliedOffer::offerId).containsExactly("offer1");
+    }
+
+    @Test
+    @DisplayName("Should not save more than the line price for percentages above 100")
+    void shouldCapPercentageDiscount() {
+        // When
+        BasketEvaluation result = basketEvaluationService.evaluate("store1",
+                basket(false, List.of(), new BasketRequest.Line("Greek Yogurt", 2, 3.00)));
+
+        // Then
+        assertThat(result.totalSavings()).isEqualTo(6.00);
+        assertThat(result.total()).isEqualTo(0.00);
+    }
+
+    @Test
+    @DisplayName("Should require a loyalty card for loyalty offers")
+    void shouldRequireLoyaltyCard() {
+        // Given
+        BasketRequest.Line milk = new BasketRequest.Line("Whole Milk", 1, 4.99);
+
+        // When
+        BasketEvaluation withoutCard = basketEvaluationService.evaluate("store1", basket(false, List.of(), milk));
+        BasketEvaluation withCard = basketEvaluationService.evaluate("store1", basket(true, List.of(), milk));
+
+        // Then
+        assertThat(withoutCard.appliedOffers()).isEmpty();
+        assertThat(withCard.totalSavings()).isEqualTo(1.00);
+    }
+
+    @Test
+    @DisplayName("Should discount every second unit for BOGO offers")
+    void shouldApplyBogo() {
+        // When
+        BasketEvaluation result = basketEvaluationService.evaluate("store1",
+                basket(false, List.of(), new BasketRequest.Line("Ground Beef", 3, 6.00)));
+
+        // Then
+        assertThat(result.totalSavings()).isEqualTo(6.00);
+    }
+
+    @Test
+    @DisplayName("Should apply bundle discount only once the bundle quantity is reached")
+    void shouldApplyBundleAcrossLines() {
+        // When
+        BasketEvaluation single = basketEvaluationService.evaluate("store1",
+                basket(false, List.of(), new BasketRequest.Line("Lays Family Size", 1, 4.99)));
+        BasketEvaluation mixed = basketEvaluationService.evaluate("store1",
+                basket(false, List.of(),
+                        new BasketRequest.Line("Lays Family Size", 1, 4.99),
+                        new BasketRequest.Line("Ruffles Family Size", 1, 4.99)));
+
+        // Then
+        assertThat(single.appliedOffers()).isEmpty();
+        assertThat(mixed.totalSavings()).isEqualTo(4.00);
+        assertThat(mixed.appliedOffers()).hasSize(1);
+        assertThat(mixed.appliedOffers().get(0).products())
+                .containsExactly("Lays Family Size", "Ruffles Family Size");
+    }
+
+    @Test
+    @DisplayName("Should enforce coupon codes and minimum purchase")
+    void shouldEnforceCouponAndMinimumPurchase() {
+        // When
+        BasketEvaluation noCoupon = basketEvaluationService.evaluate("store1",
+                basket(false, List.of(), new BasketRequest.Line("Pantene Shampoo", 2, 10.00)));
+        BasketEvaluation belowMinimum = basketEvaluationService.evaluate("store1",
+                basket(false, List.of("hair20"), new BasketRequest.Line("Pantene Shampoo", 1, 10.00)));
+        BasketEvaluation qualifying = basketEvaluationService.evaluate("store1",
+                basket(false, List.of("hair20"), new BasketRequest.Line("Pantene Shampoo", 2, 10.00)));
+
+        // Then
+        assertThat(noCoupon.appliedOffers()).isEmpty();
+        assertThat(belowMinimum.appliedOffers()).isEmpty();
+        assertThat(qualifying.totalSavings()).isEqualTo(4.00);
+    }
+
+    @Test
+    @DisplayName("Should evaluate batches in request order")
+    void shouldEvaluateBatchInOrder() {
+        // Given
+        BasketRequest first = new BasketRequest("b1", List.of(new BasketRequest.Line("Bananas", 1, 1.00)), false, null);
+        BasketRequest second = new BasketRequest("b2", List.of(new BasketRequest.Line("Paper Towels", 1, 5.00)), false, null);
+
+        // When
+        List<BasketEvaluation> result = basketEvaluationService.evaluateBatch("store1", List.of(first, second));
+
+        // Then
+        assertThat(result).extracting(BasketEvaluation::basketId).containsExactly("b1", "b2");
+        assertThat(result.get(0).totalSavings()).isEqualTo(0.25);
+        assertThat(result.get(1).totalSavings()).isEqualTo(0.0);
+    }
+
+    private static Offer offer(String id, String title, Offer.DiscountType type, double value, String... products) {
+        Offer offer = new Offer();
+        offer.setId(id);
+        offer.setStoreId("store1");
+        offer.setTitle(title);
+        offer.setDiscountType(type);
+        offer.setDiscountValue(value);
+        offer.setEligibleProducts(List.of(products));
+        offer.setExclusions(List.of());
+        return offer;
+    }
+
+    private static BasketRequest basket(boolean loyaltyCard, List<String> coupons, BasketRequest.Line... lines) {
+        return new BasketRequest("basket", List.of(lines), loyaltyCard, coupons);
+    }
+}
@@ -0,0 +1,143 @@
+package com.retail.offersviewer.service;
+
+import com.retail.offersviewer.sharding.OfferShards;
+import com.retail.offersviewer.sharding.ShardingProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CategoryDictionary Tests")
+class CategoryDictionaryTest {
+
+    private static final String LOAD = "SELECT code, name FROM categories";
+    private static final String LOAD_CLOSURE = "SELECT ancestor_code, descendant_code FROM category_closure";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Spy
+    private OfferShards offerShards = new OfferShards(new ShardingProperties(false, List.of(), Duration.ofSeconds(10)), null);
+
+    @InjectMocks
+    private CategoryDictionary categoryDictionary;
+
+    @Test
+    @DisplayName("Should map names to codes and back to the same instance")
+    void shouldMapNamesAndCodes() {
+        // Given
+        when(jdbcTemplate.queryForList(LOAD)).thenReturn(List.of(
+                Map.<String, Object>of("code", (short) 1, "name", "Produce"),
+                Map.<String, Object>of("code", (short) 2, "name", "Dairy")));
+
+        // When
+        Short code = categoryDictionary.codeOf("Dairy");
+        String first = categoryDictionary.nameOf((short) 2);
+        String second = categoryDictionary.nameOf((short) 2);
+
+        // Then
+        assertThat(code).isEqualTo((short) 2);
+        assertThat(first).isEqualTo("Dairy").isSameAs(second);
+    }
+
+    @Test
+    @DisplayName("Should return null for unknown names without reloading on every lookup")
+    void shouldNotReloadOnEveryUnknownName() {
+        // Given
+        when(jdbcTemplate.queryForList(LOAD)).thenReturn(List.of(Map.<String, Object>of("code", (short) 1, "name", "Produce")));
+
+        // When
+        Short first = categoryDictionary.codeOf("Toys");
+        Short second = categoryDictionary.codeOf("Toys");
+
+        // Then
+        assertThat(first).isNull();
+        assertThat(second).isNull();
+        verify(jdbcTemplate, times(1)).queryForList(LOAD);
+    }
+
+    @Test
+    @DisplayName("Should resolve categories registered by this application")
+    void shouldResolveRegisteredCategory() {
+        // Given
+        when(jdbcTemplate.queryForList(LOAD)).thenReturn(List.of());
+        when(jdbcTemplate.queryForObject("SELECT MAX(code) FROM categories", Short.class)).thenReturn((short) 4);
+
+        // When
+        short code = categoryDictionary.nextCode();
+        categoryDictionary.register(code, "Bakery");
+
+        // Then
+        assertThat(code).isEqualTo((short) 5);
+        assertThat(categoryDictionary.codeOf("Bakery")).isEqualTo((short) 5);
+        assertThat(categoryDictionary.nameOf((short) 5)).isEqualTo("Bakery");
+    }
+
+    @Test
+    @DisplayName("Should answer hierarchy lookups from the closure table")
+    void shouldLoadHierarchy() throws Exception {
+        // Given Dairy > Cheese > Cheddar, and Produce on its own
+        when(jdbcTemplate.queryForList(LOAD)).thenReturn(List.of(
+                Map.<String, Object>of("code", (short) 1, "name", "Produce"),
+                Map.<String, Object>of("code", (short) 2, "name", "Dairy"),
+                Map.<String, Object>of("code", (short) 3, "name", "Cheese"),
+                Map.<String, Object>of("code", (short) 4, "name", "Cheddar")));
+        List<ResultSet> links = List.of(link(2, 3), link(2, 4), link(3, 4));
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (ResultSet rs : links) {
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(eq(LOAD_CLOSURE), any(RowCallbackHandler.class));
+
+        // When / Then
+        assertThat(categoryDictionary.descendantsOf("Dairy")).containsExactly("Cheese", "Cheddar");
+        assertThat(categoryDictionary.descendantsOf("Produce")).isEmpty();
+        assertThat(categoryDictionary.ancestorsOf("Cheddar")).containsExactly("Dairy", "Cheese");
+        assertThat(categoryDictionary.isDescendant("Cheddar", "Dairy")).isTrue();
+        assertThat(categoryDictionary.isDescendant("Dairy", "Cheddar")).isFalse();
+        assertThat(categoryDictionary.isDescendant("Dairy", "Dairy")).isFalse();
+        assertThat(categoryDictionary.isDescendant("Toys", "Dairy")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should fail for codes that are not in the dictionary")
+    void shouldFailForUnknownCode() {
+        // Given
+        when(jdbcTemplate.queryForList(LOAD)).thenReturn(List.of());
+
+        // When / Then
+        assertThatThrownBy(() -> categoryDictionary.nameOf((short) 9))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static ResultSet link(int ancestor, int descendant) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getShort(1)).thenReturn((short) ancestor);
+        when(rs.getShort(2)).thenReturn((short) descendant);
+        return rs;
+    }
+}
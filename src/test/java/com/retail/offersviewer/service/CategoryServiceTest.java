@@ -1,17 +1,22 @@
 package com.retail.offersviewer.service;
 
+import com.retail.offersviewer.config.EvaluationProperties;
 import com.retail.offersviewer.entity.Category;
-import com.retail.offersviewer.entity.Offer;
 import com.retail.offersviewer.repository.CategoryRepository;
 import com.retail.offersviewer.repository.OfferRepository;
+import com.retail.offersviewer.sharding.OfferShards;
+import com.retail.offersviewer.sharding.ShardingProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -33,11 +38,24 @@ class CategoryServiceTest {
     @Mock
     private OfferRepository offerRepository;
 
+    @Spy
+    private OfferShards offerShards = new OfferShards(new ShardingProperties(false, List.of(), Duration.ofSeconds(10)), null);
+
+    @Mock
+    private SharedOfferResolver sharedOfferResolver;
+
+    @Mock
+    private CategoryDictionary categoryDictionary;
+
+    @Spy
+    private EvaluationClock evaluationClock = new EvaluationClock(Clock.systemDefaultZone(),
+            new EvaluationProperties(Duration.ofSeconds(1)));
+
     @InjectMocks
     private CategoryService categoryService;
 
     private List<Category> testCategories;
-    private List<Offer> testOffers;
+    private List<Object[]> testOfferCounts;
 
     @BeforeEach
     void setUp() {
@@ -47,32 +65,8 @@ class CategoryServiceTest {
         Category meat = new Category("cat3", "Meat", "🥩");
         testCategories = Arrays.asList(produce, dairy, meat);
 
-        // Setup test offers
-        Offer offer1 = new Offer();
-        offer1.setId("offer1");
-        offer1.setStoreId("store1");
-        offer1.setCategory("Produce");
-        offer1.setTitle("Fresh Bananas");
-        offer1.setValidFrom(LocalDateTime.now().minusDays(1));
-        offer1.setValidUntil(LocalDateTime.now().plusDays(7));
-
-        Offer offer2 = new Offer();
-        offer2.setId("offer2");
-        offer2.setStoreId("store1");
-        offer2.setCategory("Produce");
-        offer2.setTitle("Organic Apples");
-        offer2.setValidFrom(LocalDateTime.now().minusDays(1));
-        offer2.setValidUntil(LocalDateTime.now().plusDays(7));
-
-        Offer offer3 = new Offer();
-        offer3.setId("offer3");
-        offer3.setStoreId("store1");
-        offer3.setCategory("Dairy");
-        offer3.setTitle("Milk Gallon");
-        offer3.setValidFrom(LocalDateTime.now().minusDays(1));
-        offer3.setValidUntil(LocalDateTime.now().plusDays(7));
-
-        testOffers = Arrays.asList(offer1, offer2, offer3);
+        // Setup per-category offer counts, as grouped by the database
+        testOfferCounts = List.of(new Object[] {"Produce", 2L}, new Object[] {"Dairy", 1L});
     }
 
     @Test
@@ -109,8 +103,8 @@ class CategoryServiceTest {
     void shouldCountOffersByCategory() {
         // Given
         String storeId = "store1";
-        when(offerRepository.findActiveOffersByStoreId(eq(storeId), any(LocalDateTime.class)))
-                .thenReturn(testOffers);
+        when(offerRepository.countActiveOffersByCategory(eq(storeId), any(LocalDateTime.class)))
+                .thenReturn(testOfferCounts);
 
         // When
         Map<String, Long> result = categoryService.countOffersByCategory(storeId);
@@ -119,7 +113,41 @@ class CategoryServiceTest {
         assertThat(result).hasSize(2);
         assertThat(result.get("Produce")).isEqualTo(2L);
         assertThat(result.get("Dairy")).isEqualTo(1L);
-        verify(offerRepository).findActiveOffersByStoreId(eq(storeId), any(LocalDateTime.class));
+        verify(offerRepository).countActiveOffersByCategory(eq(storeId), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should roll subcategory counts up to their ancestors")
+    void shouldRollUpSubcategoryCounts() {
+        // Given
+        String storeId = "store1";
+        when(offerRepository.countActiveOffersByCategory(eq(storeId), any(LocalDateTime.class)))
+                .thenReturn(List.<Object[]>of(new Object[] {"Cheddar", 2L}, new Object[] {"Cheese", 1L}));
+        when(categoryDictionary.ancestorsOf("Cheddar")).thenReturn(List.of("Dairy", "Cheese"));
+        when(categoryDictionary.ancestorsOf("Cheese")).thenReturn(List.of("Dairy"));
+
+        // When
+        Map<String, Long> result = categoryService.countOffersByCategory(storeId);
+
+        // Then
+        assertThat(result).containsExactlyInAnyOrderEntriesOf(Map.of("Cheddar", 2L, "Cheese", 3L, "Dairy", 3L));
+    }
+
+    @Test
+    @DisplayName("Should add shared offer counts to the store's own counts")
+    void shouldAddSharedOfferCounts() {
+        // Given
+        String storeId = "store1";
+        when(offerRepository.countActiveOffersByCategory(eq(storeId), any(LocalDateTime.class)))
+                .thenReturn(testOfferCounts);
+        when(sharedOfferResolver.countActiveOffersByCategory(eq(storeId), any(LocalDateTime.class)))
+                .thenReturn(List.<Object[]>of(new Object[] {"Dairy", 2L}, new Object[] {"Meat", 1L}));
+
+        // When
+        Map<String, Long> result = categoryService.countOffersByCategory(storeId);
+
+        // Then
+        assertThat(result).containsExactlyInAnyOrderEntriesOf(Map.of("Produce", 2L, "Dairy", 3L, "Meat", 1L));
     }
 
     @Test
@@ -127,7 +155,9 @@ class CategoryServiceTest {
     void shouldReturnEmptyMapWhenNoOffersExist() {
         // Given
         String storeId = "store1";
-        when(offerRepository.findActiveOffersByStoreId(eq(storeId), any(LocalDateTime.class)))
+        when(offerRepository.countActiveOffersByCategory(eq(storeId), any(LocalDateTime.class)))
+                .thenReturn(List.of());
+        when(sharedOfferResolver.countActiveOffersByCategory(eq(storeId), any(LocalDateTime.class)))
                 .thenReturn(List.of());
 
         // When
@@ -135,7 +165,7 @@ class CategoryServiceTest {
 
         // Then
         assertThat(result).isEmpty();
-        verify(offerRepository).findActiveOffersByStoreId(eq(storeId), any(LocalDateTime.class));
+        verify(offerRepository).countActiveOffersByCategory(eq(storeId), any(LocalDateTime.class));
     }
 
     @Test
@@ -144,8 +174,8 @@ class CategoryServiceTest {
         // Given
         String storeId = "store1";
         when(categoryRepository.findAll()).thenReturn(testCategories);
-        when(offerRepository.findActiveOffersByStoreId(eq(storeId), any(LocalDateTime.class)))
-                .thenReturn(testOffers);
+        when(offerRepository.countActiveOffersByCategory(eq(storeId), any(LocalDateTime.class)))
+                .thenReturn(testOfferCounts);
 
         // When
         Map<Category, Long> result = categoryService.getCategoriesWithOfferCount(storeId);
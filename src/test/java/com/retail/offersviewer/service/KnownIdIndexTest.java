@@ -0,0 +1,139 @@
+package com.retail.offersviewer.service;
+
+import com.retail.offersviewer.entity.UuidV7;
+import com.retail.offersviewer.sharding.OfferShards;
+import com.retail.offersviewer.sharding.ShardingProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("KnownIdIndex Tests")
+class KnownIdIndexTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    // A single database runs shard work in the caller's transaction, so needs no transaction manager
+    @Spy
+    private OfferShards offerShards = new OfferShards(new ShardingProperties(false, List.of(), Duration.ofSeconds(10)), null);
+
+    @InjectMocks
+    private KnownIdIndex knownIdIndex;
+
+    private String storeId;
+    private String offerId;
+    private String assignmentId;
+
+    @BeforeEach
+    void setUp() {
+        storeId = UuidV7.next().toString();
+        offerId = UuidV7.next().toString();
+        assignmentId = UuidV7.next().toString();
+    }
+
+    @Test
+    @DisplayName("Should treat well-formed IDs as possibly existing until built")
+    void shouldPassThroughBeforeBuild() {
+        // When / Then
+        assertThat(knownIdIndex.isUnknownStore(storeId)).isFalse();
+        assertThat(knownIdIndex.isUnknownOffer(offerId)).isFalse();
+        assertThat(knownIdIndex.isUnknownOffer("not-a-uuid")).isTrue();
+        assertThat(knownIdIndex.isUnknownStore(null)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject IDs that are not in the database")
+    void shouldRejectUnknownIds() {
+        // Given
+        givenRows(List.of(storeId), List.of(offerId), List.of(assignmentId));
+
+        // When
+        knownIdIndex.onApplicationReady();
+
+        // Then
+        assertThat(knownIdIndex.isUnknownStore(storeId)).isFalse();
+        assertThat(knownIdIndex.isUnknownOffer(offerId)).isFalse();
+        assertThat(knownIdIndex.isUnknownOffer(assignmentId)).isFalse();
+        assertThat(knownIdIndex.isUnknownStore(UuidV7.next().toString())).isTrue();
+        assertThat(knownIdIndex.isUnknownOffer(UuidV7.next().toString())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should accept IDs inserted after the build")
+    void shouldAcceptInsertedIds() {
+        // Given
+        givenRows(List.of(storeId), List.of(offerId), List.of());
+        knownIdIndex.onApplicationReady();
+        String newStoreId = UuidV7.next().toString();
+        String newOfferId = UuidV7.next().toString();
+
+        // When
+        knownIdIndex.addStore(newStoreId);
+        knownIdIndex.addOffer(newOfferId);
+
+        // Then
+        assertThat(knownIdIndex.isUnknownStore(newStoreId)).isFalse();
+        assertThat(knownIdIndex.isUnknownOffer(newOfferId)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should carry inserts over into a rebuilt filter")
+    void shouldKeepInsertsAcrossRebuild() {
+        // Given
+        givenRows(List.of(storeId), List.of(offerId), List.of());
+        knownIdIndex.onApplicationReady();
+        // Flushed but not yet committed, so the next load does not see it
+        String pendingOfferId = UuidV7.next().toString();
+        knownIdIndex.addOffer(pendingOfferId);
+
+        // When
+        knownIdIndex.onApplicationReady();
+
+        // Then
+        assertThat(knownIdIndex.isUnknownOffer(pendingOfferId)).isFalse();
+    }
+
+    private void givenRows(List<String> stores, List<String> offers, List<String> assignments) {
+        when(jdbcTemplate.queryForObject(startsWith("SELECT COUNT(*) FROM stores"), eq(Long.class)))
+                .thenReturn((long) stores.size());
+        when(jdbcTemplate.queryForObject(startsWith("SELECT COUNT(*) FROM offers"), eq(Long.class)))
+                .thenReturn((long) offers.size());
+        when(jdbcTemplate.queryForObject(startsWith("SELECT COUNT(*) FROM offer_assignments"), eq(Long.class)))
+                .thenReturn((long) assignments.size());
+        givenIds("SELECT id FROM stores", stores);
+        givenIds("SELECT id FROM offers", offers);
+        givenIds("SELECT id FROM offer_assignments", assignments);
+    }
+
+    private void givenIds(String sql, List<String> ids) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (String id : ids) {
+                ResultSet row = mock(ResultSet.class);
+                when(row.getString(1)).thenReturn(id);
+                handler.processRow(row);
+            }
+            return null;
+        }).when(jdbcTemplate).query(eq(sql), any(RowCallbackHandler.class));
+    }
+}
@@ -0,0 +1,283 @@
+package com.retail.offersviewer.service;
+
+import com.retail.offersviewer.changelog.ChangeLog;
+import com.retail.offersviewer.config.EvaluationProperties;
+import com.retail.offersviewer.dto.BulkOfferUpdateRequest;
+import com.retail.offersviewer.dto.BulkOfferUpdateResult;
+import com.retail.offersviewer.entity.ChangeLogEntry.EntityType;
+import com.retail.offersviewer.entity.ChangeLogEntry.Operation;
+import com.retail.offersviewer.entity.Offer;
+import com.retail.offersviewer.event.OfferChangedEvent;
+import com.retail.offersviewer.event.OfferDefinitionChangedEvent;
+import com.retail.offersviewer.exception.ResourceNotFoundException;
+import com.retail.offersviewer.sharding.OfferShards;
+import com.retail.offersviewer.sharding.ShardingProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OfferBulkUpdateService Tests")
+class OfferBulkUpdateServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private CategoryDictionary categoryDictionary;
+
+    @Mock
+    private ChangeLog changeLog;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final OfferShards offerShards =
+            new OfferShards(new ShardingProperties(false, List.of(), Duration.ofSeconds(10)), null);
+
+    private final EvaluationClock evaluationClock =
+            new EvaluationClock(Clock.fixed(Instant.parse("2026-01-15T12:00:00Z"), ZoneOffset.UTC),
+                    new EvaluationProperties(Duration.ofSeconds(1)));
+
+    @Test
+    @DisplayName("Should set the new discount and compute the final price with its formula")
+    void shouldComputeFinalPriceForNewDiscount() {
+        // Given
+        BulkOfferUpdateRequest request =
+                new BulkOfferUpdateRequest(null, null, Offer.DiscountType.PERCENTAGE, 20.0, null, null);
+
+        // When
+        OfferBulkUpdateService.Update update = OfferBulkUpdateService.Update.of(request);
+
+        // Then
+        assertThat(update.assignments()).isEqualTo("discount_type = ?, discount_value = 20.0, "
+                + "final_price = ROUND(CAST(original_price * (1 - 20.0 / 100) AS NUMERIC(16, 6)), 2), "
+                + "version = version + 1");
+        assertThat(update.arguments()).containsExactly("PERCENTAGE");
+    }
+
+    @Test
+    @DisplayName("Should keep each offer's discount when only the price changes")
+    void shouldKeepDiscountWhenRepricing() {
+        // Given
+        BulkOfferUpdateRequest request = new BulkOfferUpdateRequest(null, null, null, null, -10.0, null);
+
+        // When
+        OfferBulkUpdateService.Update update = OfferBulkUpdateService.Update.of(request);
+
+        // Then
+        String newPrice = "ROUND(CAST(original_price * 0.9 AS NUMERIC(16, 6)), 2)";
+        assertThat(update.assignments())
+                .startsWith("original_price = " + newPrice + ", final_price = CASE discount_type WHEN 'PERCENTAGE'")
+                .contains("WHEN 'BUNDLE' THEN ROUND(CAST(GREATEST(0.5, " + newPrice
+                        + " - discount_value) AS NUMERIC(16, 6)), 2) END")
+                .endsWith("version = version + 1");
+        assertThat(update.arguments()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not let a fixed discount larger than the new price make it negative")
+    void shouldClampFixedDiscountAtZero() {
+        // Given
+        BulkOfferUpdateRequest request =
+                new BulkOfferUpdateRequest(null, null, Offer.DiscountType.FIXED, 5.0, -50.0, null);
+
+        // When
+        OfferBulkUpdateService.Update update = OfferBulkUpdateService.Update.of(request);
+
+        // Then
+        assertThat(update.assignments()).contains("final_price = ROUND(CAST(GREATEST(0, "
+                + "ROUND(CAST(original_price * 0.5 AS NUMERIC(16, 6)), 2) - 5.0) AS NUMERIC(16, 6)), 2)");
+    }
+
+    @Test
+    @DisplayName("Should reject percentage and BOGO discounts above 100")
+    void shouldRejectPercentageAbove100() {
+        // Given
+        BulkOfferUpdateRequest percentage =
+                new BulkOfferUpdateRequest(null, null, Offer.DiscountType.PERCENTAGE, 150.0, null, null);
+        BulkOfferUpdateRequest bogo =
+                new BulkOfferUpdateRequest(null, null, Offer.DiscountType.BOGO, 101.0, null, null);
+        BulkOfferUpdateRequest fixed =
+                new BulkOfferUpdateRequest(null, null, Offer.DiscountType.FIXED, 150.0, null, null);
+
+        // When / Then
+        assertThat(percentage.isDiscountValueInRange()).isFalse();
+        assertThat(bogo.isDiscountValueInRange()).isFalse();
+        assertThat(fixed.isDiscountValueInRange()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should extend validity without touching prices")
+    void shouldExtendValidityOnly() {
+        // Given
+        BulkOfferUpdateRequest request = new BulkOfferUpdateRequest(null, null, null, null, null, Duration.ofDays(2));
+
+        // When
+        OfferBulkUpdateService.Update update = OfferBulkUpdateService.Update.of(request);
+
+        // Then
+        assertThat(update.assignments()).isEqualTo(
+                "valid_until = {fn TIMESTAMPADD(SQL_TSI_SECOND, 172800, valid_until)}, version = version + 1");
+    }
+
+    @Test
+    @DisplayName("Should update offers and shared offer assignments in batches and invalidate every affected store")
+    void shouldUpdateInBatches() throws Exception {
+        // Given
+        AtomicInteger selects = new AtomicInteger();
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            if (selects.incrementAndGet() == 1) {
+                ResultSet rs = rows("store1");
+                for (int i = 0; i < OfferBulkUpdateService.BATCH_SIZE; i++) {
+                    handler.processRow(rs);
+                }
+            } else {
+                handler.processRow(rows("store2"));
+            }
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT id, store_id FROM offers "), any(RowCallbackHandler.class),
+                any(Object[].class));
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(rows("store3"));
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT id, store_id FROM offer_assignments "),
+                any(RowCallbackHandler.class), any(Object[].class));
+        when(jdbcTemplate.update(startsWith("UPDATE offers SET"), any(Object[].class)))
+                .thenReturn(OfferBulkUpdateService.BATCH_SIZE, 1);
+        when(jdbcTemplate.update(startsWith("UPDATE offer_assignments SET"), any(Object[].class))).thenReturn(1);
+
+        // When
+        BulkOfferUpdateResult result = service().update(
+                new BulkOfferUpdateRequest(null, null, null, null, null, Duration.ofDays(1)));
+
+        // Then
+        assertThat(result.offersUpdated()).isEqualTo(OfferBulkUpdateService.BATCH_SIZE + 2);
+        assertThat(result.storesAffected()).isEqualTo(3);
+        assertThat(result.definitionsUpdated()).isZero();
+        assertThat(result.batches()).isEqualTo(3);
+        verify(jdbcTemplate).query(contains("AND id > ?"), any(RowCallbackHandler.class), any(Object[].class));
+        verify(changeLog).record(EntityType.OFFER, Operation.UPDATE, null, "store1");
+        verify(changeLog).record(EntityType.OFFER, Operation.UPDATE, null, "store2");
+        verify(changeLog).record(EntityType.OFFER_ASSIGNMENT, Operation.UPDATE, null, "store3");
+        verify(eventPublisher).publishEvent(new OfferChangedEvent("store1", null));
+        verify(eventPublisher).publishEvent(new OfferChangedEvent("store2", null));
+        verify(eventPublisher).publishEvent(new OfferChangedEvent("store3", null));
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should change chain-wide definitions and evict them when repricing every store")
+    void shouldUpdateDefinitionsChainWide() throws Exception {
+        // Given
+        String definitionId = new UUID(0, 1).toString();
+        ResultSet definition = mock(ResultSet.class);
+        when(definition.getString(1)).thenReturn(definitionId);
+        when(definition.getString(2)).thenReturn(definitionId);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(definition);
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT id, id FROM offer_definitions "),
+                any(RowCallbackHandler.class), any(Object[].class));
+        when(jdbcTemplate.update(startsWith("UPDATE offer_definitions SET discount_type = ?"), any(Object[].class)))
+                .thenReturn(1);
+
+        BulkOfferUpdateRequest request =
+                new BulkOfferUpdateRequest(null, null, Offer.DiscountType.PERCENTAGE, 10.0, null, null);
+
+        // When
+        BulkOfferUpdateResult result = service().update(request);
+
+        // Then
+        assertThat(result.definitionsUpdated()).isEqualTo(1);
+        // Store overrides are derived again from the changed definition
+        assertThat(OfferBulkUpdateService.Update.ofAssignments(request, true).assignments())
+                .isEqualTo("final_price = NULL");
+        verify(changeLog).record(EntityType.OFFER_DEFINITION, Operation.UPDATE, definitionId, null);
+        verify(eventPublisher).publishEvent(new OfferDefinitionChangedEvent(definitionId));
+        verify(eventPublisher).publishEvent(OfferChangedEvent.allStores());
+    }
+
+    @Test
+    @DisplayName("Should store a store-scoped discount as the assignment's price override")
+    void shouldOverrideAssignmentPricesForSomeStores() {
+        // Given
+        BulkOfferUpdateRequest request = new BulkOfferUpdateRequest(List.of(new UUID(0, 1).toString()), null,
+                Offer.DiscountType.FIXED, 1.0, -10.0, null);
+
+        // When
+        OfferBulkUpdateService.Update update = OfferBulkUpdateService.Update.ofAssignments(request, false);
+
+        // Then
+        String newPrice = "ROUND(CAST(COALESCE(original_price, (SELECT d.original_price FROM offer_definitions d "
+                + "WHERE d.id = offer_assignments.definition_id)) * 0.9 AS NUMERIC(16, 6)), 2)";
+        assertThat(update.assignments()).isEqualTo("original_price = " + newPrice + ", final_price = "
+                + "ROUND(CAST(GREATEST(0, " + newPrice + " - 1.0) AS NUMERIC(16, 6)), 2)");
+        assertThat(update.arguments()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject unknown categories before updating anything")
+    void shouldRejectUnknownCategory() {
+        // Given
+        when(categoryDictionary.codeOf("Unknown")).thenReturn(null);
+        BulkOfferUpdateRequest request =
+                new BulkOfferUpdateRequest(null, List.of("Unknown"), null, null, 5.0, null);
+
+        // When / Then
+        assertThatThrownBy(() -> service().update(request))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Unknown");
+        verifyNoInteractions(jdbcTemplate, changeLog, eventPublisher);
+    }
+
+    private OfferBulkUpdateService service() {
+        return new OfferBulkUpdateService(jdbcTemplate, offerShards, categoryDictionary, changeLog,
+                eventPublisher, evaluationClock, transactionManager);
+    }
+
+    /**
+     * Result set returning consecutive offer IDs of one store on each read
+     */
+    private static ResultSet rows(String storeId) throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString(1)).thenAnswer(invocation -> new UUID(0, next.incrementAndGet()).toString());
+        when(rs.getString(2)).thenReturn(storeId);
+        return rs;
+    }
+}
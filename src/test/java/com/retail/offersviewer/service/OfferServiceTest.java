@@ -1,24 +1,41 @@
 package com.retail.offersviewer.service;
 
+import com.retail.offersviewer.config.EvaluationProperties;
+import com.retail.offersviewer.dto.FacetedOffers;
+import com.retail.offersviewer.dto.OfferFilter;
 import com.retail.offersviewer.entity.Offer;
+import com.retail.offersviewer.event.OfferChangedEvent;
 import com.retail.offersviewer.repository.OfferRepository;
+import com.retail.offersviewer.sharding.OfferShards;
+import com.retail.offersviewer.sharding.ShardingProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,6 +45,27 @@ class OfferServiceTest {
     @Mock
     private OfferRepository offerRepository;
 
+    @Spy
+    private OfferShards offerShards = new OfferShards(new ShardingProperties(false, List.of(), Duration.ofSeconds(10)), null);
+
+    @Mock
+    private SharedOfferResolver sharedOfferResolver;
+
+    @Mock
+    private CategoryDictionary categoryDictionary;
+
+    @Mock
+    private KnownIdIndex knownIds;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    // Starts on a quantum boundary and only moves when a test advances it
+    private final SteppingClock clock = new SteppingClock(Instant.ofEpochSecond(Instant.now().getEpochSecond()));
+
+    @Spy
+    private EvaluationClock evaluationClock = new EvaluationClock(clock, new EvaluationProperties(Duration.ofSeconds(1)));
+
     @InjectMocks
     private OfferService offerService;
 
@@ -38,7 +76,7 @@ class OfferServiceTest {
 
     @BeforeEach
     void setUp() {
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = evaluationClock.now();
 
         offer1 = new Offer();
         offer1.setId("offer1");
@@ -84,7 +122,7 @@ class OfferServiceTest {
     void shouldGetAllActiveOffersWithoutFilters() {
         // Given
         String storeId = "store1";
-        when(offerRepository.findActiveOffersByStoreId(eq(storeId), any(LocalDateTime.class)))
+        when(offerRepository.findAll(ArgumentMatchers.<Specification<Offer>>any()))
                 .thenReturn(testOffers);
 
         // When
@@ -93,7 +131,8 @@ class OfferServiceTest {
         // Then
         assertThat(result).hasSize(3);
         assertThat(result).containsExactlyElementsOf(testOffers);
-        verify(offerRepository).findActiveOffersByStoreId(eq(storeId), any(LocalDateTime.class));
+        verify(offerRepository).findAll(ArgumentMatchers.<Specification<Offer>>any());
+        verify(sharedOfferResolver).findActiveOffers(eq(storeId), eq(OfferFilter.NONE), any(LocalDateTime.class));
     }
 
     @Test
@@ -102,7 +141,7 @@ class OfferServiceTest {
         // Given
         String storeId = "store1";
         String category = "Produce";
-        when(offerRepository.findActiveOffersByStoreIdAndCategory(eq(storeId), eq(category), any(LocalDateTime.class)))
+        when(offerRepository.findAll(ArgumentMatchers.<Specification<Offer>>any()))
                 .thenReturn(List.of(offer1));
 
         // When
@@ -111,7 +150,7 @@ class OfferServiceTest {
         // Then
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getCategory()).isEqualTo("Produce");
-        verify(offerRepository).findActiveOffersByStoreIdAndCategory(eq(storeId), eq(category), any(LocalDateTime.class));
+        verify(sharedOfferResolver).findActiveOffers(eq(storeId), eq(OfferFilter.of(category, null)), any(LocalDateTime.class));
     }
 
     @Test
@@ -120,7 +159,7 @@ class OfferServiceTest {
         // Given
         String storeId = "store1";
         String searchTerm = "milk";
-        when(offerRepository.searchActiveOffers(eq(storeId), eq(searchTerm), any(LocalDateTime.class)))
+        when(offerRepository.findAll(ArgumentMatchers.<Specification<Offer>>any()))
                 .thenReturn(List.of(offer2));
 
         // When
@@ -129,7 +168,7 @@ class OfferServiceTest {
         // Then
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getTitle()).containsIgnoringCase("milk");
-        verify(offerRepository).searchActiveOffers(eq(storeId), eq(searchTerm), any(LocalDateTime.class));
+        verify(sharedOfferResolver).findActiveOffers(eq(storeId), eq(OfferFilter.of(null, searchTerm)), any(LocalDateTime.class));
     }
 
     @Test
@@ -139,7 +178,7 @@ class OfferServiceTest {
         String storeId = "store1";
         String category = "Produce";
         String searchTerm = "banana";
-        when(offerRepository.searchActiveOffersByCategory(eq(storeId), eq(category), eq(searchTerm), any(LocalDateTime.class)))
+        when(offerRepository.findAll(ArgumentMatchers.<Specification<Offer>>any()))
                 .thenReturn(List.of(offer1));
 
         // When
@@ -149,7 +188,7 @@ class OfferServiceTest {
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getCategory()).isEqualTo("Produce");
         assertThat(result.get(0).getTitle()).containsIgnoringCase("banana");
-        verify(offerRepository).searchActiveOffersByCategory(eq(storeId), eq(category), eq(searchTerm), any(LocalDateTime.class));
+        verify(sharedOfferResolver).findActiveOffers(eq(storeId), eq(OfferFilter.of(category, searchTerm)), any(LocalDateTime.class));
     }
 
     @Test
@@ -157,7 +196,7 @@ class OfferServiceTest {
     void shouldSortOffersByDiscountDescending() {
         // Given
         String storeId = "store1";
-        when(offerRepository.findActiveOffersByStoreId(eq(storeId), any(LocalDateTime.class)))
+        when(offerRepository.findAll(ArgumentMatchers.<Specification<Offer>>any()))
                 .thenReturn(testOffers);
 
         // When
@@ -175,7 +214,7 @@ class OfferServiceTest {
     void shouldSortOffersByExpirationAscending() {
         // Given
         String storeId = "store1";
-        when(offerRepository.findActiveOffersByStoreId(eq(storeId), any(LocalDateTime.class)))
+        when(offerRepository.findAll(ArgumentMatchers.<Specification<Offer>>any()))
                 .thenReturn(testOffers);
 
         // When
@@ -193,7 +232,7 @@ class OfferServiceTest {
     void shouldSortOffersByCategoryAlphabetically() {
         // Given
         String storeId = "store1";
-        when(offerRepository.findActiveOffersByStoreId(eq(storeId), any(LocalDateTime.class)))
+        when(offerRepository.findAll(ArgumentMatchers.<Specification<Offer>>any()))
                 .thenReturn(testOffers);
 
         // When
@@ -211,7 +250,7 @@ class OfferServiceTest {
     void shouldSortOffersByNewestFirst() {
         // Given
         String storeId = "store1";
-        when(offerRepository.findActiveOffersByStoreId(eq(storeId), any(LocalDateTime.class)))
+        when(offerRepository.findAll(ArgumentMatchers.<Specification<Offer>>any()))
                 .thenReturn(testOffers);
 
         // When
@@ -229,7 +268,7 @@ class OfferServiceTest {
     void shouldReturnUnsortedListForUnknownSortCriteria() {
         // Given
         String storeId = "store1";
-        when(offerRepository.findActiveOffersByStoreId(eq(storeId), any(LocalDateTime.class)))
+        when(offerRepository.findAll(ArgumentMatchers.<Specification<Offer>>any()))
                 .thenReturn(testOffers);
 
         // When
@@ -356,7 +395,7 @@ class OfferServiceTest {
         // Given
         String storeId = "store1";
         String searchTerm = "  milk  ";
-        when(offerRepository.searchActiveOffers(eq(storeId), eq("milk"), any(LocalDateTime.class)))
+        when(offerRepository.findAll(ArgumentMatchers.<Specification<Offer>>any()))
                 .thenReturn(List.of(offer2));
 
         // When
@@ -364,7 +403,7 @@ class OfferServiceTest {
 
         // Then
         assertThat(result).hasSize(1);
-        verify(offerRepository).searchActiveOffers(eq(storeId), eq("milk"), any(LocalDateTime.class));
+        verify(sharedOfferResolver).findActiveOffers(eq(storeId), eq(OfferFilter.of(null, "milk")), any(LocalDateTime.class));
     }
 
     @Test
@@ -373,7 +412,7 @@ class OfferServiceTest {
         // Given
         String storeId = "store1";
         String category = "  Produce  ";
-        when(offerRepository.findActiveOffersByStoreIdAndCategory(eq(storeId), eq("Produce"), any(LocalDateTime.class)))
+        when(offerRepository.findAll(ArgumentMatchers.<Specification<Offer>>any()))
                 .thenReturn(List.of(offer1));
 
         // When
@@ -381,6 +420,207 @@ class OfferServiceTest {
 
         // Then
         assertThat(result).hasSize(1);
-        verify(offerRepository).findActiveOffersByStoreIdAndCategory(eq(storeId), eq("Produce"), any(LocalDateTime.class));
+        verify(sharedOfferResolver).findActiveOffers(eq(storeId), eq(OfferFilter.of("Produce", null)), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should push every filter into a single query")
+    void shouldApplyCombinedFiltersInSingleQuery() {
+        // Given
+        OfferFilter filter = new OfferFilter(" Dairy ", null, 1.0, 5.0, Offer.DiscountType.FIXED,
+                false, false, 0.5);
+        when(offerRepository.findAll(ArgumentMatchers.<Specification<Offer>>any())).thenReturn(List.of(offer2));
+
+        // When
+        List<Offer> result = offerService.getActiveOffers("store1", filter, null);
+
+        // Then
+        assertThat(result).containsExactly(offer2);
+        verify(offerRepository).findAll(ArgumentMatchers.<Specification<Offer>>any());
+        verify(sharedOfferResolver).findActiveOffers(eq("store1"),
+                eq(new OfferFilter("Dairy", null, 1.0, 5.0, Offer.DiscountType.FIXED, false, false, 0.5)),
+                any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should count facets from a single fetch without the category filter")
+    void shouldCountFacetsInSinglePass() {
+        // Given
+        offer1.setFinalPrice(0.99);
+        offer2.setFinalPrice(3.49);
+        offer2.setRequiresLoyaltyCard(true);
+        offer3.setFinalPrice(12.99);
+        when(offerRepository.findAll(ArgumentMatchers.<Specification<Offer>>any())).thenReturn(testOffers);
+
+        // When
+        FacetedOffers result = offerService.getFacetedOffers("store1", OfferFilter.of("Dairy", null), null);
+
+        // Then
+        assertThat(result.offers()).containsExactly(offer2);
+        assertThat(result.facets().categories())
+                .containsExactly(entry("Dairy", 1L), entry("Meat", 1L), entry("Produce", 1L));
+        assertThat(result.facets().discountTypes()).containsEntry(Offer.DiscountType.FIXED, 1L)
+                .containsEntry(Offer.DiscountType.PERCENTAGE, 0L);
+        assertThat(result.facets().loyaltyCard()).containsEntry(true, 1L).containsEntry(false, 0L);
+        assertThat(result.facets().priceRanges()).extracting(FacetedOffers.PriceRange::count)
+                .containsExactly(1L, 0L, 0L, 0L, 0L);
+        verify(offerRepository).findAll(ArgumentMatchers.<Specification<Offer>>any());
+        verify(sharedOfferResolver).findActiveOffers(eq("store1"), eq(OfferFilter.NONE), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should not query for IDs known not to exist")
+    void shouldSkipLookupsOfUnknownIds() {
+        // Given
+        when(knownIds.isUnknownOffer("missing")).thenReturn(true);
+        when(knownIds.isUnknownStore("missing")).thenReturn(true);
+
+        // When
+        Optional<Offer> offer = offerService.getOfferById("missing");
+        List<Offer> offers = offerService.getActiveOffers("missing", null, null, null);
+
+        // Then
+        assertThat(offer).isEmpty();
+        assertThat(offers).isEmpty();
+        verifyNoInteractions(offerRepository, sharedOfferResolver);
+    }
+
+    @Test
+    @DisplayName("Should include shared offers assigned to the store")
+    void shouldIncludeSharedOffers() {
+        // Given
+        Offer shared = new Offer();
+        shared.setId("assignment1");
+        shared.setStoreId("store1");
+        shared.setCategory("Dairy");
+        when(offerRepository.findAll(ArgumentMatchers.<Specification<Offer>>any()))
+                .thenReturn(List.of(offer2));
+        when(sharedOfferResolver.findActiveOffers(eq("store1"), eq(OfferFilter.of("Dairy", null)), any(LocalDateTime.class)))
+                .thenReturn(List.of(shared));
+
+        // When
+        List<Offer> result = offerService.getActiveOffers("store1", "Dairy", null, null);
+
+        // Then
+        assertThat(result).containsExactly(offer2, shared);
+    }
+
+    @Test
+    @DisplayName("Should resolve shared offer by assignment ID")
+    void shouldResolveSharedOfferById() {
+        // Given
+        Offer shared = new Offer();
+        shared.setId("assignment1");
+        when(offerRepository.findById("assignment1")).thenReturn(Optional.empty());
+        when(sharedOfferResolver.findOffer("assignment1")).thenReturn(Optional.of(shared));
+
+        // When
+        Optional<Offer> result = offerService.getOfferById("assignment1");
+
+        // Then
+        assertThat(result).containsSame(shared);
+    }
+
+    @Test
+    @DisplayName("Should share one query between requests in the same quantum")
+    void shouldShareResultsWithinQuantum() {
+        // Given
+        when(offerRepository.findAll(ArgumentMatchers.<Specification<Offer>>any())).thenReturn(testOffers);
+
+        // When
+        List<Offer> first = offerService.getActiveOffers("store1", null, null, null);
+        clock.advance(Duration.ofMillis(900));
+        List<Offer> second = offerService.getActiveOffers("store1", null, null, null);
+        clock.advance(Duration.ofMillis(100));
+        List<Offer> nextQuantum = offerService.getActiveOffers("store1", null, null, null);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(nextQuantum).containsExactlyElementsOf(testOffers);
+        verify(offerRepository, times(2)).findAll(ArgumentMatchers.<Specification<Offer>>any());
+    }
+
+    @Test
+    @DisplayName("Should drop offers expiring within the quantum from a shared result")
+    void shouldDropOffersExpiringWithinQuantum() {
+        // Given
+        offer2.setValidUntil(evaluationClock.now().plus(Duration.ofMillis(300)));
+        when(offerRepository.findAll(ArgumentMatchers.<Specification<Offer>>any())).thenReturn(testOffers);
+
+        // When
+        List<Offer> beforeExpiry = offerService.getActiveOffers("store1", null, null, null);
+        clock.advance(Duration.ofMillis(500));
+        List<Offer> afterExpiry = offerService.getActiveOffers("store1", null, null, null);
+
+        // Then
+        assertThat(beforeExpiry).containsExactly(offer1, offer2, offer3);
+        assertThat(afterExpiry).containsExactly(offer1, offer3);
+        verify(offerRepository).findAll(ArgumentMatchers.<Specification<Offer>>any());
+    }
+
+    @Test
+    @DisplayName("Should recompute a shared result after the store's offers change")
+    void shouldRecomputeAfterOfferChange() {
+        // Given
+        when(offerRepository.findAll(ArgumentMatchers.<Specification<Offer>>any()))
+                .thenReturn(testOffers)
+                .thenReturn(List.of(offer1));
+
+        // When
+        offerService.getActiveOffers("store1", null, null, null);
+        offerService.onOfferChanged(new OfferChangedEvent("store1", "offer2"));
+        List<Offer> result = offerService.getActiveOffers("store1", null, null, null);
+
+        // Then
+        assertThat(result).containsExactly(offer1);
+        verify(offerRepository, times(2)).findAll(ArgumentMatchers.<Specification<Offer>>any());
+    }
+
+    @Test
+    @DisplayName("Should gather category offers from every shard and store offers from the store's shard")
+    void shouldRouteAdminQueriesThroughShards() {
+        // Given
+        when(offerRepository.findByCategory("Dairy")).thenReturn(List.of(offer2));
+        when(offerRepository.findByStoreId("store1")).thenReturn(testOffers);
+
+        // When
+        List<Offer> byCategory = offerService.getOffersByCategory("Dairy");
+        List<Offer> byStore = offerService.getAllOffersForStore("store1");
+
+        // Then
+        assertThat(byCategory).containsExactly(offer2);
+        assertThat(byStore).containsExactlyElementsOf(testOffers);
+        verify(offerShards).findInEveryShard(any());
+        verify(offerShards).readFromStore(eq("store1"), any());
+    }
+
+    /**
+     * Clock that stands still until advanced
+     */
+    private static final class SteppingClock extends Clock {
+        private Instant instant;
+
+        private SteppingClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.systemDefault();
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
     }
 }
@@ -0,0 +1,141 @@
+package com.retail.offersviewer.service;
+
+import com.retail.offersviewer.dto.OfferSuggestion;
+import com.retail.offersviewer.entity.Offer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OfferSuggestService Tests")
+class OfferSuggestServiceTest {
+
+    @Mock
+    private ActiveOfferCatalog catalog;
+
+    @InjectMocks
+    private OfferSuggestService offerSuggestService;
+
+    private ActiveOfferCatalog.StoreOffers snapshot;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+
+        Offer milk = new Offer();
+        milk.setId("offer1");
+        milk.setStoreId("store1");
+        milk.setTitle("Whole Milk Gallon");
+        milk.setCategory("Dairy");
+        milk.setEligibleProducts(List.of("Whole Milk 1 Gallon"));
+
+        Offer chocolateMilk = new Offer();
+        chocolateMilk.setId("offer2");
+        chocolateMilk.setStoreId("store1");
+        chocolateMilk.setTitle("Chocolate Milk");
+        chocolateMilk.setCategory("Dairy");
+        chocolateMilk.setEligibleProducts(List.of());
+
+        Offer bananas = new Offer();
+        bananas.setId("offer3");
+        bananas.setStoreId("store1");
+        bananas.setTitle("Fresh Organic Bananas");
+        bananas.setCategory("Produce");
+        bananas.setEligibleProducts(List.of("Organic Bananas"));
+
+        snapshot = new ActiveOfferCatalog.StoreOffers("store1",
+                List.of(milk, chocolateMilk, bananas), now.plusDays(1));
+    }
+
+    @Test
+    @DisplayName("Should complete prefixes of any word in the title")
+    void shouldCompletePrefixesOfAnyWord() {
+        // Given
+        when(catalog.getStoreOffers("store1")).thenReturn(snapshot);
+
+        // When
+        List<OfferSuggestion> result = offerSuggestService.suggest("store1", "mil", 10);
+
+        // Then
+        assertThat(result).extracting(OfferSuggestion::text)
+                .containsExactlyInAnyOrder("Whole Milk Gallon", "Chocolate Milk", "Whole Milk 1 Gallon");
+    }
+
+    @Test
+    @DisplayName("Should rank categories shared by several offers above single titles")
+    void shouldRankByPopularity() {
+        // Given
+        when(catalog.getStoreOffers("store1")).thenReturn(snapshot);
+
+        // When
+        List<OfferSuggestion> result = offerSuggestService.suggest("store1", "d", 10);
+
+        // Then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0)).isEqualTo(new OfferSuggestion("Dairy", OfferSuggestion.Type.CATEGORY));
+    }
+
+    @Test
+    @DisplayName("Should ignore case and punctuation in the query")
+    void shouldNormalizeQuery() {
+        // Given
+        when(catalog.getStoreOffers("store1")).thenReturn(snapshot);
+
+        // When
+        List<OfferSuggestion> result = offerSuggestService.suggest("store1", "  ORGANIC-ban", 10);
+
+        // Then
+        assertThat(result).extracting(OfferSuggestion::text)
+                .containsExactly("Fresh Organic Bananas", "Organic Bananas");
+    }
+
+    @Test
+    @DisplayName("Should respect the requested limit")
+    void shouldRespectLimit() {
+        // Given
+        when(catalog.getStoreOffers("store1")).thenReturn(snapshot);
+
+        // When
+        List<OfferSuggestion> result = offerSuggestService.suggest("store1", "mil", 1);
+
+        // Then
+        assertThat(result).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should return empty list for blank query without loading the catalog")
+    void shouldReturnEmptyListForBlankQuery() {
+        // When
+        List<OfferSuggestion> result = offerSuggestService.suggest("store1", "  ", 10);
+
+        // Then
+        assertThat(result).isEmpty();
+        verify(catalog, times(0)).getStoreOffers("store1");
+    }
+
+    @Test
+    @DisplayName("Should reuse the index while the catalog snapshot is unchanged")
+    void shouldReuseIndexForSameSnapshot() {
+        // Given
+        when(catalog.getStoreOffers("store1")).thenReturn(snapshot);
+
+        // When
+        List<OfferSuggestion> first = offerSuggestService.suggest("store1", "milk", 10);
+        List<OfferSuggestion> second = offerSuggestService.suggest("store1", "milk", 10);
+
+        // Then
+        assertThat(second).isSameAs(first);
+    }
+}
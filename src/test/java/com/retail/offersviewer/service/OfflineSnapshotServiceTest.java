@@ -0,0 +1,156 @@
+package com.retail.offersviewer.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.retail.offersviewer.config.EvaluationProperties;
+import com.retail.offersviewer.config.OfflineSnapshotProperties;
+import com.retail.offersviewer.dto.OfflineSnapshot;
+import com.retail.offersviewer.entity.Offer;
+import com.retail.offersviewer.event.OfferChangedEvent;
+import com.retail.offersviewer.exception.ResourceNotFoundException;
+import com.retail.offersviewer.repository.OfferRepository;
+import com.retail.offersviewer.sharding.OfferShards;
+import com.retail.offersviewer.sharding.ShardingProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OfflineSnapshotService Tests")
+class OfflineSnapshotServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 15, 12, 0);
+    private static final LocalDateTime START_OF_DAY = NOW.toLocalDate().atStartOfDay();
+
+    @Mock
+    private OfferRepository offerRepository;
+
+    @Mock
+    private SharedOfferResolver sharedOfferResolver;
+
+    @Mock
+    private StoreService storeService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    @DisplayName("Should write the store's unexpired offers to a compressed file named by its version")
+    void shouldWriteCompressedCatalog() throws Exception {
+        // Given
+        when(storeService.storeExists("store1")).thenReturn(true);
+        when(offerRepository.findActiveOffersByStoreId("store1", START_OF_DAY))
+                .thenReturn(new ArrayList<>(List.of(offer("b"), offer("a"))));
+        when(sharedOfferResolver.findActiveOffers("store1", START_OF_DAY)).thenReturn(List.of(offer("c")));
+
+        // When
+        OfflineSnapshot snapshot = service().getSnapshot("store1");
+
+        // Then
+        assertThat(snapshot.file().getFileName().toString()).isEqualTo(snapshot.fileName())
+                .isEqualTo("store1-" + snapshot.version() + ".json.gz");
+        assertThat(snapshot.length()).isEqualTo(Files.size(snapshot.file()));
+        assertThat(snapshot.staleAfter()).isBefore(START_OF_DAY.plusDays(1));
+        JsonNode catalog = read(snapshot);
+        assertThat(catalog.get("storeId").asText()).isEqualTo("store1");
+        assertThat(catalog.get("offers")).extracting(offer -> offer.get("id").asText())
+                .containsExactly("a", "b", "c");
+    }
+
+    @Test
+    @DisplayName("Should reuse the snapshot until an offer of the store changes, keeping the version if nothing did")
+    void shouldRebuildAfterOfferChange() {
+        // Given
+        when(storeService.storeExists("store1")).thenReturn(true);
+        when(offerRepository.findActiveOffersByStoreId("store1", START_OF_DAY)).thenReturn(
+                new ArrayList<>(List.of(offer("a"))),
+                new ArrayList<>(List.of(offer("a"))),
+                new ArrayList<>(List.of(offer("a"), offer("b"))));
+        OfflineSnapshotService service = service();
+
+        // When
+        OfflineSnapshot first = service.getSnapshot("store1");
+        OfflineSnapshot reused = service.getSnapshot("store1");
+        service.onOfferChanged(new OfferChangedEvent("store2", "x"));
+        OfflineSnapshot afterOtherStore = service.getSnapshot("store1");
+        service.onOfferChanged(new OfferChangedEvent("store1", "a"));
+        OfflineSnapshot unchanged = service.getSnapshot("store1");
+        service.onOfferChanged(OfferChangedEvent.allStores());
+        OfflineSnapshot changed = service.getSnapshot("store1");
+
+        // Then
+        assertThat(reused).isSameAs(first);
+        assertThat(afterOtherStore).isSameAs(first);
+        assertThat(unchanged.version()).isEqualTo(first.version());
+        assertThat(changed.version()).isNotEqualTo(first.version());
+        assertThat(first.file()).exists();
+        assertThat(changed.file()).exists();
+        verify(offerRepository, times(3)).findActiveOffersByStoreId("store1", START_OF_DAY);
+    }
+
+    @Test
+    @DisplayName("Should throw not found for an unknown store")
+    void shouldRejectUnknownStore() throws Exception {
+        // Given
+        when(storeService.storeExists("missing")).thenReturn(false);
+
+        // When / Then
+        assertThatThrownBy(() -> service().getSnapshot("missing")).isInstanceOf(ResourceNotFoundException.class);
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private OfflineSnapshotService service() {
+        OfferShards offerShards =
+                new OfferShards(new ShardingProperties(false, List.of(), Duration.ofSeconds(10)), null);
+        EvaluationClock evaluationClock =
+                new EvaluationClock(Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC),
+                        new EvaluationProperties(Duration.ofSeconds(1)));
+        return new OfflineSnapshotService(offerRepository, offerShards, sharedOfferResolver, storeService,
+                evaluationClock, objectMapper, new OfflineSnapshotProperties(directory, Duration.ofSeconds(2)),
+                transactionManager);
+    }
+
+    private JsonNode read(OfflineSnapshot snapshot) throws Exception {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(snapshot.file()))) {
+            return objectMapper.readTree(in);
+        }
+    }
+
+    private static Offer offer(String id) {
+        Offer offer = new Offer();
+        offer.setId(id);
+        offer.setStoreId("store1");
+        offer.setTitle("Offer " + id);
+        offer.setValidFrom(NOW.minusDays(1));
+        offer.setValidUntil(NOW.plusDays(1));
+        return offer;
+    }
+}
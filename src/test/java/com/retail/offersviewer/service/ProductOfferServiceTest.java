@@ -0,0 +1,107 @@
+package com.retail.offersviewer.service;
+
+import com.retail.offersviewer.entity.Offer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductOfferService Tests")
+class ProductOfferServiceTest {
+
+    @Mock
+    private ActiveOfferCatalog catalog;
+
+    @InjectMocks
+    private ProductOfferService productOfferService;
+
+    private Offer detergent;
+    private Offer tide;
+
+    @BeforeEach
+    void setUp() {
+        detergent = new Offer();
+        detergent.setId("offer1");
+        detergent.setStoreId("store1");
+        detergent.setTitle("Laundry Detergent Bundle");
+        detergent.setEligibleProducts(List.of("Tide 100oz", "Gain 100oz"));
+        detergent.setExclusions(List.of("Travel sizes"));
+
+        tide = new Offer();
+        tide.setId("offer2");
+        tide.setStoreId("store1");
+        tide.setTitle("Tide Loyalty Deal");
+        tide.setEligibleProducts(List.of("TIDE 100OZ"));
+        tide.setExclusions(List.of());
+
+        when(catalog.getStoreOffers("store1")).thenReturn(new ActiveOfferCatalog.StoreOffers(
+                "store1", List.of(detergent, tide), LocalDateTime.now().plusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Should find every offer for a normalized product name")
+    void shouldFindOffersForProduct() {
+        // When
+        List<Offer> result = productOfferService.getOffersForProduct("store1", "tide 100oz");
+
+        // Then
+        assertThat(result).containsExactly(detergent, tide);
+    }
+
+    @Test
+    @DisplayName("Should match products containing an eligible product name")
+    void shouldMatchContainedProductName() {
+        // When
+        List<Offer> result = productOfferService.getOffersForProduct("store1", "Gain 100oz Original Scent");
+
+        // Then
+        assertThat(result).containsExactly(detergent);
+    }
+
+    @Test
+    @DisplayName("Should drop offers whose exclusions match the product")
+    void shouldApplyExclusions() {
+        // When
+        List<Offer> result = productOfferService.getOffersForProduct("store1", "Tide 100oz Travel Size");
+
+        // Then
+        assertThat(result).containsExactly(tide);
+    }
+
+    @Test
+    @DisplayName("Should return empty list for unknown product")
+    void shouldReturnEmptyListForUnknownProduct() {
+        // When
+        List<Offer> result = productOfferService.getOffersForProduct("store1", "Paper Towels");
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should answer a batch of products from one index")
+    void shouldAnswerBatch() {
+        // When
+        Map<String, List<Offer>> result = productOfferService.getOffersForProducts("store1",
+                List.of("Gain 100oz", "Paper Towels"));
+
+        // Then
+        assertThat(result).containsOnlyKeys("Gain 100oz", "Paper Towels");
+        assertThat(result.get("Gain 100oz")).containsExactly(detergent);
+        assertThat(result.get("Paper Towels")).isEmpty();
+        verify(catalog, times(1)).getStoreOffers("store1");
+    }
+}
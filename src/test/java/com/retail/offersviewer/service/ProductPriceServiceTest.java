@@ -0,0 +1,172 @@
+package com.retail.offersviewer.service;
+
+import com.retail.offersviewer.config.EvaluationProperties;
+import com.retail.offersviewer.dto.NearbyPrice;
+import com.retail.offersviewer.event.OfferChangedEvent;
+import com.retail.offersviewer.sharding.OfferShards;
+import com.retail.offersviewer.sharding.ShardingProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductPriceService Tests")
+class ProductPriceServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 15, 12, 0);
+
+    // Denver, Aurora (about 15 km east) and Boulder (about 40 km north-west)
+    private static final double DENVER_LATITUDE = 39.7392;
+    private static final double DENVER_LONGITUDE = -104.9903;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final OfferShards offerShards =
+            new OfferShards(new ShardingProperties(false, List.of(), Duration.ofSeconds(10)), null);
+
+    private final EvaluationClock evaluationClock =
+            new EvaluationClock(Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC),
+                    new EvaluationProperties(Duration.ofSeconds(1)));
+
+    @Test
+    @DisplayName("Should rank nearby stores by their cheapest active offer on the product")
+    void shouldRankNearbyStoresByPrice() throws Exception {
+        // Given
+        givenStores();
+        givenOffers(List.of(
+                offer("denver", "o1", "Whole Milk 1 gal", 3.49, NOW.minusDays(1), NOW.plusDays(3)),
+                offer("denver", "o2", "whole milk 1 gal", 2.99, NOW.minusDays(1), NOW.plusDays(1)),
+                offer("aurora", "o3", "Whole Milk 1 Gal", 3.19, NOW.minusDays(2), NOW.plusDays(2)),
+                offer("boulder", "o4", "Whole Milk 1 Gal", 1.99, NOW.minusDays(1), NOW.plusDays(1)),
+                offer("aurora", "o5", "Whole Milk 1 Gal", 0.99, NOW.plusDays(1), NOW.plusDays(4)),
+                offer("denver", "o6", "Bread", 1.00, NOW.minusDays(1), NOW.plusDays(1))),
+                List.of());
+
+        // When
+        List<NearbyPrice> prices = service().getCheapestNearby("WHOLE MILK 1 GAL", DENVER_LATITUDE,
+                DENVER_LONGITUDE, 25, 10);
+
+        // Then
+        assertThat(prices).extracting(NearbyPrice::offerId).containsExactly("o2", "o3");
+        assertThat(prices.get(0).storeName()).isEqualTo("Denver Downtown");
+        assertThat(prices.get(0).distanceKm()).isLessThan(1);
+        assertThat(prices.get(1).distanceKm()).isBetween(10.0, 20.0);
+    }
+
+    @Test
+    @DisplayName("Should include shared offers and break price ties by distance")
+    void shouldIncludeSharedOffers() throws Exception {
+        // Given
+        givenStores();
+        givenOffers(List.of(offer("aurora", "o1", "Eggs", 2.50, NOW.minusDays(1), NOW.plusDays(1))),
+                List.of(offer("denver", "a1", "Eggs", 2.50, NOW.minusDays(1), NOW.plusDays(1)),
+                        offer("boulder", "a2", "Eggs", 2.50, NOW.minusDays(1), NOW.plusDays(1))));
+
+        // When
+        List<NearbyPrice> prices = service().getCheapestNearby("eggs", DENVER_LATITUDE, DENVER_LONGITUDE, 50, 2);
+
+        // Then
+        assertThat(prices).extracting(NearbyPrice::storeId).containsExactly("denver", "aurora");
+    }
+
+    @Test
+    @DisplayName("Should reuse the index until an offer changes")
+    void shouldRebuildAfterOfferChange() throws Exception {
+        // Given
+        givenStores();
+        givenOffers(List.of(offer("denver", "o1", "Eggs", 2.50, NOW.minusDays(1), NOW.plusDays(1))), List.of());
+        ProductPriceService service = service();
+
+        // When
+        service.getCheapestNearby("eggs", DENVER_LATITUDE, DENVER_LONGITUDE, 10, 5);
+        service.getCheapestNearby("milk", DENVER_LATITUDE, DENVER_LONGITUDE, 10, 5);
+        service.onOfferChanged(new OfferChangedEvent("denver", "o1"));
+        service.getCheapestNearby("eggs", DENVER_LATITUDE, DENVER_LONGITUDE, 10, 5);
+
+        // Then
+        verify(jdbcTemplate, times(2)).query(anyString(), any(RowCallbackHandler.class));
+    }
+
+    private ProductPriceService service() {
+        return new ProductPriceService(jdbcTemplate, offerShards, evaluationClock);
+    }
+
+    private void givenStores() throws Exception {
+        List<ResultSet> stores = List.of(
+                store("denver", "Denver Downtown", DENVER_LATITUDE, DENVER_LONGITUDE),
+                store("aurora", "Aurora", 39.7294, -104.8319),
+                store("boulder", "Boulder", 40.0150, -105.2705),
+                store("online", "Online", null, null));
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (ResultSet rs : stores) {
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenOffers(List<ResultSet> offers, List<ResultSet> sharedOffers) {
+        doAnswer(invocation -> map(invocation.getArgument(1), offers))
+                .when(jdbcTemplate).query(contains("FROM offers o"), any(RowMapper.class), any(Object[].class));
+        doAnswer(invocation -> map(invocation.getArgument(1), sharedOffers))
+                .when(jdbcTemplate).query(contains("FROM offer_assignments a"), any(RowMapper.class),
+                        any(Object[].class));
+    }
+
+    private static List<Object> map(RowMapper<?> mapper, List<ResultSet> rows) throws Exception {
+        List<Object> mapped = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            mapped.add(mapper.mapRow(rows.get(i), i));
+        }
+        return mapped;
+    }
+
+    private static ResultSet store(String id, String name, Double latitude, Double longitude) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString(1)).thenReturn(id);
+        when(rs.getString(2)).thenReturn(name);
+        when(rs.getObject(3, Double.class)).thenReturn(latitude);
+        when(rs.getObject(4, Double.class)).thenReturn(longitude);
+        return rs;
+    }
+
+    private static ResultSet offer(String storeId, String offerId, String product, double finalPrice,
+                                   LocalDateTime validFrom, LocalDateTime validUntil) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString(1)).thenReturn(storeId);
+        when(rs.getString(2)).thenReturn(offerId);
+        when(rs.getString(3)).thenReturn(product);
+        when(rs.getDouble(4)).thenReturn(finalPrice);
+        when(rs.getTimestamp(5)).thenReturn(Timestamp.valueOf(validFrom));
+        when(rs.getTimestamp(6)).thenReturn(Timestamp.valueOf(validUntil));
+        return rs;
+    }
+}
@@ -0,0 +1,236 @@
+package com.retail.offersviewer.service;
+
+import com.retail.offersviewer.dto.OfferFilter;
+import com.retail.offersviewer.entity.Offer;
+import com.retail.offersviewer.entity.OfferAssignment;
+import com.retail.offersviewer.entity.OfferDefinition;
+import com.retail.offersviewer.event.OfferDefinitionChangedEvent;
+import com.retail.offersviewer.repository.OfferAssignmentRepository;
+import com.retail.offersviewer.repository.OfferDefinitionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SharedOfferResolver Tests")
+class SharedOfferResolverTest {
+
+    @Mock
+    private OfferAssignmentRepository assignmentRepository;
+
+    @Mock
+    private OfferDefinitionRepository definitionRepository;
+
+    @Mock
+    private CategoryDictionary categoryDictionary;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private SharedOfferResolver sharedOfferResolver;
+
+    private LocalDateTime now;
+    private OfferDefinition definition;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now();
+
+        definition = new OfferDefinition();
+        definition.setId("def1");
+        definition.setTitle("National Milk Deal");
+        definition.setDescription("Whole milk for less");
+        definition.setCategory("Dairy");
+        definition.setDiscountType(Offer.DiscountType.FIXED);
+        definition.setDiscountValue(1.0);
+        definition.setOriginalPrice(4.99);
+        definition.setFinalPrice(3.99);
+        definition.setValidFrom(now.minusDays(1));
+        definition.setValidUntil(now.plusDays(7));
+        definition.setTerms(new ArrayList<>(List.of("Limit 2 per customer")));
+        definition.setEligibleProducts(new ArrayList<>(List.of("Whole Milk")));
+        definition.setExclusions(new ArrayList<>());
+        definition.setCreatedAt(now.minusDays(2));
+    }
+
+    @Test
+    @DisplayName("Should materialize assignments with store overrides")
+    void shouldMaterializeAssignmentsWithOverrides() {
+        // Given
+        OfferAssignment assignment = assignment("a1", "store1", 3.49);
+        when(assignmentRepository.findActiveByStoreId(eq("store1"), any(LocalDateTime.class)))
+                .thenReturn(List.of(assignment));
+        when(definitionRepository.findAllById(Set.of("def1"))).thenReturn(List.of(definition));
+
+        // When
+        List<Offer> result = sharedOfferResolver.findActiveOffers("store1", now);
+
+        // Then
+        assertThat(result).hasSize(1);
+        Offer offer = result.get(0);
+        assertThat(offer.getId()).isEqualTo("a1");
+        assertThat(offer.getStoreId()).isEqualTo("store1");
+        assertThat(offer.getTitle()).isEqualTo("National Milk Deal");
+        assertThat(offer.getOriginalPrice()).isEqualTo(4.99);
+        assertThat(offer.getFinalPrice()).isEqualTo(3.49);
+        assertThat(offer.getValidUntil()).isEqualTo(assignment.getValidUntil());
+        assertThat(offer.getEligibleProducts()).containsExactly("Whole Milk");
+    }
+
+    @Test
+    @DisplayName("Should apply the definition's discount to an overridden original price")
+    void shouldRecomputeFinalPriceFromOverriddenOriginalPrice() {
+        // Given
+        OfferAssignment assignment = assignment("a1", "store1", null);
+        assignment.setOriginalPrice(5.49);
+        when(assignmentRepository.findActiveByStoreId(eq("store1"), any(LocalDateTime.class)))
+                .thenReturn(List.of(assignment));
+        when(definitionRepository.findAllById(Set.of("def1"))).thenReturn(List.of(definition));
+
+        // When
+        Offer offer = sharedOfferResolver.findActiveOffers("store1", now).get(0);
+
+        // Then
+        assertThat(offer.getOriginalPrice()).isEqualTo(5.49);
+        assertThat(offer.getFinalPrice()).isEqualTo(4.49);
+    }
+
+    @Test
+    @DisplayName("Should load each definition once and share it across stores")
+    void shouldShareCachedDefinitionAcrossStores() {
+        // Given
+        when(assignmentRepository.findActiveByStoreId(eq("store1"), any(LocalDateTime.class)))
+                .thenReturn(List.of(assignment("a1", "store1", null)));
+        when(assignmentRepository.findActiveByStoreId(eq("store2"), any(LocalDateTime.class)))
+                .thenReturn(List.of(assignment("a2", "store2", null)));
+        when(definitionRepository.findAllById(Set.of("def1"))).thenReturn(List.of(definition));
+
+        // When
+        Offer first = sharedOfferResolver.findActiveOffers("store1", now).get(0);
+        Offer second = sharedOfferResolver.findActiveOffers("store2", now).get(0);
+
+        // Then
+        verify(definitionRepository, times(1)).findAllById(Set.of("def1"));
+        assertThat(second.getTerms()).isSameAs(first.getTerms());
+        assertThat(second.getEligibleProducts()).isSameAs(first.getEligibleProducts());
+        assertThat(sharedOfferResolver.cachedDefinitions()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reload a definition after it changes")
+    void shouldReloadDefinitionAfterChange() {
+        // Given
+        when(assignmentRepository.findActiveByStoreId(eq("store1"), any(LocalDateTime.class)))
+                .thenReturn(List.of(assignment("a1", "store1", null)));
+        when(definitionRepository.findAllById(Set.of("def1"))).thenReturn(List.of(definition));
+        sharedOfferResolver.findActiveOffers("store1", now);
+
+        // When
+        sharedOfferResolver.onDefinitionChanged(new OfferDefinitionChangedEvent("def1"));
+        sharedOfferResolver.findActiveOffers("store1", now);
+
+        // Then
+        verify(definitionRepository, times(2)).findAllById(Set.of("def1"));
+    }
+
+    @Test
+    @DisplayName("Should filter shared offers by category and search term")
+    void shouldFilterByCategoryAndSearchTerm() {
+        // Given
+        when(assignmentRepository.findActiveByStoreId(eq("store1"), any(LocalDateTime.class)))
+                .thenReturn(List.of(assignment("a1", "store1", null)));
+        when(definitionRepository.findAllById(Set.of("def1"))).thenReturn(List.of(definition));
+
+        // When
+        List<Offer> matching = sharedOfferResolver.findActiveOffers("store1", OfferFilter.of("Dairy", "MILK"), now);
+        List<Offer> otherCategory = sharedOfferResolver.findActiveOffers("store1", OfferFilter.of("Produce", null), now);
+
+        // Then
+        assertThat(matching).extracting(Offer::getId).containsExactly("a1");
+        assertThat(otherCategory).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should match shared offers in subcategories of the filtered category")
+    void shouldMatchSubcategories() {
+        // Given
+        definition.setCategory("Milk");
+        when(assignmentRepository.findActiveByStoreId(eq("store1"), any(LocalDateTime.class)))
+                .thenReturn(List.of(assignment("a1", "store1", null)));
+        when(definitionRepository.findAllById(Set.of("def1"))).thenReturn(List.of(definition));
+        when(categoryDictionary.isDescendant("Milk", "Dairy")).thenReturn(true);
+        when(categoryDictionary.isDescendant("Milk", "Produce")).thenReturn(false);
+
+        // When
+        List<Offer> parent = sharedOfferResolver.findActiveOffers("store1", OfferFilter.of("Dairy", null), now);
+        List<Offer> unrelated = sharedOfferResolver.findActiveOffers("store1", OfferFilter.of("Produce", null), now);
+
+        // Then
+        assertThat(parent).extracting(Offer::getId).containsExactly("a1");
+        assertThat(unrelated).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should filter shared offers by price, discount type and requirements")
+    void shouldFilterByPriceTypeAndRequirements() {
+        // Given
+        when(assignmentRepository.findActiveByStoreId(eq("store1"), any(LocalDateTime.class)))
+                .thenReturn(List.of(assignment("a1", "store1", null)));
+        when(definitionRepository.findAllById(Set.of("def1"))).thenReturn(List.of(definition));
+
+        // When
+        List<Offer> matching = sharedOfferResolver.findActiveOffers("store1",
+                new OfferFilter(null, null, 3.0, 4.0, Offer.DiscountType.FIXED, false, false, 1.0), now);
+        List<Offer> tooExpensive = sharedOfferResolver.findActiveOffers("store1",
+                new OfferFilter(null, null, null, 3.5, null, null, null, null), now);
+        List<Offer> loyaltyOnly = sharedOfferResolver.findActiveOffers("store1",
+                new OfferFilter(null, null, null, null, null, true, null, null), now);
+        List<Offer> otherType = sharedOfferResolver.findActiveOffers("store1",
+                new OfferFilter(null, null, null, null, Offer.DiscountType.BOGO, null, null, null), now);
+
+        // Then
+        assertThat(matching).extracting(Offer::getId).containsExactly("a1");
+        assertThat(tooExpensive).isEmpty();
+        assertThat(loyaltyOnly).isEmpty();
+        assertThat(otherType).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should resolve a single assignment by ID")
+    void shouldResolveSingleAssignment() {
+        // Given
+        when(assignmentRepository.findById("a1")).thenReturn(Optional.of(assignment("a1", "store1", null)));
+        when(definitionRepository.findAllById(Set.of("def1"))).thenReturn(List.of(definition));
+
+        // When
+        Optional<Offer> result = sharedOfferResolver.findOffer("a1");
+
+        // Then
+        assertThat(result).isPresent();
+        assertThat(result.get().getFinalPrice()).isEqualTo(3.99);
+    }
+
+    private OfferAssignment assignment(String id, String storeId, Double finalPrice) {
+        return new OfferAssignment(id, storeId, "def1", null, finalPrice,
+                now.minusDays(1), now.plusDays(5), now.minusDays(1));
+    }
+}
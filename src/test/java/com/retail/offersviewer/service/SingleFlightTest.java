@@ -0,0 +1,122 @@
+package com.retail.offersviewer.service;
+
+import com.retail.offersviewer.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SingleFlight Tests")
+class SingleFlightTest {
+
+    @Test
+    @DisplayName("Should share one computation between concurrent identical calls")
+    void shouldShareConcurrentComputation() throws Exception {
+        // Given
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ofSeconds(5));
+        AtomicInteger invocations = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute("store1", () -> {
+            invocations.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "offers";
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> singleFlight.execute("store1", () -> {
+            invocations.incrementAndGet();
+            return "second computation";
+        }));
+        // Give the follower time to join the in-flight call
+        Thread.sleep(100);
+        release.countDown();
+
+        // Then
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("offers");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("offers");
+        assertThat(invocations.get()).isEqualTo(1);
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should propagate the computation's exception to waiting callers")
+    void shouldPropagateErrorToWaiters() throws Exception {
+        // Given
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute("store1", () -> {
+            started.countDown();
+            await(release);
+            throw new IllegalStateException("database down");
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(
+                () -> singleFlight.execute("store1", () -> "unused"));
+        // Give the follower time to join the in-flight call
+        Thread.sleep(100);
+        release.countDown();
+
+        // Then
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("database down");
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("database down");
+    }
+
+    @Test
+    @DisplayName("Should time out callers waiting on a slow computation")
+    void shouldTimeOutWaiters() throws Exception {
+        // Given
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute("store1", () -> {
+            started.countDown();
+            await(release);
+            return "offers";
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When / Then
+        assertThatThrownBy(() -> singleFlight.execute("store1", () -> "unused"))
+                .isInstanceOf(ServiceUnavailableException.class);
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("offers");
+    }
+
+    @Test
+    @DisplayName("Should run separate computations for different keys")
+    void shouldNotCoalesceDifferentKeys() {
+        // Given
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ofSeconds(5));
+
+        // When
+        String first = singleFlight.execute("store1", () -> "one");
+        String second = singleFlight.execute("store2", () -> "two");
+
+        // Then
+        assertThat(first).isEqualTo("one");
+        assertThat(second).isEqualTo("two");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.retail.offersviewer.service;
+
+import com.retail.offersviewer.config.StoreHomeProperties;
+import com.retail.offersviewer.dto.OfferFilter;
+import com.retail.offersviewer.dto.StoreHome;
+import com.retail.offersviewer.entity.Category;
+import com.retail.offersviewer.entity.Offer;
+import com.retail.offersviewer.entity.Store;
+import com.retail.offersviewer.exception.ResourceNotFoundException;
+import com.retail.offersviewer.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StoreHomeService Tests")
+class StoreHomeServiceTest {
+
+    private static final Store STORE = new Store("store1", "King Soopers Downtown",
+            new Store.Address("123 Main St", "Denver", "CO", "80202"), new Store.Coordinates(39.7392, -104.9903));
+
+    @Mock
+    private StoreService storeService;
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private OfferService offerService;
+
+    @Test
+    @DisplayName("Should assemble the store, category counts and first page of offers")
+    void shouldAssembleStoreHome() {
+        // Given
+        Category produce = new Category("cat1", "Produce", "🥬");
+        Category dairy = new Category("cat2", "Dairy", "🥛");
+        List<Offer> offers = IntStream.range(0, 5).mapToObj(StoreHomeServiceTest::offer).toList();
+        when(storeService.getStoreById("store1")).thenReturn(Optional.of(STORE));
+        when(categoryService.getAllCategories()).thenReturn(List.of(produce, dairy));
+        when(categoryService.countOffersByCategory("store1")).thenReturn(Map.of("Produce", 5L));
+        when(offerService.getActiveOffers("store1", OfferFilter.NONE, "discount")).thenReturn(offers);
+
+        // When
+        StoreHome home = service(Duration.ofSeconds(5), 3).getStoreHome("store1");
+
+        // Then
+        assertThat(home.store()).isSameAs(STORE);
+        assertThat(home.categories()).containsExactly(
+                new StoreHome.CategoryCount(produce, 5), new StoreHome.CategoryCount(dairy, 0));
+        assertThat(home.topOffers()).containsExactlyElementsOf(offers.subList(0, 3));
+    }
+
+    @Test
+    @DisplayName("Should throw not found for an unknown store")
+    void shouldRejectUnknownStore() {
+        // Given
+        when(storeService.getStoreById("missing")).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThatThrownBy(() -> service(Duration.ofSeconds(5), 3).getStoreHome("missing"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should cancel parts still running at the deadline")
+    void shouldCancelPartsAtDeadline() {
+        // Given
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(storeService.getStoreById("store1")).thenReturn(Optional.of(STORE));
+        when(categoryService.countOffersByCategory("store1")).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(Duration.ofSeconds(30));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return Map.of();
+        });
+
+        // When / Then
+        assertThatThrownBy(() -> service(Duration.ofMillis(100), 3).getStoreHome("store1"))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(interrupted.getCount()).isZero();
+    }
+
+    private StoreHomeService service(Duration timeout, int topOffers) {
+        return new StoreHomeService(storeService, categoryService, offerService,
+                new StoreHomeProperties(timeout, topOffers));
+    }
+
+    private static Offer offer(int index) {
+        Offer offer = new Offer();
+        offer.setId("offer" + index);
+        offer.setStoreId("store1");
+        offer.setTitle("Offer " + index);
+        return offer;
+    }
+}
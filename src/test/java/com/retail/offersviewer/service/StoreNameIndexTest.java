@@ -0,0 +1,76 @@
+package com.retail.offersviewer.service;
+
+import com.retail.offersviewer.dto.StoreSuggestion;
+import com.retail.offersviewer.entity.Store;
+import com.retail.offersviewer.event.StoreChangedEvent;
+import com.retail.offersviewer.repository.StoreRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StoreNameIndex Tests")
+class StoreNameIndexTest {
+
+    @Mock
+    private StoreRepository storeRepository;
+
+    @InjectMocks
+    private StoreNameIndex storeNameIndex;
+
+    @Test
+    @DisplayName("Should complete any word of store names and cities")
+    void shouldCompleteNameAndCityWords() {
+        // Given
+        when(storeRepository.findAll(any(Sort.class))).thenReturn(List.of(
+                store("s1", "King Soopers - Downtown", "Denver"),
+                store("s2", "King Soopers - Highlands", "Denver"),
+                store("s3", "Walmart Supercenter", "Aurora")));
+
+        // When
+        List<StoreSuggestion> highlands = storeNameIndex.complete("high", 10);
+        List<StoreSuggestion> king = storeNameIndex.complete("King S", 10);
+        List<StoreSuggestion> aurora = storeNameIndex.complete("aur", 10);
+
+        // Then
+        assertThat(highlands).extracting(StoreSuggestion::id).containsExactly("s2");
+        assertThat(king).extracting(StoreSuggestion::id).containsExactly("s1", "s2");
+        assertThat(aurora).extracting(StoreSuggestion::name).containsExactly("Walmart Supercenter");
+        verify(storeRepository, times(1)).findAll(any(Sort.class));
+    }
+
+    @Test
+    @DisplayName("Should rebuild after a store change")
+    void shouldRebuildAfterStoreChange() {
+        // Given
+        when(storeRepository.findAll(any(Sort.class)))
+                .thenReturn(List.of(store("s1", "King Soopers - Downtown", "Denver")))
+                .thenReturn(List.of(store("s1", "King Soopers - Downtown", "Denver"),
+                        store("s4", "Safeway - Capitol Hill", "Denver")));
+        assertThat(storeNameIndex.complete("safe", 10)).isEmpty();
+
+        // When
+        storeNameIndex.onStoreChanged(new StoreChangedEvent("s4"));
+        List<StoreSuggestion> result = storeNameIndex.complete("safe", 10);
+
+        // Then
+        assertThat(result).extracting(StoreSuggestion::id).containsExactly("s4");
+        verify(storeRepository, times(2)).findAll(any(Sort.class));
+    }
+
+    private static Store store(String id, String name, String city) {
+        return new Store(id, name, new Store.Address("1 Main St", city, "CO", "80202"), null);
+    }
+}
@@ -1,21 +1,32 @@
 package com.retail.offersviewer.service;
 
+import com.retail.offersviewer.dto.StoreDirectoryFilter;
+import com.retail.offersviewer.dto.StoreDirectoryPage;
+import com.retail.offersviewer.dto.StoreSuggestion;
 import com.retail.offersviewer.entity.Store;
 import com.retail.offersviewer.repository.StoreRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +36,12 @@ class StoreServiceTest {
     @Mock
     private StoreRepository storeRepository;
 
+    @Mock
+    private KnownIdIndex knownIds;
+
+    @Mock
+    private StoreNameIndex storeNameIndex;
+
     @InjectMocks
     private StoreService storeService;
 
@@ -185,4 +202,58 @@ class StoreServiceTest {
         // Then
         assertThat(result).isFalse();
     }
+
+    @Test
+    @DisplayName("Should not query for store IDs known not to exist")
+    void shouldSkipLookupOfUnknownStoreId() {
+        // Given
+        when(knownIds.isUnknownStore("missing")).thenReturn(true);
+
+        // When
+        Optional<Store> result = storeService.getStoreById("missing");
+        boolean exists = storeService.storeExists("missing");
+
+        // Then
+        assertThat(result).isEmpty();
+        assertThat(exists).isFalse();
+        verifyNoInteractions(storeRepository);
+    }
+
+    @Test
+    @DisplayName("Should return a directory page with totals")
+    void shouldReturnDirectoryPage() {
+        // Given
+        when(storeRepository.findAll(ArgumentMatchers.<Specification<Store>>any(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(testStore), PageRequest.of(0, 1), 2));
+
+        // When
+        StoreDirectoryPage result = storeService.getDirectory(
+                new StoreDirectoryFilter(null, " denver ", null, "co", null, "802"), 0, 1);
+
+        // Then
+        assertThat(result.stores()).containsExactly(testStore);
+        assertThat(result.totalStores()).isEqualTo(2);
+        assertThat(result.totalPages()).isEqualTo(2);
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(storeRepository).findAll(ArgumentMatchers.<Specification<Store>>any(), pageable.capture());
+        assertThat(pageable.getValue().getPageSize()).isEqualTo(1);
+        assertThat(pageable.getValue().getSort().getOrderFor("name")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should answer store suggestions from the name index")
+    void shouldSuggestStoresFromIndex() {
+        // Given
+        StoreSuggestion suggestion = new StoreSuggestion("store1", "King Soopers Downtown", "Denver", "CO");
+        when(storeNameIndex.complete("king", 5)).thenReturn(List.of(suggestion));
+
+        // When
+        List<StoreSuggestion> result = storeService.suggestStores("king", 5);
+        List<StoreSuggestion> blank = storeService.suggestStores("  ", 5);
+
+        // Then
+        assertThat(result).containsExactly(suggestion);
+        assertThat(blank).isEmpty();
+        verifyNoInteractions(storeRepository);
+    }
 }
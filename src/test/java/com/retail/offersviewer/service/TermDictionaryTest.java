@@ -0,0 +1,141 @@
+package com.retail.offersviewer.service;
+
+import com.retail.offersviewer.entity.UuidV7;
+import com.retail.offersviewer.sharding.OfferShards;
+import com.retail.offersviewer.sharding.ShardingProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TermDictionary Tests")
+class TermDictionaryTest {
+
+    private static final String LOAD = "SELECT id, term FROM term_dictionary";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private OfferShards offerShards = new OfferShards(new ShardingProperties(false, List.of(), Duration.ofSeconds(10)), null);
+
+    @InjectMocks
+    private TermDictionary termDictionary;
+
+    @Test
+    @DisplayName("Should resolve stored terms to a single shared instance")
+    void shouldShareTermInstances() {
+        // Given
+        when(jdbcTemplate.queryForList(LOAD)).thenReturn(List.of(
+                Map.<String, Object>of("id", 1, "term", "Limit 2 per customer"),
+                Map.<String, Object>of("id", 2, "term", "While supplies last")));
+
+        // When
+        String first = termDictionary.termOf(2);
+        String second = termDictionary.termOf(2);
+
+        // Then
+        assertThat(first).isEqualTo("While supplies last").isSameAs(second);
+        assertThat(termDictionary.idOf("Limit 2 per customer")).isEqualTo(1);
+        verify(jdbcTemplate, never()).update(any(PreparedStatementCreator.class), any(KeyHolder.class));
+    }
+
+    @Test
+    @DisplayName("Should insert a new term once and reuse its ID")
+    void shouldInsertNewTermOnce() {
+        // Given
+        when(jdbcTemplate.queryForList(LOAD)).thenReturn(List.of());
+        when(jdbcTemplate.queryForList(eq("SELECT id FROM term_dictionary WHERE term = ?"), eq(Integer.class),
+                eq("No rain checks"))).thenReturn(List.of());
+        doAnswer(invocation -> {
+            KeyHolder keyHolder = invocation.getArgument(1);
+            keyHolder.getKeyList().add(Map.<String, Object>of("id", 7));
+            return 1;
+        }).when(jdbcTemplate).update(any(PreparedStatementCreator.class), any(KeyHolder.class));
+
+        // When
+        int first = termDictionary.idOf("No rain checks");
+        int second = termDictionary.idOf("No rain checks");
+
+        // Then
+        assertThat(first).isEqualTo(7);
+        assertThat(second).isEqualTo(7);
+        assertThat(termDictionary.termOf(7)).isEqualTo("No rain checks");
+        verify(jdbcTemplate, times(1)).update(any(PreparedStatementCreator.class), any(KeyHolder.class));
+    }
+
+    @Test
+    @DisplayName("Should keep terms in the primary database when offers are written to other shards")
+    void shouldInsertTermsOnPrimaryFromEveryShard() {
+        // Given
+        OfferShards sharded = new OfferShards(new ShardingProperties(true,
+                List.of(new ShardingProperties.Shard("jdbc:hsqldb:mem:shard", "sa", ""),
+                        new ShardingProperties.Shard("jdbc:hsqldb:mem:shard", "sa", "")),
+                Duration.ofSeconds(10)), transactionManager);
+        TermDictionary dictionary = new TermDictionary(jdbcTemplate, sharded, transactionManager);
+        String firstStore = storeOnShard(sharded, 1);
+        String secondStore = storeOnShard(sharded, 2);
+        List<Integer> queriedShards = new ArrayList<>();
+        AtomicInteger nextId = new AtomicInteger(1);
+        when(jdbcTemplate.queryForList(LOAD)).thenAnswer(invocation -> {
+            queriedShards.add(sharded.currentShard());
+            return List.of();
+        });
+        when(jdbcTemplate.queryForList(eq("SELECT id FROM term_dictionary WHERE term = ?"), eq(Integer.class),
+                any(String.class))).thenAnswer(invocation -> {
+            queriedShards.add(sharded.currentShard());
+            return List.of();
+        });
+        doAnswer(invocation -> {
+            queriedShards.add(sharded.currentShard());
+            KeyHolder keyHolder = invocation.getArgument(1);
+            keyHolder.getKeyList().add(Map.<String, Object>of("id", nextId.getAndIncrement()));
+            return 1;
+        }).when(jdbcTemplate).update(any(PreparedStatementCreator.class), any(KeyHolder.class));
+
+        // When
+        int first = sharded.writeToStore(firstStore, () -> dictionary.idOf("Mix and match"));
+        int second = sharded.writeToStore(secondStore, () -> dictionary.idOf("No rain checks"));
+
+        // Then
+        assertThat(first).isNotEqualTo(second);
+        assertThat(dictionary.termOf(first)).isEqualTo("Mix and match");
+        assertThat(dictionary.termOf(second)).isEqualTo("No rain checks");
+        assertThat(queriedShards).hasSize(5).containsOnly(0);
+    }
+
+    private static String storeOnShard(OfferShards shards, int shard) {
+        while (true) {
+            String storeId = UuidV7.next().toString();
+            if (shards.shardOf(storeId) == shard) {
+                return storeId;
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.retail.offersviewer.sharding;
+
+import com.retail.offersviewer.entity.UuidV7;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("OfferShards Tests")
+class OfferShardsTest {
+
+    private static final ShardingProperties.Shard SHARD =
+            new ShardingProperties.Shard("jdbc:hsqldb:mem:shard", "sa", "");
+
+    @Test
+    @DisplayName("Should run store work in the caller's context with a single database")
+    void shouldRunDirectlyWithSingleDatabase() {
+        // Given
+        OfferShards shards = new OfferShards(new ShardingProperties(false, List.of(SHARD), Duration.ofSeconds(10)), null);
+
+        // When
+        Integer boundShard = shards.readFromStore(UuidV7.next().toString(), ShardContext::current);
+        List<Integer> gathered = shards.readFromEveryShard(ShardContext::current);
+
+        // Then
+        assertThat(shards.shardCount()).isEqualTo(1);
+        assertThat(boundShard).isNull();
+        assertThat(gathered).containsExactly((Integer) null);
+    }
+
+    @Test
+    @DisplayName("Should route a store's work to the same shard every time")
+    void shouldRouteStoreToItsShard() {
+        // Given
+        OfferShards shards = sharded(3);
+        String storeId = UuidV7.next().toString();
+
+        // When
+        Integer first = shards.readFromStore(storeId, ShardContext::current);
+        Integer second = shards.writeToStore(storeId, ShardContext::current);
+
+        // Then
+        assertThat(first).isEqualTo(shards.shardOf(storeId));
+        assertThat(second).isEqualTo(first);
+        assertThat(ShardContext.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should route a store ID to the same shard whatever its letter case")
+    void shouldRouteStoreIdIgnoringCase() {
+        // Given
+        OfferShards shards = sharded(7);
+
+        // When / Then
+        for (int i = 0; i < 100; i++) {
+            String storeId = UuidV7.next().toString();
+            assertThat(shards.shardOf(storeId.toUpperCase())).isEqualTo(shards.shardOf(storeId));
+        }
+    }
+
+    @Test
+    @DisplayName("Should spread stores over every shard")
+    void shouldSpreadStoresOverShards() {
+        // Given
+        OfferShards shards = sharded(3);
+        int[] stores = new int[3];
+
+        // When
+        for (int i = 0; i < 3_000; i++) {
+            stores[shards.shardOf(UuidV7.next().toString())]++;
+        }
+
+        // Then
+        for (int count : stores) {
+            assertThat(count).isBetween(800, 1_200);
+        }
+    }
+
+    @Test
+    @DisplayName("Should gather results from every shard in shard order")
+    void shouldGatherFromEveryShard() {
+        // Given
+        OfferShards shards = sharded(3);
+
+        // When
+        List<Integer> gathered = shards.readFromEveryShard(ShardContext::current);
+        List<Integer> merged = shards.findInEveryShard(() -> List.of(ShardContext.current(), ShardContext.current()));
+        long total = shards.countInEveryShard(() -> 2L);
+
+        // Then
+        assertThat(gathered).containsExactly(0, 1, 2);
+        assertThat(merged).containsExactly(0, 0, 1, 1, 2, 2);
+        assertThat(total).isEqualTo(6);
+    }
+
+    private static OfferShards sharded(int shardCount) {
+        List<ShardingProperties.Shard> extra = Collections.nCopies(shardCount - 1, SHARD);
+        return new OfferShards(new ShardingProperties(true, extra, Duration.ofSeconds(10)),
+                mock(PlatformTransactionManager.class));
+    }
+}
@@ -0,0 +1,168 @@
+package com.retail.offersviewer.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.retail.offersviewer.config.EvaluationProperties;
+import com.retail.offersviewer.dto.OfferFilter;
+import com.retail.offersviewer.entity.Store;
+import com.retail.offersviewer.service.CategoryService;
+import com.retail.offersviewer.service.EvaluationClock;
+import com.retail.offersviewer.service.OfferService;
+import com.retail.offersviewer.service.OfferSuggestService;
+import com.retail.offersviewer.service.StoreService;
+import com.retail.offersviewer.sharding.OfferShards;
+import com.retail.offersviewer.sharding.ShardingProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WarmupRunner Tests")
+class WarmupRunnerTest {
+
+    @Mock
+    private OfferService offerService;
+
+    @Mock
+    private StoreService storeService;
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private OfferSuggestService offerSuggestService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final OfferShards offerShards =
+            new OfferShards(new ShardingProperties(false, List.of(), Duration.ofSeconds(10)), null);
+
+    private final EvaluationClock evaluationClock =
+            new EvaluationClock(Clock.fixed(Instant.parse("2026-01-15T12:00:00Z"), ZoneOffset.UTC),
+                    new EvaluationProperties(Duration.ofSeconds(1)));
+
+    @Test
+    @DisplayName("Should replay the request mix for every configured store in every round")
+    void shouldReplayMixForConfiguredStores() {
+        // Given
+        Store store = new Store();
+        store.setId("store1");
+        store.setName("Downtown Market");
+        when(storeService.getStoreById(anyString())).thenReturn(Optional.of(store));
+        WarmupRunner runner = runner(properties(List.of("store1", "store2"), 2));
+
+        // When
+        WarmupReport report = runner.run();
+
+        // Then
+        assertThat(report.state()).isEqualTo(WarmupReport.State.COMPLETED);
+        assertThat(report.stores()).isEqualTo(2);
+        assertThat(report.failures()).isZero();
+        verify(offerService, times(2)).getActiveOffers("store1", OfferFilter.NONE, null);
+        verify(offerService, times(2)).getActiveOffers("store2", OfferFilter.NONE, "discount");
+        verify(offerService, times(2)).getActiveOffers("store1", OfferFilter.of(null, "milk"), null);
+        verify(offerService, times(2)).getFacetedOffers("store2", OfferFilter.NONE, null);
+        verify(offerSuggestService, times(2)).suggest(eq("store1"), eq("mi"), ArgumentMatchers.anyInt());
+        verify(categoryService, times(2)).countOffersByCategory("store2");
+        verify(storeService, times(4)).suggestStores(eq("Do"), ArgumentMatchers.anyInt());
+        verify(categoryService, times(2)).getAllCategories();
+        verifyNoInteractions(jdbcTemplate);
+        assertThat(runner.report()).isEqualTo(report);
+    }
+
+    @Test
+    @DisplayName("Should count failed requests without failing the warm-up")
+    void shouldCountFailures() {
+        // Given
+        when(storeService.getStoreById(anyString())).thenReturn(Optional.empty());
+        when(offerService.getFacetedOffers(eq("store1"), any(), isNull()))
+                .thenThrow(new IllegalStateException("Database unavailable"));
+        WarmupRunner runner = runner(properties(List.of("store1"), 1));
+
+        // When
+        WarmupReport report = runner.run();
+
+        // Then
+        assertThat(report.state()).isEqualTo(WarmupReport.State.COMPLETED);
+        assertThat(report.failures()).isEqualTo(1);
+        assertThat(report.requests()).isGreaterThan(report.failures());
+        verify(categoryService).countOffersByCategory("store1");
+    }
+
+    @Test
+    @DisplayName("Should pick the stores with the most active offers when none are configured")
+    void shouldPickHotStores() {
+        // Given
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(row("store2", 40));
+            handler.processRow(row("store1", 25));
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(), eq(2));
+        WarmupRunner runner = runner(new WarmupProperties(true, List.of(), 2, 1, 2,
+                List.of(), List.of(), Duration.ofSeconds(10)));
+
+        // When
+        List<String> stores = runner.hotStores();
+
+        // Then
+        assertThat(stores).containsExactly("store2", "store1");
+    }
+
+    @Test
+    @DisplayName("Should not replay anything when disabled")
+    void shouldSkipWhenDisabled() {
+        // Given
+        WarmupRunner runner = runner(new WarmupProperties(false, List.of("store1"), 20, 3, 8,
+                List.of(), List.of(), Duration.ofSeconds(10)));
+
+        // When
+        runner.onApplicationReady();
+
+        // Then
+        assertThat(runner.report().state()).isEqualTo(WarmupReport.State.DISABLED);
+        verifyNoInteractions(offerService, storeService, categoryService, offerSuggestService, jdbcTemplate);
+    }
+
+    private WarmupRunner runner(WarmupProperties properties) {
+        return new WarmupRunner(offerService, storeService, categoryService, offerSuggestService, jdbcTemplate,
+                offerShards, evaluationClock, new ObjectMapper().findAndRegisterModules(), properties);
+    }
+
+    private static WarmupProperties properties(List<String> stores, int rounds) {
+        return new WarmupProperties(true, stores, 20, rounds, 4, List.of("discount"), List.of("milk"),
+                Duration.ofSeconds(10));
+    }
+
+    private static ResultSet row(String storeId, long offers) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString(1)).thenReturn(storeId);
+        when(rs.getLong(2)).thenReturn(offers);
+        return rs;
+    }
+}